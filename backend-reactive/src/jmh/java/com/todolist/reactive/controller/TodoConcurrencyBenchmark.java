@@ -0,0 +1,124 @@
+package com.todolist.reactive.controller;
+
+import com.todolist.reactive.TodoReactiveApplication;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/**
+ * Waves of {@code concurrency} simultaneous requests, each on its own connection, against
+ * the list and create endpoints. One operation is one wave, so the score is the time until
+ * the slowest request of the wave completes; throughput is {@code concurrency / score}.
+ *
+ * <p>By default the reactive application is started in-process on H2. To compare against
+ * the servlet stack, start both applications on the same MariaDB and run once per stack
+ * with {@code -Djmh.args="-p baseUrl=http://localhost:8000"} (servlet) and
+ * {@code -p baseUrl=http://localhost:8001} (reactive). The target is seeded through
+ * {@code POST /api/v1/todos/batch} before measuring.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.AverageTime, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 3, time = 10)
+@Fork(1)
+public class TodoConcurrencyBenchmark {
+
+    private static final int SEED_ROWS = 10000;
+
+    @Param({""})
+    private String baseUrl;
+
+    @Param({"1024"})
+    private int concurrency;
+
+    private ConfigurableApplicationContext context;
+    private HttpClient client;
+    private HttpRequest listRequest;
+    private HttpRequest createRequest;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        String target = baseUrl;
+        if (target.isEmpty()) {
+            context = new SpringApplicationBuilder(TodoReactiveApplication.class)
+                    .profiles("benchmark")
+                    .properties("server.port=0")
+                    .run();
+            target = "http://localhost:" + context.getEnvironment().getRequiredProperty("local.server.port");
+        }
+        String todosUrl = target + "/api/v1/todos";
+        client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(10))
+                .build();
+        seed(todosUrl);
+
+        listRequest = HttpRequest.newBuilder(URI.create(todosUrl + "?limit=50")).GET().build();
+        createRequest = HttpRequest.newBuilder(URI.create(todosUrl))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString("{\"title\": \"Load test\"}"))
+                .build();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        if (context != null) {
+            context.close();
+        }
+    }
+
+    @Benchmark
+    public long listWave() {
+        return wave(listRequest, 200);
+    }
+
+    @Benchmark
+    public long createWave() {
+        return wave(createRequest, 201);
+    }
+
+    private long wave(HttpRequest request, int expectedStatus) {
+        List<CompletableFuture<HttpResponse<byte[]>>> responses = new ArrayList<>(concurrency);
+        for (int i = 0; i < concurrency; i++) {
+            responses.add(client.sendAsync(request, HttpResponse.BodyHandlers.ofByteArray()));
+        }
+        long bytes = 0;
+        for (CompletableFuture<HttpResponse<byte[]>> future : responses) {
+            HttpResponse<byte[]> response = future.join();
+            if (response.statusCode() != expectedStatus) {
+                throw new IllegalStateException("Unexpected status " + response.statusCode() + " for " + request.uri());
+            }
+            bytes += response.body().length;
+        }
+        return bytes;
+    }
+
+    private void seed(String todosUrl) {
+        for (int from = 0; from < SEED_ROWS; from += 1000) {
+            String items = IntStream.range(from, from + 1000)
+                    .mapToObj(i -> "{\"title\": \"Benchmark todo " + i + "\", \"completed\": " + (i % 3 == 0) + "}")
+                    .collect(Collectors.joining(","));
+            HttpRequest batch = HttpRequest.newBuilder(URI.create(todosUrl + "/batch"))
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofString("{\"items\": [" + items + "]}"))
+                    .build();
+            HttpResponse<Void> response = client.sendAsync(batch, HttpResponse.BodyHandlers.discarding()).join();
+            if (response.statusCode() != 201) {
+                throw new IllegalStateException("Seeding failed with status " + response.statusCode());
+            }
+        }
+    }
+}
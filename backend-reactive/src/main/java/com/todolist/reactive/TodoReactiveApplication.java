@@ -0,0 +1,12 @@
+package com.todolist.reactive;
+
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.autoconfigure.SpringBootApplication;
+
+@SpringBootApplication
+public class TodoReactiveApplication {
+
+    public static void main(String[] args) {
+        SpringApplication.run(TodoReactiveApplication.class, args);
+    }
+}
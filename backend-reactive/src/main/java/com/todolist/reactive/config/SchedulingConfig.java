@@ -0,0 +1,12 @@
+package com.todolist.reactive.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * Enables {@code @Scheduled} background jobs such as the instance lease renewal.
+ */
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+}
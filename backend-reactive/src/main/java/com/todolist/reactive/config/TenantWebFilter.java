@@ -0,0 +1,59 @@
+package com.todolist.reactive.config;
+
+import com.todolist.reactive.repository.TenantContext;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.WebFilter;
+import org.springframework.web.server.WebFilterChain;
+import reactor.core.publisher.Mono;
+
+import java.nio.charset.StandardCharsets;
+import java.util.regex.Pattern;
+
+/**
+ * Reactive counterpart of the servlet backend's {@code TenantFilter}: the tenant comes
+ * from {@value #TENANT_HEADER}, requests without it act for
+ * {@link TenantContext#DEFAULT_TENANT}, and {@code *} is only accepted by the two bulk
+ * deletes. Rows of one tenant are never read or changed on behalf of another.
+ */
+@Component
+public class TenantWebFilter implements WebFilter {
+
+    public static final String TENANT_HEADER = "X-Tenant-Id";
+
+    private static final Pattern TENANT = Pattern.compile("[A-Za-z0-9_.-]{1,64}");
+    private static final Pattern ADMIN_OPERATION = Pattern.compile("DELETE /api/v1/todos/(completed|all)");
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, WebFilterChain chain) {
+        // Every tenant sees different content at the same URL
+        exchange.getResponse().getHeaders().add(HttpHeaders.VARY, TENANT_HEADER);
+        String tenant = exchange.getRequest().getHeaders().getFirst(TENANT_HEADER);
+        if (tenant == null || tenant.isBlank()) {
+            tenant = TenantContext.DEFAULT_TENANT;
+        } else if (tenant.equals(TenantContext.ALL_TENANTS)) {
+            String operation = exchange.getRequest().getMethod().name() + " "
+                    + exchange.getRequest().getPath().pathWithinApplication().value();
+            if (!ADMIN_OPERATION.matcher(operation).matches()) {
+                return reject(exchange.getResponse(), "All tenants (*) may only be selected for bulk deletes");
+            }
+        } else if (!TENANT.matcher(tenant).matches()) {
+            return reject(exchange.getResponse(),
+                    "Invalid " + TENANT_HEADER + ": letters, digits, '_', '-' and '.', at most 64 characters");
+        }
+        return chain.filter(exchange).contextWrite(TenantContext.with(tenant));
+    }
+
+    // Same body as GlobalExceptionHandler, which web filters are outside of
+    private static Mono<Void> reject(ServerHttpResponse response, String detail) {
+        response.setStatusCode(HttpStatus.BAD_REQUEST);
+        response.getHeaders().setContentType(MediaType.APPLICATION_JSON);
+        DataBuffer body = response.bufferFactory().wrap(("{\"detail\":\"" + detail + "\"}").getBytes(StandardCharsets.UTF_8));
+        return response.writeWith(Mono.just(body));
+    }
+}
@@ -0,0 +1,83 @@
+package com.todolist.reactive.controller;
+
+import com.todolist.backend.dto.TodoBatchRequest;
+import com.todolist.backend.dto.TodoListResponse;
+import com.todolist.backend.dto.TodoRequest;
+import com.todolist.backend.dto.TodoResponse;
+import com.todolist.reactive.service.TodoService;
+import jakarta.validation.Valid;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+
+/**
+ * Same {@code /api/v1/todos} contract as the servlet backend's {@code TodoController},
+ * served without blocking a thread per request.
+ */
+@RestController
+@RequestMapping("/api/v1/todos")
+@CrossOrigin(origins = "*")
+public class TodoController {
+    
+    private final TodoService todoService;
+    
+    @Autowired
+    public TodoController(TodoService todoService) {
+        this.todoService = todoService;
+    }
+    
+    @GetMapping
+    public Mono<ResponseEntity<TodoListResponse>> getAllTodos(
+            @RequestParam(required = false) String completed,
+            @RequestParam(required = false, defaultValue = "50") Integer limit,
+            @RequestParam(required = false, defaultValue = "0") Integer offset,
+            @RequestParam(required = false) String cursor) {
+        
+        Mono<TodoListResponse> response = cursor != null
+                ? todoService.getTodosByCursor(completed, limit, cursor)
+                : todoService.getAllTodos(completed, limit, offset);
+        return response.map(ResponseEntity::ok);
+    }
+    
+    @GetMapping("/{id}")
+    public Mono<ResponseEntity<TodoResponse>> getTodoById(@PathVariable Long id) {
+        return todoService.getTodoById(id).map(ResponseEntity::ok);
+    }
+    
+    @PostMapping
+    public Mono<ResponseEntity<TodoResponse>> createTodo(@Valid @RequestBody TodoRequest request) {
+        return todoService.createTodo(request)
+                .map(response -> ResponseEntity.status(HttpStatus.CREATED).body(response));
+    }
+    
+    @PostMapping("/batch")
+    public Mono<ResponseEntity<List<TodoResponse>>> createTodos(@Valid @RequestBody TodoBatchRequest request) {
+        return todoService.createTodos(request.getItems())
+                .map(response -> ResponseEntity.status(HttpStatus.CREATED).body(response));
+    }
+    
+    @PutMapping("/{id}")
+    public Mono<ResponseEntity<TodoResponse>> updateTodo(@PathVariable Long id,
+                                                         @Valid @RequestBody TodoRequest request) {
+        return todoService.updateTodo(id, request).map(ResponseEntity::ok);
+    }
+    
+    @DeleteMapping("/{id}")
+    public Mono<ResponseEntity<Void>> deleteTodo(@PathVariable Long id) {
+        return todoService.deleteTodo(id).then(Mono.just(ResponseEntity.noContent().build()));
+    }
+    
+    @DeleteMapping("/completed")
+    public Mono<ResponseEntity<Void>> deleteCompletedTodos() {
+        return todoService.deleteCompletedTodos().then(Mono.just(ResponseEntity.noContent().build()));
+    }
+    
+    @DeleteMapping("/all")
+    public Mono<ResponseEntity<Void>> deleteAllTodos() {
+        return todoService.deleteAllTodos().then(Mono.just(ResponseEntity.noContent().build()));
+    }
+}
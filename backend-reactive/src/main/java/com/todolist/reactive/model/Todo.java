@@ -0,0 +1,121 @@
+package com.todolist.reactive.model;
+
+import org.springframework.data.annotation.Id;
+import org.springframework.data.annotation.Version;
+import org.springframework.data.relational.core.mapping.Column;
+import org.springframework.data.relational.core.mapping.Table;
+
+import java.time.LocalDateTime;
+
+/**
+ * Row of the {@code todos} table of the servlet backend's schema. Ids come from
+ * {@code todos_seq}, the same pooled sequence the servlet backend uses, and writes keep
+ * the tenant, change version and optimistic-lock version the way it does, so either stack
+ * can take over a database the other ran on.
+ */
+@Table("todos")
+public class Todo {
+    
+    @Id
+    private Long id;
+    
+    // Owning tenant, set on insert; every query is restricted to the request's tenant
+    @Column("tenant_id")
+    private String tenant;
+    
+    private String title;
+    
+    private String description;
+    
+    private Boolean completed = false;
+    
+    @Column("created_at")
+    private LocalDateTime createdAt;
+    
+    @Column("updated_at")
+    private LocalDateTime updatedAt;
+    
+    // Delta sync position, stamped on every write
+    @Column("change_version")
+    private Long changeVersion;
+    
+    // Same column the servlet backend's ETags are built from; updates check and bump it
+    @Version
+    private Long version;
+    
+    // Default constructor
+    public Todo() {}
+    
+    // Getters and Setters
+    public Long getId() {
+        return id;
+    }
+    
+    public void setId(Long id) {
+        this.id = id;
+    }
+    
+    public String getTenant() {
+        return tenant;
+    }
+    
+    public void setTenant(String tenant) {
+        this.tenant = tenant;
+    }
+    
+    public String getTitle() {
+        return title;
+    }
+    
+    public void setTitle(String title) {
+        this.title = title;
+    }
+    
+    public String getDescription() {
+        return description;
+    }
+    
+    public void setDescription(String description) {
+        this.description = description;
+    }
+    
+    public Boolean getCompleted() {
+        return completed;
+    }
+    
+    public void setCompleted(Boolean completed) {
+        this.completed = completed;
+    }
+    
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+    
+    public void setCreatedAt(LocalDateTime createdAt) {
+        this.createdAt = createdAt;
+    }
+    
+    public LocalDateTime getUpdatedAt() {
+        return updatedAt;
+    }
+    
+    public void setUpdatedAt(LocalDateTime updatedAt) {
+        this.updatedAt = updatedAt;
+    }
+    
+    public Long getChangeVersion() {
+        return changeVersion;
+    }
+    
+    public void setChangeVersion(Long changeVersion) {
+        this.changeVersion = changeVersion;
+    }
+    
+    public Long getVersion() {
+        return version;
+    }
+    
+    public void setVersion(Long version) {
+        this.version = version;
+    }
+}
@@ -0,0 +1,28 @@
+package com.todolist.reactive.repository;
+
+import reactor.core.publisher.Mono;
+import reactor.util.context.Context;
+
+/**
+ * The tenant a request acts for, with the servlet backend's values. A reactive request
+ * hops between threads, so the tenant travels in the Reactor context instead of a thread
+ * local; {@code TenantWebFilter} puts it there.
+ */
+public final class TenantContext {
+
+    public static final String DEFAULT_TENANT = "default";
+    public static final String ALL_TENANTS = "*";
+
+    private static final String KEY = TenantContext.class.getName();
+
+    private TenantContext() {
+    }
+
+    public static Mono<String> current() {
+        return Mono.deferContextual(context -> Mono.just(context.getOrDefault(KEY, DEFAULT_TENANT)));
+    }
+
+    public static Context with(String tenant) {
+        return Context.of(KEY, tenant);
+    }
+}
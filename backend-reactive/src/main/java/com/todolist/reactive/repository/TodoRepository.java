@@ -0,0 +1,85 @@
+package com.todolist.reactive.repository;
+
+import com.todolist.reactive.model.Todo;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.r2dbc.repository.Modifying;
+import org.springframework.data.r2dbc.repository.Query;
+import org.springframework.data.r2dbc.repository.R2dbcRepository;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDateTime;
+
+/**
+ * Every method takes the tenant, as R2DBC has no counterpart of the servlet backend's
+ * Hibernate tenant filter.
+ */
+@Repository
+public interface TodoRepository extends R2dbcRepository<Todo, Long> {
+
+    Mono<Todo> findByIdAndTenant(Long id, String tenant);
+
+    // Offset pages; LIMIT/OFFSET and ORDER BY come from the Pageable
+
+    Flux<Todo> findByTenant(String tenant, Pageable pageable);
+
+    Flux<Todo> findByTenantAndCompleted(String tenant, Boolean completed, Pageable pageable);
+
+    Mono<Long> countByTenant(String tenant);
+
+    Mono<Long> countByTenantAndCompleted(String tenant, Boolean completed);
+
+    // Keyset pages on (created_at, id), matching the servlet backend's cursors
+
+    @Query("SELECT * FROM todos WHERE tenant_id = :tenant ORDER BY created_at, id LIMIT :limit")
+    Flux<Todo> findFirstKeysetPage(@Param("tenant") String tenant, @Param("limit") int limit);
+
+    @Query("SELECT * FROM todos WHERE tenant_id = :tenant AND completed = :completed ORDER BY created_at, id LIMIT :limit")
+    Flux<Todo> findFirstKeysetPageByCompleted(@Param("tenant") String tenant,
+                                              @Param("completed") Boolean completed,
+                                              @Param("limit") int limit);
+
+    @Query("SELECT * FROM todos WHERE tenant_id = :tenant "
+            + "AND (created_at > :createdAt OR (created_at = :createdAt AND id > :id)) "
+            + "ORDER BY created_at, id LIMIT :limit")
+    Flux<Todo> findKeysetPageAfter(@Param("tenant") String tenant,
+                                   @Param("createdAt") LocalDateTime createdAt,
+                                   @Param("id") Long id,
+                                   @Param("limit") int limit);
+
+    @Query("SELECT * FROM todos WHERE tenant_id = :tenant AND completed = :completed "
+            + "AND (created_at > :createdAt OR (created_at = :createdAt AND id > :id)) "
+            + "ORDER BY created_at, id LIMIT :limit")
+    Flux<Todo> findKeysetPageAfterByCompleted(@Param("tenant") String tenant,
+                                              @Param("completed") Boolean completed,
+                                              @Param("createdAt") LocalDateTime createdAt,
+                                              @Param("id") Long id,
+                                              @Param("limit") int limit);
+
+    // Deletes leave a tombstone under a change version, so the servlet backend's delta sync
+    // reports them; the matching DELETE then removes exactly the tombstoned rows
+
+    @Modifying
+    @Query("INSERT INTO todo_tombstones (todo_id, tenant_id, change_version, deleted_at) "
+            + "SELECT id, tenant_id, :changeVersion, :deletedAt FROM todos WHERE id = :id AND tenant_id = :tenant")
+    Mono<Integer> tombstoneById(@Param("id") Long id,
+                                @Param("tenant") String tenant,
+                                @Param("changeVersion") long changeVersion,
+                                @Param("deletedAt") LocalDateTime deletedAt);
+
+    // The tenant may be TenantContext.ALL_TENANTS
+    @Modifying
+    @Query("INSERT INTO todo_tombstones (todo_id, tenant_id, change_version, deleted_at) "
+            + "SELECT id, tenant_id, :changeVersion, :deletedAt FROM todos "
+            + "WHERE (:tenant = '*' OR tenant_id = :tenant) AND (:completedOnly = FALSE OR completed = TRUE)")
+    Mono<Integer> tombstoneAll(@Param("tenant") String tenant,
+                               @Param("completedOnly") boolean completedOnly,
+                               @Param("changeVersion") long changeVersion,
+                               @Param("deletedAt") LocalDateTime deletedAt);
+
+    @Modifying
+    @Query("DELETE FROM todos WHERE id IN (SELECT todo_id FROM todo_tombstones WHERE change_version = :changeVersion)")
+    Mono<Integer> deleteTombstoned(@Param("changeVersion") long changeVersion);
+}
@@ -0,0 +1,102 @@
+package com.todolist.reactive.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.ReactiveTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.reactive.TransactionSynchronization;
+import org.springframework.transaction.reactive.TransactionSynchronizationManager;
+import org.springframework.transaction.reactive.TransactionalOperator;
+import org.springframework.transaction.support.DefaultTransactionDefinition;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDateTime;
+
+/**
+ * Allocates the change versions stamped on todos and tombstones from the same
+ * {@code todo_sync_state} row as the servlet backend, so both stacks and any number of
+ * instances share one sequence per database. Like there, each allocation commits an
+ * in-flight row that the writing transaction deletes itself, which keeps the servlet
+ * backend's delta sync from reading past this transaction before it commits.
+ */
+@Component
+public class TodoChangeVersion {
+
+    private static final Logger log = LoggerFactory.getLogger(TodoChangeVersion.class);
+
+    private final DatabaseClient databaseClient;
+    private final TransactionalOperator allocation;
+
+    @Autowired
+    public TodoChangeVersion(DatabaseClient databaseClient, ReactiveTransactionManager transactionManager) {
+        this.databaseClient = databaseClient;
+        this.allocation = TransactionalOperator.create(transactionManager,
+                new DefaultTransactionDefinition(TransactionDefinition.PROPAGATION_REQUIRES_NEW));
+    }
+
+    /**
+     * The version of the current transaction, allocated on first use; fails outside a
+     * transaction.
+     */
+    public Mono<Long> next() {
+        return TransactionSynchronizationManager.forCurrentTransaction().flatMap(synchronization -> {
+            Long bound = (Long) synchronization.getResource(this);
+            if (bound != null) {
+                return Mono.just(bound);
+            }
+            // Committed on its own, so readers see the version in flight before any change stamped with it
+            return allocate().as(allocation::transactional)
+                    .flatMap(version -> deleteInFlight(version).then(Mono.fromRunnable(() -> {
+                        synchronization.bindResource(this, version);
+                        synchronization.registerSynchronization(new TransactionSynchronization() {
+                            @Override
+                            public Mono<Void> afterCompletion(int status) {
+                                synchronization.unbindResourceIfPossible(TodoChangeVersion.this);
+                                // A rollback also undid the delete
+                                return status == STATUS_COMMITTED
+                                        ? Mono.empty()
+                                        : deleteInFlight(version).as(allocation::transactional);
+                            }
+                        });
+                    })).thenReturn(version));
+        });
+    }
+
+    private Mono<Long> allocate() {
+        Mono<Long> increment = databaseClient.sql("UPDATE todo_sync_state SET last_version = last_version + 1 WHERE id = 1")
+                .fetch()
+                .rowsUpdated();
+        return increment
+                .flatMap(updated -> updated > 0 ? Mono.just(updated) : seed().then(increment))
+                .then(databaseClient.sql("SELECT last_version FROM todo_sync_state WHERE id = 1")
+                        .map(row -> row.get(0, Long.class))
+                        .one())
+                .flatMap(version -> databaseClient.sql("INSERT INTO todo_sync_in_flight (change_version, started_at) "
+                                + "VALUES (:changeVersion, :startedAt)")
+                        .bind("changeVersion", version)
+                        .bind("startedAt", LocalDateTime.now())
+                        .then()
+                        .thenReturn(version));
+    }
+
+    // The first allocation on a database continues after the versions already stored
+    private Mono<Void> seed() {
+        return databaseClient.sql("INSERT INTO todo_sync_state (id, last_version, compacted_through) "
+                        + "SELECT 1, v.last_version, "
+                        + "COALESCE((SELECT MIN(change_version) - 1 FROM todo_tombstones), v.last_version) "
+                        + "FROM (SELECT GREATEST("
+                        + "COALESCE((SELECT MAX(change_version) FROM todos), 0), "
+                        + "COALESCE((SELECT MAX(change_version) FROM todo_tombstones), 0)) AS last_version) v")
+                .then()
+                .doOnSuccess(ignored -> log.info("Change versions continue after the highest one stored"));
+    }
+
+    private Mono<Void> deleteInFlight(long version) {
+        return databaseClient.sql("DELETE FROM todo_sync_in_flight WHERE change_version = :changeVersion")
+                .bind("changeVersion", version)
+                .then();
+    }
+}
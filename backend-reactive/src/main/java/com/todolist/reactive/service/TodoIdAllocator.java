@@ -0,0 +1,53 @@
+package com.todolist.reactive.service;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+/**
+ * Hands out todo ids from {@code todos_seq} the way Hibernate's pooled optimizer does in
+ * the servlet backend: a sequence value {@code v} reserves the ids {@code v - size + 1 .. v}.
+ * Both stacks can therefore insert into the same table without colliding.
+ */
+@Component
+public class TodoIdAllocator {
+
+    private final DatabaseClient databaseClient;
+    private final int allocationSize;
+
+    private long next;
+    private long hi = -1;
+
+    @Autowired
+    public TodoIdAllocator(DatabaseClient databaseClient,
+                           @Value("${todo.id-allocation-size:50}") int allocationSize) {
+        this.databaseClient = databaseClient;
+        this.allocationSize = allocationSize;
+    }
+
+    public Mono<Long> nextId() {
+        return Mono.defer(() -> {
+            Long id = takeFromBlock();
+            if (id != null) {
+                return Mono.just(id);
+            }
+            // Concurrent callers may each fetch a block; the loser's remaining ids become a gap
+            return databaseClient.sql("SELECT NEXT VALUE FOR todos_seq")
+                    .map(row -> row.get(0, Long.class))
+                    .one()
+                    .map(this::startBlock);
+        });
+    }
+
+    private synchronized Long takeFromBlock() {
+        return next <= hi ? next++ : null;
+    }
+
+    private synchronized long startBlock(long sequenceValue) {
+        hi = sequenceValue;
+        next = Math.max(1, sequenceValue - allocationSize + 1);
+        return next++;
+    }
+}
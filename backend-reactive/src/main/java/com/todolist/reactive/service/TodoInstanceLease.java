@@ -0,0 +1,141 @@
+package com.todolist.reactive.service;
+
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.reactive.TransactionalOperator;
+import reactor.core.publisher.Mono;
+
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Optional;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Optionally claims the same {@code todo_instance_lease} row as the servlet backend, so
+ * only one instance of either stack runs against a database. Change versions come from
+ * the database either way; the lease is for deployments that need the servlet backend's
+ * in-process counters, caches and search index to see every write.
+ */
+@Component
+public class TodoInstanceLease {
+
+    private static final Logger log = LoggerFactory.getLogger(TodoInstanceLease.class);
+
+    static final String LEASE = "writer";
+
+    private final DatabaseClient databaseClient;
+    private final TransactionalOperator transactionalOperator;
+    private final boolean enabled;
+    private final Duration ttl;
+    private final String owner;
+
+    private volatile boolean held;
+
+    @Autowired
+    public TodoInstanceLease(DatabaseClient databaseClient,
+                             TransactionalOperator transactionalOperator,
+                             @Value("${todo.instance-lease.enabled:false}") boolean enabled,
+                             @Value("${todo.instance-lease.ttl:30s}") Duration ttl) {
+        this.databaseClient = databaseClient;
+        this.transactionalOperator = transactionalOperator;
+        this.enabled = enabled;
+        this.ttl = ttl;
+        this.owner = hostName() + ":" + ProcessHandle.current().pid() + "/reactive-"
+                + Long.toString(ThreadLocalRandom.current().nextLong() & Long.MAX_VALUE, 36);
+    }
+
+    /**
+     * Claims the lease, or fails when another instance of either stack holds it.
+     */
+    public Mono<Void> acquire() {
+        if (!enabled) {
+            return Mono.empty();
+        }
+        return claim()
+                .flatMap(holder -> Mono.<Void>error(new IllegalStateException("Another backend instance (" + holder
+                        + ") is running against this database, and todo.instance-lease.enabled allows only one instance "
+                        + "of either backend at a time; stop it first, or wait " + ttl + " after it died")))
+                .then(Mono.fromRunnable(() -> {
+                    held = true;
+                    log.info("Instance lease acquired by {}", owner);
+                }));
+    }
+
+    @Scheduled(initialDelayString = "${todo.instance-lease.renew-interval:PT10S}",
+            fixedDelayString = "${todo.instance-lease.renew-interval:PT10S}")
+    public void renew() {
+        if (!held) {
+            return;
+        }
+        claim().doOnNext(holder -> log.error("Instance lease was taken over by {} while this instance ({}) "
+                        + "still runs; counters and caches may go stale until one of them stops", holder, owner))
+                .onErrorResume(ex -> {
+                    log.warn("Instance lease renewal failed; retrying in the next run", ex);
+                    return Mono.empty();
+                })
+                .block(ttl);
+    }
+
+    @PreDestroy
+    public void release() {
+        if (!held) {
+            return;
+        }
+        held = false;
+        databaseClient.sql("DELETE FROM todo_instance_lease WHERE name = :name AND owner = :owner")
+                .bind("name", LEASE)
+                .bind("owner", owner)
+                .fetch().rowsUpdated()
+                .block(ttl);
+    }
+
+    String owner() {
+        return owner;
+    }
+
+    // Takes or renews the lease; emits the other instance holding it, if any
+    private Mono<String> claim() {
+        LocalDateTime now = LocalDateTime.now();
+        return databaseClient.sql("SELECT owner, renewed_at FROM todo_instance_lease WHERE name = :name FOR UPDATE")
+                .bind("name", LEASE)
+                .map(row -> new Lease(row.get("owner", String.class), row.get("renewed_at", LocalDateTime.class)))
+                .one()
+                .map(Optional::of)
+                .defaultIfEmpty(Optional.empty())
+                .flatMap(current -> {
+                    if (current.isPresent() && !owner.equals(current.get().owner())
+                            && current.get().renewedAt().isAfter(now.minus(ttl))) {
+                        return Mono.just(current.get().owner());
+                    }
+                    String write = current.isPresent()
+                            ? "UPDATE todo_instance_lease SET owner = :owner, renewed_at = :renewedAt WHERE name = :name"
+                            : "INSERT INTO todo_instance_lease (name, owner, renewed_at) VALUES (:name, :owner, :renewedAt)";
+                    return databaseClient.sql(write)
+                            .bind("name", LEASE)
+                            .bind("owner", owner)
+                            .bind("renewedAt", now)
+                            .fetch().rowsUpdated()
+                            .then(Mono.<String>empty());
+                })
+                .as(transactionalOperator::transactional);
+    }
+
+    private static String hostName() {
+        try {
+            return InetAddress.getLocalHost().getHostName();
+        } catch (UnknownHostException ex) {
+            return "unknown-host";
+        }
+    }
+
+    private record Lease(String owner, LocalDateTime renewedAt) {
+    }
+}
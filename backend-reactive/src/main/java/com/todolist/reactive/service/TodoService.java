@@ -0,0 +1,235 @@
+package com.todolist.reactive.service;
+
+import com.todolist.backend.dto.TodoListResponse;
+import com.todolist.backend.dto.TodoRequest;
+import com.todolist.backend.dto.TodoResponse;
+import com.todolist.backend.repository.OffsetPageRequest;
+import com.todolist.backend.service.TodoCursor;
+import com.todolist.reactive.model.Todo;
+import com.todolist.reactive.repository.TenantContext;
+import com.todolist.reactive.repository.TodoRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.r2dbc.core.R2dbcEntityTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.reactive.TransactionalOperator;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Non-blocking counterpart of the servlet backend's {@code TodoService}: same validation
+ * rules, page sizes and ordering, built on R2DBC. Every operation is scoped to the tenant
+ * {@link TenantContext} carries, and writes stamp change versions and leave tombstones so
+ * the servlet backend's delta sync sees them.
+ */
+@Service
+public class TodoService {
+    
+    private static final Logger log = LoggerFactory.getLogger(TodoService.class);
+    
+    private static final Sort LIST_ORDER = Sort.by(Sort.Order.asc("createdAt"), Sort.Order.asc("id"));
+    
+    private final TodoRepository todoRepository;
+    private final R2dbcEntityTemplate entityTemplate;
+    private final TodoIdAllocator idAllocator;
+    private final TodoChangeVersion changeVersion;
+    private final TransactionalOperator transactionalOperator;
+    
+    @Autowired
+    public TodoService(TodoRepository todoRepository, R2dbcEntityTemplate entityTemplate,
+                       TodoIdAllocator idAllocator, TodoChangeVersion changeVersion,
+                       TransactionalOperator transactionalOperator) {
+        this.todoRepository = todoRepository;
+        this.entityTemplate = entityTemplate;
+        this.idAllocator = idAllocator;
+        this.changeVersion = changeVersion;
+        this.transactionalOperator = transactionalOperator;
+    }
+    
+    public Mono<TodoListResponse> getAllTodos(String completed, Integer limit, Integer offset) {
+        log.debug("Getting todos with completed={}, limit={}, offset={}", completed, limit, offset);
+        
+        Boolean completedFilter = parseCompletedFilter(completed);
+        int actualLimit = normalizeLimit(limit);
+        int actualOffset = offset != null ? offset : 0;
+        Pageable pageable = new OffsetPageRequest(actualOffset, actualLimit, LIST_ORDER);
+        
+        return TenantContext.current().flatMap(tenant -> {
+            Flux<Todo> items = completedFilter != null
+                    ? todoRepository.findByTenantAndCompleted(tenant, completedFilter, pageable)
+                    : todoRepository.findByTenant(tenant, pageable);
+            Mono<Long> total = completedFilter != null
+                    ? todoRepository.countByTenantAndCompleted(tenant, completedFilter)
+                    : todoRepository.countByTenant(tenant);
+            return Mono.zip(items.map(TodoService::convertToResponse).collectList(), total);
+        }).map(page -> TodoListResponse.builder()
+                .items(page.getT1())
+                .total(page.getT2())
+                .limit(actualLimit)
+                .offset(actualOffset)
+                .build());
+    }
+    
+    public Mono<TodoListResponse> getTodosByCursor(String completed, Integer limit, String cursor) {
+        log.debug("Getting todos with completed={}, limit={}, cursor={}", completed, limit, cursor);
+        
+        Boolean completedFilter = parseCompletedFilter(completed);
+        int actualLimit = normalizeLimit(limit);
+        TodoCursor after;
+        try {
+            after = cursor == null || cursor.isBlank() ? null : TodoCursor.decode(cursor);
+        } catch (IllegalArgumentException ex) {
+            return Mono.error(ex);
+        }
+        
+        // Fetch one extra row to find out whether another page follows
+        int fetchLimit = actualLimit + 1;
+        Flux<Todo> rows = TenantContext.current().flatMapMany(tenant -> {
+            if (after == null) {
+                return completedFilter != null
+                        ? todoRepository.findFirstKeysetPageByCompleted(tenant, completedFilter, fetchLimit)
+                        : todoRepository.findFirstKeysetPage(tenant, fetchLimit);
+            }
+            return completedFilter != null
+                    ? todoRepository.findKeysetPageAfterByCompleted(tenant, completedFilter, after.getCreatedAt(), after.getId(), fetchLimit)
+                    : todoRepository.findKeysetPageAfter(tenant, after.getCreatedAt(), after.getId(), fetchLimit);
+        });
+        
+        return rows.map(TodoService::convertToResponse).collectList().map(todos -> {
+            boolean hasNext = todos.size() > actualLimit;
+            List<TodoResponse> pageTodos = hasNext ? todos.subList(0, actualLimit) : todos;
+            return TodoListResponse.builder()
+                    .items(pageTodos)
+                    .limit(actualLimit)
+                    .nextCursor(hasNext ? TodoCursor.of(pageTodos.get(actualLimit - 1)).encode() : null)
+                    .build();
+        });
+    }
+    
+    public Mono<TodoResponse> getTodoById(Long id) {
+        return findOrFail(id).map(TodoService::convertToResponse);
+    }
+    
+    public Mono<TodoResponse> createTodo(TodoRequest request) {
+        log.debug("Creating new todo: {}", request);
+        return insert(request).map(TodoService::convertToResponse)
+                .as(transactionalOperator::transactional);
+    }
+    
+    public Mono<List<TodoResponse>> createTodos(List<TodoRequest> requests) {
+        log.debug("Creating {} todos in batch", requests.size());
+        return Flux.fromIterable(requests)
+                .concatMap(this::insert)
+                .map(TodoService::convertToResponse)
+                .collectList()
+                .as(transactionalOperator::transactional);
+    }
+    
+    public Mono<TodoResponse> updateTodo(Long id, TodoRequest request) {
+        log.debug("Updating todo with id: {}", id);
+        return findOrFail(id)
+                .zipWith(changeVersion.next())
+                .flatMap(found -> {
+                    Todo todo = found.getT1();
+                    if (request.getTitle() != null) {
+                        todo.setTitle(request.getTitle());
+                    }
+                    if (request.getDescription() != null) {
+                        todo.setDescription(request.getDescription());
+                    }
+                    if (request.getCompleted() != null) {
+                        todo.setCompleted(request.getCompleted());
+                    }
+                    todo.setUpdatedAt(LocalDateTime.now());
+                    todo.setChangeVersion(found.getT2());
+                    return entityTemplate.update(todo);
+                })
+                .map(TodoService::convertToResponse)
+                .as(transactionalOperator::transactional);
+    }
+    
+    public Mono<Void> deleteTodo(Long id) {
+        log.debug("Deleting todo with id: {}", id);
+        return Mono.zip(TenantContext.current(), changeVersion.next())
+                .flatMap(next -> {
+                    long deleteVersion = next.getT2();
+                    return todoRepository.tombstoneById(id, next.getT1(), deleteVersion, LocalDateTime.now())
+                            .flatMap(tombstoned -> tombstoned == 0
+                                    ? Mono.error(new RuntimeException("Todo not found with id: " + id))
+                                    : todoRepository.deleteTombstoned(deleteVersion));
+                })
+                .then()
+                .as(transactionalOperator::transactional);
+    }
+    
+    public Mono<Void> deleteCompletedTodos() {
+        return deleteAll(true);
+    }
+    
+    public Mono<Void> deleteAllTodos() {
+        return deleteAll(false);
+    }
+    
+    // The tenant may be TenantContext.ALL_TENANTS here, the only writes that span tenants
+    private Mono<Void> deleteAll(boolean completedOnly) {
+        return Mono.zip(TenantContext.current(), changeVersion.next())
+                .flatMap(next -> {
+                    long deleteVersion = next.getT2();
+                    return todoRepository.tombstoneAll(next.getT1(), completedOnly, deleteVersion, LocalDateTime.now())
+                            .then(todoRepository.deleteTombstoned(deleteVersion));
+                })
+                .then()
+                .as(transactionalOperator::transactional);
+    }
+    
+    private Mono<Todo> insert(TodoRequest request) {
+        return Mono.zip(TenantContext.current(), idAllocator.nextId(), changeVersion.next()).flatMap(next -> {
+            LocalDateTime now = LocalDateTime.now();
+            Todo todo = new Todo();
+            todo.setId(next.getT2());
+            todo.setTenant(next.getT1());
+            todo.setTitle(request.getTitle());
+            todo.setDescription(request.getDescription());
+            todo.setCompleted(request.getCompleted() != null ? request.getCompleted() : false);
+            todo.setCreatedAt(now);
+            todo.setUpdatedAt(now);
+            todo.setChangeVersion(next.getT3());
+            // The id is assigned up front, so insert explicitly instead of letting save() pick UPDATE
+            return entityTemplate.insert(todo);
+        });
+    }
+    
+    private Mono<Todo> findOrFail(Long id) {
+        return TenantContext.current()
+                .flatMap(tenant -> todoRepository.findByIdAndTenant(id, tenant))
+                .switchIfEmpty(Mono.error(() -> new RuntimeException("Todo not found with id: " + id)));
+    }
+    
+    private Boolean parseCompletedFilter(String completed) {
+        if (completed == null || completed.equals("all")) {
+            return null;
+        }
+        return Boolean.parseBoolean(completed);
+    }
+    
+    private int normalizeLimit(Integer limit) {
+        return Math.max(Math.min(limit != null ? limit : 50, 100), 1);
+    }
+    
+    static TodoResponse convertToResponse(Todo todo) {
+        return TodoResponse.builder()
+                .id(todo.getId())
+                .title(todo.getTitle())
+                .description(todo.getDescription())
+                .completed(todo.getCompleted())
+                .createdAt(todo.getCreatedAt())
+                .updatedAt(todo.getUpdatedAt())
+                .build();
+    }
+}
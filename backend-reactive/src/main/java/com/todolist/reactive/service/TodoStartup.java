@@ -0,0 +1,26 @@
+package com.todolist.reactive.service;
+
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * Claims the {@link TodoInstanceLease}, when enabled, before the server takes requests.
+ */
+@Component
+public class TodoStartup implements SmartInitializingSingleton {
+
+    private final TodoInstanceLease todoInstanceLease;
+
+    @Autowired
+    public TodoStartup(TodoInstanceLease todoInstanceLease) {
+        this.todoInstanceLease = todoInstanceLease;
+    }
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        todoInstanceLease.acquire().block(Duration.ofSeconds(30));
+    }
+}
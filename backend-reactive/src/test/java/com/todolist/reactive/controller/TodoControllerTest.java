@@ -0,0 +1,264 @@
+package com.todolist.reactive.controller;
+
+import com.todolist.backend.dto.TodoListResponse;
+import com.todolist.backend.dto.TodoResponse;
+import com.todolist.reactive.repository.TodoRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.MediaType;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.reactive.server.WebTestClient;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@ActiveProfiles("test")
+class TodoControllerTest {
+    
+    @Autowired
+    private WebTestClient webTestClient;
+    
+    @Autowired
+    private TodoRepository todoRepository;
+    
+    @Autowired
+    private DatabaseClient databaseClient;
+    
+    @BeforeEach
+    void setUp() {
+        todoRepository.deleteAll().block();
+    }
+    
+    @Test
+    void createTodo_ShouldReturnCreatedTodo() {
+        // When & Then
+        TodoResponse created = create("{\"title\": \"Reactive\", \"description\": \"On R2DBC\"}");
+        
+        assertNotNull(created.getId());
+        assertEquals("Reactive", created.getTitle());
+        assertFalse(created.getCompleted());
+        assertNotNull(created.getCreatedAt());
+        
+        webTestClient.get().uri("/api/v1/todos/{id}", created.getId())
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.title").isEqualTo("Reactive")
+                .jsonPath("$.description").isEqualTo("On R2DBC");
+    }
+    
+    @Test
+    void createTodo_WithInvalidData_ShouldReturnUnprocessableEntity() {
+        webTestClient.post().uri("/api/v1/todos")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue("{\"title\": \"\"}")
+                .exchange()
+                .expectStatus().isEqualTo(422)
+                .expectBody()
+                .jsonPath("$.detail.title").exists();
+    }
+    
+    @Test
+    void getTodoById_WhenNotFound_ShouldReturnNotFound() {
+        webTestClient.get().uri("/api/v1/todos/{id}", 999999)
+                .exchange()
+                .expectStatus().isNotFound()
+                .expectBody()
+                .jsonPath("$.detail").isEqualTo("Todo not found with id: 999999");
+    }
+    
+    @Test
+    void getAllTodos_ShouldPaginateAndFilterLikeServletBackend() {
+        // Given
+        createBatch(12);
+        
+        // When & Then
+        TodoListResponse page = webTestClient.get()
+                .uri("/api/v1/todos?completed=true&limit=2&offset=1")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody(TodoListResponse.class)
+                .returnResult().getResponseBody();
+        
+        assertEquals(4L, page.getTotal());
+        assertEquals(2, page.getItems().size());
+        assertEquals(1, page.getOffset());
+        assertTrue(page.getItems().stream().allMatch(TodoResponse::getCompleted));
+    }
+    
+    @Test
+    void getAllTodos_WithCursor_ShouldWalkAllRows() {
+        // Given
+        List<TodoResponse> created = createBatch(7);
+        
+        // When
+        List<Long> walked = new ArrayList<>();
+        String cursor = "";
+        do {
+            TodoListResponse page = webTestClient.get()
+                    .uri("/api/v1/todos?limit=3&cursor={cursor}", cursor)
+                    .exchange()
+                    .expectStatus().isOk()
+                    .expectBody(TodoListResponse.class)
+                    .returnResult().getResponseBody();
+            page.getItems().forEach(todo -> walked.add(todo.getId()));
+            cursor = page.getNextCursor();
+        } while (cursor != null);
+        
+        // Then
+        assertEquals(created.stream().map(TodoResponse::getId).sorted().toList(), walked.stream().sorted().toList());
+        assertEquals(7, walked.size());
+    }
+    
+    @Test
+    void updateAndDelete_ShouldFollowServletContract() {
+        // Given
+        TodoResponse created = create("{\"title\": \"Before\"}");
+        
+        // When & Then
+        webTestClient.put().uri("/api/v1/todos/{id}", created.getId())
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue("{\"title\": \"After\", \"completed\": true}")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.title").isEqualTo("After")
+                .jsonPath("$.completed").isEqualTo(true);
+        
+        webTestClient.delete().uri("/api/v1/todos/completed")
+                .exchange()
+                .expectStatus().isNoContent();
+        webTestClient.delete().uri("/api/v1/todos/{id}", created.getId())
+                .exchange()
+                .expectStatus().isNotFound();
+    }
+    
+    @Test
+    void tenantHeader_ShouldScopeReadsAndDeletesToTheTenant() {
+        // Given
+        TodoResponse acme = create("acme", "{\"title\": \"Acme's\", \"completed\": true}");
+        TodoResponse globex = create("globex", "{\"title\": \"Globex's\", \"completed\": true}");
+        
+        // When
+        webTestClient.delete().uri("/api/v1/todos/completed")
+                .header("X-Tenant-Id", "acme")
+                .exchange()
+                .expectStatus().isNoContent();
+        
+        // Then
+        webTestClient.get().uri("/api/v1/todos/{id}", globex.getId())
+                .header("X-Tenant-Id", "acme")
+                .exchange()
+                .expectStatus().isNotFound();
+        webTestClient.get().uri("/api/v1/todos")
+                .header("X-Tenant-Id", "globex")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.total").isEqualTo(1)
+                .jsonPath("$.items[0].id").isEqualTo(globex.getId());
+        webTestClient.get().uri("/api/v1/todos/{id}", acme.getId())
+                .header("X-Tenant-Id", "acme")
+                .exchange()
+                .expectStatus().isNotFound();
+        // Requests without the header act for the default tenant
+        webTestClient.get().uri("/api/v1/todos")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.total").isEqualTo(0);
+        webTestClient.get().uri("/api/v1/todos")
+                .header("X-Tenant-Id", "*")
+                .exchange()
+                .expectStatus().isBadRequest();
+    }
+    
+    @Test
+    void writes_ShouldStampChangeVersionsAndTombstoneDeletes() {
+        // Given
+        TodoResponse created = create("syncer", "{\"title\": \"Synced\"}");
+        long inserted = changeVersionOf(created.getId());
+        
+        // When
+        webTestClient.put().uri("/api/v1/todos/{id}", created.getId())
+                .header("X-Tenant-Id", "syncer")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue("{\"title\": \"Synced\", \"completed\": true}")
+                .exchange()
+                .expectStatus().isOk();
+        long updated = changeVersionOf(created.getId());
+        webTestClient.delete().uri("/api/v1/todos/{id}", created.getId())
+                .header("X-Tenant-Id", "syncer")
+                .exchange()
+                .expectStatus().isNoContent();
+        
+        // Then
+        assertTrue(inserted > 0);
+        assertTrue(updated > inserted);
+        Long deleted = databaseClient.sql("SELECT change_version FROM todo_tombstones WHERE todo_id = :id AND tenant_id = 'syncer'")
+                .bind("id", created.getId())
+                .map(row -> row.get(0, Long.class))
+                .one()
+                .block();
+        assertNotNull(deleted);
+        assertTrue(deleted > updated);
+        // Allocated from the counter row shared with the servlet backend, and no longer in flight once committed
+        assertEquals(deleted, databaseClient.sql("SELECT last_version FROM todo_sync_state WHERE id = 1")
+                .map(row -> row.get(0, Long.class))
+                .one()
+                .block());
+        assertEquals(0L, databaseClient.sql("SELECT COUNT(*) FROM todo_sync_in_flight")
+                .map(row -> row.get(0, Long.class))
+                .one()
+                .block());
+    }
+    
+    private long changeVersionOf(Long id) {
+        return databaseClient.sql("SELECT change_version FROM todos WHERE id = :id")
+                .bind("id", id)
+                .map(row -> row.get(0, Long.class))
+                .one()
+                .block();
+    }
+    
+    private TodoResponse create(String body) {
+        return create(null, body);
+    }
+    
+    private TodoResponse create(String tenant, String body) {
+        return webTestClient.post().uri("/api/v1/todos")
+                .headers(headers -> {
+                    if (tenant != null) {
+                        headers.set("X-Tenant-Id", tenant);
+                    }
+                })
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(body)
+                .exchange()
+                .expectStatus().isCreated()
+                .expectBody(TodoResponse.class)
+                .returnResult().getResponseBody();
+    }
+    
+    private List<TodoResponse> createBatch(int count) {
+        String items = IntStream.range(0, count)
+                .mapToObj(i -> "{\"title\": \"Todo " + i + "\", \"completed\": " + (i % 3 == 0) + "}")
+                .collect(Collectors.joining(","));
+        return webTestClient.post().uri("/api/v1/todos/batch")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue("{\"items\": [" + items + "]}")
+                .exchange()
+                .expectStatus().isCreated()
+                .expectBody(new ParameterizedTypeReference<List<TodoResponse>>() {})
+                .returnResult().getResponseBody();
+    }
+}
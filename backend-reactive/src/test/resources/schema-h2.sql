@@ -0,0 +1,44 @@
+-- H2 version of the tables and sequence from backend/db/todoapp.sql
+CREATE SEQUENCE IF NOT EXISTS todos_seq START WITH 1 INCREMENT BY 50;
+
+CREATE TABLE IF NOT EXISTS todos (
+    id BIGINT PRIMARY KEY,
+    tenant_id VARCHAR(64) NOT NULL DEFAULT 'default',
+    title VARCHAR(255) NOT NULL,
+    description VARCHAR(1000),
+    completed BOOLEAN NOT NULL DEFAULT FALSE,
+    created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    updated_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    change_version BIGINT NOT NULL DEFAULT 0,
+    version BIGINT NOT NULL DEFAULT 0
+);
+
+CREATE INDEX IF NOT EXISTS idx_todos_tenant_created_at_id ON todos (tenant_id, created_at, id);
+CREATE INDEX IF NOT EXISTS idx_todos_tenant_completed_created_at_id ON todos (tenant_id, completed, created_at, id);
+CREATE INDEX IF NOT EXISTS idx_todos_change_version ON todos (change_version);
+
+CREATE TABLE IF NOT EXISTS todo_tombstones (
+    todo_id BIGINT PRIMARY KEY,
+    tenant_id VARCHAR(64) NOT NULL DEFAULT 'default',
+    change_version BIGINT NOT NULL,
+    deleted_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP
+);
+
+CREATE INDEX IF NOT EXISTS idx_todo_tombstones_change_version ON todo_tombstones (change_version);
+
+CREATE TABLE IF NOT EXISTS todo_instance_lease (
+    name VARCHAR(64) PRIMARY KEY,
+    owner VARCHAR(255) NOT NULL,
+    renewed_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP
+);
+
+CREATE TABLE IF NOT EXISTS todo_sync_state (
+    id INT PRIMARY KEY,
+    last_version BIGINT NOT NULL,
+    compacted_through BIGINT NOT NULL
+);
+
+CREATE TABLE IF NOT EXISTS todo_sync_in_flight (
+    change_version BIGINT PRIMARY KEY,
+    started_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP
+);
@@ -8,25 +8,80 @@ CREATE DATABASE IF NOT EXISTS todoapp CHARACTER SET utf8mb4 COLLATE utf8mb4_unic
 -- 使用数据库
 USE todoapp;
 
+-- 主键序列（步长与实体的 allocationSize 一致，便于 Hibernate 批量插入）
+-- Hibernate 的 pooled 优化器使用每个序列值之下的 50 个 id，已有数据的库由建表后的迁移步骤把序列移到 MAX(id) + 50
+CREATE SEQUENCE IF NOT EXISTS todos_seq START WITH 1 INCREMENT BY 50;
+
 -- 创建todos表
 CREATE TABLE IF NOT EXISTS todos (
-    id BIGINT AUTO_INCREMENT PRIMARY KEY COMMENT '主键ID',
+    id BIGINT PRIMARY KEY COMMENT '主键ID',
+    tenant_id VARCHAR(64) NOT NULL DEFAULT 'default' COMMENT '所属租户（X-Tenant-Id）',
     title VARCHAR(255) NOT NULL COMMENT '待办事项标题',
     description TEXT COMMENT '待办事项描述',
     completed BOOLEAN NOT NULL DEFAULT FALSE COMMENT '完成状态',
     created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP COMMENT '创建时间',
     updated_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP COMMENT '更新时间',
+    change_version BIGINT NOT NULL DEFAULT 0 COMMENT '变更版本号（增量同步）',
+    version BIGINT NOT NULL DEFAULT 0 COMMENT '乐观锁版本号（ETag / If-Match）',
     INDEX idx_completed (completed),
-    INDEX idx_created_at (created_at)
+    INDEX idx_created_at (created_at),
+    INDEX idx_todos_tenant_created_at_id (tenant_id, created_at, id),
+    INDEX idx_todos_tenant_completed_created_at_id (tenant_id, completed, created_at, id),
+    INDEX idx_todos_change_version (change_version)
 ) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci COMMENT='待办事项表';
 
+-- 已删除待办事项的墓碑，供增量同步返回删除；超过保留期后由后台任务清理
+CREATE TABLE IF NOT EXISTS todo_tombstones (
+    todo_id BIGINT PRIMARY KEY COMMENT '被删除的待办事项ID',
+    tenant_id VARCHAR(64) NOT NULL DEFAULT 'default' COMMENT '所属租户',
+    change_version BIGINT NOT NULL COMMENT '删除时的变更版本号',
+    deleted_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP COMMENT '删除时间',
+    INDEX idx_todo_tombstones_change_version (change_version)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci COMMENT='待办事项删除墓碑表';
+
+CREATE TABLE IF NOT EXISTS todo_instance_lease (
+    name VARCHAR(64) PRIMARY KEY COMMENT '租约名称',
+    owner VARCHAR(255) NOT NULL COMMENT '持有租约的实例（主机:进程号/进程标识）',
+    renewed_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP COMMENT '最近续约时间'
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci COMMENT='单实例租约表';
+
+-- 变更版本号计数器：每个库一行（id = 1），由应用启动时按已有的最大版本号初始化
+CREATE TABLE IF NOT EXISTS todo_sync_state (
+    id INT PRIMARY KEY COMMENT '固定为 1',
+    last_version BIGINT NOT NULL COMMENT '已分配的最大变更版本号',
+    compacted_through BIGINT NOT NULL COMMENT '墓碑已清理到的变更版本号'
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci COMMENT='增量同步状态表';
+
+CREATE TABLE IF NOT EXISTS todo_sync_in_flight (
+    change_version BIGINT PRIMARY KEY COMMENT '尚未提交的写事务的变更版本号',
+    started_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP COMMENT '分配时间'
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci COMMENT='未提交变更版本表';
+
+-- 迁移：表中已有 AUTO_INCREMENT 或其他方式写入的数据时，把序列移到最大 id 之后一个分配块
+-- （MAX(id) + 50，pooled 优化器会使用序列值之下的 50 个 id）；序列已经更靠后时不变，可以重复执行。
+-- 序列落后于已有 id 时应用拒绝启动
+SET @todos_seq_restart = (SELECT GREATEST(COALESCE((SELECT MAX(id) FROM todos), 0),
+                                          COALESCE((SELECT MAX(todo_id) FROM todo_tombstones), 0)) + 50);
+SET @todos_seq_sql = IF(@todos_seq_restart > 50 AND @todos_seq_restart > (SELECT next_not_cached_value FROM todos_seq),
+                        CONCAT('ALTER SEQUENCE todos_seq RESTART WITH ', @todos_seq_restart), 'DO 0');
+PREPARE todos_seq_migration FROM @todos_seq_sql;
+EXECUTE todos_seq_migration;
+DEALLOCATE PREPARE todos_seq_migration;
+
+-- 变更版本号计数器从已有的最大版本号继续；已存在时不变。
+-- 早于最旧墓碑的版本视为已清理（应用在首次分配版本号时也会按同样的规则补建这一行）
+INSERT IGNORE INTO todo_sync_state (id, last_version, compacted_through)
+SELECT 1, v.last_version, COALESCE((SELECT MIN(change_version) - 1 FROM todo_tombstones), v.last_version)
+FROM (SELECT GREATEST(COALESCE((SELECT MAX(change_version) FROM todos), 0),
+                      COALESCE((SELECT MAX(change_version) FROM todo_tombstones), 0)) AS last_version) v;
+
 -- 插入测试数据
-INSERT INTO todos (title, description, completed, created_at, updated_at) VALUES 
-('完成项目文档', '编写技术架构文档和API文档', false, NOW(), NOW()),
-('学习Spring Boot', '深入学习Spring Boot 3.0的新特性', false, NOW(), NOW()),
-('代码审查', '对现有代码进行全面的代码审查', true, NOW(), NOW()),
-('单元测试', '为所有功能编写单元测试', false, NOW(), NOW()),
-('部署应用', '将应用部署到生产环境', false, NOW(), NOW());
+INSERT INTO todos (id, title, description, completed, created_at, updated_at) VALUES 
+(NEXT VALUE FOR todos_seq, '完成项目文档', '编写技术架构文档和API文档', false, NOW(), NOW()),
+(NEXT VALUE FOR todos_seq, '学习Spring Boot', '深入学习Spring Boot 3.0的新特性', false, NOW(), NOW()),
+(NEXT VALUE FOR todos_seq, '代码审查', '对现有代码进行全面的代码审查', true, NOW(), NOW()),
+(NEXT VALUE FOR todos_seq, '单元测试', '为所有功能编写单元测试', false, NOW(), NOW()),
+(NEXT VALUE FOR todos_seq, '部署应用', '将应用部署到生产环境', false, NOW(), NOW());
 
 -- 查看表结构
 DESCRIBE todos;
@@ -0,0 +1,66 @@
+package com.todolist.backend;
+
+import com.todolist.backend.dto.TodoRequest;
+import com.todolist.backend.service.TodoService;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Boots the application on the in-memory H2 "benchmark" profile, either without a web
+ * server or with Tomcat on a random port.
+ */
+public final class BenchmarkContext {
+
+    private BenchmarkContext() {}
+
+    public static ConfigurableApplicationContext start(String... properties) {
+        return new SpringApplicationBuilder(TodoBackendApplication.class)
+                .profiles("benchmark")
+                .web(WebApplicationType.NONE)
+                .properties(properties)
+                .run();
+    }
+
+    /**
+     * Starts Tomcat with the given extra profiles. The properties are passed as command line
+     * arguments, so they override the profiles' own settings.
+     */
+    public static ConfigurableApplicationContext startServer(List<String> additionalProfiles, String... properties) {
+        return new SpringApplicationBuilder(TodoBackendApplication.class)
+                .profiles("benchmark")
+                .profiles(additionalProfiles.toArray(String[]::new))
+                .web(WebApplicationType.SERVLET)
+                .properties("server.port=0")
+                .run(Arrays.stream(properties).map(property -> "--" + property).toArray(String[]::new));
+    }
+
+    public static int port(ConfigurableApplicationContext context) {
+        return context.getEnvironment().getRequiredProperty("local.server.port", Integer.class);
+    }
+
+    /**
+     * Inserts {@code count} todos through the batch create path, every third one completed.
+     */
+    public static void seed(TodoService todoService, int count) {
+        for (int from = 0; from < count; from += 1000) {
+            List<TodoRequest> chunk = new ArrayList<>();
+            for (int i = from; i < Math.min(from + 1000, count); i++) {
+                chunk.add(request(i));
+            }
+            todoService.createTodos(chunk);
+        }
+    }
+
+    public static TodoRequest request(int i) {
+        TodoRequest request = new TodoRequest();
+        request.setTitle("Benchmark todo " + i);
+        request.setDescription("Description for benchmark todo " + i + " with a bit of realistic length to it");
+        request.setCompleted(i % 3 == 0);
+        return request;
+    }
+}
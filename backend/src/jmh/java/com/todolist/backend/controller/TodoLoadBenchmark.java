@@ -0,0 +1,102 @@
+package com.todolist.backend.controller;
+
+import com.todolist.backend.BenchmarkContext;
+import com.todolist.backend.service.TodoService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * HTTP load on the list and create endpoints with Tomcat on platform threads versus
+ * virtual threads. 256 client threads exceed Tomcat's default 200 workers, so the
+ * platform mode queues requests that the virtual mode can admit.
+ *
+ * <p>Both modes run with the connection pool and Tomcat limits of the virtual-threads
+ * profile, so the thread model is the only difference. The list page cache is off, so every
+ * list request reaches the database instead of measuring cache hits.
+ *
+ * <p>Sample-time mode reports p99 next to the mean. The virtual mode needs a Java 21
+ * runtime; on older runtimes pass {@code -Djmh.args="-p threadMode=platform"}. H2 has no
+ * network latency, so for realistic blocking point the forked JVM at MariaDB by passing
+ * the {@code spring.datasource.*} and dialect properties through {@code -jvmArgsAppend}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 3, time = 10)
+@Threads(256)
+@Fork(1)
+public class TodoLoadBenchmark {
+
+    private static final String[] SERVER_PROPERTIES = {
+            "spring.datasource.hikari.maximum-pool-size=50",
+            "spring.datasource.hikari.minimum-idle=10",
+            "spring.datasource.hikari.connection-timeout=5000",
+            "server.tomcat.max-connections=20000",
+            "server.tomcat.accept-count=1000",
+            "todo.list-cache.enabled=false"
+    };
+
+    private static final String CREATE_BODY = "{\"title\": \"Load test\", \"description\": \"Created under load\"}";
+
+    @Param({"platform", "virtual"})
+    private String threadMode;
+
+    private ConfigurableApplicationContext context;
+    private HttpClient client;
+    private HttpRequest listRequest;
+    private HttpRequest createRequest;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        boolean virtual = "virtual".equals(threadMode);
+        if (virtual && Runtime.version().feature() < 21) {
+            throw new IllegalStateException("threadMode=virtual needs Java 21, running on " + Runtime.version());
+        }
+        context = BenchmarkContext.startServer(virtual ? List.of("virtual-threads") : List.of(), SERVER_PROPERTIES);
+        BenchmarkContext.seed(context.getBean(TodoService.class), 10000);
+
+        String baseUrl = "http://localhost:" + BenchmarkContext.port(context) + "/api/v1/todos";
+        client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(5))
+                .build();
+        listRequest = HttpRequest.newBuilder(URI.create(baseUrl + "?limit=50&offset=5000")).GET().build();
+        createRequest = HttpRequest.newBuilder(URI.create(baseUrl))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(CREATE_BODY))
+                .build();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public int list() throws IOException, InterruptedException {
+        return send(listRequest, 200);
+    }
+
+    @Benchmark
+    public int create() throws IOException, InterruptedException {
+        return send(createRequest, 201);
+    }
+
+    private int send(HttpRequest request, int expectedStatus) throws IOException, InterruptedException {
+        HttpResponse<byte[]> response = client.send(request, HttpResponse.BodyHandlers.ofByteArray());
+        if (response.statusCode() != expectedStatus) {
+            throw new IllegalStateException("Unexpected status " + response.statusCode() + " for " + request.uri());
+        }
+        return response.body().length;
+    }
+}
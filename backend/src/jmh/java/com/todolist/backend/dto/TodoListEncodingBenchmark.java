@@ -0,0 +1,72 @@
+package com.todolist.backend.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.ByteArrayOutputStream;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Encode cost and size on the wire of a list page in each negotiable format, plain and
+ * gzipped, with the same Jackson settings as application.yml. Sizes are printed once per
+ * trial as "wire bytes"; the score is the time to produce them. A gzip cache hit in
+ * {@code GzipResponseFilter} costs the plain encode only.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TodoListEncodingBenchmark {
+
+    @Param({"json", "cbor", "smile"})
+    private String format;
+
+    @Param({"false", "true"})
+    private boolean gzip;
+
+    @Param({"10", "100"})
+    private int limit;
+
+    @Param({"100", "1000"})
+    private int descriptionLength;
+
+    private ObjectMapper objectMapper;
+    private TodoListResponse response;
+
+    @Setup
+    public void setUp() throws Exception {
+        Jackson2ObjectMapperBuilder builder = Jackson2ObjectMapperBuilder.json()
+                .serializationInclusion(JsonInclude.Include.NON_NULL)
+                .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+        switch (format) {
+            case "cbor" -> builder.factory(new CBORFactory());
+            case "smile" -> builder.factory(new SmileFactory());
+            default -> { }
+        }
+        objectMapper = builder.build();
+        response = TodoListFixtures.pageWithText(limit, descriptionLength);
+        System.out.printf("%nwire bytes: %s%s limit=%d descriptionLength=%d -> %d%n",
+                format, gzip ? "+gzip" : "", limit, descriptionLength, encode().length);
+    }
+
+    @Benchmark
+    public byte[] encode() throws Exception {
+        byte[] body = objectMapper.writeValueAsBytes(response);
+        if (!gzip) {
+            return body;
+        }
+        ByteArrayOutputStream out = new ByteArrayOutputStream(body.length / 4 + 64);
+        try (GZIPOutputStream compressed = new GZIPOutputStream(out)) {
+            compressed.write(body);
+        }
+        return out.toByteArray();
+    }
+}
@@ -0,0 +1,57 @@
+package com.todolist.backend.dto;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Deterministic list pages for the serialization benchmarks.
+ */
+public final class TodoListFixtures {
+
+    private TodoListFixtures() {}
+
+    private static final String[] WORDS = {
+            "review", "deploy", "the", "release", "notes", "before", "friday", "and", "update", "docs",
+            "check", "metrics", "on", "staging", "fix", "flaky", "test", "in", "pipeline", "call"
+    };
+
+    public static TodoListResponse page(int limit, int descriptionLength) {
+        LocalDateTime createdAt = LocalDateTime.of(2025, 1, 27, 9, 30, 15, 123_456_000);
+        List<TodoResponse> items = new ArrayList<>();
+        for (int i = 0; i < limit; i++) {
+            items.add(TodoResponse.builder()
+                    .id((long) i + 1)
+                    .title("Todo item number " + i)
+                    .description("d".repeat(descriptionLength))
+                    .completed(i % 3 == 0)
+                    .createdAt(createdAt.plusSeconds(i))
+                    .updatedAt(createdAt.plusMinutes(i))
+                    .build());
+        }
+        return TodoListResponse.builder()
+                .items(items)
+                .total(10_000L)
+                .limit(limit)
+                .offset(0)
+                .build();
+    }
+
+    /**
+     * Like {@link #page}, with descriptions made of seeded random words instead of one
+     * repeated character, so compression ratios resemble real text.
+     */
+    public static TodoListResponse pageWithText(int limit, int descriptionLength) {
+        Random random = new Random(42);
+        TodoListResponse response = page(limit, descriptionLength);
+        for (TodoResponse item : response.getItems()) {
+            StringBuilder description = new StringBuilder(descriptionLength + 16);
+            while (description.length() < descriptionLength) {
+                description.append(WORDS[random.nextInt(WORDS.length)]).append(' ');
+            }
+            item.setDescription(description.substring(0, descriptionLength));
+        }
+        return response;
+    }
+}
@@ -0,0 +1,66 @@
+package com.todolist.backend.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.ByteArrayOutputStream;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Jackson serialization of {@link TodoListResponse} with the same settings as application.yml,
+ * against {@link TodoJsonWriter}, which produces the same bytes. The stream variants write
+ * into a reused buffer as the servlet response would; run with {@code -prof gc} to compare
+ * allocation per page.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TodoListSerializationBenchmark {
+
+    @Param({"10", "50", "100"})
+    private int limit;
+
+    @Param({"100", "1000"})
+    private int descriptionLength;
+
+    private ObjectMapper objectMapper;
+    private TodoListResponse response;
+    private ByteArrayOutputStream out;
+
+    @Setup
+    public void setUp() {
+        objectMapper = Jackson2ObjectMapperBuilder.json()
+                .serializationInclusion(JsonInclude.Include.NON_NULL)
+                .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .build();
+        response = TodoListFixtures.page(limit, descriptionLength);
+        out = new ByteArrayOutputStream(limit * (descriptionLength + 200));
+    }
+
+    @Benchmark
+    public byte[] serializeJson() throws Exception {
+        return objectMapper.writeValueAsBytes(response);
+    }
+
+    @Benchmark
+    public int serializeJsonToStream() throws Exception {
+        out.reset();
+        objectMapper.writeValue(out, response);
+        return out.size();
+    }
+
+    @Benchmark
+    public int writeDirectToStream() throws Exception {
+        out.reset();
+        TodoJsonWriter writer = new TodoJsonWriter(out);
+        writer.write(response);
+        writer.flush();
+        return out.size();
+    }
+}
@@ -0,0 +1,52 @@
+package com.todolist.backend.service;
+
+import com.todolist.backend.dto.TodoResponse;
+import com.todolist.backend.model.Todo;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Entity to DTO mapping cost of {@link TodoService#convertToResponse} for one page of todos.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TodoMappingBenchmark {
+
+    @Param({"10", "50", "100"})
+    private int pageSize;
+
+    private List<Todo> page;
+
+    @Setup
+    public void setUp() {
+        LocalDateTime now = LocalDateTime.now();
+        page = new ArrayList<>();
+        for (int i = 0; i < pageSize; i++) {
+            page.add(Todo.builder()
+                    .id((long) i)
+                    .title("Todo " + i)
+                    .description("Description " + i)
+                    .completed(i % 2 == 0)
+                    .createdAt(now)
+                    .updatedAt(now)
+                    .build());
+        }
+    }
+
+    @Benchmark
+    public void convertPage(Blackhole blackhole) {
+        for (Todo todo : page) {
+            TodoResponse response = TodoService.convertToResponse(todo);
+            blackhole.consume(response);
+        }
+    }
+}
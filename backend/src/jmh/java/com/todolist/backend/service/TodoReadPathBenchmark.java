@@ -0,0 +1,75 @@
+package com.todolist.backend.service;
+
+import com.todolist.backend.BenchmarkContext;
+import com.todolist.backend.dto.TodoResponse;
+import com.todolist.backend.model.Todo;
+import com.todolist.backend.repository.OffsetPageRequest;
+import com.todolist.backend.repository.TodoRepository;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.Sort;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Loading a list page as managed entities in a read-write transaction and mapping them,
+ * versus projecting rows straight into {@link TodoResponse} in a read-only transaction.
+ *
+ * <p>Run with {@code -Djmh.args="-prof gc"} to compare allocation per page as well.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TodoReadPathBenchmark {
+
+    private static final int TABLE_SIZE = 10000;
+    private static final Sort LIST_ORDER = Sort.by(Sort.Order.asc("createdAt"), Sort.Order.asc("id"));
+
+    @Param({"100", "1000"})
+    private int pageSize;
+
+    private ConfigurableApplicationContext context;
+    private TodoService todoService;
+    private TodoRepository todoRepository;
+    private TransactionTemplate readWrite;
+    private TransactionTemplate readOnly;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkContext.start();
+        todoService = context.getBean(TodoService.class);
+        todoRepository = context.getBean(TodoRepository.class);
+        BenchmarkContext.seed(todoService, TABLE_SIZE);
+
+        PlatformTransactionManager transactionManager = context.getBean(PlatformTransactionManager.class);
+        readWrite = new TransactionTemplate(transactionManager);
+        readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public List<TodoResponse> entityPage() {
+        return readWrite.execute(status -> {
+            List<Todo> todos = todoRepository.findAll(new OffsetPageRequest(0, pageSize, LIST_ORDER)).getContent();
+            return todos.stream().map(TodoService::convertToResponse).collect(Collectors.toList());
+        });
+    }
+
+    @Benchmark
+    public List<TodoResponse> projectionPage() {
+        return readOnly.execute(status ->
+                todoRepository.findResponses(new OffsetPageRequest(0, pageSize, LIST_ORDER)));
+    }
+}
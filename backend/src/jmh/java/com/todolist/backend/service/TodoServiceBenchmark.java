@@ -0,0 +1,67 @@
+package com.todolist.backend.service;
+
+import com.todolist.backend.BenchmarkContext;
+import com.todolist.backend.dto.TodoListResponse;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * List read path of {@link TodoService#getAllTodos} and {@link TodoService#getTodosByCursor}
+ * against in-memory H2 at several table sizes.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TodoServiceBenchmark {
+
+    @Param({"1000", "10000", "100000"})
+    private int tableSize;
+
+    private ConfigurableApplicationContext context;
+    private TodoService todoService;
+    private String midTableCursor;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkContext.start();
+        todoService = context.getBean(TodoService.class);
+        BenchmarkContext.seed(todoService, tableSize);
+
+        // Cursor positioned halfway through the table, equivalent to the deep offset below
+        String cursor = "";
+        for (int offset = 0; offset < tableSize / 2; offset += 100) {
+            cursor = todoService.getTodosByCursor(null, 100, cursor).getNextCursor();
+        }
+        midTableCursor = cursor;
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public TodoListResponse firstPage() {
+        return todoService.getAllTodos(null, 50, 0);
+    }
+
+    @Benchmark
+    public TodoListResponse firstPageFiltered() {
+        return todoService.getAllTodos("false", 50, 0);
+    }
+
+    @Benchmark
+    public TodoListResponse deepOffsetPage() {
+        return todoService.getAllTodos(null, 100, tableSize / 2);
+    }
+
+    @Benchmark
+    public TodoListResponse deepCursorPage() {
+        return todoService.getTodosByCursor(null, 100, midTableCursor);
+    }
+}
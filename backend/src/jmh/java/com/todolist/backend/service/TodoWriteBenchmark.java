@@ -0,0 +1,75 @@
+package com.todolist.backend.service;
+
+import com.todolist.backend.BenchmarkContext;
+import com.todolist.backend.dto.TodoRequest;
+import com.todolist.backend.dto.TodoResponse;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Create and update round trips through {@link TodoService}, including a per-item comparison
+ * of single creates against the JDBC-batched {@link TodoService#createTodos} path.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TodoWriteBenchmark {
+
+    private static final int BATCH_SIZE = 1000;
+
+    private ConfigurableApplicationContext context;
+    private TodoService todoService;
+    private List<TodoRequest> batch;
+    private Long updateId;
+    private boolean toggle;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkContext.start();
+        todoService = context.getBean(TodoService.class);
+        batch = new ArrayList<>();
+        for (int i = 0; i < BATCH_SIZE; i++) {
+            batch.add(BenchmarkContext.request(i));
+        }
+        updateId = todoService.createTodo(BenchmarkContext.request(0)).getId();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public TodoResponse createTodo() {
+        return todoService.createTodo(batch.get(0));
+    }
+
+    @Benchmark
+    public TodoResponse updateTodo() {
+        TodoRequest request = new TodoRequest();
+        request.setCompleted(toggle = !toggle);
+        return todoService.updateTodo(updateId, request);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BATCH_SIZE)
+    public void createTodoOneByOne(Blackhole blackhole) {
+        for (TodoRequest request : batch) {
+            blackhole.consume(todoService.createTodo(request));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BATCH_SIZE)
+    public List<TodoResponse> createTodosBatched() {
+        return todoService.createTodos(batch);
+    }
+}
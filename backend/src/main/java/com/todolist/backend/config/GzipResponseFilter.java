@@ -0,0 +1,203 @@
+package com.todolist.backend.config;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import com.todolist.backend.service.TodoValidator;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletRequestWrapper;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Collections;
+import java.util.Enumeration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.regex.Pattern;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Gzips list and single-todo responses of at least {@code min-size} bytes for clients
+ * that accept it. Compressed bodies are kept in a small LRU keyed by tenant, ETag and
+ * content type: the ETag changes whenever the content does, so a repeated request for an
+ * unchanged page in the same format reuses the bytes instead of compressing them again.
+ * List ETags carry a SHA-256 of the tenant and query, so no other request can hit an entry.
+ *
+ * <p>A gzipped body is another representation, so its ETag gets a {@code -gzip} suffix.
+ * The suffix is taken off {@code If-None-Match} before the controller compares it and put
+ * back on a 304, like Apache httpd's mod_deflate does.
+ *
+ * <p>Streaming endpoints (export, events) are left alone; buffering them would defeat
+ * their purpose.
+ */
+public class GzipResponseFilter extends OncePerRequestFilter {
+
+    private static final Pattern COMPRESSIBLE_PATH = Pattern.compile("/api/v1/todos/?|/api/v1/todos/\\d+");
+
+    private final int minSize;
+    private final int maxEntries;
+    private final Map<String, byte[]> compressed;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder bytesIn = new LongAdder();
+    private final LongAdder bytesOut = new LongAdder();
+
+    public GzipResponseFilter(int minSize, int maxEntries) {
+        this.minSize = minSize;
+        this.maxEntries = maxEntries;
+        this.compressed = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, byte[]> eldest) {
+                return size() > GzipResponseFilter.this.maxEntries;
+            }
+        };
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !"GET".equals(request.getMethod())
+                || !COMPRESSIBLE_PATH.matcher(request.getRequestURI().substring(request.getContextPath().length())).matches();
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        // The same URL is served as JSON, CBOR or Smile, each plain or gzipped
+        response.addHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT);
+        response.addHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        if (!acceptsGzip(request.getHeader(HttpHeaders.ACCEPT_ENCODING))) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        ContentCachingResponseWrapper wrapper = new ContentCachingResponseWrapper(response);
+        String ifNoneMatch = request.getHeader(HttpHeaders.IF_NONE_MATCH);
+        filterChain.doFilter(ifNoneMatch != null ? new PlainETagRequest(request, ifNoneMatch) : request, wrapper);
+        String eTag = wrapper.getHeader(HttpHeaders.ETAG);
+        if (wrapper.getStatus() == HttpServletResponse.SC_NOT_MODIFIED && eTag != null && ifNoneMatch != null
+                && ifNoneMatch.contains(TodoValidator.withRepresentation(eTag, TodoValidator.GZIP))) {
+            // The client's copy is the gzipped one
+            wrapper.setHeader(HttpHeaders.ETAG, TodoValidator.withRepresentation(eTag, TodoValidator.GZIP));
+        }
+        byte[] body = wrapper.getContentAsByteArray();
+        if (wrapper.getStatus() != HttpServletResponse.SC_OK || body.length < minSize
+                || wrapper.containsHeader(HttpHeaders.CONTENT_ENCODING)) {
+            wrapper.copyBodyToResponse();
+            return;
+        }
+
+        byte[] gzipped = eTag != null
+                ? cached(request.getHeader(TenantFilter.TENANT_HEADER) + ";" + eTag + ";" + wrapper.getContentType(), body)
+                : gzip(body);
+        bytesIn.add(body.length);
+        bytesOut.add(gzipped.length);
+        wrapper.resetBuffer();
+        wrapper.setHeader(HttpHeaders.CONTENT_ENCODING, "gzip");
+        if (eTag != null) {
+            wrapper.setHeader(HttpHeaders.ETAG, TodoValidator.withRepresentation(eTag, TodoValidator.GZIP));
+        }
+        wrapper.getOutputStream().write(gzipped);
+        wrapper.copyBodyToResponse();
+    }
+
+    public long getHits() {
+        return hits.sum();
+    }
+
+    public long getMisses() {
+        return misses.sum();
+    }
+
+    /**
+     * Compressed over uncompressed size of all gzipped responses so far.
+     */
+    public double getCompressionRatio() {
+        long in = bytesIn.sum();
+        return in == 0 ? 1.0 : (double) bytesOut.sum() / in;
+    }
+
+    private byte[] cached(String key, byte[] body) {
+        synchronized (compressed) {
+            byte[] entry = compressed.get(key);
+            if (entry != null) {
+                hits.increment();
+                return entry;
+            }
+        }
+        misses.increment();
+        byte[] entry = gzip(body);
+        synchronized (compressed) {
+            compressed.put(key, entry);
+        }
+        return entry;
+    }
+
+    // An explicit gzip coding decides; otherwise "*" does. q=0 refuses the coding
+    static boolean acceptsGzip(String acceptEncoding) {
+        if (acceptEncoding == null) {
+            return false;
+        }
+        Boolean gzip = null;
+        Boolean any = null;
+        for (String coding : acceptEncoding.split(",")) {
+            String[] parts = coding.split(";");
+            String name = parts[0].trim();
+            boolean accepted = true;
+            for (int i = 1; i < parts.length; i++) {
+                String parameter = parts[i].replace(" ", "");
+                if (parameter.matches("q=0(\\.0*)?")) {
+                    accepted = false;
+                }
+            }
+            if (name.equalsIgnoreCase("gzip")) {
+                gzip = accepted;
+            } else if (name.equals("*")) {
+                any = accepted;
+            }
+        }
+        return gzip != null ? gzip : Boolean.TRUE.equals(any);
+    }
+
+    // Matches "x-gzip" against the uncompressed "x" the controller builds
+    static String withoutGzipSuffix(String ifNoneMatch) {
+        return ifNoneMatch.replace("-" + TodoValidator.GZIP + "\"", "\"");
+    }
+
+    static byte[] gzip(byte[] body) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(body.length / 4 + 64);
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+            gzip.write(body);
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+        return out.toByteArray();
+    }
+
+    private static final class PlainETagRequest extends HttpServletRequestWrapper {
+
+        private final String ifNoneMatch;
+
+        PlainETagRequest(HttpServletRequest request, String ifNoneMatch) {
+            super(request);
+            this.ifNoneMatch = withoutGzipSuffix(ifNoneMatch);
+        }
+
+        @Override
+        public String getHeader(String name) {
+            return HttpHeaders.IF_NONE_MATCH.equalsIgnoreCase(name) ? ifNoneMatch : super.getHeader(name);
+        }
+
+        @Override
+        public Enumeration<String> getHeaders(String name) {
+            return HttpHeaders.IF_NONE_MATCH.equalsIgnoreCase(name)
+                    ? Collections.enumeration(List.of(ifNoneMatch)) : super.getHeaders(name);
+        }
+    }
+}
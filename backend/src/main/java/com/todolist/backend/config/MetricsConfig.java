@@ -0,0 +1,168 @@
+package com.todolist.backend.config;
+
+import com.todolist.backend.repository.ReplicaRouter;
+import com.todolist.backend.repository.TenantContext;
+import com.todolist.backend.service.TodoCounters;
+import com.todolist.backend.service.TodoDeleteJobService;
+import com.todolist.backend.service.TodoEventStream;
+import com.todolist.backend.service.TodoListCache;
+import com.todolist.backend.service.TodoSearchIndex;
+import com.todolist.backend.service.TodoWriteBuffer;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.FunctionTimer;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Application meters on top of the ones Spring Boot registers automatically
+ * (http.server.requests, spring.data.repository.invocations, hibernate.*, hikaricp.*).
+ */
+@Configuration
+public class MetricsConfig {
+    
+    @Bean
+    public MeterBinder todoListCacheMetrics(TodoListCache todoListCache) {
+        return registry -> {
+            FunctionCounter.builder("todo.list.cache.requests", todoListCache, TodoListCache::getHits)
+                    .tag("result", "hit")
+                    .description("List page cache lookups")
+                    .register(registry);
+            FunctionCounter.builder("todo.list.cache.requests", todoListCache, TodoListCache::getMisses)
+                    .tag("result", "miss")
+                    .description("List page cache lookups")
+                    .register(registry);
+            FunctionCounter.builder("todo.list.cache.evictions", todoListCache, TodoListCache::getEvictions)
+                    .description("List pages evicted to stay within max-entries and max-size")
+                    .register(registry);
+            Gauge.builder("todo.list.cache.size", todoListCache, TodoListCache::size)
+                    .description("List pages currently cached")
+                    .register(registry);
+            Gauge.builder("todo.list.cache.bytes", todoListCache, TodoListCache::bytes)
+                    .description("Estimated heap size of the cached list pages")
+                    .baseUnit("bytes")
+                    .register(registry);
+        };
+    }
+    
+    @Bean
+    public MeterBinder gzipResponseMetrics(GzipResponseFilter gzipResponseFilter) {
+        return registry -> {
+            FunctionCounter.builder("todo.gzip.cache.requests", gzipResponseFilter, GzipResponseFilter::getHits)
+                    .tag("result", "hit")
+                    .description("Gzipped responses served from the compressed body cache")
+                    .register(registry);
+            FunctionCounter.builder("todo.gzip.cache.requests", gzipResponseFilter, GzipResponseFilter::getMisses)
+                    .tag("result", "miss")
+                    .description("Gzipped responses served from the compressed body cache")
+                    .register(registry);
+            Gauge.builder("todo.gzip.ratio", gzipResponseFilter, GzipResponseFilter::getCompressionRatio)
+                    .description("Compressed over uncompressed bytes of gzipped responses")
+                    .register(registry);
+        };
+    }
+    
+    @Bean
+    public MeterBinder todoCountMetrics(TodoCounters todoCounters) {
+        return registry -> {
+            // Summed over all tenants
+            Gauge.builder("todo.count", todoCounters, counters -> counters.completed(TenantContext.ALL_TENANTS))
+                    .tag("status", "completed")
+                    .description("Todos by completion status")
+                    .register(registry);
+            Gauge.builder("todo.count", todoCounters, counters -> counters.total(TenantContext.ALL_TENANTS)
+                            - counters.completed(TenantContext.ALL_TENANTS))
+                    .tag("status", "active")
+                    .description("Todos by completion status")
+                    .register(registry);
+        };
+    }
+    
+    @Bean
+    public MeterBinder todoWriteBufferMetrics(TodoWriteBuffer todoWriteBuffer) {
+        return registry -> {
+            Gauge.builder("todo.write-buffer.pending", todoWriteBuffer, TodoWriteBuffer::getPendingCount)
+                    .description("Todos with edits waiting to be written")
+                    .register(registry);
+            FunctionCounter.builder("todo.write-buffer.writes", todoWriteBuffer, TodoWriteBuffer::getAcceptedWrites)
+                    .description("Edits accepted into the write buffer")
+                    .register(registry);
+            FunctionCounter.builder("todo.write-buffer.rows", todoWriteBuffer, TodoWriteBuffer::getFlushedRows)
+                    .description("Rows written by write buffer flushes")
+                    .register(registry);
+            Gauge.builder("todo.write-buffer.coalescing.ratio", todoWriteBuffer, TodoWriteBuffer::getCoalescingRatio)
+                    .description("Edits per written row")
+                    .register(registry);
+            FunctionTimer.builder("todo.write-buffer.flush", todoWriteBuffer,
+                            TodoWriteBuffer::getFlushCount, TodoWriteBuffer::getFlushTimeNanos, TimeUnit.NANOSECONDS)
+                    .description("Write buffer flush transactions")
+                    .register(registry);
+        };
+    }
+    
+    @Bean
+    public MeterBinder todoDeleteJobMetrics(TodoDeleteJobService todoDeleteJobService) {
+        return registry -> {
+            Gauge.builder("todo.delete-jobs.active", todoDeleteJobService, TodoDeleteJobService::getActiveJobs)
+                    .description("Bulk delete jobs queued or running")
+                    .register(registry);
+            FunctionCounter.builder("todo.delete-jobs.rows", todoDeleteJobService, TodoDeleteJobService::getDeletedRows)
+                    .description("Rows deleted by bulk delete jobs")
+                    .register(registry);
+        };
+    }
+    
+    @Bean
+    public MeterBinder todoSearchIndexMetrics(TodoSearchIndex todoSearchIndex) {
+        return registry -> {
+            Gauge.builder("todo.search.documents", todoSearchIndex, TodoSearchIndex::size)
+                    .description("Todos in the search index")
+                    .register(registry);
+            Gauge.builder("todo.search.terms", todoSearchIndex, TodoSearchIndex::termCount)
+                    .description("Distinct terms in the search index")
+                    .register(registry);
+            Gauge.builder("todo.search.tenants", todoSearchIndex, TodoSearchIndex::tenantCount)
+                    .description("Tenants held in the search index")
+                    .register(registry);
+            FunctionCounter.builder("todo.search.evictions", todoSearchIndex, TodoSearchIndex::evictions)
+                    .description("Tenants evicted from the search index to make room for others")
+                    .register(registry);
+        };
+    }
+    
+    @Bean
+    public MeterBinder todoEventStreamMetrics(TodoEventStream todoEventStream) {
+        return registry -> {
+            Gauge.builder("todo.events.subscribers", todoEventStream, TodoEventStream::getSubscriberCount)
+                    .description("Open change feed connections")
+                    .register(registry);
+            FunctionCounter.builder("todo.events.published", todoEventStream, TodoEventStream::getPublishedEvents)
+                    .description("Change events sent to the change feed")
+                    .register(registry);
+            FunctionCounter.builder("todo.events.dropped", todoEventStream, TodoEventStream::getDroppedSubscribers)
+                    .description("Subscribers disconnected because their buffer overflowed")
+                    .register(registry);
+        };
+    }
+    
+    @Bean
+    public MeterBinder replicaRoutingMetrics(ObjectProvider<ReplicaRouter> replicaRouter) {
+        return registry -> replicaRouter.ifAvailable(router -> {
+            FunctionCounter.builder("todo.datasource.connections", router, ReplicaRouter::getPrimaryConnections)
+                    .tag("target", "primary")
+                    .description("Connections taken per routing target")
+                    .register(registry);
+            FunctionCounter.builder("todo.datasource.connections", router, ReplicaRouter::getReplicaConnections)
+                    .tag("target", "replica")
+                    .description("Connections taken per routing target")
+                    .register(registry);
+            Gauge.builder("todo.datasource.sticky.tenants", router, ReplicaRouter::stickyTenants)
+                    .description("Tenants whose reads stay on the primary after a recent write")
+                    .register(registry);
+        });
+    }
+}
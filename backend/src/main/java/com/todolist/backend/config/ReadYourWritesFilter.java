@@ -0,0 +1,50 @@
+package com.todolist.backend.config;
+
+import com.todolist.backend.repository.ReplicaRouter;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+/**
+ * Binds the client of a request for {@link ReplicaRouter}, taken from the read-your-writes
+ * token in {@value #LAST_WRITE_HEADER}: the commit time of the client's last write, in epoch
+ * millis. Every response carries the client's current token in the same header, moved on by
+ * writes the request commits, and clients send it back with their next request.
+ *
+ * <p>A response to a request without a token carries {@code 0}, so clients that keep the
+ * token stop falling back to their tenant's writes from their second request on.
+ */
+public class ReadYourWritesFilter extends OncePerRequestFilter {
+
+    public static final String LAST_WRITE_HEADER = "X-Last-Write";
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        Long lastWrite = parse(request.getHeader(LAST_WRITE_HEADER));
+        // Set before the body is written; writes replace it while the response is still open
+        response.setHeader(LAST_WRITE_HEADER, String.valueOf(lastWrite != null ? lastWrite : 0));
+        ReplicaRouter.setClient(lastWrite, committed -> response.setHeader(LAST_WRITE_HEADER, String.valueOf(committed)));
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            ReplicaRouter.clearClient();
+        }
+    }
+
+    // A malformed token counts as none
+    private static Long parse(String token) {
+        if (token == null || token.isBlank()) {
+            return null;
+        }
+        try {
+            return Long.parseLong(token.trim());
+        } catch (NumberFormatException ex) {
+            return null;
+        }
+    }
+}
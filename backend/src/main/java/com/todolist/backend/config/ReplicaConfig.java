@@ -0,0 +1,83 @@
+package com.todolist.backend.config;
+
+import com.todolist.backend.repository.ReplicaRouter;
+import com.todolist.backend.repository.ReplicaRoutingDataSource;
+import com.zaxxer.hikari.HikariDataSource;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.resource.jdbc.spi.PhysicalConnectionHandlingMode;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Read replicas for {@code spring.datasource}. With {@code todo.replicas.enabled},
+ * read-only transactions are served by the databases under {@code todo.replicas.datasources}
+ * and everything else by the primary; see {@link ReplicaRouter} for the rules.
+ */
+@Configuration
+@ConditionalOnProperty(name = "todo.replicas.enabled", havingValue = "true")
+public class ReplicaConfig {
+
+    @Bean
+    public ReplicaRouter replicaRouter(Environment environment,
+                                       @Value("${todo.sharding.enabled:false}") boolean sharding,
+                                       @Value("${todo.replicas.balance:round-robin}") ReplicaRouter.Balance balance,
+                                       @Value("${todo.replicas.sticky-window:2s}") Duration stickyWindow) throws Exception {
+        if (sharding) {
+            throw new IllegalStateException("todo.replicas cannot be combined with todo.sharding");
+        }
+        List<DataSourceProperties> replicas = Binder.get(environment)
+                .bind("todo.replicas.datasources", Bindable.listOf(DataSourceProperties.class))
+                .orElse(List.of());
+        if (replicas.isEmpty()) {
+            throw new IllegalStateException("todo.replicas.enabled requires at least one entry in todo.replicas.datasources");
+        }
+        List<HikariDataSource> pools = new ArrayList<>();
+        for (int i = 0; i < replicas.size(); i++) {
+            DataSourceProperties replica = replicas.get(i);
+            replica.setBeanClassLoader(getClass().getClassLoader());
+            replica.afterPropertiesSet();
+            HikariDataSource pool = replica.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+            pool.setPoolName("replica-" + i);
+            pool.setReadOnly(true);
+            pools.add(pool);
+        }
+        return new ReplicaRouter(pools, balance, stickyWindow);
+    }
+
+    @Bean
+    public DataSource dataSource(DataSourceProperties properties, ReplicaRouter router) {
+        HikariDataSource primary = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        primary.setPoolName(ReplicaRouter.PRIMARY);
+        // Takes the connection at the first statement, once the transaction's read-only flag is set
+        return new LazyConnectionDataSourceProxy(new ReplicaRoutingDataSource(router, router.targets(primary)));
+    }
+
+    @Bean
+    public FilterRegistrationBean<ReadYourWritesFilter> readYourWritesFilterRegistration() {
+        FilterRegistrationBean<ReadYourWritesFilter> registration = new FilterRegistrationBean<>(new ReadYourWritesFilter());
+        registration.addUrlPatterns("/api/*");
+        return registration;
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer replicaConnectionHandling() {
+        // Without this a session keeps its first connection until it closes, so under
+        // open-in-view a write could run on the replica an earlier read of the request used
+        return properties -> properties.put(AvailableSettings.CONNECTION_HANDLING,
+                PhysicalConnectionHandlingMode.DELAYED_ACQUISITION_AND_RELEASE_AFTER_TRANSACTION);
+    }
+}
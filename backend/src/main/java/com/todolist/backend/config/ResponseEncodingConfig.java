@@ -0,0 +1,55 @@
+package com.todolist.backend.config;
+
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+
+/**
+ * Response formats besides JSON. Clients sending {@code Accept: application/cbor} or
+ * {@code application/x-jackson-smile} get the same document in a binary encoding, written
+ * with the spring.jackson settings of the JSON mapper. JSON stays the default for any
+ * other Accept header. JSON for the list and single-todo responses is written by
+ * {@link TodoJsonHttpMessageConverter}.
+ */
+@Configuration
+public class ResponseEncodingConfig {
+    
+    // Replace the converters Spring MVC registers for these formats, which ignore spring.jackson.*
+    
+    @Bean
+    public MappingJackson2CborHttpMessageConverter cborHttpMessageConverter(Jackson2ObjectMapperBuilder builder) {
+        return new MappingJackson2CborHttpMessageConverter(builder.factory(new CBORFactory()).build());
+    }
+    
+    @Bean
+    public MappingJackson2SmileHttpMessageConverter smileHttpMessageConverter(Jackson2ObjectMapperBuilder builder) {
+        return new MappingJackson2SmileHttpMessageConverter(builder.factory(new SmileFactory()).build());
+    }
+    
+    // Output matches the spring.jackson settings in application.yml; turn it off when changing them
+    @Bean
+    @ConditionalOnProperty(name = "todo.json.direct-writer", havingValue = "true", matchIfMissing = true)
+    public TodoJsonHttpMessageConverter todoJsonHttpMessageConverter() {
+        return new TodoJsonHttpMessageConverter();
+    }
+    
+    @Bean
+    public GzipResponseFilter gzipResponseFilter(@Value("${todo.compression.min-size:2048}") int minSize,
+                                                 @Value("${todo.compression.cache-entries:256}") int cacheEntries) {
+        return new GzipResponseFilter(minSize, cacheEntries);
+    }
+    
+    @Bean
+    public FilterRegistrationBean<GzipResponseFilter> gzipResponseFilterRegistration(GzipResponseFilter filter) {
+        FilterRegistrationBean<GzipResponseFilter> registration = new FilterRegistrationBean<>(filter);
+        registration.addUrlPatterns("/api/v1/todos", "/api/v1/todos/*");
+        return registration;
+    }
+}
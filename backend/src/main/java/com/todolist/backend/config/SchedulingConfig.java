@@ -0,0 +1,12 @@
+package com.todolist.backend.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * Enables {@code @Scheduled} background jobs such as tombstone compaction.
+ */
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+}
@@ -0,0 +1,106 @@
+package com.todolist.backend.config;
+
+import com.todolist.backend.model.Todo;
+import com.todolist.backend.repository.TenantContext;
+import com.todolist.backend.repository.TenantShardRing;
+import org.hibernate.boot.Metadata;
+import org.hibernate.boot.spi.BootstrapContext;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.dialect.Dialect;
+import org.hibernate.engine.config.spi.ConfigurationService;
+import org.hibernate.engine.jdbc.connections.spi.ConnectionProvider;
+import org.hibernate.engine.jdbc.spi.JdbcServices;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.integrator.spi.Integrator;
+import org.hibernate.service.ServiceRegistry;
+import org.hibernate.service.spi.SessionFactoryServiceRegistry;
+import org.hibernate.tool.schema.spi.DelayedDropAction;
+import org.hibernate.tool.schema.spi.SchemaManagementToolCoordinator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Applies {@code spring.jpa.hibernate.ddl-auto} to every shard. Left to itself, Hibernate
+ * would only create or update the schema of whichever shard it happens to connect to.
+ *
+ * <p>Afterwards each shard's id sequence is moved to the start of its own block of
+ * {@value #ID_BLOCK_SIZE} ids, by declaration order, so ids stay unique across shards.
+ * The in-process caches, the search index and the ETags all rely on that.
+ */
+public class ShardSchemaIntegrator implements Integrator {
+
+    private static final Logger log = LoggerFactory.getLogger(ShardSchemaIntegrator.class);
+
+    static final long ID_BLOCK_SIZE = 1L << 40;
+
+    private final TenantShardRing ring;
+    private final Object schemaAction;
+    private final Map<String, DelayedDropAction> delayedDrops = new ConcurrentHashMap<>();
+
+    public ShardSchemaIntegrator(TenantShardRing ring, Object schemaAction) {
+        this.ring = ring;
+        this.schemaAction = schemaAction;
+    }
+
+    @Override
+    public void integrate(Metadata metadata, BootstrapContext bootstrapContext, SessionFactoryImplementor sessionFactory) {
+        ServiceRegistry serviceRegistry = sessionFactory.getServiceRegistry();
+        Map<String, Object> settings = new HashMap<>(serviceRegistry.requireService(ConfigurationService.class).getSettings());
+        settings.put(AvailableSettings.HBM2DDL_AUTO, schemaAction);
+        for (String shard : ring.shards()) {
+            TenantContext.run(TenantContext.ALL_TENANTS, shard, () -> {
+                if (schemaAction != null) {
+                    SchemaManagementToolCoordinator.process(metadata, serviceRegistry, settings,
+                            action -> delayedDrops.put(shard, action));
+                }
+                reserveIdBlock(serviceRegistry, shard);
+            });
+        }
+    }
+
+    @Override
+    public void disintegrate(SessionFactoryImplementor sessionFactory, SessionFactoryServiceRegistry serviceRegistry) {
+        // create-drop: each shard drops its own schema on shutdown
+        delayedDrops.forEach((shard, action) ->
+                TenantContext.run(TenantContext.ALL_TENANTS, shard, () -> action.perform(serviceRegistry)));
+    }
+
+    private void reserveIdBlock(ServiceRegistry serviceRegistry, String shard) {
+        long blockStart = ring.indexOf(shard) * ID_BLOCK_SIZE;
+        if (blockStart == 0) {
+            return;
+        }
+        Dialect dialect = serviceRegistry.requireService(JdbcServices.class).getDialect();
+        ConnectionProvider connections = serviceRegistry.requireService(ConnectionProvider.class);
+        try {
+            Connection connection = connections.getConnection();
+            try (Statement statement = connection.createStatement()) {
+                long next;
+                try (ResultSet result = statement.executeQuery(
+                        dialect.getSequenceSupport().getSequenceNextValString(Todo.ID_SEQUENCE))) {
+                    result.next();
+                    next = result.getLong(1);
+                }
+                // The pooled optimizer hands out the allocation below each sequence value, so
+                // the sequence starts one allocation into the block. Only ever moved forward
+                long restart = blockStart + Todo.ID_ALLOCATION_SIZE;
+                if (next < restart) {
+                    statement.execute("ALTER SEQUENCE " + Todo.ID_SEQUENCE + " RESTART WITH " + restart);
+                    log.info("Shard {} allocates todo ids from {}", shard, blockStart);
+                }
+            } finally {
+                connections.closeConnection(connection);
+            }
+        } catch (SQLException ex) {
+            throw new IllegalStateException("Could not reserve the id block of shard " + shard, ex);
+        }
+    }
+}
@@ -0,0 +1,95 @@
+package com.todolist.backend.config;
+
+import com.todolist.backend.repository.ShardRoutingDataSource;
+import com.todolist.backend.repository.TenantShardRing;
+import com.zaxxer.hikari.HikariDataSource;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.jpa.boot.internal.EntityManagerFactoryBuilderImpl;
+import org.hibernate.jpa.boot.spi.IntegratorProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.core.env.Environment;
+
+import javax.sql.DataSource;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Tenancy and sharding. Every todo belongs to a tenant and Hibernate confines each
+ * session to the tenant of the request ({@link TenantFilter}).
+ *
+ * <p>With {@code todo.sharding.enabled}, todos live in the databases listed under
+ * {@code todo.sharding.shards} instead of {@code spring.datasource}: each tenant is
+ * placed on one shard by consistent hashing, and admin-wide work visits every shard
+ * through {@code TodoShards}. Otherwise there is a single shard, the configured datasource.
+ */
+@Configuration
+public class ShardingConfig {
+
+    public static final String PRIMARY_SHARD = "primary";
+
+    @Bean
+    public TenantShardRing tenantShardRing(Environment environment,
+                                           @Value("${todo.sharding.enabled:false}") boolean enabled,
+                                           @Value("${todo.sharding.virtual-nodes:160}") int virtualNodes) {
+        if (!enabled) {
+            return new TenantShardRing(List.of(PRIMARY_SHARD), 1);
+        }
+        return new TenantShardRing(shards(environment).stream().map(DataSourceProperties::getName).toList(), virtualNodes);
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "todo.sharding.enabled", havingValue = "true")
+    public DataSource dataSource(Environment environment, TenantShardRing ring) throws Exception {
+        Map<String, DataSource> shards = new LinkedHashMap<>();
+        for (DataSourceProperties shard : shards(environment)) {
+            shard.setBeanClassLoader(getClass().getClassLoader());
+            shard.afterPropertiesSet();
+            HikariDataSource pool = shard.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+            pool.setPoolName("shard-" + shard.getName());
+            shards.put(shard.getName(), pool);
+        }
+        return new ShardRoutingDataSource(ring, shards);
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "todo.sharding.enabled", havingValue = "true")
+    public HibernatePropertiesCustomizer shardSchemaProperties(TenantShardRing ring) {
+        return properties -> {
+            // The integrator applies the schema action to every shard instead
+            Object schemaAction = properties.put(AvailableSettings.HBM2DDL_AUTO, "none");
+            properties.put(EntityManagerFactoryBuilderImpl.INTEGRATOR_PROVIDER,
+                    (IntegratorProvider) () -> List.of(new ShardSchemaIntegrator(ring, schemaAction)));
+        };
+    }
+
+    @Bean
+    public FilterRegistrationBean<TenantFilter> tenantFilterRegistration() {
+        FilterRegistrationBean<TenantFilter> registration = new FilterRegistrationBean<>(new TenantFilter());
+        registration.addUrlPatterns("/api/*");
+        // Ahead of every filter that caches or compresses by URL
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 10);
+        return registration;
+    }
+
+    // Each entry is a name plus the usual datasource settings. The list order fixes each
+    // shard's id block, so new shards go at the end
+    private static List<DataSourceProperties> shards(Environment environment) {
+        List<DataSourceProperties> shards = Binder.get(environment)
+                .bind("todo.sharding.shards", Bindable.listOf(DataSourceProperties.class))
+                .orElse(List.of());
+        if (shards.isEmpty()) {
+            throw new IllegalStateException("todo.sharding.enabled requires at least one entry in todo.sharding.shards");
+        }
+        return shards;
+    }
+}
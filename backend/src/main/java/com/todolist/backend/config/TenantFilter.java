@@ -0,0 +1,66 @@
+package com.todolist.backend.config;
+
+import com.todolist.backend.repository.TenantContext;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.regex.Pattern;
+
+/**
+ * Binds the tenant of a request, taken from {@value #TENANT_HEADER}, to the handling
+ * thread; requests without the header act for {@link TenantContext#DEFAULT_TENANT}. The
+ * header is trusted as set by the gateway in front of the API.
+ *
+ * <p>{@code *} selects all tenants and is only accepted by the admin-wide operations:
+ * stats, the two bulk deletes and their job status.
+ */
+public class TenantFilter extends OncePerRequestFilter {
+
+    public static final String TENANT_HEADER = "X-Tenant-Id";
+
+    private static final Pattern TENANT = Pattern.compile("[A-Za-z0-9_.-]{1,64}");
+    private static final Pattern ADMIN_OPERATION = Pattern.compile(
+            "GET /api/v1/todos/(stats|delete-jobs/[^/]+)|DELETE /api/v1/todos/(completed|all)");
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        // Every tenant sees different content at the same URL
+        response.addHeader(HttpHeaders.VARY, TENANT_HEADER);
+        String tenant = request.getHeader(TENANT_HEADER);
+        if (tenant == null || tenant.isBlank()) {
+            tenant = TenantContext.DEFAULT_TENANT;
+        } else if (tenant.equals(TenantContext.ALL_TENANTS)) {
+            String operation = request.getMethod() + " " + request.getRequestURI().substring(request.getContextPath().length());
+            if (!ADMIN_OPERATION.matcher(operation).matches()) {
+                reject(response, "All tenants (*) may only be selected for stats and bulk deletes");
+                return;
+            }
+        } else if (!TENANT.matcher(tenant).matches()) {
+            reject(response, "Invalid " + TENANT_HEADER + ": letters, digits, '_', '-' and '.', at most 64 characters");
+            return;
+        }
+
+        TenantContext.set(tenant);
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            TenantContext.clear();
+        }
+    }
+
+    // Same body as GlobalExceptionHandler, which filters are outside of
+    private static void reject(HttpServletResponse response, String detail) throws IOException {
+        response.setStatus(HttpServletResponse.SC_BAD_REQUEST);
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+        response.getWriter().write("{\"detail\":\"" + detail + "\"}");
+    }
+}
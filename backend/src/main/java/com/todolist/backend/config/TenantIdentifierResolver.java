@@ -0,0 +1,27 @@
+package com.todolist.backend.config;
+
+import com.todolist.backend.repository.TenantContext;
+import org.hibernate.context.spi.CurrentTenantIdentifierResolver;
+
+/**
+ * Hands the thread's tenant to each new Hibernate session, which then filters the
+ * {@code @TenantId} entities by it and stamps it on inserted rows.
+ */
+public class TenantIdentifierResolver implements CurrentTenantIdentifierResolver {
+
+    @Override
+    public String resolveCurrentTenantIdentifier() {
+        return TenantContext.current();
+    }
+
+    @Override
+    public boolean validateExistingCurrentSessions() {
+        return false;
+    }
+
+    // Admin-wide work sees every tenant's rows
+    @Override
+    public boolean isRoot(String tenantIdentifier) {
+        return TenantContext.ALL_TENANTS.equals(tenantIdentifier);
+    }
+}
@@ -0,0 +1,51 @@
+package com.todolist.backend.config;
+
+import com.todolist.backend.dto.TodoJsonWriter;
+import com.todolist.backend.dto.TodoListResponse;
+import com.todolist.backend.dto.TodoResponse;
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.AbstractHttpMessageConverter;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+
+import java.io.IOException;
+
+/**
+ * Writes the two hot response types, {@link TodoResponse} and {@link TodoListResponse},
+ * with {@link TodoJsonWriter} instead of Jackson. Registered ahead of the Jackson
+ * converter, so it serves every JSON response of these types; anything else, including
+ * request bodies and the binary formats, still goes through Jackson.
+ */
+public class TodoJsonHttpMessageConverter extends AbstractHttpMessageConverter<Object> {
+    
+    public TodoJsonHttpMessageConverter() {
+        super(MediaType.APPLICATION_JSON);
+    }
+    
+    @Override
+    protected boolean supports(Class<?> clazz) {
+        return clazz == TodoResponse.class || clazz == TodoListResponse.class;
+    }
+    
+    @Override
+    protected boolean canRead(MediaType mediaType) {
+        return false;
+    }
+    
+    @Override
+    protected Object readInternal(Class<?> clazz, HttpInputMessage inputMessage) {
+        throw new HttpMessageNotReadableException("Write-only converter", inputMessage);
+    }
+    
+    @Override
+    protected void writeInternal(Object body, HttpOutputMessage outputMessage) throws IOException {
+        TodoJsonWriter writer = new TodoJsonWriter(outputMessage.getBody());
+        if (body instanceof TodoListResponse list) {
+            writer.write(list);
+        } else {
+            writer.write((TodoResponse) body);
+        }
+        writer.flush();
+    }
+}
@@ -1,13 +1,16 @@
 package com.todolist.backend.controller;
 
+import com.todolist.backend.service.TodoListCache;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.Map;
 
 @RestController
@@ -17,6 +20,13 @@ public class SystemController {
     
     private static final Logger log = LoggerFactory.getLogger(SystemController.class);
     
+    private final TodoListCache todoListCache;
+    
+    @Autowired
+    public SystemController(TodoListCache todoListCache) {
+        this.todoListCache = todoListCache;
+    }
+    
     @GetMapping("/health")
     @Operation(summary = "Health check", description = "Check API service status")
     public ResponseEntity<Map<String, String>> healthCheck() {
@@ -38,4 +48,22 @@ public class SystemController {
         response.put("redoc", "/redoc");
         return ResponseEntity.ok(response);
     }
-} 
\ No newline at end of file
+    
+    @GetMapping("/cache/stats")
+    @Operation(summary = "List cache statistics", description = "Get hit/miss/eviction counters of the todo list page cache")
+    public ResponseEntity<Map<String, Object>> getCacheStats() {
+        long hits = todoListCache.getHits();
+        long misses = todoListCache.getMisses();
+        Map<String, Object> response = new LinkedHashMap<>();
+        response.put("enabled", todoListCache.isEnabled());
+        response.put("size", todoListCache.size());
+        response.put("maxEntries", todoListCache.getMaxEntries());
+        response.put("bytes", todoListCache.bytes());
+        response.put("maxBytes", todoListCache.getMaxBytes());
+        response.put("hits", hits);
+        response.put("misses", misses);
+        response.put("evictions", todoListCache.getEvictions());
+        response.put("hitRatio", hits + misses == 0 ? 0.0 : (double) hits / (hits + misses));
+        return ResponseEntity.ok(response);
+    }
+}
\ No newline at end of file
@@ -1,19 +1,54 @@
 package com.todolist.backend.controller;
 
+import com.todolist.backend.dto.TodoBatchRequest;
+import com.todolist.backend.dto.TodoBulkUpdateRequest;
+import com.todolist.backend.dto.TodoBulkUpdateResponse;
+import com.todolist.backend.dto.TodoChangesResponse;
+import com.todolist.backend.dto.TodoDeleteJobResponse;
+import com.todolist.backend.dto.TodoImportResponse;
 import com.todolist.backend.dto.TodoListResponse;
+import com.todolist.backend.dto.TodoPatchRequest;
 import com.todolist.backend.dto.TodoRequest;
 import com.todolist.backend.dto.TodoResponse;
+import com.todolist.backend.dto.TodoStatsResponse;
+import com.todolist.backend.repository.ReplicaRouter;
+import com.todolist.backend.service.TodoDeleteJob;
+import com.todolist.backend.service.TodoDeleteJobService;
+import com.todolist.backend.service.TodoEventStream;
+import com.todolist.backend.service.TodoExportFormat;
+import com.todolist.backend.service.TodoExportService;
+import com.todolist.backend.service.TodoImportService;
+import com.todolist.backend.service.TodoSearchService;
 import com.todolist.backend.service.TodoService;
+import com.todolist.backend.service.TodoStatsService;
+import com.todolist.backend.service.TodoSyncService;
+import com.todolist.backend.service.TodoValidator;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.CacheControl;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.web.HttpMediaTypeNotAcceptableException;
+import org.springframework.web.accept.ContentNegotiationManager;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Supplier;
 
 @RestController
 @RequestMapping("/api/v1/todos")
@@ -23,35 +58,151 @@ public class TodoController {
     
     private static final Logger log = LoggerFactory.getLogger(TodoController.class);
     
+    private static final MediaType SMILE = MediaType.parseMediaType("application/x-jackson-smile");
+    
     private final TodoService todoService;
+    private final TodoExportService todoExportService;
+    private final TodoImportService todoImportService;
+    private final TodoEventStream todoEventStream;
+    private final TodoSyncService todoSyncService;
+    private final TodoSearchService todoSearchService;
+    private final TodoStatsService todoStatsService;
+    private final TodoDeleteJobService todoDeleteJobService;
+    private final ContentNegotiationManager contentNegotiationManager;
     
     @Autowired
-    public TodoController(TodoService todoService) {
+    public TodoController(TodoService todoService, TodoExportService todoExportService,
+                          TodoImportService todoImportService, TodoEventStream todoEventStream,
+                          TodoSyncService todoSyncService, TodoSearchService todoSearchService,
+                          TodoStatsService todoStatsService, TodoDeleteJobService todoDeleteJobService,
+                          ContentNegotiationManager contentNegotiationManager) {
         this.todoService = todoService;
+        this.todoExportService = todoExportService;
+        this.todoImportService = todoImportService;
+        this.todoEventStream = todoEventStream;
+        this.todoSyncService = todoSyncService;
+        this.todoSearchService = todoSearchService;
+        this.todoStatsService = todoStatsService;
+        this.todoDeleteJobService = todoDeleteJobService;
+        this.contentNegotiationManager = contentNegotiationManager;
     }
     
     @GetMapping
-    @Operation(summary = "Get all todos", description = "Retrieve all todos with optional filtering and pagination")
+    @Operation(summary = "Get all todos", description = "Retrieve all todos with optional filtering and pagination. "
+            + "Pass a cursor (empty for the first page) to switch from offset to keyset pagination. "
+            + "Honors If-None-Match with 304 Not Modified")
     public ResponseEntity<TodoListResponse> getAllTodos(
+            @Parameter(description = "Filter by completion status: true, false, or all")
+            @RequestParam(required = false) String completed,
+            @Parameter(description = "Limit number of results (1-100)")
+            @RequestParam(required = false, defaultValue = "50") Integer limit,
+            @Parameter(description = "Offset for pagination")
+            @RequestParam(required = false, defaultValue = "0") Integer offset,
+            @Parameter(description = "Opaque cursor from a previous nextCursor; enables keyset pagination and ignores offset")
+            @RequestParam(required = false) String cursor,
+            NativeWebRequest webRequest) throws HttpMediaTypeNotAcceptableException {
+        
+        Optional<TodoValidator> listValidator = todoService.getListValidator(completed, limit, offset, cursor);
+        if (listValidator.isPresent()) {
+            TodoValidator validator = listValidator.get().forRepresentation(representation(webRequest));
+            if (webRequest.checkNotModified(validator.eTag(), validator.lastModified())) {
+                // 304 status and validator headers are already set; skip loading and serialization
+                return null;
+            }
+        }
+        
+        Supplier<TodoListResponse> load = () -> cursor != null
+                ? todoService.getTodosByCursor(completed, limit, cursor)
+                : todoService.getAllTodos(completed, limit, offset);
+        // A page sent with validators must be read where they were taken, not on a lagging replica
+        TodoListResponse response = listValidator.isPresent() ? ReplicaRouter.onPrimary(load) : load.get();
+        return ResponseEntity.ok().cacheControl(CacheControl.noCache()).body(response);
+    }
+    
+    @GetMapping("/export")
+    @Operation(summary = "Export todos", description = "Stream every todo in id order as NDJSON or CSV "
+            + "without buffering the table in memory")
+    public void exportTodos(
+            @Parameter(description = "Export format: ndjson or csv")
+            @RequestParam(required = false, defaultValue = "ndjson") String format,
+            HttpServletResponse response) throws IOException {
+        
+        TodoExportFormat exportFormat = TodoExportFormat.parse(format);
+        response.setContentType(exportFormat.getContentType());
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+                .filename("todos." + exportFormat.getExtension()).build().toString());
+        // Rows go straight to the servlet output stream as they are read
+        todoExportService.export(exportFormat, response.getOutputStream());
+    }
+    
+    @GetMapping("/search")
+    @Operation(summary = "Search todos", description = "Full-text search over title and description with prefix "
+            + "matching, best matches first. Supports the same completed filter and limit/offset as the list")
+    public ResponseEntity<TodoListResponse> searchTodos(
+            @Parameter(description = "Search terms; every term must match")
+            @RequestParam String q,
             @Parameter(description = "Filter by completion status: true, false, or all")
             @RequestParam(required = false) String completed,
             @Parameter(description = "Limit number of results (1-100)")
             @RequestParam(required = false, defaultValue = "50") Integer limit,
             @Parameter(description = "Offset for pagination")
             @RequestParam(required = false, defaultValue = "0") Integer offset) {
+        return ResponseEntity.ok(todoSearchService.search(q, completed, limit, offset));
+    }
+    
+    @GetMapping("/stats")
+    @Operation(summary = "Get todo counts", description = "Total, completed and active todos, "
+            + "served from in-memory counters without a COUNT query")
+    public ResponseEntity<TodoStatsResponse> getStats() {
+        return ResponseEntity.ok(todoStatsService.getStats());
+    }
+    
+    @GetMapping("/delete-jobs/{jobId}")
+    @Operation(summary = "Get delete job", description = "Status and progress of a job started by "
+            + "DELETE /completed or DELETE /all")
+    public ResponseEntity<TodoDeleteJobResponse> getDeleteJob(
+            @Parameter(description = "Job ID")
+            @PathVariable String jobId) {
         
-        TodoListResponse response = todoService.getAllTodos(completed, limit, offset);
-        return ResponseEntity.ok(response);
+        TodoDeleteJob job = todoDeleteJobService.find(jobId)
+                .orElseThrow(() -> new RuntimeException("Delete job not found with id: " + jobId));
+        return ResponseEntity.ok(job.toResponse());
+    }
+    
+    @GetMapping("/changes")
+    @Operation(summary = "Get changes since a version", description = "Delta sync: todos written and ids deleted "
+            + "after the given version, plus the version to pass next time. Without since, or when since is older "
+            + "than the compacted tombstones, returns every todo with full=true")
+    public ResponseEntity<TodoChangesResponse> getChanges(
+            @Parameter(description = "Version returned by the previous sync")
+            @RequestParam(required = false) Long since) {
+        return ResponseEntity.ok(todoSyncService.getChanges(since));
+    }
+    
+    @GetMapping(value = "/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @Operation(summary = "Subscribe to changes", description = "Server-Sent Events stream of committed changes. "
+            + "Reconnect with Last-Event-ID to replay missed events; a resync event means the list must be reloaded")
+    public SseEmitter streamEvents(
+            @Parameter(description = "Id of the last event received before reconnecting")
+            @RequestHeader(value = "Last-Event-ID", required = false) String lastEventId) {
+        return todoEventStream.subscribe(lastEventId);
     }
     
     @GetMapping("/{id}")
-    @Operation(summary = "Get todo by ID", description = "Retrieve a specific todo by its ID")
+    @Operation(summary = "Get todo by ID", description = "Retrieve a specific todo by its ID. "
+            + "Honors If-None-Match and If-Modified-Since with 304 Not Modified")
     public ResponseEntity<TodoResponse> getTodoById(
             @Parameter(description = "Todo ID")
-            @PathVariable Long id) {
+            @PathVariable Long id,
+            NativeWebRequest webRequest) throws HttpMediaTypeNotAcceptableException {
+        
+        TodoValidator validator = todoService.getTodoValidator(id).forRepresentation(representation(webRequest));
+        if (webRequest.checkNotModified(validator.eTag(), validator.lastModified())) {
+            return null;
+        }
         
         TodoResponse response = todoService.getTodoById(id);
-        return ResponseEntity.ok(response);
+        return ResponseEntity.ok().cacheControl(CacheControl.noCache()).body(response);
     }
     
     @PostMapping
@@ -64,6 +215,28 @@ public class TodoController {
         return ResponseEntity.status(HttpStatus.CREATED).body(response);
     }
     
+    @PostMapping("/batch")
+    @Operation(summary = "Create todos in batch", description = "Create up to 1000 todo items in a single transaction")
+    public ResponseEntity<List<TodoResponse>> createTodos(
+            @Parameter(description = "Todo items to create")
+            @Valid @RequestBody TodoBatchRequest request) {
+        
+        List<TodoResponse> response = todoService.createTodos(request.getItems());
+        return ResponseEntity.status(HttpStatus.CREATED).body(response);
+    }
+    
+    @PostMapping(value = "/import", consumes = "application/x-ndjson")
+    @Operation(summary = "Import todos", description = "Stream an NDJSON body of todo items (one object per line). "
+            + "Valid lines are inserted in chunks, each in its own transaction; invalid lines are reported "
+            + "with their line number")
+    public ResponseEntity<TodoImportResponse> importTodos(
+            @Parameter(description = "NDJSON body, one todo object per line")
+            InputStream body) throws IOException {
+        
+        TodoImportResponse response = todoImportService.importTodos(body);
+        return ResponseEntity.ok(response);
+    }
+    
     @PutMapping("/{id}")
     @Operation(summary = "Update todo", description = "Update an existing todo item")
     public ResponseEntity<TodoResponse> updateTodo(
@@ -76,6 +249,39 @@ public class TodoController {
         return ResponseEntity.ok(response);
     }
     
+    @PatchMapping("/{id}")
+    @Operation(summary = "Patch todo", description = "Change only the given fields with a conditional UPDATE, without reading the todo first. "
+            + "If-Match must carry the ETag from GET /api/v1/todos/{id}; responds 204 with the new ETag, "
+            + "or 412 Precondition Failed when the todo changed in between")
+    public ResponseEntity<Void> patchTodo(
+            @Parameter(description = "Todo ID")
+            @PathVariable Long id,
+            @Parameter(description = "ETag of the version being edited")
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+            @Parameter(description = "Fields to change")
+            @Valid @RequestBody TodoPatchRequest request) {
+        
+        long version = TodoValidator.versionFromIfMatch(id, ifMatch);
+        TodoValidator validator = todoService.patchTodo(id, version, request);
+        return ResponseEntity.noContent()
+                .eTag(validator.eTag())
+                .lastModified(validator.lastModified())
+                .build();
+    }
+    
+    @PatchMapping
+    @Operation(summary = "Bulk update todos", description = "Apply the same field changes to the given ids and/or "
+            + "all todos matching the completed filter with set-based UPDATEs")
+    public ResponseEntity<TodoBulkUpdateResponse> bulkUpdateTodos(
+            @Parameter(description = "Only update todos with this completion status: true, false, or all")
+            @RequestParam(required = false) String completed,
+            @Parameter(description = "Target ids and the fields to change")
+            @Valid @RequestBody TodoBulkUpdateRequest request) {
+        
+        TodoBulkUpdateResponse response = todoService.bulkUpdateTodos(completed, request);
+        return ResponseEntity.ok(response);
+    }
+    
     @DeleteMapping("/{id}")
     @Operation(summary = "Delete todo", description = "Delete a specific todo item")
     public ResponseEntity<Void> deleteTodo(
@@ -87,18 +293,41 @@ public class TodoController {
     }
     
     @DeleteMapping("/completed")
-    @Operation(summary = "Delete completed todos", description = "Delete all completed todo items")
-    public ResponseEntity<Void> deleteCompletedTodos() {
+    @Operation(summary = "Delete completed todos", description = "Start a background job that deletes all "
+            + "completed todo items in chunks; responds 202 with the job, poll GET /delete-jobs/{jobId} for progress")
+    public ResponseEntity<TodoDeleteJobResponse> deleteCompletedTodos() {
         
-        todoService.deleteCompletedTodos();
-        return ResponseEntity.noContent().build();
+        return accepted(todoDeleteJobService.submit(TodoDeleteJob.Scope.COMPLETED));
     }
     
     @DeleteMapping("/all")
-    @Operation(summary = "Delete all todos", description = "Delete all todo items")
-    public ResponseEntity<Void> deleteAllTodos() {
+    @Operation(summary = "Delete all todos", description = "Start a background job that deletes all "
+            + "todo items in chunks; responds 202 with the job, poll GET /delete-jobs/{jobId} for progress")
+    public ResponseEntity<TodoDeleteJobResponse> deleteAllTodos() {
         
-        todoService.deleteAllTodos();
-        return ResponseEntity.noContent().build();
+        return accepted(todoDeleteJobService.submit(TodoDeleteJob.Scope.ALL));
+    }
+    
+    private static ResponseEntity<TodoDeleteJobResponse> accepted(TodoDeleteJob job) {
+        return ResponseEntity.accepted()
+                .location(URI.create("/api/v1/todos/delete-jobs/" + job.getId()))
+                .body(job.toResponse());
+    }
+    
+    // The format the message converters will write, named in the ETag: null for JSON, which
+    // is also what Spring MVC falls back to for wildcards
+    private String representation(NativeWebRequest webRequest) throws HttpMediaTypeNotAcceptableException {
+        for (MediaType accepted : contentNegotiationManager.resolveMediaTypes(webRequest)) {
+            if (accepted.isCompatibleWith(MediaType.APPLICATION_JSON)) {
+                return null;
+            }
+            if (accepted.isCompatibleWith(MediaType.APPLICATION_CBOR)) {
+                return TodoValidator.CBOR;
+            }
+            if (accepted.isCompatibleWith(SMILE)) {
+                return TodoValidator.SMILE;
+            }
+        }
+        return null;
     }
-} 
\ No newline at end of file
+}
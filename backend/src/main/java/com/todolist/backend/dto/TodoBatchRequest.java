@@ -0,0 +1,23 @@
+package com.todolist.backend.dto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+
+import java.util.List;
+
+public class TodoBatchRequest {
+    
+    @NotEmpty(message = "Items must not be empty")
+    @Size(max = 1000, message = "At most 1000 items can be created per batch")
+    private List<@Valid TodoRequest> items;
+    
+    // Getters and Setters
+    public List<TodoRequest> getItems() {
+        return items;
+    }
+    
+    public void setItems(List<TodoRequest> items) {
+        this.items = items;
+    }
+}
@@ -0,0 +1,22 @@
+package com.todolist.backend.dto;
+
+public class TodoBulkUpdateResponse {
+    
+    private Integer affected;
+    
+    // Default constructor
+    public TodoBulkUpdateResponse() {}
+    
+    public TodoBulkUpdateResponse(Integer affected) {
+        this.affected = affected;
+    }
+    
+    // Getters and Setters
+    public Integer getAffected() {
+        return affected;
+    }
+    
+    public void setAffected(Integer affected) {
+        this.affected = affected;
+    }
+}
@@ -0,0 +1,74 @@
+package com.todolist.backend.dto;
+
+/**
+ * Compact description of a committed change, pushed to change feed subscribers.
+ * {@code todo} is only set for {@code created}, {@code updated} and {@code patched}
+ * (where it holds just the id, the changed fields and {@code updatedAt}), {@code id} for
+ * single-row changes. {@code resync} tells a client to reload its list.
+ */
+public class TodoChangeEvent {
+    
+    public static final String CREATED = "created";
+    public static final String UPDATED = "updated";
+    public static final String PATCHED = "patched";
+    public static final String DELETED = "deleted";
+    public static final String RESYNC = "resync";
+    
+    private String type;
+    private Long id;
+    private TodoResponse todo;
+    
+    // Default constructor
+    public TodoChangeEvent() {}
+    
+    public TodoChangeEvent(String type, Long id, TodoResponse todo) {
+        this.type = type;
+        this.id = id;
+        this.todo = todo;
+    }
+    
+    public static TodoChangeEvent created(TodoResponse todo) {
+        return new TodoChangeEvent(CREATED, todo.getId(), todo);
+    }
+    
+    public static TodoChangeEvent updated(TodoResponse todo) {
+        return new TodoChangeEvent(UPDATED, todo.getId(), todo);
+    }
+    
+    public static TodoChangeEvent patched(TodoResponse changes) {
+        return new TodoChangeEvent(PATCHED, changes.getId(), changes);
+    }
+    
+    public static TodoChangeEvent deleted(Long id) {
+        return new TodoChangeEvent(DELETED, id, null);
+    }
+    
+    public static TodoChangeEvent resync() {
+        return new TodoChangeEvent(RESYNC, null, null);
+    }
+    
+    // Getters and Setters
+    public String getType() {
+        return type;
+    }
+    
+    public void setType(String type) {
+        this.type = type;
+    }
+    
+    public Long getId() {
+        return id;
+    }
+    
+    public void setId(Long id) {
+        this.id = id;
+    }
+    
+    public TodoResponse getTodo() {
+        return todo;
+    }
+    
+    public void setTodo(TodoResponse todo) {
+        this.todo = todo;
+    }
+}
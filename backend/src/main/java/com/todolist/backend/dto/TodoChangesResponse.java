@@ -0,0 +1,59 @@
+package com.todolist.backend.dto;
+
+import java.util.List;
+
+/**
+ * Delta sync result. {@code version} is the high-water mark to pass as {@code since} next
+ * time. When {@code full} is true, {@code changed} holds every todo and replaces the
+ * client's copy; otherwise it holds only rows changed after {@code since}.
+ */
+public class TodoChangesResponse {
+    
+    private Long version;
+    private Boolean full;
+    private List<TodoResponse> changed;
+    private List<Long> deleted;
+    
+    // Default constructor
+    public TodoChangesResponse() {}
+    
+    public TodoChangesResponse(Long version, Boolean full, List<TodoResponse> changed, List<Long> deleted) {
+        this.version = version;
+        this.full = full;
+        this.changed = changed;
+        this.deleted = deleted;
+    }
+    
+    // Getters and Setters
+    public Long getVersion() {
+        return version;
+    }
+    
+    public void setVersion(Long version) {
+        this.version = version;
+    }
+    
+    public Boolean getFull() {
+        return full;
+    }
+    
+    public void setFull(Boolean full) {
+        this.full = full;
+    }
+    
+    public List<TodoResponse> getChanged() {
+        return changed;
+    }
+    
+    public void setChanged(List<TodoResponse> changed) {
+        this.changed = changed;
+    }
+    
+    public List<Long> getDeleted() {
+        return deleted;
+    }
+    
+    public void setDeleted(List<Long> deleted) {
+        this.deleted = deleted;
+    }
+}
@@ -0,0 +1,101 @@
+package com.todolist.backend.dto;
+
+import java.time.LocalDateTime;
+
+public class TodoDeleteJobResponse {
+    
+    private String id;
+    private String scope;
+    private String status;
+    private Long deleted;
+    private Long chunks;
+    private Long estimatedTotal;
+    private LocalDateTime createdAt;
+    private LocalDateTime startedAt;
+    private LocalDateTime finishedAt;
+    private String error;
+    
+    // Default constructor
+    public TodoDeleteJobResponse() {}
+    
+    // Getters and Setters
+    public String getId() {
+        return id;
+    }
+    
+    public void setId(String id) {
+        this.id = id;
+    }
+    
+    public String getScope() {
+        return scope;
+    }
+    
+    public void setScope(String scope) {
+        this.scope = scope;
+    }
+    
+    public String getStatus() {
+        return status;
+    }
+    
+    public void setStatus(String status) {
+        this.status = status;
+    }
+    
+    public Long getDeleted() {
+        return deleted;
+    }
+    
+    public void setDeleted(Long deleted) {
+        this.deleted = deleted;
+    }
+    
+    public Long getChunks() {
+        return chunks;
+    }
+    
+    public void setChunks(Long chunks) {
+        this.chunks = chunks;
+    }
+    
+    public Long getEstimatedTotal() {
+        return estimatedTotal;
+    }
+    
+    public void setEstimatedTotal(Long estimatedTotal) {
+        this.estimatedTotal = estimatedTotal;
+    }
+    
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+    
+    public void setCreatedAt(LocalDateTime createdAt) {
+        this.createdAt = createdAt;
+    }
+    
+    public LocalDateTime getStartedAt() {
+        return startedAt;
+    }
+    
+    public void setStartedAt(LocalDateTime startedAt) {
+        this.startedAt = startedAt;
+    }
+    
+    public LocalDateTime getFinishedAt() {
+        return finishedAt;
+    }
+    
+    public void setFinishedAt(LocalDateTime finishedAt) {
+        this.finishedAt = finishedAt;
+    }
+    
+    public String getError() {
+        return error;
+    }
+    
+    public void setError(String error) {
+        this.error = error;
+    }
+}
@@ -0,0 +1,32 @@
+package com.todolist.backend.dto;
+
+public class TodoImportError {
+    
+    private Long line;
+    private String message;
+    
+    // Default constructor
+    public TodoImportError() {}
+    
+    public TodoImportError(Long line, String message) {
+        this.line = line;
+        this.message = message;
+    }
+    
+    // Getters and Setters
+    public Long getLine() {
+        return line;
+    }
+    
+    public void setLine(Long line) {
+        this.line = line;
+    }
+    
+    public String getMessage() {
+        return message;
+    }
+    
+    public void setMessage(String message) {
+        this.message = message;
+    }
+}
@@ -0,0 +1,64 @@
+package com.todolist.backend.dto;
+
+import java.util.List;
+
+public class TodoImportResponse {
+    
+    private Long imported;
+    private Long failed;
+    private List<TodoImportError> errors;
+    private Long durationMillis;
+    private Double rowsPerSecond;
+    
+    // Default constructor
+    public TodoImportResponse() {}
+    
+    public TodoImportResponse(Long imported, Long failed, List<TodoImportError> errors, Long durationMillis, Double rowsPerSecond) {
+        this.imported = imported;
+        this.failed = failed;
+        this.errors = errors;
+        this.durationMillis = durationMillis;
+        this.rowsPerSecond = rowsPerSecond;
+    }
+    
+    // Getters and Setters
+    public Long getImported() {
+        return imported;
+    }
+    
+    public void setImported(Long imported) {
+        this.imported = imported;
+    }
+    
+    public Long getFailed() {
+        return failed;
+    }
+    
+    public void setFailed(Long failed) {
+        this.failed = failed;
+    }
+    
+    public List<TodoImportError> getErrors() {
+        return errors;
+    }
+    
+    public void setErrors(List<TodoImportError> errors) {
+        this.errors = errors;
+    }
+    
+    public Long getDurationMillis() {
+        return durationMillis;
+    }
+    
+    public void setDurationMillis(Long durationMillis) {
+        this.durationMillis = durationMillis;
+    }
+    
+    public Double getRowsPerSecond() {
+        return rowsPerSecond;
+    }
+    
+    public void setRowsPerSecond(Double rowsPerSecond) {
+        this.rowsPerSecond = rowsPerSecond;
+    }
+}
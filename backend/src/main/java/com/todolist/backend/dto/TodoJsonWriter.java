@@ -0,0 +1,311 @@
+package com.todolist.backend.dto;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+
+/**
+ * Writes {@link TodoResponse} and {@link TodoListResponse} as JSON straight into a byte
+ * buffer that is drained to the output stream, without reflection, intermediate Strings
+ * or per-field formatter calls. The output is byte-for-byte what the application's Jackson
+ * mapper produces under the spring.jackson settings in application.yml: declared field
+ * order, null fields omitted, {@code LocalDateTime} as an ISO-8601 string with the
+ * fraction trimmed of trailing zeros, and Jackson's string escapes.
+ *
+ * <p>One instance per response; not thread-safe.
+ */
+public final class TodoJsonWriter {
+
+    private static final byte[] ID = ascii("\"id\":");
+    private static final byte[] TITLE = ascii("\"title\":");
+    private static final byte[] DESCRIPTION = ascii("\"description\":");
+    private static final byte[] COMPLETED = ascii("\"completed\":");
+    private static final byte[] CREATED_AT = ascii("\"createdAt\":");
+    private static final byte[] UPDATED_AT = ascii("\"updatedAt\":");
+    private static final byte[] ITEMS = ascii("\"items\":");
+    private static final byte[] TOTAL = ascii("\"total\":");
+    private static final byte[] LIMIT = ascii("\"limit\":");
+    private static final byte[] OFFSET = ascii("\"offset\":");
+    private static final byte[] NEXT_CURSOR = ascii("\"nextCursor\":");
+    private static final byte[] TRUE = ascii("true");
+    private static final byte[] FALSE = ascii("false");
+    private static final byte[] NULL = ascii("null");
+    private static final byte[] HEX = ascii("0123456789ABCDEF");
+
+    private static final int BUFFER_SIZE = 8192;
+    private static final int STRING_CHUNK = 512;
+
+    private final OutputStream out;
+    private final byte[] buffer = new byte[BUFFER_SIZE];
+    private int position;
+    private boolean firstField;
+
+    // "yyyy-MM-ddT" of the last timestamp; list items are usually written on few distinct days
+    private final byte[] cachedDate = new byte[11];
+    private int cachedYear = -1;
+    private int cachedMonth;
+    private int cachedDay;
+
+    public TodoJsonWriter(OutputStream out) {
+        this.out = out;
+    }
+
+    public void write(TodoListResponse list) throws IOException {
+        startObject();
+        List<TodoResponse> items = list.getItems();
+        if (items != null) {
+            field(ITEMS);
+            writeByte('[');
+            for (int i = 0; i < items.size(); i++) {
+                if (i > 0) {
+                    writeByte(',');
+                }
+                TodoResponse item = items.get(i);
+                if (item == null) {
+                    writeBytes(NULL);
+                } else {
+                    write(item);
+                }
+            }
+            writeByte(']');
+        }
+        if (list.getTotal() != null) {
+            field(TOTAL);
+            writeLong(list.getTotal());
+        }
+        if (list.getLimit() != null) {
+            field(LIMIT);
+            writeLong(list.getLimit());
+        }
+        if (list.getOffset() != null) {
+            field(OFFSET);
+            writeLong(list.getOffset());
+        }
+        if (list.getNextCursor() != null) {
+            field(NEXT_CURSOR);
+            writeString(list.getNextCursor());
+        }
+        writeByte('}');
+    }
+
+    public void write(TodoResponse todo) throws IOException {
+        startObject();
+        if (todo.getId() != null) {
+            field(ID);
+            writeLong(todo.getId());
+        }
+        if (todo.getTitle() != null) {
+            field(TITLE);
+            writeString(todo.getTitle());
+        }
+        if (todo.getDescription() != null) {
+            field(DESCRIPTION);
+            writeString(todo.getDescription());
+        }
+        if (todo.getCompleted() != null) {
+            field(COMPLETED);
+            writeBytes(todo.getCompleted() ? TRUE : FALSE);
+        }
+        if (todo.getCreatedAt() != null) {
+            field(CREATED_AT);
+            writeTimestamp(todo.getCreatedAt());
+        }
+        if (todo.getUpdatedAt() != null) {
+            field(UPDATED_AT);
+            writeTimestamp(todo.getUpdatedAt());
+        }
+        writeByte('}');
+        // The enclosing list continues after this object
+        firstField = false;
+    }
+
+    /**
+     * Writes out what is still buffered; the stream itself is left open.
+     */
+    public void flush() throws IOException {
+        if (position > 0) {
+            out.write(buffer, 0, position);
+            position = 0;
+        }
+        out.flush();
+    }
+
+    private void startObject() throws IOException {
+        writeByte('{');
+        firstField = true;
+    }
+
+    private void field(byte[] name) throws IOException {
+        if (!firstField) {
+            writeByte(',');
+        }
+        firstField = false;
+        writeBytes(name);
+    }
+
+    private void writeLong(long value) throws IOException {
+        if (value == Long.MIN_VALUE) {
+            writeBytes(ascii(Long.toString(value)));
+            return;
+        }
+        ensure(20);
+        if (value < 0) {
+            buffer[position++] = '-';
+            value = -value;
+        }
+        int digits = 1;
+        for (long rest = value / 10; rest > 0; rest /= 10) {
+            digits++;
+        }
+        for (int i = position + digits - 1; i >= position; i--) {
+            buffer[i] = (byte) ('0' + value % 10);
+            value /= 10;
+        }
+        position += digits;
+    }
+
+    private void writeTimestamp(LocalDateTime timestamp) throws IOException {
+        int year = timestamp.getYear();
+        if (year < 0 || year > 9999) {
+            // Signed, wider years; rare enough to leave to the formatter
+            writeString(DateTimeFormatter.ISO_LOCAL_DATE_TIME.format(timestamp));
+            return;
+        }
+        ensure(32);
+        buffer[position++] = '"';
+        if (year != cachedYear || timestamp.getMonthValue() != cachedMonth || timestamp.getDayOfMonth() != cachedDay) {
+            cachedYear = year;
+            cachedMonth = timestamp.getMonthValue();
+            cachedDay = timestamp.getDayOfMonth();
+            digits(cachedDate, 0, year, 4);
+            cachedDate[4] = '-';
+            digits(cachedDate, 5, cachedMonth, 2);
+            cachedDate[7] = '-';
+            digits(cachedDate, 8, cachedDay, 2);
+            cachedDate[10] = 'T';
+        }
+        System.arraycopy(cachedDate, 0, buffer, position, cachedDate.length);
+        position += cachedDate.length;
+        position = digits(buffer, position, timestamp.getHour(), 2);
+        buffer[position++] = ':';
+        position = digits(buffer, position, timestamp.getMinute(), 2);
+        buffer[position++] = ':';
+        position = digits(buffer, position, timestamp.getSecond(), 2);
+        int nano = timestamp.getNano();
+        if (nano > 0) {
+            int width = 9;
+            while (nano % 10 == 0) {
+                nano /= 10;
+                width--;
+            }
+            buffer[position++] = '.';
+            position = digits(buffer, position, nano, width);
+        }
+        buffer[position++] = '"';
+    }
+
+    private void writeString(String value) throws IOException {
+        ensure(1);
+        buffer[position++] = '"';
+        int length = value.length();
+        int i = 0;
+        while (i < length) {
+            // Room for the worst case, a six-byte escape per char, of the next chunk
+            int chunkEnd = Math.min(length, i + STRING_CHUNK);
+            ensure((chunkEnd - i) * 6);
+            while (i < chunkEnd) {
+                char c = value.charAt(i);
+                if (c >= 0x20 && c < 0x80 && c != '"' && c != '\\') {
+                    buffer[position++] = (byte) c;
+                    i++;
+                } else {
+                    i += writeChar(value, i);
+                }
+            }
+        }
+        ensure(1);
+        buffer[position++] = '"';
+    }
+
+    // Escapes or UTF-8 encodes the char at index; returns 2 for a surrogate pair, else 1
+    private int writeChar(String value, int index) {
+        char c = value.charAt(index);
+        if (c < 0x80) {
+            escape(c);
+        } else if (c < 0x800) {
+            buffer[position++] = (byte) (0xC0 | (c >> 6));
+            buffer[position++] = (byte) (0x80 | (c & 0x3F));
+        } else if (Character.isHighSurrogate(c) && index + 1 < value.length()
+                && Character.isLowSurrogate(value.charAt(index + 1))) {
+            int codePoint = Character.toCodePoint(c, value.charAt(index + 1));
+            buffer[position++] = (byte) (0xF0 | (codePoint >> 18));
+            buffer[position++] = (byte) (0x80 | ((codePoint >> 12) & 0x3F));
+            buffer[position++] = (byte) (0x80 | ((codePoint >> 6) & 0x3F));
+            buffer[position++] = (byte) (0x80 | (codePoint & 0x3F));
+            return 2;
+        } else if (Character.isSurrogate(c)) {
+            // Unpaired surrogate: Jackson refuses to write it, the converter substitutes
+            buffer[position++] = '?';
+        } else {
+            buffer[position++] = (byte) (0xE0 | (c >> 12));
+            buffer[position++] = (byte) (0x80 | ((c >> 6) & 0x3F));
+            buffer[position++] = (byte) (0x80 | (c & 0x3F));
+        }
+        return 1;
+    }
+
+    // Same escapes as Jackson's default CharacterEscapes
+    private void escape(char c) {
+        buffer[position++] = '\\';
+        switch (c) {
+            case '"' -> buffer[position++] = '"';
+            case '\\' -> buffer[position++] = '\\';
+            case '\b' -> buffer[position++] = 'b';
+            case '\t' -> buffer[position++] = 't';
+            case '\n' -> buffer[position++] = 'n';
+            case '\f' -> buffer[position++] = 'f';
+            case '\r' -> buffer[position++] = 'r';
+            default -> {
+                buffer[position++] = 'u';
+                buffer[position++] = '0';
+                buffer[position++] = '0';
+                buffer[position++] = HEX[c >> 4];
+                buffer[position++] = HEX[c & 0xF];
+            }
+        }
+    }
+
+    private void writeByte(char c) throws IOException {
+        ensure(1);
+        buffer[position++] = (byte) c;
+    }
+
+    private void writeBytes(byte[] bytes) throws IOException {
+        ensure(bytes.length);
+        System.arraycopy(bytes, 0, buffer, position, bytes.length);
+        position += bytes.length;
+    }
+
+    private void ensure(int bytes) throws IOException {
+        if (position + bytes > buffer.length) {
+            out.write(buffer, 0, position);
+            position = 0;
+        }
+    }
+
+    // Zero-padded to width; returns the position after the digits
+    private static int digits(byte[] target, int offset, int value, int width) {
+        for (int i = offset + width - 1; i >= offset; i--) {
+            target[i] = (byte) ('0' + value % 10);
+            value /= 10;
+        }
+        return offset + width;
+    }
+
+    private static byte[] ascii(String value) {
+        return value.getBytes(StandardCharsets.US_ASCII);
+    }
+}
@@ -8,6 +8,7 @@ public class TodoListResponse {
     private Long total;
     private Integer limit;
     private Integer offset;
+    private String nextCursor;
     
     // Default constructor
     public TodoListResponse() {}
@@ -20,6 +21,11 @@ public class TodoListResponse {
         this.offset = offset;
     }
     
+    public TodoListResponse(List<TodoResponse> items, Long total, Integer limit, Integer offset, String nextCursor) {
+        this(items, total, limit, offset);
+        this.nextCursor = nextCursor;
+    }
+    
     // Builder pattern
     public static TodoListResponseBuilder builder() {
         return new TodoListResponseBuilder();
@@ -30,6 +36,7 @@ public class TodoListResponse {
         private Long total;
         private Integer limit;
         private Integer offset;
+        private String nextCursor;
         
         public TodoListResponseBuilder items(List<TodoResponse> items) {
             this.items = items;
@@ -51,8 +58,13 @@ public class TodoListResponse {
             return this;
         }
         
+        public TodoListResponseBuilder nextCursor(String nextCursor) {
+            this.nextCursor = nextCursor;
+            return this;
+        }
+        
         public TodoListResponse build() {
-            return new TodoListResponse(items, total, limit, offset);
+            return new TodoListResponse(items, total, limit, offset, nextCursor);
         }
     }
     
@@ -88,4 +100,12 @@ public class TodoListResponse {
     public void setOffset(Integer offset) {
         this.offset = offset;
     }
-} 
\ No newline at end of file
+    
+    public String getNextCursor() {
+        return nextCursor;
+    }
+    
+    public void setNextCursor(String nextCursor) {
+        this.nextCursor = nextCursor;
+    }
+}
\ No newline at end of file
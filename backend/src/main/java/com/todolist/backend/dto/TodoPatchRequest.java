@@ -0,0 +1,39 @@
+package com.todolist.backend.dto;
+
+import jakarta.validation.constraints.Size;
+
+public class TodoPatchRequest {
+    
+    @Size(min = 1, max = 255, message = "Title must be between 1 and 255 characters")
+    private String title;
+    
+    @Size(max = 1000, message = "Description must not exceed 1000 characters")
+    private String description;
+    
+    private Boolean completed;
+    
+    // Getters and Setters
+    public String getTitle() {
+        return title;
+    }
+    
+    public void setTitle(String title) {
+        this.title = title;
+    }
+    
+    public String getDescription() {
+        return description;
+    }
+    
+    public void setDescription(String description) {
+        this.description = description;
+    }
+    
+    public Boolean getCompleted() {
+        return completed;
+    }
+    
+    public void setCompleted(Boolean completed) {
+        this.completed = completed;
+    }
+}
@@ -0,0 +1,42 @@
+package com.todolist.backend.dto;
+
+public class TodoStatsResponse {
+    
+    private Long total;
+    private Long completed;
+    private Long active;
+    
+    // Default constructor
+    public TodoStatsResponse() {}
+    
+    public TodoStatsResponse(Long total, Long completed, Long active) {
+        this.total = total;
+        this.completed = completed;
+        this.active = active;
+    }
+    
+    // Getters and Setters
+    public Long getTotal() {
+        return total;
+    }
+    
+    public void setTotal(Long total) {
+        this.total = total;
+    }
+    
+    public Long getCompleted() {
+        return completed;
+    }
+    
+    public void setCompleted(Long completed) {
+        this.completed = completed;
+    }
+    
+    public Long getActive() {
+        return active;
+    }
+    
+    public void setActive(Long active) {
+        this.active = active;
+    }
+}
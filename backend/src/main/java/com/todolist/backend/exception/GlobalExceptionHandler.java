@@ -2,6 +2,7 @@ package com.todolist.backend.exception;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.FieldError;
@@ -17,6 +18,32 @@ public class GlobalExceptionHandler {
     
     private static final Logger log = LoggerFactory.getLogger(GlobalExceptionHandler.class);
     
+    @ExceptionHandler(IllegalArgumentException.class)
+    public ResponseEntity<Map<String, String>> handleIllegalArgumentException(IllegalArgumentException ex) {
+        log.error("Illegal argument: ", ex);
+        Map<String, String> response = new HashMap<>();
+        response.put("detail", ex.getMessage());
+        return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(response);
+    }
+    
+    // Another write changed the todo since the client read it (PATCH If-Match, or a concurrent PUT)
+    @ExceptionHandler(OptimisticLockingFailureException.class)
+    public ResponseEntity<Map<String, String>> handleOptimisticLockingFailureException(OptimisticLockingFailureException ex) {
+        log.warn("Version conflict: {}", ex.getMessage());
+        Map<String, String> response = new HashMap<>();
+        response.put("detail", ex.getMessage());
+        return ResponseEntity.status(HttpStatus.PRECONDITION_FAILED).body(response);
+    }
+    
+    // The search index cannot answer for the tenant; there is no slower fallback
+    @ExceptionHandler(SearchUnavailableException.class)
+    public ResponseEntity<Map<String, String>> handleSearchUnavailableException(SearchUnavailableException ex) {
+        log.warn("Search rejected: {}", ex.getMessage());
+        Map<String, String> response = new HashMap<>();
+        response.put("detail", ex.getMessage());
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).body(response);
+    }
+    
     @ExceptionHandler(RuntimeException.class)
     public ResponseEntity<Map<String, String>> handleRuntimeException(RuntimeException ex) {
         log.error("Runtime exception: ", ex);
@@ -0,0 +1,12 @@
+package com.todolist.backend.exception;
+
+/**
+ * The search index cannot answer for the tenant, e.g. because it has more todos than the
+ * index holds.
+ */
+public class SearchUnavailableException extends RuntimeException {
+
+    public SearchUnavailableException(String message) {
+        super(message);
+    }
+}
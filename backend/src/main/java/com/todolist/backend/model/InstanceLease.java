@@ -0,0 +1,58 @@
+package com.todolist.backend.model;
+
+import jakarta.persistence.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * Claim of the one backend process allowed to run against a database. Renewed by its
+ * owner while it runs and deleted when it stops; see {@code TodoInstanceLease}.
+ */
+@Entity
+@Table(name = "todo_instance_lease")
+public class InstanceLease {
+    
+    @Id
+    @Column(length = 64)
+    private String name;
+    
+    @Column(nullable = false, length = 255)
+    private String owner;
+    
+    @Column(name = "renewed_at", nullable = false)
+    private LocalDateTime renewedAt;
+    
+    // Default constructor
+    public InstanceLease() {}
+    
+    public InstanceLease(String name, String owner, LocalDateTime renewedAt) {
+        this.name = name;
+        this.owner = owner;
+        this.renewedAt = renewedAt;
+    }
+    
+    // Getters and Setters
+    public String getName() {
+        return name;
+    }
+    
+    public void setName(String name) {
+        this.name = name;
+    }
+    
+    public String getOwner() {
+        return owner;
+    }
+    
+    public void setOwner(String owner) {
+        this.owner = owner;
+    }
+    
+    public LocalDateTime getRenewedAt() {
+        return renewedAt;
+    }
+    
+    public void setRenewedAt(LocalDateTime renewedAt) {
+        this.renewedAt = renewedAt;
+    }
+}
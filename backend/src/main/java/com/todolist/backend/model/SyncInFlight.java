@@ -0,0 +1,47 @@
+package com.todolist.backend.model;
+
+import jakarta.persistence.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * A change version whose transaction has not committed yet. Committed by itself when the
+ * version is allocated and deleted by the transaction that uses it, so the row disappears
+ * exactly when that transaction's changes become visible; see {@code TodoChangeVersion}.
+ */
+@Entity
+@Table(name = "todo_sync_in_flight")
+public class SyncInFlight {
+    
+    @Id
+    @Column(name = "change_version")
+    private Long changeVersion;
+    
+    @Column(name = "started_at", nullable = false)
+    private LocalDateTime startedAt;
+    
+    // Default constructor
+    public SyncInFlight() {}
+    
+    public SyncInFlight(Long changeVersion, LocalDateTime startedAt) {
+        this.changeVersion = changeVersion;
+        this.startedAt = startedAt;
+    }
+    
+    // Getters and Setters
+    public Long getChangeVersion() {
+        return changeVersion;
+    }
+    
+    public void setChangeVersion(Long changeVersion) {
+        this.changeVersion = changeVersion;
+    }
+    
+    public LocalDateTime getStartedAt() {
+        return startedAt;
+    }
+    
+    public void setStartedAt(LocalDateTime startedAt) {
+        this.startedAt = startedAt;
+    }
+}
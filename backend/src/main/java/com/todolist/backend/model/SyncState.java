@@ -0,0 +1,59 @@
+package com.todolist.backend.model;
+
+import jakarta.persistence.*;
+
+/**
+ * The one row per database that allocates change versions for delta sync and records how
+ * far tombstones have been compacted, so every backend instance shares both.
+ */
+@Entity
+@Table(name = "todo_sync_state")
+public class SyncState {
+    
+    public static final int ID = 1;
+    
+    @Id
+    private Integer id;
+    
+    // Highest change version handed out so far
+    @Column(name = "last_version", nullable = false)
+    private Long lastVersion;
+    
+    // Tombstones up to this version may be gone
+    @Column(name = "compacted_through", nullable = false)
+    private Long compactedThrough;
+    
+    // Default constructor
+    public SyncState() {}
+    
+    public SyncState(Long lastVersion, Long compactedThrough) {
+        this.id = ID;
+        this.lastVersion = lastVersion;
+        this.compactedThrough = compactedThrough;
+    }
+    
+    // Getters and Setters
+    public Integer getId() {
+        return id;
+    }
+    
+    public void setId(Integer id) {
+        this.id = id;
+    }
+    
+    public Long getLastVersion() {
+        return lastVersion;
+    }
+    
+    public void setLastVersion(Long lastVersion) {
+        this.lastVersion = lastVersion;
+    }
+    
+    public Long getCompactedThrough() {
+        return compactedThrough;
+    }
+    
+    public void setCompactedThrough(Long compactedThrough) {
+        this.compactedThrough = compactedThrough;
+    }
+}
@@ -1,19 +1,40 @@
 package com.todolist.backend.model;
 
 import jakarta.persistence.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.ColumnDefault;
 import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.TenantId;
 import org.hibernate.annotations.UpdateTimestamp;
 
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "todos")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "todos")
+@Table(name = "todos", indexes = {
+        @Index(name = "idx_todos_tenant_created_at_id", columnList = "tenant_id, created_at, id"),
+        @Index(name = "idx_todos_tenant_completed_created_at_id", columnList = "tenant_id, completed, created_at, id"),
+        @Index(name = "idx_todos_change_version", columnList = "change_version")
+})
 public class Todo {
     
+    public static final String ID_SEQUENCE = "todos_seq";
+    public static final int ID_ALLOCATION_SIZE = 50;
+    
+    // Pooled sequence instead of IDENTITY so Hibernate can assign ids up front and batch INSERTs
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "todos_seq")
+    @SequenceGenerator(name = "todos_seq", sequenceName = ID_SEQUENCE, allocationSize = ID_ALLOCATION_SIZE)
     private Long id;
     
+    // Owning tenant: Hibernate stamps it on insert and restricts every query to the session's tenant
+    @TenantId
+    @ColumnDefault("'default'")
+    @Column(name = "tenant_id", nullable = false, length = 64, updatable = false)
+    private String tenant;
+    
     @Column(nullable = false, length = 255)
     private String title;
     
@@ -31,6 +52,18 @@ public class Todo {
     @Column(name = "updated_at", nullable = false)
     private LocalDateTime updatedAt;
     
+    // Set from TodoChangeVersion on every write; rows written by other clients keep the default
+    @ColumnDefault("0")
+    @Column(name = "change_version", nullable = false)
+    private Long changeVersion = 0L;
+    
+    // Optimistic lock, checked and incremented on every update; clients see it in the ETag.
+    // Left null on new todos so Spring Data still recognizes them as new.
+    @Version
+    @ColumnDefault("0")
+    @Column(nullable = false)
+    private Long version;
+    
     // Default constructor
     public Todo() {}
     
@@ -140,4 +173,28 @@ public class Todo {
     public void setUpdatedAt(LocalDateTime updatedAt) {
         this.updatedAt = updatedAt;
     }
-} 
\ No newline at end of file
+    
+    public String getTenant() {
+        return tenant;
+    }
+    
+    public void setTenant(String tenant) {
+        this.tenant = tenant;
+    }
+    
+    public Long getChangeVersion() {
+        return changeVersion;
+    }
+    
+    public void setChangeVersion(Long changeVersion) {
+        this.changeVersion = changeVersion;
+    }
+    
+    public Long getVersion() {
+        return version;
+    }
+    
+    public void setVersion(Long version) {
+        this.version = version;
+    }
+}
@@ -0,0 +1,77 @@
+package com.todolist.backend.model;
+
+import jakarta.persistence.*;
+import org.hibernate.annotations.ColumnDefault;
+import org.hibernate.annotations.TenantId;
+
+import java.time.LocalDateTime;
+
+/**
+ * Marker left behind by a deleted todo so delta sync can report the deletion.
+ * Removed by tombstone compaction once older than the retention period.
+ */
+@Entity
+@Table(name = "todo_tombstones", indexes = {
+        @Index(name = "idx_todo_tombstones_change_version", columnList = "change_version")
+})
+public class TodoTombstone {
+    
+    // Ids come from todos_seq and are never reused, so a todo has at most one tombstone
+    @Id
+    @Column(name = "todo_id")
+    private Long todoId;
+    
+    // Tenant of the deleted todo, so a delta sync only reports the caller's own deletions
+    @TenantId
+    @ColumnDefault("'default'")
+    @Column(name = "tenant_id", nullable = false, length = 64, updatable = false)
+    private String tenant;
+    
+    @Column(name = "change_version", nullable = false)
+    private Long changeVersion;
+    
+    @Column(name = "deleted_at", nullable = false)
+    private LocalDateTime deletedAt;
+    
+    // Default constructor
+    public TodoTombstone() {}
+    
+    public TodoTombstone(Long todoId, Long changeVersion, LocalDateTime deletedAt) {
+        this.todoId = todoId;
+        this.changeVersion = changeVersion;
+        this.deletedAt = deletedAt;
+    }
+    
+    // Getters and Setters
+    public Long getTodoId() {
+        return todoId;
+    }
+    
+    public void setTodoId(Long todoId) {
+        this.todoId = todoId;
+    }
+    
+    public String getTenant() {
+        return tenant;
+    }
+    
+    public void setTenant(String tenant) {
+        this.tenant = tenant;
+    }
+    
+    public Long getChangeVersion() {
+        return changeVersion;
+    }
+    
+    public void setChangeVersion(Long changeVersion) {
+        this.changeVersion = changeVersion;
+    }
+    
+    public LocalDateTime getDeletedAt() {
+        return deletedAt;
+    }
+    
+    public void setDeletedAt(LocalDateTime deletedAt) {
+        this.deletedAt = deletedAt;
+    }
+}
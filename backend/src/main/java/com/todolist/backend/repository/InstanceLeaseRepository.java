@@ -0,0 +1,25 @@
+package com.todolist.backend.repository;
+
+import com.todolist.backend.model.InstanceLease;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+
+@Repository
+public interface InstanceLeaseRepository extends JpaRepository<InstanceLease, String> {
+
+    // Row lock until commit, so two processes cannot both find the lease free
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT l FROM InstanceLease l WHERE l.name = :name")
+    Optional<InstanceLease> findForUpdate(@Param("name") String name);
+
+    @Modifying
+    @Query("DELETE FROM InstanceLease l WHERE l.name = :name AND l.owner = :owner")
+    int deleteOwned(@Param("name") String name, @Param("owner") String owner);
+}
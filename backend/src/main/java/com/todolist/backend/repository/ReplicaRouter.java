@@ -0,0 +1,231 @@
+package com.todolist.backend.repository;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongConsumer;
+import java.util.function.Supplier;
+
+/**
+ * Picks the database a connection comes from: a read replica for read-only transactions,
+ * the primary for everything else.
+ *
+ * <p>Replicas lag behind the primary, so after a client's write commits, that client's
+ * reads stay on the primary for the sticky window. A request names its client with a token
+ * holding the commit time of the client's last write ({@link #setClient}), which only its
+ * own writes move on, so other clients keep reading from the replicas meanwhile. Requests
+ * without a token fall back to the tenant: after any write of a tenant, all of its reads
+ * stay on the primary. Admin-wide work ({@link TenantContext#ALL_TENANTS}) and reads that
+ * must never miss a committed change ({@link #onPrimary(Supplier)}) always use the primary.
+ */
+public class ReplicaRouter {
+
+    public static final String PRIMARY = "primary";
+
+    public enum Balance {
+        ROUND_ROBIN,
+        // The replica with the fewest connections in use; ties go round-robin
+        LEAST_LOADED
+    }
+
+    private static final ThreadLocal<Boolean> PRIMARY_REQUIRED = new ThreadLocal<>();
+    private static final ThreadLocal<Client> CLIENT = new ThreadLocal<>();
+
+    private final List<HikariDataSource> replicas;
+    private final Balance balance;
+    private final long stickyNanos;
+    private final long stickyMillis;
+    private final ConcurrentHashMap<String, Long> stickyUntil = new ConcurrentHashMap<>();
+    private final AtomicInteger nextReplica = new AtomicInteger();
+
+    private final LongAdder primaryConnections = new LongAdder();
+    private final LongAdder replicaConnections = new LongAdder();
+
+    public ReplicaRouter(List<HikariDataSource> replicas, Balance balance, Duration stickyWindow) {
+        if (replicas.isEmpty()) {
+            throw new IllegalArgumentException("At least one replica is required");
+        }
+        this.replicas = List.copyOf(replicas);
+        this.balance = balance;
+        this.stickyNanos = stickyWindow.toNanos();
+        this.stickyMillis = stickyWindow.toMillis();
+    }
+
+    /**
+     * Binds the client the thread serves until {@link #clearClient()}.
+     *
+     * @param lastWrite the commit time of the client's last write in epoch millis, taken from
+     *                  its token; null when the request carries none
+     * @param onWrite   told the commit time of every write the thread commits for the client,
+     *                  which becomes its new token
+     */
+    public static void setClient(Long lastWrite, LongConsumer onWrite) {
+        CLIENT.set(new Client(lastWrite, onWrite));
+    }
+
+    public static void clearClient() {
+        CLIENT.remove();
+    }
+
+    /**
+     * Runs the action with every connection it takes coming from the primary, even in
+     * read-only transactions. The choice is made at the first statement of a transaction.
+     */
+    public static <T> T onPrimary(Supplier<T> action) {
+        Boolean previous = PRIMARY_REQUIRED.get();
+        PRIMARY_REQUIRED.set(Boolean.TRUE);
+        try {
+            return action.get();
+        } finally {
+            if (previous != null) {
+                PRIMARY_REQUIRED.set(previous);
+            } else {
+                PRIMARY_REQUIRED.remove();
+            }
+        }
+    }
+
+    /**
+     * The pools by routing key, primary first.
+     */
+    public Map<String, HikariDataSource> targets(HikariDataSource primary) {
+        Map<String, HikariDataSource> targets = new LinkedHashMap<>();
+        targets.put(PRIMARY, primary);
+        replicas.forEach(replica -> targets.put(replica.getPoolName(), replica));
+        return targets;
+    }
+
+    /**
+     * Whether a read-only transaction the thread begins now would be served by a replica.
+     * Results of such reads may be older than the data version, so they must not be
+     * cached or validated under it.
+     */
+    public boolean routesReadsToReplica() {
+        String tenant = TenantContext.current();
+        long now = System.nanoTime();
+        // An admin-wide write may have touched any tenant
+        if (PRIMARY_REQUIRED.get() != null || TenantContext.ALL_TENANTS.equals(tenant) || !expired(TenantContext.ALL_TENANTS, now)) {
+            return false;
+        }
+        Client client = CLIENT.get();
+        if (client != null && client.lastWrite != null) {
+            // Wall-clock time, as the write may have been committed by another instance; a
+            // token from the future, beyond clock skew, is not honoured
+            return Math.abs(System.currentTimeMillis() - client.lastWrite) >= stickyMillis;
+        }
+        return expired(tenant, now);
+    }
+
+    public long getPrimaryConnections() {
+        return primaryConnections.sum();
+    }
+
+    public long getReplicaConnections() {
+        return replicaConnections.sum();
+    }
+
+    public int stickyTenants() {
+        long now = System.nanoTime();
+        stickyUntil.forEach((tenant, until) -> expired(tenant, now));
+        return stickyUntil.size();
+    }
+
+    public void close() {
+        replicas.forEach(HikariDataSource::close);
+    }
+
+    String route() {
+        if (!TransactionSynchronizationManager.isActualTransactionActive()) {
+            // Schema work, metadata lookups and lazy loading outside transactions
+            primaryConnections.increment();
+            return PRIMARY;
+        }
+        String tenant = TenantContext.current();
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            Client client = CLIENT.get();
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    // The tenant as well, for its clients without a token
+                    markWritten(tenant);
+                    if (client != null) {
+                        client.written(System.currentTimeMillis());
+                    }
+                }
+            });
+            primaryConnections.increment();
+            return PRIMARY;
+        }
+        if (!routesReadsToReplica()) {
+            primaryConnections.increment();
+            return PRIMARY;
+        }
+        replicaConnections.increment();
+        return replicas.get(pickReplica()).getPoolName();
+    }
+
+    void markWritten(String tenant) {
+        stickyUntil.put(tenant, System.nanoTime() + stickyNanos);
+    }
+
+    private boolean expired(String tenant, long now) {
+        Long until = stickyUntil.get(tenant);
+        if (until == null) {
+            return true;
+        }
+        if (now - until < 0) {
+            return false;
+        }
+        stickyUntil.remove(tenant, until);
+        return true;
+    }
+
+    private int pickReplica() {
+        int start = Math.floorMod(nextReplica.getAndIncrement(), replicas.size());
+        if (balance == Balance.ROUND_ROBIN) {
+            return start;
+        }
+        int best = start;
+        int bestActive = activeConnections(start);
+        for (int offset = 1; offset < replicas.size() && bestActive > 0; offset++) {
+            int candidate = (start + offset) % replicas.size();
+            int active = activeConnections(candidate);
+            if (active < bestActive) {
+                best = candidate;
+                bestActive = active;
+            }
+        }
+        return best;
+    }
+
+    private int activeConnections(int replica) {
+        // Null until the pool has handed out its first connection
+        HikariPoolMXBean pool = replicas.get(replica).getHikariPoolMXBean();
+        return pool != null ? pool.getActiveConnections() : 0;
+    }
+
+    private static final class Client {
+
+        private volatile Long lastWrite;
+        private final LongConsumer onWrite;
+
+        private Client(Long lastWrite, LongConsumer onWrite) {
+            this.lastWrite = lastWrite;
+            this.onWrite = onWrite;
+        }
+
+        private void written(long commitMillis) {
+            lastWrite = commitMillis;
+            onWrite.accept(commitMillis);
+        }
+    }
+}
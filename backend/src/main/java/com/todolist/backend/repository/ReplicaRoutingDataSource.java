@@ -0,0 +1,29 @@
+package com.todolist.backend.repository;
+
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+
+import javax.sql.DataSource;
+import java.util.Map;
+
+/**
+ * Hands out connections of the primary or of a read replica, as {@link ReplicaRouter}
+ * decides. The read-only flag of a transaction is only known once it has begun, so this
+ * must sit behind a {@code LazyConnectionDataSourceProxy} that defers taking the
+ * connection until the first statement.
+ */
+public class ReplicaRoutingDataSource extends AbstractRoutingDataSource {
+
+    private final ReplicaRouter router;
+
+    public ReplicaRoutingDataSource(ReplicaRouter router, Map<String, ? extends DataSource> targets) {
+        this.router = router;
+        setTargetDataSources(Map.copyOf(targets));
+        setLenientFallback(false);
+        afterPropertiesSet();
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        return router.route();
+    }
+}
@@ -0,0 +1,36 @@
+package com.todolist.backend.repository;
+
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+
+import javax.sql.DataSource;
+import java.util.Map;
+
+/**
+ * Hands out connections of the shard that owns the thread's tenant, or of the shard
+ * pinned in {@link TenantContext}. The choice is made when a transaction takes its
+ * connection, so the tenant must be known before the transaction begins.
+ */
+public class ShardRoutingDataSource extends AbstractRoutingDataSource {
+
+    private final TenantShardRing ring;
+
+    public ShardRoutingDataSource(TenantShardRing ring, Map<String, DataSource> shards) {
+        this.ring = ring;
+        setTargetDataSources(Map.copyOf(shards));
+        // An unknown key is a bug, not a reason to fall back to some shard
+        setLenientFallback(false);
+        afterPropertiesSet();
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        String shard = TenantContext.shard();
+        if (shard != null) {
+            return shard;
+        }
+        if (TenantContext.isAllTenants()) {
+            throw new IllegalStateException("Work across all tenants must pin a shard; see TodoShards");
+        }
+        return ring.shardFor(TenantContext.current());
+    }
+}
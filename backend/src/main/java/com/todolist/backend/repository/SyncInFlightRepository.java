@@ -0,0 +1,27 @@
+package com.todolist.backend.repository;
+
+import com.todolist.backend.model.SyncInFlight;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+
+@Repository
+public interface SyncInFlightRepository extends JpaRepository<SyncInFlight, Long> {
+
+    // A plain INSERT; save() would look the id up first
+    @Modifying
+    @Query("INSERT INTO SyncInFlight (changeVersion, startedAt) VALUES (:changeVersion, :startedAt)")
+    int insert(@Param("changeVersion") long changeVersion, @Param("startedAt") LocalDateTime startedAt);
+
+    @Modifying
+    @Query("DELETE FROM SyncInFlight f WHERE f.changeVersion = :changeVersion")
+    int deleteByVersion(@Param("changeVersion") long changeVersion);
+
+    @Modifying
+    @Query("DELETE FROM SyncInFlight f WHERE f.startedAt <= :cutoff")
+    int deleteStartedBefore(@Param("cutoff") LocalDateTime cutoff);
+}
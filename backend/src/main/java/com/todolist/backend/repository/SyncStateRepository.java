@@ -0,0 +1,45 @@
+package com.todolist.backend.repository;
+
+import com.todolist.backend.model.SyncState;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+@Repository
+public interface SyncStateRepository extends JpaRepository<SyncState, Integer> {
+
+    /**
+     * Change versions as of one snapshot: the last allocated, the oldest still in flight
+     * (null when none) and how far tombstones are compacted.
+     */
+    interface Position {
+        long getLastVersion();
+        Long getOldestInFlight();
+        long getCompactedThrough();
+    }
+
+    // Row lock until commit, so concurrent allocations queue on the state row instead of sharing a version
+    @Modifying
+    @Query("UPDATE SyncState s SET s.lastVersion = s.lastVersion + 1 WHERE s.id = " + SyncState.ID)
+    int incrementLastVersion();
+
+    @Query("SELECT s.lastVersion FROM SyncState s WHERE s.id = " + SyncState.ID)
+    long findLastVersion();
+
+    // One statement, so the counter and the in-flight rows come from the same snapshot even under READ COMMITTED.
+    // In-flight rows older than the cutoff belong to crashed processes and no longer hold readers back.
+    @Query("SELECT s.lastVersion AS lastVersion, s.compactedThrough AS compactedThrough, "
+            + "(SELECT MIN(f.changeVersion) FROM SyncInFlight f WHERE f.startedAt > :cutoff) AS oldestInFlight "
+            + "FROM SyncState s WHERE s.id = " + SyncState.ID)
+    Optional<Position> findPosition(@Param("cutoff") LocalDateTime cutoff);
+
+    @Modifying
+    @Query("UPDATE SyncState s SET s.compactedThrough = :version "
+            + "WHERE s.id = " + SyncState.ID + " AND s.compactedThrough < :version")
+    int raiseCompactedThrough(@Param("version") long version);
+}
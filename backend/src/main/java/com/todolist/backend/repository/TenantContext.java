@@ -0,0 +1,80 @@
+package com.todolist.backend.repository;
+
+import java.util.function.Supplier;
+
+/**
+ * The tenant the current thread works for, and optionally the shard it is pinned to.
+ *
+ * <p>Requests get their tenant from {@code TenantFilter}; threads without one act for
+ * {@link #DEFAULT_TENANT}. Hibernate scopes every todo query to the tenant (see
+ * {@code Todo#getTenant}), except for {@link #ALL_TENANTS}, which sees all rows and is
+ * only used with a pinned shard, by admin-wide work that visits each shard in turn.
+ */
+public final class TenantContext {
+
+    public static final String DEFAULT_TENANT = "default";
+    public static final String ALL_TENANTS = "*";
+
+    private static final ThreadLocal<String> TENANT = new ThreadLocal<>();
+    private static final ThreadLocal<String> SHARD = new ThreadLocal<>();
+
+    private TenantContext() {
+    }
+
+    public static String current() {
+        String tenant = TENANT.get();
+        return tenant != null ? tenant : DEFAULT_TENANT;
+    }
+
+    public static boolean isAllTenants() {
+        return ALL_TENANTS.equals(current());
+    }
+
+    /**
+     * The shard pinned by {@link #call(String, String, Supplier)}, or null to route by tenant.
+     */
+    public static String shard() {
+        return SHARD.get();
+    }
+
+    public static void set(String tenant) {
+        TENANT.set(tenant);
+    }
+
+    public static void clear() {
+        TENANT.remove();
+        SHARD.remove();
+    }
+
+    /**
+     * Runs the action as the tenant, on the given shard or the tenant's own when null, and
+     * restores the previous context afterwards.
+     */
+    public static <T> T call(String tenant, String shard, Supplier<T> action) {
+        String previousTenant = TENANT.get();
+        String previousShard = SHARD.get();
+        TENANT.set(tenant);
+        SHARD.set(shard);
+        try {
+            return action.get();
+        } finally {
+            restore(TENANT, previousTenant);
+            restore(SHARD, previousShard);
+        }
+    }
+
+    public static void run(String tenant, String shard, Runnable action) {
+        call(tenant, shard, () -> {
+            action.run();
+            return null;
+        });
+    }
+
+    private static void restore(ThreadLocal<String> holder, String previous) {
+        if (previous != null) {
+            holder.set(previous);
+        } else {
+            holder.remove();
+        }
+    }
+}
@@ -0,0 +1,62 @@
+package com.todolist.backend.repository;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+
+/**
+ * Consistent hashing of tenants onto shards. Every shard owns {@code virtualNodes} points
+ * on a 64-bit ring and a tenant belongs to the first point at or after its own hash, so
+ * tenants spread evenly and adding a shard only moves the tenants that land on its points.
+ *
+ * <p>Points are derived from shard names, so renaming a shard moves its tenants; the
+ * declared order only matters for the id block of each shard (see {@link #indexOf}).
+ */
+public class TenantShardRing {
+
+    private final List<String> shards;
+    private final NavigableMap<Long, String> ring = new TreeMap<>();
+
+    public TenantShardRing(List<String> shards, int virtualNodes) {
+        if (shards.isEmpty()) {
+            throw new IllegalArgumentException("At least one shard is required");
+        }
+        this.shards = List.copyOf(shards);
+        for (String shard : shards) {
+            for (int node = 0; node < virtualNodes; node++) {
+                ring.put(hash(shard + "#" + node), shard);
+            }
+        }
+    }
+
+    public String shardFor(String tenant) {
+        Map.Entry<Long, String> point = ring.ceilingEntry(hash(tenant));
+        return (point != null ? point : ring.firstEntry()).getValue();
+    }
+
+    public List<String> shards() {
+        return shards;
+    }
+
+    /**
+     * Position of the shard in declaration order. New shards must be appended.
+     */
+    public int indexOf(String shard) {
+        return shards.indexOf(shard);
+    }
+
+    // The first 8 bytes of MD5: stable across JVMs and releases, unlike String.hashCode
+    static long hash(String key) {
+        try {
+            byte[] digest = MessageDigest.getInstance("MD5").digest(key.getBytes(StandardCharsets.UTF_8));
+            return ByteBuffer.wrap(digest).getLong();
+        } catch (NoSuchAlgorithmException ex) {
+            throw new IllegalStateException(ex);
+        }
+    }
+}
@@ -1,26 +1,241 @@
 package com.todolist.backend.repository;
 
+import com.todolist.backend.dto.TodoResponse;
 import com.todolist.backend.model.Todo;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface TodoRepository extends JpaRepository<Todo, Long> {
     
+    String RESPONSE_PROJECTION = "new com.todolist.backend.dto.TodoResponse("
+            + "t.id, t.title, t.description, t.completed, t.createdAt, t.updatedAt)";
+    
+    String EXPORT_FETCH_SIZE = "1000";
+    
+    String TENANT_COUNTS = "SELECT t.tenant AS tenant, COUNT(t) AS total, "
+            + "SUM(CASE WHEN t.completed = true THEN 1 ELSE 0 END) AS completed FROM Todo t";
+    
+    // Results go to the query cache when the l2cache profile enables it; otherwise the hints are ignored
+    
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = "todos-by-completed")
+    })
     List<Todo> findByCompleted(Boolean completed);
     
     @Query("SELECT t FROM Todo t WHERE (:completed IS NULL OR t.completed = :completed)")
     List<Todo> findByCompletedOptional(@Param("completed") Boolean completed);
     
+    // Read paths select straight into TodoResponse, so no managed entities are created. There is
+    // no COUNT query; the list total comes from TodoCounters
+    
+    @Query("SELECT " + RESPONSE_PROJECTION + " FROM Todo t")
+    List<TodoResponse> findResponses(Pageable pageable);
+    
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = "todos-by-completed")
+    })
+    @Query("SELECT " + RESPONSE_PROJECTION + " FROM Todo t WHERE t.completed = :completed")
+    List<TodoResponse> findResponsesByCompleted(@Param("completed") Boolean completed, Pageable pageable);
+    
+    // Keyset (seek) pagination ordered by (createdAt, id), served by the composite indexes on Todo
+    
+    @Query("SELECT " + RESPONSE_PROJECTION + " FROM Todo t ORDER BY t.createdAt ASC, t.id ASC")
+    List<TodoResponse> findFirstKeysetPage(Limit limit);
+    
+    @Query("SELECT " + RESPONSE_PROJECTION + " FROM Todo t WHERE t.completed = :completed "
+            + "ORDER BY t.createdAt ASC, t.id ASC")
+    List<TodoResponse> findFirstKeysetPageByCompleted(@Param("completed") Boolean completed, Limit limit);
+    
+    @Query("SELECT " + RESPONSE_PROJECTION + " FROM Todo t "
+            + "WHERE t.createdAt > :createdAt OR (t.createdAt = :createdAt AND t.id > :id) "
+            + "ORDER BY t.createdAt ASC, t.id ASC")
+    List<TodoResponse> findKeysetPageAfter(@Param("createdAt") LocalDateTime createdAt,
+                                           @Param("id") Long id,
+                                           Limit limit);
+    
+    @Query("SELECT " + RESPONSE_PROJECTION + " FROM Todo t WHERE t.completed = :completed "
+            + "AND (t.createdAt > :createdAt OR (t.createdAt = :createdAt AND t.id > :id)) "
+            + "ORDER BY t.createdAt ASC, t.id ASC")
+    List<TodoResponse> findKeysetPageAfterByCompleted(@Param("completed") Boolean completed,
+                                                      @Param("createdAt") LocalDateTime createdAt,
+                                                      @Param("id") Long id,
+                                                      Limit limit);
+    
+    // Set-based updates; null arguments leave the column unchanged (the casts type null parameters)
+    
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Todo t SET t.title = COALESCE(CAST(:title AS String), t.title), "
+            + "t.description = COALESCE(CAST(:description AS String), t.description), "
+            + "t.completed = COALESCE(CAST(:completed AS Boolean), t.completed), "
+            + "t.updatedAt = :updatedAt, t.changeVersion = :changeVersion, t.version = t.version + 1 "
+            + "WHERE t.id IN :ids AND (:filter IS NULL OR t.completed = :filter)")
+    int bulkUpdateByIds(@Param("ids") Collection<Long> ids,
+                        @Param("filter") Boolean filter,
+                        @Param("title") String title,
+                        @Param("description") String description,
+                        @Param("completed") Boolean completed,
+                        @Param("updatedAt") LocalDateTime updatedAt,
+                        @Param("changeVersion") long changeVersion);
+    
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Todo t SET t.title = COALESCE(CAST(:title AS String), t.title), "
+            + "t.description = COALESCE(CAST(:description AS String), t.description), "
+            + "t.completed = COALESCE(CAST(:completed AS Boolean), t.completed), "
+            + "t.updatedAt = :updatedAt, t.changeVersion = :changeVersion, t.version = t.version + 1 "
+            + "WHERE :filter IS NULL OR t.completed = :filter")
+    int bulkUpdateByCompleted(@Param("filter") Boolean filter,
+                              @Param("title") String title,
+                              @Param("description") String description,
+                              @Param("completed") Boolean completed,
+                              @Param("updatedAt") LocalDateTime updatedAt,
+                              @Param("changeVersion") long changeVersion);
+    
+    // PATCH: a partial update applied only while the todo is still at the version the client saw
+    
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Todo t SET t.title = COALESCE(CAST(:title AS String), t.title), "
+            + "t.description = COALESCE(CAST(:description AS String), t.description), "
+            + "t.completed = COALESCE(CAST(:completed AS Boolean), t.completed), "
+            + "t.updatedAt = :updatedAt, t.changeVersion = :changeVersion, t.version = t.version + 1 "
+            + "WHERE t.id = :id AND t.version = :version")
+    int patchAtVersion(@Param("id") Long id,
+                       @Param("version") long version,
+                       @Param("title") String title,
+                       @Param("description") String description,
+                       @Param("completed") Boolean completed,
+                       @Param("updatedAt") LocalDateTime updatedAt,
+                       @Param("changeVersion") long changeVersion);
+    
+    // Same, but only matches when completed changes, so the caller learns that it flipped without reading the row
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Todo t SET t.title = COALESCE(CAST(:title AS String), t.title), "
+            + "t.description = COALESCE(CAST(:description AS String), t.description), "
+            + "t.completed = :completed, "
+            + "t.updatedAt = :updatedAt, t.changeVersion = :changeVersion, t.version = t.version + 1 "
+            + "WHERE t.id = :id AND t.version = :version AND t.completed <> :completed")
+    int patchFlippingCompleted(@Param("id") Long id,
+                               @Param("version") long version,
+                               @Param("title") String title,
+                               @Param("description") String description,
+                               @Param("completed") boolean completed,
+                               @Param("updatedAt") LocalDateTime updatedAt,
+                               @Param("changeVersion") long changeVersion);
+    
     @Query("SELECT COUNT(t) FROM Todo t WHERE t.completed = true")
     Long countCompletedTodos();
     
-    @Modifying
+    // Seeds and reconciles the per-tenant counters
+    @Query(TENANT_COUNTS + " GROUP BY t.tenant")
+    List<TenantCountView> countByTenant();
+    
+    // Rows a bulk update will flip, so the completed counter can follow it
+    long countByCompleted(Boolean completed);
+    
+    long countByIdInAndCompleted(Collection<Long> ids, Boolean completed);
+    
+    // Forward-only scroll for exports: rows arrive in fetch-size chunks, are read-only and bypass the L2 cache
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = EXPORT_FETCH_SIZE),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_MODE, value = "IGNORE")
+    })
+    @Query("SELECT t FROM Todo t ORDER BY t.id")
+    Stream<Todo> streamAllForExport();
+    
+    @Query("SELECT " + RESPONSE_PROJECTION + " FROM Todo t WHERE t.id = :id")
+    Optional<TodoResponse> findResponseById(@Param("id") Long id);
+    
+    @Query("SELECT t.version AS version, t.updatedAt AS updatedAt FROM Todo t WHERE t.id = :id")
+    Optional<VersionView> findVersionById(@Param("id") Long id);
+    
+    @Query("SELECT t.completed FROM Todo t WHERE t.id = :id")
+    Optional<Boolean> findCompletedById(@Param("id") Long id);
+    
+    // Bulk DML bypasses the persistence context; Hibernate evicts the todos cache regions it touches
+    @Modifying(clearAutomatically = true)
     @Query("DELETE FROM Todo t WHERE t.completed = true")
     void deleteCompletedTodos();
+    
+    // Chunked bulk deletes walk the primary key in ascending order
+    
+    @Query("SELECT MAX(t.id) FROM Todo t")
+    Optional<Long> findMaxId();
+    
+    // Takes a value off the id sequence, as Hibernate does for each allocation; H2 and MariaDB syntax.
+    // Sequences ignore transactions, and outside one it is neither read-only nor a write that
+    // would pin the tenant's reads to the primary
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    @Query(value = "SELECT NEXT VALUE FOR " + Todo.ID_SEQUENCE, nativeQuery = true)
+    long nextIdSequenceValue();
+    
+    @Query("SELECT t.id FROM Todo t WHERE t.id > :afterId AND t.id <= :upToId ORDER BY t.id")
+    List<Long> findIdsInRange(@Param("afterId") long afterId, @Param("upToId") long upToId, Limit limit);
+    
+    @Query("SELECT t.id FROM Todo t WHERE t.completed = true AND t.id > :afterId AND t.id <= :upToId ORDER BY t.id")
+    List<Long> findCompletedIdsInRange(@Param("afterId") long afterId, @Param("upToId") long upToId, Limit limit);
+    
+    // What a chunk removes from each tenant's counters, read before its rows are deleted
+    @Query(TENANT_COUNTS + " WHERE t.id IN "
+            + "(SELECT tb.todoId FROM TodoTombstone tb WHERE tb.changeVersion = :changeVersion) GROUP BY t.tenant")
+    List<TenantCountView> countTombstonedByTenant(@Param("changeVersion") long changeVersion);
+    
+    // Removes the rows tombstoned under one change version, so every deleted row has a tombstone
+    @Modifying(clearAutomatically = true)
+    @Query("DELETE FROM Todo t WHERE t.id IN "
+            + "(SELECT tb.todoId FROM TodoTombstone tb WHERE tb.changeVersion = :changeVersion)")
+    int deleteTombstoned(@Param("changeVersion") long changeVersion);
+    
+    // Delta sync, served by the change_version index
+    
+    @Query("SELECT " + RESPONSE_PROJECTION + " FROM Todo t "
+            + "WHERE t.changeVersion > :since AND t.changeVersion <= :upTo ORDER BY t.changeVersion, t.id")
+    List<TodoResponse> findChangedBetween(@Param("since") long since, @Param("upTo") long upTo);
+    
+    @Query("SELECT " + RESPONSE_PROJECTION + " FROM Todo t ORDER BY t.id")
+    List<TodoResponse> findAllResponses();
+    
+    @Query("SELECT MAX(t.changeVersion) FROM Todo t")
+    Optional<Long> findMaxChangeVersion();
+    
+    // Search: the ranked page comes from the in-memory index, rows are then loaded by primary key
+    
+    @Query("SELECT " + RESPONSE_PROJECTION + " FROM Todo t WHERE t.id IN :ids")
+    List<TodoResponse> findResponsesByIdIn(@Param("ids") Collection<Long> ids);
+    
+    // Version and timestamp of one todo, enough for its validators
+    interface VersionView {
+        
+        Long getVersion();
+        
+        LocalDateTime getUpdatedAt();
+    }
+    
+    // Row counts of one tenant
+    interface TenantCountView {
+        
+        String getTenant();
+        
+        Long getTotal();
+        
+        Long getCompleted();
+    }
 } 
\ No newline at end of file
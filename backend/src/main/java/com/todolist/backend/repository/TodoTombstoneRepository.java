@@ -0,0 +1,60 @@
+package com.todolist.backend.repository;
+
+import com.todolist.backend.model.TodoTombstone;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface TodoTombstoneRepository extends JpaRepository<TodoTombstone, Long> {
+
+    // Set-based tombstones for one chunk of a bulk delete; the matching DELETE then removes exactly these rows.
+    // The tenant is copied explicitly, as HQL inserts do not stamp it.
+
+    @Modifying(flushAutomatically = true)
+    @Query("INSERT INTO TodoTombstone (todoId, tenant, changeVersion, deletedAt) "
+            + "SELECT t.id, t.tenant, CAST(:changeVersion AS Long), CAST(:deletedAt AS LocalDateTime) FROM Todo t "
+            + "WHERE t.completed = true AND t.id > :afterId AND t.id <= :upToId")
+    int insertForCompletedInRange(@Param("changeVersion") long changeVersion,
+                                  @Param("deletedAt") LocalDateTime deletedAt,
+                                  @Param("afterId") long afterId,
+                                  @Param("upToId") long upToId);
+
+    @Modifying(flushAutomatically = true)
+    @Query("INSERT INTO TodoTombstone (todoId, tenant, changeVersion, deletedAt) "
+            + "SELECT t.id, t.tenant, CAST(:changeVersion AS Long), CAST(:deletedAt AS LocalDateTime) FROM Todo t "
+            + "WHERE t.id > :afterId AND t.id <= :upToId")
+    int insertForRange(@Param("changeVersion") long changeVersion,
+                       @Param("deletedAt") LocalDateTime deletedAt,
+                       @Param("afterId") long afterId,
+                       @Param("upToId") long upToId);
+
+    @Query("SELECT tb.todoId FROM TodoTombstone tb WHERE tb.changeVersion = :changeVersion")
+    List<Long> findTodoIdsByChangeVersion(@Param("changeVersion") long changeVersion);
+
+    @Query("SELECT tb.todoId FROM TodoTombstone tb "
+            + "WHERE tb.changeVersion > :since AND tb.changeVersion <= :upTo ORDER BY tb.changeVersion, tb.todoId")
+    List<Long> findTodoIdsDeletedBetween(@Param("since") long since, @Param("upTo") long upTo);
+
+    @Query("SELECT MAX(tb.changeVersion) FROM TodoTombstone tb")
+    Optional<Long> findMaxChangeVersion();
+
+    @Query("SELECT MAX(tb.todoId) FROM TodoTombstone tb")
+    Optional<Long> findMaxTodoId();
+
+    @Query("SELECT MIN(tb.changeVersion) FROM TodoTombstone tb")
+    Optional<Long> findMinChangeVersion();
+
+    @Query("SELECT MAX(tb.changeVersion) FROM TodoTombstone tb WHERE tb.deletedAt < :cutoff")
+    Optional<Long> findMaxChangeVersionDeletedBefore(@Param("cutoff") LocalDateTime cutoff);
+
+    @Modifying
+    @Query("DELETE FROM TodoTombstone tb WHERE tb.changeVersion <= :changeVersion")
+    int deleteUpTo(@Param("changeVersion") long changeVersion);
+}
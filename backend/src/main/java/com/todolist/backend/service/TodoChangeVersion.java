@@ -0,0 +1,135 @@
+package com.todolist.backend.service;
+
+import com.todolist.backend.model.SyncState;
+import com.todolist.backend.repository.SyncInFlightRepository;
+import com.todolist.backend.repository.SyncStateRepository;
+import com.todolist.backend.repository.TenantContext;
+import com.todolist.backend.repository.TodoRepository;
+import com.todolist.backend.repository.TodoTombstoneRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+/**
+ * Allocates the change versions stamped on todos and tombstones for delta sync.
+ *
+ * <p>Versions come from the {@code todo_sync_state} row of the database being written, so
+ * any number of backend instances share one sequence. They are handed out in order but
+ * transactions commit in any order, so a reader must not advance past a version whose
+ * transaction is still open. Each allocation therefore commits an in-flight row together
+ * with the counter, and the writing transaction deletes that row itself: it disappears
+ * exactly when the changes become visible. {@link #position()} reads both in one statement,
+ * and its high-water mark is the highest version below every open transaction.
+ */
+@Component
+public class TodoChangeVersion {
+
+    /**
+     * What a delta sync may rely on: every change up to {@code highWaterMark} is committed
+     * or rolled back, and tombstones up to {@code compactedThrough} may be gone.
+     */
+    public record Position(long highWaterMark, long compactedThrough) {}
+
+    private static final Logger log = LoggerFactory.getLogger(TodoChangeVersion.class);
+
+    private final SyncStateRepository syncStateRepository;
+    private final SyncInFlightRepository syncInFlightRepository;
+    private final TodoRepository todoRepository;
+    private final TodoTombstoneRepository todoTombstoneRepository;
+    private final TransactionTemplate allocation;
+    private final Duration inFlightTimeout;
+
+    @Autowired
+    public TodoChangeVersion(SyncStateRepository syncStateRepository,
+                             SyncInFlightRepository syncInFlightRepository,
+                             TodoRepository todoRepository,
+                             TodoTombstoneRepository todoTombstoneRepository,
+                             PlatformTransactionManager transactionManager,
+                             @Value("${todo.sync.in-flight-timeout:10m}") Duration inFlightTimeout) {
+        this.syncStateRepository = syncStateRepository;
+        this.syncInFlightRepository = syncInFlightRepository;
+        this.todoRepository = todoRepository;
+        this.todoTombstoneRepository = todoTombstoneRepository;
+        this.allocation = new TransactionTemplate(transactionManager);
+        this.allocation.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.inFlightTimeout = inFlightTimeout;
+    }
+
+    /**
+     * The version of the current transaction, allocated on first use; every change the
+     * transaction makes carries it.
+     */
+    public long next() {
+        Long bound = (Long) TransactionSynchronizationManager.getResource(this);
+        if (bound != null) {
+            return bound;
+        }
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            throw new IllegalStateException("Change versions are allocated inside the writing transaction");
+        }
+        // Committed on its own, so readers see the version in flight before any change stamped with it
+        long version = allocation.execute(status -> {
+            if (syncStateRepository.incrementLastVersion() == 0) {
+                // The first allocation on this database continues after the versions already stored
+                SyncState initial = syncStateRepository.save(initialState());
+                log.info("Change versions on shard {} start after {}, tombstones compacted through {}",
+                        TenantContext.shard(), initial.getLastVersion(), initial.getCompactedThrough());
+                syncStateRepository.incrementLastVersion();
+            }
+            long allocated = syncStateRepository.findLastVersion();
+            syncInFlightRepository.insert(allocated, LocalDateTime.now());
+            return allocated;
+        });
+        syncInFlightRepository.deleteByVersion(version);
+        TransactionSynchronizationManager.bindResource(this, version);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                TransactionSynchronizationManager.unbindResourceIfPossible(TodoChangeVersion.this);
+                // A rollback also undid the delete
+                if (status != STATUS_COMMITTED) {
+                    allocation.executeWithoutResult(s -> syncInFlightRepository.deleteByVersion(version));
+                }
+            }
+        });
+        return version;
+    }
+
+    public Position position() {
+        return syncStateRepository.findPosition(LocalDateTime.now().minus(inFlightTimeout))
+                .map(position -> new Position(position.getOldestInFlight() != null
+                        ? Math.min(position.getLastVersion(), position.getOldestInFlight() - 1)
+                        : position.getLastVersion(), position.getCompactedThrough()))
+                // Nothing allocated yet, so no transaction can be in flight
+                .orElseGet(() -> {
+                    SyncState initial = initialState();
+                    return new Position(initial.getLastVersion(), initial.getCompactedThrough());
+                });
+    }
+
+    private SyncState initialState() {
+        long stored = Math.max(todoRepository.findMaxChangeVersion().orElse(0L),
+                todoTombstoneRepository.findMaxChangeVersion().orElse(0L));
+        // Earlier compactions are not recorded, so assume everything below the oldest remaining tombstone is gone
+        long compactedThrough = todoTombstoneRepository.findMinChangeVersion().map(version -> version - 1).orElse(stored);
+        return new SyncState(stored, compactedThrough);
+    }
+
+    /**
+     * Drops in-flight rows left behind by processes that died mid-transaction; readers
+     * already ignore them after the timeout.
+     */
+    public int purgeAbandoned() {
+        return syncInFlightRepository.deleteStartedBefore(LocalDateTime.now().minus(inFlightTimeout));
+    }
+}
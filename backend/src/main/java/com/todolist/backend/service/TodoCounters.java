@@ -0,0 +1,167 @@
+package com.todolist.backend.service;
+
+import com.todolist.backend.repository.TenantContext;
+import org.springframework.stereotype.Component;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * In-process row counts, so list totals and {@code GET /api/v1/todos/stats} need no COUNT
+ * query. {@link LongAdder} spreads concurrent increments over striped cells instead of
+ * contending on a single value.
+ *
+ * <p>Counts are kept per tenant. The read methods answer for the thread's tenant, or
+ * summed over all of them for {@link TenantContext#ALL_TENANTS}.
+ *
+ * <p>Writers adjust the counts after their transaction commits; {@link TodoStatsService}
+ * seeds them at startup and periodically reconciles them with the database. Neither takes
+ * a lock.
+ */
+@Component
+public class TodoCounters {
+
+    // Adjustments take nanoseconds, so a snapshot rarely needs more than one retry
+    private static final int SNAPSHOT_ATTEMPTS = 100;
+
+    private final ConcurrentHashMap<String, Counts> tenants = new ConcurrentHashMap<>();
+
+    /**
+     * Applies the deltas to the thread's tenant once the current transaction commits;
+     * rolled back writes leave the counts alone.
+     */
+    public void adjustAfterCommit(long totalDelta, long completedDelta) {
+        adjustAfterCommit(TenantContext.current(), totalDelta, completedDelta);
+    }
+
+    public void adjustAfterCommit(String tenant, long totalDelta, long completedDelta) {
+        if (totalDelta == 0 && completedDelta == 0) {
+            return;
+        }
+        TransactionHooks.afterCommit(() -> adjust(tenant, totalDelta, completedDelta));
+    }
+
+    public void adjust(long totalDelta, long completedDelta) {
+        adjust(TenantContext.current(), totalDelta, completedDelta);
+    }
+
+    public void adjust(String tenant, long totalDelta, long completedDelta) {
+        Counts counts = tenants.computeIfAbsent(tenant, key -> new Counts());
+        // Bracketed by striped counters only, so adjusters never contend on a shared word
+        counts.started.increment();
+        counts.total.add(totalDelta);
+        counts.completed.add(completedDelta);
+        counts.finished.increment();
+    }
+
+    public long total() {
+        return total(TenantContext.current());
+    }
+
+    public long completed() {
+        return completed(TenantContext.current());
+    }
+
+    public long active() {
+        return total() - completed();
+    }
+
+    public long total(String tenant) {
+        if (TenantContext.ALL_TENANTS.equals(tenant)) {
+            return tenants.values().stream().mapToLong(counts -> counts.total.sum()).sum();
+        }
+        Counts counts = tenants.get(tenant);
+        return counts != null ? counts.total.sum() : 0;
+    }
+
+    public long completed(String tenant) {
+        if (TenantContext.ALL_TENANTS.equals(tenant)) {
+            return tenants.values().stream().mapToLong(counts -> counts.completed.sum()).sum();
+        }
+        Counts counts = tenants.get(tenant);
+        return counts != null ? counts.completed.sum() : 0;
+    }
+
+    /**
+     * Number of todos matching a list filter; null counts every todo.
+     */
+    public long count(Boolean completedFilter) {
+        if (completedFilter == null) {
+            return total();
+        }
+        return completedFilter ? completed() : active();
+    }
+
+    Set<String> tenants() {
+        return tenants.keySet();
+    }
+
+    /**
+     * The tenant's counts together with the number of adjustments started so far. Only
+     * settled when every adjustment started had also finished while the counts were read;
+     * an unsettled snapshot cannot be used to {@link #correct} the counts.
+     */
+    Snapshot snapshot(String tenant) {
+        Counts counts = tenants.get(tenant);
+        if (counts == null) {
+            return Snapshot.EMPTY;
+        }
+        for (int attempt = 0; attempt < SNAPSHOT_ATTEMPTS; attempt++) {
+            long finished = counts.finished.sum();
+            long total = counts.total.sum();
+            long completed = counts.completed.sum();
+            long started = counts.started.sum();
+            if (started == finished) {
+                return new Snapshot(started, total, completed);
+            }
+            Thread.onSpinWait();
+        }
+        return new Snapshot(Snapshot.UNSETTLED, 0, 0);
+    }
+
+    /**
+     * Moves the tenant's counts by the drift between the snapshot and the actual counts,
+     * unless an adjustment started since the snapshot was taken. Such an adjustment may
+     * belong to a write the actual counts include already. The drift is added first and
+     * withdrawn again in that case: additions commute with concurrent adjustments, so
+     * withdrawing leaves exactly their effect, and no adjuster ever waits for this.
+     *
+     * @return whether the drift was corrected
+     */
+    boolean correct(String tenant, Snapshot snapshot, long total, long completed) {
+        if (!snapshot.isSettled()) {
+            return false;
+        }
+        Counts counts = tenants.computeIfAbsent(tenant, key -> new Counts());
+        long totalDrift = total - snapshot.total();
+        long completedDrift = completed - snapshot.completed();
+        counts.total.add(totalDrift);
+        counts.completed.add(completedDrift);
+        if (counts.started.sum() != snapshot.adjustments()) {
+            counts.total.add(-totalDrift);
+            counts.completed.add(-completedDrift);
+            return false;
+        }
+        return true;
+    }
+
+    record Snapshot(long adjustments, long total, long completed) {
+
+        static final long UNSETTLED = -1;
+        static final Snapshot EMPTY = new Snapshot(0, 0, 0);
+
+        boolean isSettled() {
+            return adjustments != UNSETTLED;
+        }
+    }
+
+    private static final class Counts {
+
+        private final LongAdder total = new LongAdder();
+        private final LongAdder completed = new LongAdder();
+        // Incremented before and after every adjustment, so a reconciliation can tell whether writes raced with it
+        private final LongAdder started = new LongAdder();
+        private final LongAdder finished = new LongAdder();
+    }
+}
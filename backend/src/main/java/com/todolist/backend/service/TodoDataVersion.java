@@ -0,0 +1,33 @@
+package com.todolist.backend.service;
+
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Global version of the todo data set. Every mutation bumps it once the transaction has
+ * committed, so anything derived from the data (cached pages, validators) can tell
+ * whether it is still current by comparing versions.
+ *
+ * <p>The version starts at zero in every process, so {@link #epoch()} identifies the
+ * process and must be part of anything handed out to clients.
+ */
+@Component
+public class TodoDataVersion {
+
+    private final AtomicLong version = new AtomicLong();
+    private final String epoch = Long.toString(ThreadLocalRandom.current().nextLong() & Long.MAX_VALUE, 36);
+
+    public long current() {
+        return version.get();
+    }
+
+    public String epoch() {
+        return epoch;
+    }
+
+    public void bumpAfterCommit() {
+        TransactionHooks.afterCommit(version::incrementAndGet);
+    }
+}
@@ -0,0 +1,117 @@
+package com.todolist.backend.service;
+
+import com.todolist.backend.dto.TodoDeleteJobResponse;
+
+import java.time.LocalDateTime;
+import java.util.Locale;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * One run of {@code DELETE /completed} or {@code DELETE /all}. Only the job thread of
+ * {@link TodoDeleteJobService} changes it; status requests read it concurrently.
+ */
+public class TodoDeleteJob {
+
+    public enum Scope {
+        COMPLETED, ALL
+    }
+
+    public enum Status {
+        QUEUED, RUNNING, SUCCEEDED, FAILED
+    }
+
+    private final String id;
+    private final String tenant;
+    private final Scope scope;
+    private final long estimatedTotal;
+    private final LocalDateTime createdAt = LocalDateTime.now();
+    private final LongAdder deleted = new LongAdder();
+    private final LongAdder chunks = new LongAdder();
+    private final CompletableFuture<TodoDeleteJob> completion = new CompletableFuture<>();
+    private volatile Status status = Status.QUEUED;
+    private volatile LocalDateTime startedAt;
+    private volatile LocalDateTime finishedAt;
+    private volatile String error;
+
+    TodoDeleteJob(String id, String tenant, Scope scope, long estimatedTotal) {
+        this.id = id;
+        this.tenant = tenant;
+        this.scope = scope;
+        this.estimatedTotal = estimatedTotal;
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    /**
+     * The tenant whose todos are deleted, or {@code *} for all of them.
+     */
+    public String getTenant() {
+        return tenant;
+    }
+
+    public Scope getScope() {
+        return scope;
+    }
+
+    public Status getStatus() {
+        return status;
+    }
+
+    public long getDeleted() {
+        return deleted.sum();
+    }
+
+    /**
+     * Completes with this job once it has succeeded or failed.
+     */
+    public CompletableFuture<TodoDeleteJob> completion() {
+        return completion;
+    }
+
+    public TodoDeleteJobResponse toResponse() {
+        TodoDeleteJobResponse response = new TodoDeleteJobResponse();
+        response.setId(id);
+        response.setScope(scope.name().toLowerCase(Locale.ROOT));
+        response.setStatus(status.name().toLowerCase(Locale.ROOT));
+        response.setDeleted(deleted.sum());
+        response.setChunks(chunks.sum());
+        response.setEstimatedTotal(estimatedTotal);
+        response.setCreatedAt(createdAt);
+        response.setStartedAt(startedAt);
+        response.setFinishedAt(finishedAt);
+        response.setError(error);
+        return response;
+    }
+
+    void started() {
+        startedAt = LocalDateTime.now();
+        status = Status.RUNNING;
+    }
+
+    void chunkDeleted(int rows) {
+        deleted.add(rows);
+        chunks.increment();
+    }
+
+    void succeeded() {
+        finish(Status.SUCCEEDED, null);
+    }
+
+    void failed(String message) {
+        finish(Status.FAILED, message);
+    }
+
+    boolean isFinished() {
+        return status == Status.SUCCEEDED || status == Status.FAILED;
+    }
+
+    private void finish(Status finalStatus, String message) {
+        error = message;
+        finishedAt = LocalDateTime.now();
+        status = finalStatus;
+        completion.complete(this);
+    }
+}
@@ -0,0 +1,173 @@
+package com.todolist.backend.service;
+
+import com.todolist.backend.dto.TodoChangeEvent;
+import com.todolist.backend.repository.TenantContext;
+import com.todolist.backend.repository.TodoRepository;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import java.util.Queue;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Runs {@code DELETE /completed} and {@code DELETE /all} in the background. A job walks
+ * the primary key in chunks of {@code chunk-size} rows, each deleted and committed in its
+ * own transaction by {@link TodoService#deleteChunk}, so no statement holds row locks for
+ * long and other requests get the connection pool and the table between chunks. Only todos
+ * that existed when the job started are deleted.
+ *
+ * <p>A job deletes the todos of the tenant that submitted it. A job for all tenants
+ * ({@code *}) walks every shard in turn.
+ *
+ * <p>Jobs run one at a time on a single thread. Finished jobs stay queryable until
+ * {@code retained-jobs} newer ones have finished.
+ */
+@Service
+public class TodoDeleteJobService {
+
+    private static final Logger log = LoggerFactory.getLogger(TodoDeleteJobService.class);
+
+    private final TodoService todoService;
+    private final TodoRepository todoRepository;
+    private final TodoCounters todoCounters;
+    private final TodoWriteBuffer todoWriteBuffer;
+    private final TodoEventPublisher todoEventPublisher;
+    private final TodoShards todoShards;
+    private final int chunkSize;
+    private final Duration chunkPause;
+    private final int retainedJobs;
+
+    private final ConcurrentHashMap<String, TodoDeleteJob> jobs = new ConcurrentHashMap<>();
+    private final Queue<String> finishedJobs = new ConcurrentLinkedQueue<>();
+    private final ExecutorService executor = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "todo-delete-jobs");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private final LongAdder deletedRows = new LongAdder();
+
+    @Autowired
+    public TodoDeleteJobService(TodoService todoService,
+                                TodoRepository todoRepository,
+                                TodoCounters todoCounters,
+                                TodoWriteBuffer todoWriteBuffer,
+                                TodoEventPublisher todoEventPublisher,
+                                TodoShards todoShards,
+                                @Value("${todo.delete-jobs.chunk-size:1000}") int chunkSize,
+                                @Value("${todo.delete-jobs.chunk-pause:5ms}") Duration chunkPause,
+                                @Value("${todo.delete-jobs.retained-jobs:100}") int retainedJobs) {
+        this.todoService = todoService;
+        this.todoRepository = todoRepository;
+        this.todoCounters = todoCounters;
+        this.todoWriteBuffer = todoWriteBuffer;
+        this.todoEventPublisher = todoEventPublisher;
+        this.todoShards = todoShards;
+        this.chunkSize = chunkSize;
+        this.chunkPause = chunkPause;
+        this.retainedJobs = retainedJobs;
+    }
+
+    public TodoDeleteJob submit(TodoDeleteJob.Scope scope) {
+        long estimate = todoCounters.count(scope == TodoDeleteJob.Scope.COMPLETED ? Boolean.TRUE : null);
+        TodoDeleteJob job = new TodoDeleteJob(UUID.randomUUID().toString(), TenantContext.current(), scope, estimate);
+        jobs.put(job.getId(), job);
+        log.info("Queued delete job {} for {} todos of tenant {}, about {} rows", job.getId(), scope,
+                job.getTenant(), estimate);
+        executor.execute(() -> run(job));
+        return job;
+    }
+
+    /**
+     * The job, if it was submitted by the thread's tenant; all tenants see every job.
+     */
+    public Optional<TodoDeleteJob> find(String id) {
+        return Optional.ofNullable(jobs.get(id)).filter(job -> TenantContext.isAllTenants()
+                || job.getTenant().equals(TenantContext.current()));
+    }
+
+    public long getDeletedRows() {
+        return deletedRows.sum();
+    }
+
+    public long getActiveJobs() {
+        return jobs.values().stream().filter(job -> !job.isFinished()).count();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        // Interrupts a running job between chunks; committed chunks stay deleted
+        executor.shutdownNow();
+        try {
+            executor.awaitTermination(10, TimeUnit.SECONDS);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void run(TodoDeleteJob job) {
+        job.started();
+        String tenant = job.getTenant();
+        try {
+            TenantContext.run(tenant, null, todoWriteBuffer::flushPending);
+            boolean completedOnly = job.getScope() == TodoDeleteJob.Scope.COMPLETED;
+            // Ids grow per shard, so each shard is walked from its own maximum
+            List<String> shards = TenantContext.ALL_TENANTS.equals(tenant)
+                    ? todoShards.names()
+                    : List.of(todoShards.shardFor(tenant));
+            for (String shard : shards) {
+                long upToId = TenantContext.call(tenant, shard, () -> todoRepository.findMaxId().orElse(0L));
+                long afterId = 0;
+                Optional<TodoService.DeletedChunk> chunk;
+                while ((chunk = nextChunk(tenant, shard, completedOnly, afterId, upToId)).isPresent()) {
+                    afterId = chunk.get().lastId();
+                    job.chunkDeleted(chunk.get().deleted());
+                    deletedRows.add(chunk.get().deleted());
+                    if (!chunkPause.isZero()) {
+                        Thread.sleep(chunkPause.toMillis());
+                    }
+                }
+            }
+            // Rows are not loaded, so subscribers are told to refetch instead
+            TenantContext.run(tenant, null, () -> todoEventPublisher.publishAfterCommit(TodoChangeEvent.resync()));
+            job.succeeded();
+            log.info("Delete job {} removed {} todos", job.getId(), job.getDeleted());
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            job.failed("Interrupted by shutdown");
+            log.warn("Delete job {} interrupted after {} todos", job.getId(), job.getDeleted());
+        } catch (RuntimeException ex) {
+            job.failed(ex.getMessage());
+            log.error("Delete job {} failed after {} todos", job.getId(), job.getDeleted(), ex);
+        } finally {
+            retire(job);
+        }
+    }
+
+    private Optional<TodoService.DeletedChunk> nextChunk(String tenant, String shard, boolean completedOnly,
+                                                         long afterId, long upToId) {
+        return TenantContext.call(tenant, shard, () -> todoService.deleteChunk(completedOnly, afterId, upToId, chunkSize));
+    }
+
+    private void retire(TodoDeleteJob job) {
+        finishedJobs.add(job.getId());
+        while (finishedJobs.size() > retainedJobs) {
+            String oldest = finishedJobs.poll();
+            if (oldest != null) {
+                jobs.remove(oldest);
+            }
+        }
+    }
+}
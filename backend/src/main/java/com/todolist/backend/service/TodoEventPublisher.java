@@ -0,0 +1,25 @@
+package com.todolist.backend.service;
+
+import com.todolist.backend.dto.TodoChangeEvent;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+
+/**
+ * Publishes {@link TodoChangeEvent}s as application events once the surrounding
+ * transaction has committed, so listeners never see changes that are rolled back.
+ */
+@Component
+public class TodoEventPublisher {
+
+    private final ApplicationEventPublisher applicationEventPublisher;
+
+    @Autowired
+    public TodoEventPublisher(ApplicationEventPublisher applicationEventPublisher) {
+        this.applicationEventPublisher = applicationEventPublisher;
+    }
+
+    public void publishAfterCommit(TodoChangeEvent event) {
+        TransactionHooks.afterCommit(() -> applicationEventPublisher.publishEvent(event));
+    }
+}
@@ -0,0 +1,262 @@
+package com.todolist.backend.service;
+
+import com.todolist.backend.dto.TodoChangeEvent;
+import com.todolist.backend.repository.TenantContext;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Server-Sent Events fan-out of committed {@link TodoChangeEvent}s.
+ *
+ * <p>Every subscriber has a bounded queue drained by a small dispatcher pool, so a slow
+ * client never blocks the committing thread; a subscriber whose queue overflows is
+ * disconnected and can resume with {@code Last-Event-ID}. The most recent events are kept
+ * for replay; a client that fell further behind, or whose id comes from another process,
+ * receives a single {@code resync} event instead.
+ *
+ * <p>Events are published on the committing thread and tagged with its tenant; a
+ * subscriber only receives those of the tenant it subscribed as, plus the ones of
+ * admin-wide operations.
+ */
+@Component
+public class TodoEventStream {
+
+    private static final Logger log = LoggerFactory.getLogger(TodoEventStream.class);
+
+    private static final int DISPATCH_THREADS = 4;
+    private static final Object HEARTBEAT = new Object();
+
+    private final String epoch;
+    private final int bufferSize;
+    private final int replaySize;
+    private final long timeoutMillis;
+    private final ExecutorService dispatcher;
+    private final ScheduledExecutorService heartbeats;
+
+    private final Object lock = new Object();
+    private final ArrayDeque<Entry> replay = new ArrayDeque<>();
+    private final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+    private long sequence;
+
+    private final LongAdder droppedSubscribers = new LongAdder();
+
+    @Autowired
+    public TodoEventStream(TodoDataVersion todoDataVersion,
+                           @Value("${todo.events.buffer-size:256}") int bufferSize,
+                           @Value("${todo.events.replay-size:1024}") int replaySize,
+                           @Value("${todo.events.heartbeat-interval:15s}") Duration heartbeatInterval,
+                           @Value("${todo.events.timeout:30m}") Duration timeout) {
+        this.epoch = todoDataVersion.epoch();
+        this.bufferSize = bufferSize;
+        this.replaySize = replaySize;
+        this.timeoutMillis = timeout.toMillis();
+        this.dispatcher = Executors.newFixedThreadPool(DISPATCH_THREADS, daemonThreads("todo-events-"));
+        this.heartbeats = Executors.newSingleThreadScheduledExecutor(daemonThreads("todo-events-heartbeat-"));
+        long heartbeatMillis = heartbeatInterval.toMillis();
+        heartbeats.scheduleAtFixedRate(this::sendHeartbeats, heartbeatMillis, heartbeatMillis, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Opens a stream for a client. With a {@code Last-Event-ID} from this process that is
+     * still in the replay window, the missed events of the thread's tenant are sent first.
+     */
+    public SseEmitter subscribe(String lastEventId) {
+        SseEmitter emitter = createEmitter(timeoutMillis);
+        Subscriber subscriber = new Subscriber(emitter, TenantContext.current());
+        emitter.onCompletion(() -> subscribers.remove(subscriber));
+        emitter.onError(ex -> subscribers.remove(subscriber));
+
+        synchronized (lock) {
+            List<Entry> missed = missedSince(lastEventId, subscriber);
+            if (missed == null || missed.size() > bufferSize) {
+                subscriber.offer(new Entry(sequence, TenantContext.ALL_TENANTS, TodoChangeEvent.resync()));
+            } else {
+                missed.forEach(subscriber::offer);
+            }
+            subscribers.add(subscriber);
+        }
+        return emitter;
+    }
+
+    @EventListener
+    public void onChange(TodoChangeEvent event) {
+        synchronized (lock) {
+            Entry entry = new Entry(++sequence, TenantContext.current(), event);
+            replay.addLast(entry);
+            if (replay.size() > replaySize) {
+                replay.removeFirst();
+            }
+            for (Subscriber subscriber : subscribers) {
+                if (subscriber.receives(entry) && !subscriber.offer(entry)) {
+                    drop(subscriber);
+                }
+            }
+        }
+    }
+
+    public int getSubscriberCount() {
+        return subscribers.size();
+    }
+
+    public long getDroppedSubscribers() {
+        return droppedSubscribers.sum();
+    }
+
+    public long getPublishedEvents() {
+        synchronized (lock) {
+            return sequence;
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        heartbeats.shutdownNow();
+        subscribers.forEach(subscriber -> subscriber.emitter.complete());
+        dispatcher.shutdownNow();
+    }
+
+    // Package-private so tests can observe what is sent
+    SseEmitter createEmitter(long timeout) {
+        return new SseEmitter(timeout);
+    }
+
+    // The subscriber's events after lastEventId, or null when they can no longer be replayed
+    private List<Entry> missedSince(String lastEventId, Subscriber subscriber) {
+        if (lastEventId == null || lastEventId.isBlank()) {
+            return List.of();
+        }
+        int separator = lastEventId.lastIndexOf('-');
+        if (separator < 0 || !lastEventId.substring(0, separator).equals(epoch)) {
+            return null;
+        }
+        long lastSeen;
+        try {
+            lastSeen = Long.parseLong(lastEventId.substring(separator + 1));
+        } catch (NumberFormatException ex) {
+            return null;
+        }
+        if (lastSeen >= sequence) {
+            return lastSeen == sequence ? List.of() : null;
+        }
+        if (replay.isEmpty() || replay.peekFirst().sequence > lastSeen + 1) {
+            return null;
+        }
+        List<Entry> missed = new ArrayList<>();
+        for (Entry entry : replay) {
+            if (entry.sequence > lastSeen && subscriber.receives(entry)) {
+                missed.add(entry);
+            }
+        }
+        return missed;
+    }
+
+    private void sendHeartbeats() {
+        for (Subscriber subscriber : subscribers) {
+            if (!subscriber.offer(HEARTBEAT)) {
+                drop(subscriber);
+            }
+        }
+    }
+
+    private void drop(Subscriber subscriber) {
+        if (subscribers.remove(subscriber)) {
+            droppedSubscribers.increment();
+            subscriber.queue.clear();
+            log.warn("Dropping change feed subscriber that fell {} events behind", bufferSize);
+            subscriber.emitter.complete();
+        }
+    }
+
+    private static ThreadFactory daemonThreads(String prefix) {
+        AtomicInteger counter = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, prefix + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+    private record Entry(long sequence, String tenant, TodoChangeEvent event) {}
+
+    private final class Subscriber {
+
+        private final SseEmitter emitter;
+        private final String tenant;
+        private final BlockingQueue<Object> queue = new ArrayBlockingQueue<>(bufferSize);
+        private final AtomicBoolean scheduled = new AtomicBoolean();
+
+        private Subscriber(SseEmitter emitter, String tenant) {
+            this.emitter = emitter;
+            this.tenant = tenant;
+        }
+
+        boolean receives(Entry entry) {
+            return entry.tenant.equals(tenant) || entry.tenant.equals(TenantContext.ALL_TENANTS);
+        }
+
+        boolean offer(Object item) {
+            if (!queue.offer(item)) {
+                return false;
+            }
+            if (scheduled.compareAndSet(false, true)) {
+                dispatcher.execute(this::drain);
+            }
+            return true;
+        }
+
+        private void drain() {
+            try {
+                Object item;
+                while ((item = queue.poll()) != null) {
+                    send(item);
+                }
+            } catch (IOException | IllegalStateException ex) {
+                // Client went away or the emitter already completed
+                subscribers.remove(this);
+                queue.clear();
+            } finally {
+                scheduled.set(false);
+            }
+            if (!queue.isEmpty() && scheduled.compareAndSet(false, true)) {
+                dispatcher.execute(this::drain);
+            }
+        }
+
+        private void send(Object item) throws IOException {
+            if (item == HEARTBEAT) {
+                emitter.send(SseEmitter.event().comment("heartbeat"));
+                return;
+            }
+            Entry entry = (Entry) item;
+            emitter.send(SseEmitter.event()
+                    .id(epoch + "-" + entry.sequence)
+                    .name(entry.event.getType())
+                    .data(entry.event, MediaType.APPLICATION_JSON));
+        }
+    }
+}
@@ -0,0 +1,132 @@
+package com.todolist.backend.service;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.todolist.backend.dto.TodoResponse;
+import com.todolist.backend.model.Todo;
+import com.todolist.backend.repository.TodoRepository;
+import jakarta.persistence.EntityManager;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+/**
+ * Streams the whole todos table to an output stream. Rows are scrolled with a bounded
+ * JDBC fetch size and detached once written, so memory use does not grow with the table.
+ */
+@Service
+@Transactional(readOnly = true)
+public class TodoExportService {
+    
+    private static final Logger log = LoggerFactory.getLogger(TodoExportService.class);
+    
+    private static final String CSV_HEADER = "id,title,description,completed,createdAt,updatedAt\n";
+    
+    // Rows written between flushes of the output towards the client
+    private static final int FLUSH_INTERVAL = 1000;
+    
+    private final TodoRepository todoRepository;
+    private final EntityManager entityManager;
+    private final TodoWriteBuffer todoWriteBuffer;
+    private final ObjectMapper objectMapper;
+    private final ObjectWriter ndjsonWriter;
+    
+    @Autowired
+    public TodoExportService(TodoRepository todoRepository, EntityManager entityManager,
+                             TodoWriteBuffer todoWriteBuffer, ObjectMapper objectMapper) {
+        this.todoRepository = todoRepository;
+        this.entityManager = entityManager;
+        this.todoWriteBuffer = todoWriteBuffer;
+        this.objectMapper = objectMapper;
+        this.ndjsonWriter = objectMapper.writerFor(TodoResponse.class)
+                .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+    }
+    
+    /**
+     * Writes every todo in id order and returns the number of rows written. The stream is
+     * flushed but not closed.
+     */
+    public long export(TodoExportFormat format, OutputStream out) throws IOException {
+        log.info("Exporting todos as {}", format);
+        todoWriteBuffer.flushPending();
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), 64 * 1024);
+        JsonGenerator generator = objectMapper.getFactory().createGenerator(writer)
+                .disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+        if (format == TodoExportFormat.CSV) {
+            writer.write(CSV_HEADER);
+        }
+        
+        long rows = 0;
+        try (Stream<Todo> todos = todoRepository.streamAllForExport()) {
+            Iterator<Todo> iterator = todos.iterator();
+            while (iterator.hasNext()) {
+                Todo todo = iterator.next();
+                if (format == TodoExportFormat.CSV) {
+                    writeCsvRow(writer, todo);
+                } else {
+                    ndjsonWriter.writeValue(generator, TodoService.convertToResponse(todo));
+                    generator.writeRaw('\n');
+                }
+                // Written rows are not needed again; keep the persistence context empty
+                entityManager.detach(todo);
+                if (++rows % FLUSH_INTERVAL == 0) {
+                    generator.flush();
+                    writer.flush();
+                }
+            }
+        }
+        generator.flush();
+        writer.flush();
+        log.info("Exported {} todos as {}", rows, format);
+        return rows;
+    }
+    
+    private static void writeCsvRow(Writer writer, Todo todo) throws IOException {
+        writer.write(String.valueOf(todo.getId()));
+        writer.write(',');
+        writeCsvField(writer, todo.getTitle());
+        writer.write(',');
+        writeCsvField(writer, todo.getDescription());
+        writer.write(',');
+        writer.write(String.valueOf(todo.getCompleted()));
+        writer.write(',');
+        writer.write(formatTimestamp(todo.getCreatedAt()));
+        writer.write(',');
+        writer.write(formatTimestamp(todo.getUpdatedAt()));
+        writer.write('\n');
+    }
+    
+    // RFC 4180: quote fields containing separators, quotes or line breaks and double embedded quotes
+    private static void writeCsvField(Writer writer, String value) throws IOException {
+        if (value == null) {
+            return;
+        }
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+            writer.write(value);
+            return;
+        }
+        writer.write('"');
+        writer.write(value.replace("\"", "\"\""));
+        writer.write('"');
+    }
+    
+    // Same ISO-8601 form Jackson uses for LocalDateTime in the JSON API
+    private static String formatTimestamp(LocalDateTime timestamp) {
+        return timestamp != null ? DateTimeFormatter.ISO_LOCAL_DATE_TIME.format(timestamp) : "";
+    }
+}
@@ -0,0 +1,48 @@
+package com.todolist.backend.service;
+
+import com.todolist.backend.model.Todo;
+import com.todolist.backend.repository.TenantContext;
+import com.todolist.backend.repository.TodoRepository;
+import com.todolist.backend.repository.TodoTombstoneRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+/**
+ * Refuses to start when {@code todos_seq} would hand out ids that are already taken.
+ *
+ * <p>{@code ddl-auto: update} creates the sequence at 1 on a database whose rows got their
+ * ids from AUTO_INCREMENT, and every insert would then fail on a duplicate key. The pooled
+ * optimizer hands out the {@value Todo#ID_ALLOCATION_SIZE} ids below each sequence value,
+ * so the sequence has to stay one allocation above the highest id of a row or tombstone.
+ */
+@Component
+public class TodoIdSequence {
+
+    private final TodoRepository todoRepository;
+    private final TodoTombstoneRepository todoTombstoneRepository;
+    private final TodoShards todoShards;
+
+    @Autowired
+    public TodoIdSequence(TodoRepository todoRepository, TodoTombstoneRepository todoTombstoneRepository,
+                          TodoShards todoShards) {
+        this.todoRepository = todoRepository;
+        this.todoTombstoneRepository = todoTombstoneRepository;
+        this.todoShards = todoShards;
+    }
+
+    public void verify() {
+        // Each shard has a sequence of its own; taking a value costs one allocation of ids.
+        // Not through TodoShards: its write transactions would pin every tenant to the primary
+        for (String shard : todoShards.names()) {
+            long next = TenantContext.call(TenantContext.ALL_TENANTS, shard, todoRepository::nextIdSequenceValue);
+            long maxId = TenantContext.call(TenantContext.ALL_TENANTS, shard, () -> Math.max(
+                    todoRepository.findMaxId().orElse(0L), todoTombstoneRepository.findMaxTodoId().orElse(0L)));
+            if (maxId > 0 && next - Todo.ID_ALLOCATION_SIZE < maxId) {
+                throw new IllegalStateException(Todo.ID_SEQUENCE + " on shard " + shard + " is at " + next
+                        + " but ids up to " + maxId + " are taken, so new todos would get existing ids. Run ALTER SEQUENCE "
+                        + Todo.ID_SEQUENCE + " RESTART WITH " + (maxId + Todo.ID_ALLOCATION_SIZE)
+                        + " on it first (see db/todoapp.sql)");
+            }
+        }
+    }
+}
@@ -0,0 +1,187 @@
+package com.todolist.backend.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.todolist.backend.dto.TodoChangeEvent;
+import com.todolist.backend.dto.TodoImportError;
+import com.todolist.backend.dto.TodoImportResponse;
+import com.todolist.backend.dto.TodoRequest;
+import com.todolist.backend.dto.TodoResponse;
+import com.todolist.backend.model.Todo;
+import com.todolist.backend.repository.TodoRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Imports todos from an NDJSON stream, one {@link TodoRequest} per line.
+ *
+ * <p>Lines are parsed and validated as they are read and inserted in fixed-size chunks,
+ * each committed in its own transaction. The next line is only read once the previous
+ * chunk has committed, so a fast client is throttled by TCP flow control rather than
+ * buffered in memory.
+ */
+@Service
+public class TodoImportService {
+
+    private static final Logger log = LoggerFactory.getLogger(TodoImportService.class);
+
+    // Errors beyond this are only counted, so a bad file cannot grow the response without bound
+    private static final int MAX_REPORTED_ERRORS = 1000;
+
+    private final TodoRepository todoRepository;
+    private final TodoDataVersion todoDataVersion;
+    private final TodoChangeVersion todoChangeVersion;
+    private final TodoEventPublisher todoEventPublisher;
+    private final TodoSearchIndex todoSearchIndex;
+    private final TodoCounters todoCounters;
+    private final EntityManager entityManager;
+    private final TransactionTemplate transactionTemplate;
+    private final ObjectReader requestReader;
+    private final Validator validator;
+    private final int chunkSize;
+
+    @Autowired
+    public TodoImportService(TodoRepository todoRepository,
+                             TodoDataVersion todoDataVersion,
+                             TodoChangeVersion todoChangeVersion,
+                             TodoEventPublisher todoEventPublisher,
+                             TodoSearchIndex todoSearchIndex,
+                             TodoCounters todoCounters,
+                             EntityManager entityManager,
+                             PlatformTransactionManager transactionManager,
+                             ObjectMapper objectMapper,
+                             Validator validator,
+                             @Value("${todo.import.chunk-size:1000}") int chunkSize) {
+        this.todoRepository = todoRepository;
+        this.todoDataVersion = todoDataVersion;
+        this.todoChangeVersion = todoChangeVersion;
+        this.todoEventPublisher = todoEventPublisher;
+        this.todoSearchIndex = todoSearchIndex;
+        this.todoCounters = todoCounters;
+        this.entityManager = entityManager;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.requestReader = objectMapper.readerFor(TodoRequest.class);
+        this.validator = validator;
+        this.chunkSize = chunkSize;
+    }
+
+    public TodoImportResponse importTodos(InputStream in) throws IOException {
+        log.info("Importing todos in chunks of {}", chunkSize);
+        long started = System.nanoTime();
+        Progress progress = new Progress();
+        List<Todo> chunk = new ArrayList<>(chunkSize);
+        List<Long> chunkLines = new ArrayList<>(chunkSize);
+
+        BufferedReader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8));
+        long lineNumber = 0;
+        String line;
+        while ((line = reader.readLine()) != null) {
+            lineNumber++;
+            if (line.isBlank()) {
+                continue;
+            }
+            TodoRequest request = parse(line, lineNumber, progress);
+            if (request == null) {
+                continue;
+            }
+            chunk.add(TodoService.toEntity(request));
+            chunkLines.add(lineNumber);
+            if (chunk.size() >= chunkSize) {
+                insertChunk(chunk, chunkLines, progress);
+            }
+        }
+        if (!chunk.isEmpty()) {
+            insertChunk(chunk, chunkLines, progress);
+        }
+
+        long durationMillis = (System.nanoTime() - started) / 1_000_000;
+        double rowsPerSecond = durationMillis > 0 ? progress.imported * 1000.0 / durationMillis : progress.imported;
+        log.info("Imported {} todos ({} failed lines) in {} ms", progress.imported, progress.failed, durationMillis);
+        return new TodoImportResponse(progress.imported, progress.failed, progress.errors, durationMillis, rowsPerSecond);
+    }
+
+    private TodoRequest parse(String line, long lineNumber, Progress progress) {
+        TodoRequest request;
+        try {
+            request = requestReader.readValue(line);
+        } catch (JsonProcessingException ex) {
+            progress.fail(lineNumber, "Malformed JSON: " + ex.getOriginalMessage());
+            return null;
+        }
+        if (request == null) {
+            progress.fail(lineNumber, "Expected a JSON object");
+            return null;
+        }
+        // Same constraints as @Valid TodoRequest on POST /api/v1/todos
+        Set<ConstraintViolation<TodoRequest>> violations = validator.validate(request);
+        if (!violations.isEmpty()) {
+            progress.fail(lineNumber, violations.stream()
+                    .map(violation -> violation.getPropertyPath() + ": " + violation.getMessage())
+                    .sorted()
+                    .collect(Collectors.joining("; ")));
+            return null;
+        }
+        return request;
+    }
+
+    private void insertChunk(List<Todo> chunk, List<Long> chunkLines, Progress progress) {
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                long changeVersion = todoChangeVersion.next();
+                chunk.forEach(todo -> todo.setChangeVersion(changeVersion));
+                todoRepository.saveAll(chunk);
+                todoRepository.flush();
+                List<TodoResponse> indexed = chunk.stream().map(TodoService::convertToResponse).toList();
+                TransactionHooks.afterCommit(() -> indexed.forEach(todoSearchIndex::put));
+                // Drop the inserted entities so the persistence context does not grow across chunks
+                entityManager.clear();
+                todoCounters.adjustAfterCommit(chunk.size(),
+                        chunk.stream().filter(todo -> Boolean.TRUE.equals(todo.getCompleted())).count());
+                todoDataVersion.bumpAfterCommit();
+                // One event per chunk rather than per row
+                todoEventPublisher.publishAfterCommit(TodoChangeEvent.resync());
+            });
+            progress.imported += chunk.size();
+        } catch (RuntimeException ex) {
+            log.warn("Import chunk of {} rows starting at line {} rolled back", chunk.size(), chunkLines.get(0), ex);
+            for (Long chunkLine : chunkLines) {
+                progress.fail(chunkLine, "Chunk rolled back: " + ex.getMessage());
+            }
+        }
+        chunk.clear();
+        chunkLines.clear();
+    }
+
+    private static final class Progress {
+
+        private long imported;
+        private long failed;
+        private final List<TodoImportError> errors = new ArrayList<>();
+
+        void fail(long line, String message) {
+            failed++;
+            if (errors.size() < MAX_REPORTED_ERRORS) {
+                errors.add(new TodoImportError(line, message));
+            }
+        }
+    }
+}
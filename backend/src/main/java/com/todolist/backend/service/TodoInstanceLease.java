@@ -0,0 +1,129 @@
+package com.todolist.backend.service;
+
+import com.todolist.backend.model.InstanceLease;
+import com.todolist.backend.repository.InstanceLeaseRepository;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+
+/**
+ * Optionally keeps a second backend process from running against the same databases.
+ *
+ * <p>Change versions are allocated in the database ({@link TodoChangeVersion}), so several
+ * instances may serve the same tables. The data version behind list ETags, the counters
+ * and the search index still live in each process and only follow its own writes between
+ * reconciliations, though. Deployments that need those exact can turn this lease on: the
+ * process then claims a lease row on every shard before loading that state, refuses to
+ * start while another process holds a fresh one, renews it while running and deletes it
+ * on shutdown.
+ */
+@Component
+public class TodoInstanceLease {
+
+    private static final Logger log = LoggerFactory.getLogger(TodoInstanceLease.class);
+
+    static final String LEASE = "writer";
+
+    private final InstanceLeaseRepository instanceLeaseRepository;
+    private final TodoShards todoShards;
+    private final boolean enabled;
+    private final Duration ttl;
+    private final String owner;
+
+    private volatile boolean held;
+
+    @Autowired
+    public TodoInstanceLease(InstanceLeaseRepository instanceLeaseRepository,
+                             TodoShards todoShards,
+                             TodoDataVersion todoDataVersion,
+                             @Value("${todo.instance-lease.enabled:false}") boolean enabled,
+                             @Value("${todo.instance-lease.ttl:30s}") Duration ttl) {
+        this.instanceLeaseRepository = instanceLeaseRepository;
+        this.todoShards = todoShards;
+        this.enabled = enabled;
+        this.ttl = ttl;
+        this.owner = hostName() + ":" + ProcessHandle.current().pid() + "/" + todoDataVersion.epoch();
+    }
+
+    /**
+     * Claims the lease on every shard, or fails startup when another process holds it.
+     */
+    public void acquire() {
+        if (!enabled) {
+            return;
+        }
+        List<Optional<String>> holders = todoShards.gatherWrites(this::claim);
+        Optional<String> holder = holders.stream().flatMap(Optional::stream).findFirst();
+        if (holder.isPresent()) {
+            throw new IllegalStateException("Another backend instance (" + holder.get() + ") is running against "
+                    + "this database, and todo.instance-lease.enabled allows only one at a time; stop it first, "
+                    + "or wait " + ttl + " after it died");
+        }
+        held = true;
+        log.info("Instance lease acquired by {}", owner);
+    }
+
+    @Scheduled(initialDelayString = "${todo.instance-lease.renew-interval:PT10S}",
+            fixedDelayString = "${todo.instance-lease.renew-interval:PT10S}")
+    public void renew() {
+        if (!held) {
+            return;
+        }
+        try {
+            todoShards.gatherWrites(this::claim).stream().flatMap(Optional::stream).findFirst()
+                    .ifPresent(holder -> log.error("Instance lease was taken over by {} while this instance ({}) "
+                            + "still runs; counters and caches may go stale until one of them stops", holder, owner));
+        } catch (RuntimeException ex) {
+            log.warn("Instance lease renewal failed; retrying in the next run", ex);
+        }
+    }
+
+    @PreDestroy
+    public void release() {
+        if (!held) {
+            return;
+        }
+        held = false;
+        todoShards.gatherWrites(() -> instanceLeaseRepository.deleteOwned(LEASE, owner));
+    }
+
+    String owner() {
+        return owner;
+    }
+
+    // Takes or renews the lease on the current shard; returns the other process holding it, if any
+    private Optional<String> claim() {
+        LocalDateTime now = LocalDateTime.now();
+        Optional<InstanceLease> current = instanceLeaseRepository.findForUpdate(LEASE);
+        if (current.isPresent() && !owner.equals(current.get().getOwner())
+                && current.get().getRenewedAt().isAfter(now.minus(ttl))) {
+            return Optional.of(current.get().getOwner());
+        }
+        InstanceLease lease = current.orElseGet(InstanceLease::new);
+        lease.setName(LEASE);
+        lease.setOwner(owner);
+        lease.setRenewedAt(now);
+        instanceLeaseRepository.save(lease);
+        return Optional.empty();
+    }
+
+    private static String hostName() {
+        try {
+            return Objects.requireNonNullElse(InetAddress.getLocalHost().getHostName(), "unknown-host");
+        } catch (UnknownHostException ex) {
+            return "unknown-host";
+        }
+    }
+}
@@ -0,0 +1,162 @@
+package com.todolist.backend.service;
+
+import com.todolist.backend.dto.TodoListResponse;
+import com.todolist.backend.dto.TodoResponse;
+import com.todolist.backend.repository.TenantContext;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Size-bounded LRU cache of fully built list pages. Both the number of pages and their
+ * estimated heap size are bounded: a page holds up to 100 todos, and descriptions have
+ * no length limit, so the entry count alone does not bound memory. Pages estimated
+ * larger than the whole byte budget are served but not cached.
+ *
+ * <p>Entries are tagged with the {@link TodoDataVersion} observed before the page was loaded
+ * and are only served while that version is still current, so a page is never returned
+ * once a mutation has committed after it was read.
+ */
+@Component
+public class TodoListCache {
+
+    private final boolean enabled;
+    private final int maxEntries;
+    private final long maxBytes;
+    private final Map<Key, Entry> entries;
+    // Guarded by entries
+    private long bytes;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    @Autowired
+    public TodoListCache(@Value("${todo.list-cache.enabled:true}") boolean enabled,
+                         @Value("${todo.list-cache.max-entries:1024}") int maxEntries,
+                         @Value("${todo.list-cache.max-size:64MB}") DataSize maxSize) {
+        this.enabled = enabled;
+        this.maxEntries = maxEntries;
+        this.maxBytes = maxSize.toBytes();
+        // Access order; evict() trims from the eldest end
+        this.entries = new LinkedHashMap<>(16, 0.75f, true);
+    }
+
+    /**
+     * Returns the cached page for the key if it was built at {@code version}, otherwise
+     * loads it and caches the result under that version.
+     */
+    public TodoListResponse get(Key key, long version, Supplier<TodoListResponse> loader) {
+        if (!enabled) {
+            return loader.get();
+        }
+        synchronized (entries) {
+            Entry entry = entries.get(key);
+            if (entry != null && entry.version == version) {
+                hits.increment();
+                return entry.response;
+            }
+        }
+        misses.increment();
+        TodoListResponse response = loader.get();
+        long size = estimateBytes(response);
+        if (size > maxBytes) {
+            return response;
+        }
+        synchronized (entries) {
+            Entry previous = entries.put(key, new Entry(version, response, size));
+            bytes += size - (previous != null ? previous.bytes : 0);
+            evict();
+        }
+        return response;
+    }
+
+    private void evict() {
+        Iterator<Entry> eldest = entries.values().iterator();
+        while (entries.size() > maxEntries || bytes > maxBytes) {
+            bytes -= eldest.next().bytes;
+            eldest.remove();
+            evictions.increment();
+        }
+    }
+
+    /**
+     * Rough retained heap size of a page: object headers and fields, plus two bytes per
+     * character since strings may not be Latin-1. Good enough to bound memory, not exact.
+     */
+    static long estimateBytes(TodoListResponse response) {
+        long size = 64 + chars(response.getNextCursor());
+        if (response.getItems() != null) {
+            for (TodoResponse item : response.getItems()) {
+                // The response object, a boxed id and flag, two LocalDateTimes and the string headers
+                size += 200 + chars(item.getTitle()) + chars(item.getDescription());
+            }
+        }
+        return size;
+    }
+
+    private static long chars(String value) {
+        return value != null ? 2L * value.length() : 0;
+    }
+
+    public long getHits() {
+        return hits.sum();
+    }
+
+    public long getMisses() {
+        return misses.sum();
+    }
+
+    public long getEvictions() {
+        return evictions.sum();
+    }
+
+    public int size() {
+        synchronized (entries) {
+            return entries.size();
+        }
+    }
+
+    public int getMaxEntries() {
+        return maxEntries;
+    }
+
+    public long bytes() {
+        synchronized (entries) {
+            return bytes;
+        }
+    }
+
+    public long getMaxBytes() {
+        return maxBytes;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Identifies a list page: the tenant, the completed filter ({@code null} for all), the
+     * normalized limit and either an offset or a keyset cursor. The factories take the
+     * thread's tenant.
+     */
+    public record Key(String tenant, Boolean completed, int limit, Integer offset, String cursor) {
+
+        public static Key offset(Boolean completed, int limit, int offset) {
+            return new Key(TenantContext.current(), completed, limit, offset, null);
+        }
+
+        public static Key cursor(Boolean completed, int limit, String cursor) {
+            return new Key(TenantContext.current(), completed, limit, null, cursor == null ? "" : cursor);
+        }
+    }
+
+    private record Entry(long version, TodoListResponse response, long bytes) {}
+}
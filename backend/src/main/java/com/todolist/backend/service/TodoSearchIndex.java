@@ -0,0 +1,586 @@
+package com.todolist.backend.service;
+
+import com.todolist.backend.dto.TodoResponse;
+import com.todolist.backend.exception.SearchUnavailableException;
+import com.todolist.backend.repository.TenantContext;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-memory inverted index over todo titles and descriptions.
+ *
+ * <p>Text is lowercased and split into runs of letters and digits; CJK ideographs, which are
+ * written without spaces, become one token each. A query matches a todo when every query
+ * token matches one of its terms, either exactly or, from {@value #MIN_PREFIX_LENGTH}
+ * characters on, as a prefix. Results are ranked by term frequency (title terms count
+ * {@value #TITLE_WEIGHT} times) weighted by inverse document frequency.
+ *
+ * <p>Every document records its tenant, and reads and bulk updates only see the documents
+ * of the thread's tenant.
+ *
+ * <p>Only ids, flags and term counts are held, never the text, and at most
+ * {@code max-documents} of them. Tenants are held whole or not at all: {@link #beginLoad}
+ * adds one, and room is made by evicting the tenants searched least recently, which are loaded
+ * again on their next search. Writes of tenants that are not held are skipped. A tenant
+ * with more todos than the whole index holds cannot be searched
+ * ({@link SearchUnavailableException}) until it deletes some.
+ */
+@Component
+public class TodoSearchIndex {
+
+    private static final Logger log = LoggerFactory.getLogger(TodoSearchIndex.class);
+
+    static final int MIN_PREFIX_LENGTH = 2;
+    static final int TITLE_WEIGHT = 3;
+    private static final double PREFIX_WEIGHT = 0.5;
+    // Bounds the work of a short prefix such as "co"
+    private static final int MAX_PREFIX_EXPANSIONS = 256;
+    private static final int MAX_TOKEN_LENGTH = 32;
+
+    private final int maxDocuments;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<Long, Document> documents = new HashMap<>();
+    // Sorted, so prefix matches are a range scan; values map todo id to weighted term frequency
+    private final TreeMap<String, Map<Long, Integer>> postings = new TreeMap<>();
+    // Tenants held in full or being loaded
+    private final Map<String, TenantState> tenants = new HashMap<>();
+    private final Map<String, TenantState> loading = new HashMap<>();
+    // Tenants with more todos than maxDocuments, until they delete some
+    private final Set<String> oversized = new HashSet<>();
+    private long evictions;
+
+    @Autowired
+    public TodoSearchIndex(@Value("${todo.search.max-documents:100000}") int maxDocuments) {
+        this.maxDocuments = maxDocuments;
+    }
+
+    /**
+     * Adds the todo of the thread's tenant or replaces its previous entry.
+     */
+    public void put(TodoResponse todo) {
+        put(TenantContext.current(), todo);
+    }
+
+    public void put(String tenant, TodoResponse todo) {
+        lock.writeLock().lock();
+        try {
+            markWritten(todo.getId());
+            TenantState state = tenants.get(tenant);
+            // Not held: the next search loads the tenant from the database, this todo included
+            if (state != null) {
+                index(tenant, state, todo);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(Long id) {
+        lock.writeLock().lock();
+        try {
+            markWritten(id);
+            shrunk(TenantContext.current());
+            Document existing = documents.remove(id);
+            if (existing != null) {
+                unpost(id, existing);
+                tenants.get(existing.tenant).documents--;
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void removeCompleted() {
+        String tenant = TenantContext.current();
+        lock.writeLock().lock();
+        try {
+            invalidateLoads(tenant);
+            shrunk(tenant);
+            Iterator<Map.Entry<Long, Document>> iterator = documents.entrySet().iterator();
+            while (iterator.hasNext()) {
+                Map.Entry<Long, Document> entry = iterator.next();
+                if (entry.getValue().completed && entry.getValue().visibleTo(tenant)) {
+                    unpost(entry.getKey(), entry.getValue());
+                    tenants.get(entry.getValue().tenant).documents--;
+                    iterator.remove();
+                }
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void clear() {
+        lock.writeLock().lock();
+        try {
+            documents.clear();
+            postings.clear();
+            tenants.clear();
+            loading.clear();
+            oversized.clear();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Whether the tenant is held in full, so {@link #search} can answer for it.
+     */
+    public boolean isLoaded(String tenant) {
+        lock.readLock().lock();
+        try {
+            TenantState state = tenants.get(tenant);
+            return state != null && state.written == null;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Registers the tenant for loading, after which the caller reads its todos from the
+     * database, hands them to {@link #addLoaded} and calls {@link #finishLoad}. Writes
+     * committed from now on are recorded, and the rows they touched are not overwritten with
+     * what the read returns; updates through {@link #applyBulkUpdate} make the load fail.
+     *
+     * @return false when the tenant is already held or being loaded
+     */
+    public boolean beginLoad(String tenant) {
+        lock.writeLock().lock();
+        try {
+            if (tenants.containsKey(tenant)) {
+                return false;
+            }
+            TenantState state = new TenantState();
+            state.written = new HashSet<>();
+            state.edits = new HashMap<>();
+            tenants.put(tenant, state);
+            loading.put(tenant, state);
+            return true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * @return false when the load has failed already and reading can stop
+     */
+    public boolean addLoaded(String tenant, TodoResponse todo) {
+        lock.writeLock().lock();
+        try {
+            TenantState state = loading.get(tenant);
+            if (state == null || state.invalidated) {
+                // Evicted or bulk updated meanwhile
+                return false;
+            }
+            if (!state.written.contains(todo.getId())) {
+                Edit edit = state.edits.get(todo.getId());
+                index(tenant, state, edit != null ? edit.applyTo(todo) : todo);
+            }
+            return loading.containsKey(tenant);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * @param read whether every row of the tenant was handed to {@link #addLoaded}
+     * @return whether the tenant is now held in full; if not, it is dropped again
+     */
+    public boolean finishLoad(String tenant, boolean read) {
+        lock.writeLock().lock();
+        try {
+            TenantState state = loading.remove(tenant);
+            if (state == null) {
+                return false;
+            }
+            if (!read || state.invalidated) {
+                drop(tenant);
+                return false;
+            }
+            state.written = null;
+            state.edits = null;
+            state.lastUsed = System.nanoTime();
+            return true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Mirrors {@code TodoRepository.bulkUpdateByIds}/{@code bulkUpdateByCompleted}: a null
+     * {@code ids} targets every todo of the tenant, null values leave the field unchanged.
+     */
+    public void applyBulkUpdate(Collection<Long> ids, Boolean filter, String title, String description, Boolean completed) {
+        String tenant = TenantContext.current();
+        lock.writeLock().lock();
+        try {
+            // Rows of a loading tenant may not be indexed yet, so the update could not reach them
+            invalidateLoads(tenant);
+            Collection<Long> targets = ids != null ? ids : new ArrayList<>(documents.keySet());
+            for (Long id : targets) {
+                Document existing = documents.get(id);
+                if (existing == null || !existing.visibleTo(tenant) || (filter != null && existing.completed != filter)) {
+                    continue;
+                }
+                update(id, existing, title, description, completed);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Applies a title or completion edit of a todo of the thread's tenant; null leaves the
+     * field unchanged. Unlike {@link #put} this needs no full row, so an edit of a todo that a
+     * loading tenant has not read yet is kept and applied to the row when it arrives.
+     */
+    public void applyEdit(Long id, String title, Boolean completed) {
+        String tenant = TenantContext.current();
+        lock.writeLock().lock();
+        try {
+            Document existing = documents.get(id);
+            if (existing != null && existing.visibleTo(tenant)) {
+                markWritten(id);
+                update(id, existing, title, null, completed);
+                return;
+            }
+            TenantState state = loading.get(tenant);
+            if (state != null) {
+                state.edits.merge(id, new Edit(title, completed), Edit::then);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Ranks the todos of the thread's tenant matching every token of the query and returns
+     * one page of ids, or null when the tenant is not held and has to be loaded first
+     * ({@link #beginLoad}).
+     *
+     * @throws SearchUnavailableException when the tenant has more todos than the index holds
+     */
+    public Result search(String query, Boolean completed, int offset, int limit) {
+        Set<String> queryTokens = new LinkedHashSet<>(tokenize(query));
+        String tenant = TenantContext.current();
+        lock.readLock().lock();
+        try {
+            if (oversized.contains(tenant)) {
+                throw new SearchUnavailableException("Search is unavailable: tenant " + tenant
+                        + " has more todos than the search index holds (" + maxDocuments + ")");
+            }
+            TenantState state = tenants.get(tenant);
+            if (state == null || state.written != null) {
+                return null;
+            }
+            state.lastUsed = System.nanoTime();
+            if (queryTokens.isEmpty()) {
+                return new Result(List.of(), 0);
+            }
+
+            Map<Long, Double> scores = null;
+            for (String token : queryTokens) {
+                Map<Long, Double> tokenScores = new HashMap<>();
+                score(token, 1.0, tenant, completed, tokenScores);
+                if (token.length() >= MIN_PREFIX_LENGTH) {
+                    int expansions = 0;
+                    for (String term : postings.subMap(token, false, token + Character.MAX_VALUE, false).keySet()) {
+                        if (++expansions > MAX_PREFIX_EXPANSIONS) {
+                            break;
+                        }
+                        score(term, PREFIX_WEIGHT, tenant, completed, tokenScores);
+                    }
+                }
+                if (scores == null) {
+                    scores = tokenScores;
+                } else {
+                    // Every token has to match
+                    scores.keySet().retainAll(tokenScores.keySet());
+                    scores.replaceAll((id, score) -> score + tokenScores.get(id));
+                }
+                if (scores.isEmpty()) {
+                    return new Result(List.of(), 0);
+                }
+            }
+
+            Map<Long, Double> ranked = scores;
+            List<Long> ids = new ArrayList<>(ranked.keySet());
+            // Best match first; ties keep the list order of GET /api/v1/todos
+            ids.sort(Comparator.<Long>comparingDouble(ranked::get).reversed()
+                    .thenComparing(id -> documents.get(id).createdAt, Comparator.nullsFirst(Comparator.naturalOrder()))
+                    .thenComparing(Comparator.naturalOrder()));
+            int from = Math.min(offset, ids.size());
+            int to = Math.min(from + limit, ids.size());
+            return new Result(new ArrayList<>(ids.subList(from, to)), ids.size());
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return documents.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int termCount() {
+        lock.readLock().lock();
+        try {
+            return postings.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int tenantCount() {
+        lock.readLock().lock();
+        try {
+            return tenants.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public long evictions() {
+        lock.readLock().lock();
+        try {
+            return evictions;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int getMaxDocuments() {
+        return maxDocuments;
+    }
+
+    static List<String> tokenize(String text) {
+        List<String> tokens = new ArrayList<>();
+        if (text == null) {
+            return tokens;
+        }
+        String lower = text.toLowerCase(Locale.ROOT);
+        StringBuilder current = new StringBuilder();
+        for (int i = 0; i < lower.length(); ) {
+            int codePoint = lower.codePointAt(i);
+            i += Character.charCount(codePoint);
+            if (Character.isIdeographic(codePoint)) {
+                flush(current, tokens);
+                tokens.add(new String(Character.toChars(codePoint)));
+            } else if (Character.isLetterOrDigit(codePoint)) {
+                current.appendCodePoint(codePoint);
+            } else {
+                flush(current, tokens);
+            }
+        }
+        flush(current, tokens);
+        return tokens;
+    }
+
+    private static void flush(StringBuilder current, List<String> tokens) {
+        if (current.length() > 0) {
+            tokens.add(current.length() > MAX_TOKEN_LENGTH ? current.substring(0, MAX_TOKEN_LENGTH) : current.toString());
+            current.setLength(0);
+        }
+    }
+
+    private static Map<String, Integer> termCounts(String text) {
+        Map<String, Integer> counts = new HashMap<>();
+        for (String token : tokenize(text)) {
+            counts.merge(token, 1, Integer::sum);
+        }
+        return counts;
+    }
+
+    private void score(String term, double weight, String tenant, Boolean completed, Map<Long, Double> tokenScores) {
+        Map<Long, Integer> posting = postings.get(term);
+        if (posting == null) {
+            return;
+        }
+        double idf = Math.log(1 + (double) documents.size() / posting.size());
+        posting.forEach((id, frequency) -> {
+            Document document = documents.get(id);
+            if (document.visibleTo(tenant) && (completed == null || document.completed == completed)) {
+                // A token scores once per todo, through its best matching term
+                tokenScores.merge(id, frequency * idf * weight, Math::max);
+            }
+        });
+    }
+
+    // Callers hold the write lock
+
+    private void index(String tenant, TenantState state, TodoResponse todo) {
+        Document existing = documents.get(todo.getId());
+        if (existing != null) {
+            unpost(todo.getId(), existing);
+        } else {
+            state.documents++;
+        }
+        Document document = new Document(tenant, Boolean.TRUE.equals(todo.getCompleted()), todo.getCreatedAt(),
+                termCounts(todo.getTitle()), termCounts(todo.getDescription()));
+        documents.put(todo.getId(), document);
+        post(todo.getId(), document);
+        makeRoom(tenant, state);
+    }
+
+    private void update(Long id, Document existing, String title, String description, Boolean completed) {
+        unpost(id, existing);
+        Document updated = new Document(
+                existing.tenant,
+                completed != null ? completed : existing.completed,
+                existing.createdAt,
+                title != null ? termCounts(title) : existing.titleTerms,
+                description != null ? termCounts(description) : existing.descriptionTerms);
+        documents.put(id, updated);
+        post(id, updated);
+    }
+
+    private void makeRoom(String tenant, TenantState state) {
+        while (documents.size() > maxDocuments) {
+            String victim = null;
+            long oldest = Long.MAX_VALUE;
+            for (Map.Entry<String, TenantState> entry : tenants.entrySet()) {
+                if (entry.getValue() != state && entry.getValue().lastUsed - oldest < 0) {
+                    victim = entry.getKey();
+                    oldest = entry.getValue().lastUsed;
+                }
+            }
+            if (victim == null) {
+                // Nothing left to evict but the tenant itself
+                if (state.documents > maxDocuments) {
+                    oversized.add(tenant);
+                    log.warn("Tenant {} has more than {} todos and cannot be searched", tenant, maxDocuments);
+                }
+                drop(tenant);
+                return;
+            }
+            drop(victim);
+            evictions++;
+            log.info("Evicted tenant {} from the search index to make room for {}", victim, tenant);
+        }
+    }
+
+    private void drop(String tenant) {
+        tenants.remove(tenant);
+        loading.remove(tenant);
+        Iterator<Map.Entry<Long, Document>> iterator = documents.entrySet().iterator();
+        while (iterator.hasNext()) {
+            Map.Entry<Long, Document> entry = iterator.next();
+            if (entry.getValue().tenant.equals(tenant)) {
+                unpost(entry.getKey(), entry.getValue());
+                iterator.remove();
+            }
+        }
+    }
+
+    // Deletes may have brought a tenant that did not fit within the limit
+    private void shrunk(String tenant) {
+        if (TenantContext.ALL_TENANTS.equals(tenant)) {
+            oversized.clear();
+        } else {
+            oversized.remove(tenant);
+        }
+    }
+
+    private void markWritten(Long id) {
+        loading.values().forEach(state -> state.written.add(id));
+    }
+
+    private void invalidateLoads(String tenant) {
+        loading.forEach((name, state) -> {
+            if (TenantContext.ALL_TENANTS.equals(tenant) || name.equals(tenant)) {
+                state.invalidated = true;
+            }
+        });
+    }
+
+    private void post(Long id, Document document) {
+        Set<String> terms = new HashSet<>(document.titleTerms.keySet());
+        terms.addAll(document.descriptionTerms.keySet());
+        for (String term : terms) {
+            int frequency = TITLE_WEIGHT * document.titleTerms.getOrDefault(term, 0)
+                    + document.descriptionTerms.getOrDefault(term, 0);
+            postings.computeIfAbsent(term, key -> new HashMap<>()).put(id, frequency);
+        }
+    }
+
+    private void unpost(Long id, Document document) {
+        Set<String> terms = new HashSet<>(document.titleTerms.keySet());
+        terms.addAll(document.descriptionTerms.keySet());
+        for (String term : terms) {
+            Map<Long, Integer> posting = postings.get(term);
+            if (posting != null) {
+                posting.remove(id);
+                if (posting.isEmpty()) {
+                    postings.remove(term);
+                }
+            }
+        }
+    }
+
+    /**
+     * One page of matching ids in rank order, and the number of matches overall.
+     */
+    public record Result(List<Long> ids, long total) {}
+
+    private static final class TenantState {
+        int documents;
+        volatile long lastUsed = System.nanoTime();
+        // Ids written while the tenant loads, which the rows being read must not overwrite; null once loaded
+        Set<Long> written;
+        // Edits of ids not read yet while the tenant loads, applied to their rows; null once loaded
+        Map<Long, Edit> edits;
+        boolean invalidated;
+    }
+
+    private record Edit(String title, Boolean completed) {
+
+        Edit then(Edit newer) {
+            return new Edit(newer.title != null ? newer.title : title,
+                    newer.completed != null ? newer.completed : completed);
+        }
+
+        TodoResponse applyTo(TodoResponse todo) {
+            return new TodoResponse(todo.getId(),
+                    title != null ? title : todo.getTitle(),
+                    todo.getDescription(),
+                    completed != null ? completed : todo.getCompleted(),
+                    todo.getCreatedAt(),
+                    todo.getUpdatedAt());
+        }
+    }
+
+    private record Document(String tenant,
+                            boolean completed,
+                            LocalDateTime createdAt,
+                            Map<String, Integer> titleTerms,
+                            Map<String, Integer> descriptionTerms) {
+
+        boolean visibleTo(String current) {
+            return TenantContext.ALL_TENANTS.equals(current) || tenant.equals(current);
+        }
+    }
+}
@@ -0,0 +1,160 @@
+package com.todolist.backend.service;
+
+import com.todolist.backend.dto.TodoListResponse;
+import com.todolist.backend.dto.TodoResponse;
+import com.todolist.backend.exception.SearchUnavailableException;
+import com.todolist.backend.model.Todo;
+import com.todolist.backend.repository.ReplicaRouter;
+import com.todolist.backend.repository.TenantContext;
+import com.todolist.backend.repository.TodoRepository;
+import jakarta.persistence.EntityManager;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Full-text search over titles and descriptions, answered from {@link TodoSearchIndex}.
+ * Tenants are loaded into the index at startup, as far as it holds them, and on their first
+ * search otherwise, by streaming their rows; {@link TodoService} and
+ * {@link TodoImportService} keep it current after each commit.
+ */
+@Service
+@Transactional(readOnly = true)
+public class TodoSearchService {
+
+    private static final Logger log = LoggerFactory.getLogger(TodoSearchService.class);
+
+    // A load fails when a bulk update of the tenant commits meanwhile
+    private static final int LOAD_ATTEMPTS = 3;
+
+    private final TodoRepository todoRepository;
+    private final TodoSearchIndex todoSearchIndex;
+    private final TodoWriteBuffer todoWriteBuffer;
+    private final EntityManager entityManager;
+    private final TodoShards todoShards;
+    private final TransactionTemplate loadTransaction;
+    // One load per tenant at a time; striped, so the locks stay bounded
+    private final Object[] loadLocks = new Object[64];
+
+    @Autowired
+    public TodoSearchService(TodoRepository todoRepository,
+                             TodoSearchIndex todoSearchIndex,
+                             TodoWriteBuffer todoWriteBuffer,
+                             EntityManager entityManager,
+                             TodoShards todoShards,
+                             PlatformTransactionManager transactionManager) {
+        this.todoRepository = todoRepository;
+        this.todoSearchIndex = todoSearchIndex;
+        this.todoWriteBuffer = todoWriteBuffer;
+        this.entityManager = entityManager;
+        this.todoShards = todoShards;
+        this.loadTransaction = new TransactionTemplate(transactionManager);
+        this.loadTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.loadTransaction.setReadOnly(true);
+        Arrays.setAll(loadLocks, i -> new Object());
+    }
+
+    /**
+     * Loads tenants into the index before the application starts serving requests, as many
+     * as fit; the rest are loaded on their first search.
+     */
+    public void buildIndex() {
+        long started = System.nanoTime();
+        todoSearchIndex.clear();
+        List<String> shards = todoShards.names();
+        List<List<TodoRepository.TenantCountView>> counts = todoShards.gather(todoRepository::countByTenant);
+        long room = todoSearchIndex.getMaxDocuments();
+        for (int i = 0; i < shards.size(); i++) {
+            for (TodoRepository.TenantCountView count : counts.get(i)) {
+                if (count.getTotal() <= room) {
+                    room -= count.getTotal();
+                    String shard = shards.get(i);
+                    TenantContext.run(count.getTenant(), shard, () -> loadTenant(count.getTenant()));
+                }
+            }
+        }
+        log.info("Indexed {} todos ({} terms) of {} tenants for search in {} ms", todoSearchIndex.size(),
+                todoSearchIndex.termCount(), todoSearchIndex.tenantCount(), (System.nanoTime() - started) / 1_000_000);
+    }
+
+    public TodoListResponse search(String query, String completed, Integer limit, Integer offset) {
+        log.info("Searching todos for '{}' with completed={}, limit={}, offset={}", query, completed, limit, offset);
+        if (query == null || query.isBlank()) {
+            throw new IllegalArgumentException("Query parameter q must not be blank");
+        }
+        Boolean completedFilter = TodoService.parseCompletedFilter(completed);
+        int actualLimit = TodoService.normalizeLimit(limit);
+        int actualOffset = offset != null ? offset : 0;
+
+        TodoSearchIndex.Result result = todoSearchIndex.search(query, completedFilter, actualOffset, actualLimit);
+        for (int attempt = 0; result == null && attempt < LOAD_ATTEMPTS; attempt++) {
+            loadTenant(TenantContext.current());
+            result = todoSearchIndex.search(query, completedFilter, actualOffset, actualLimit);
+        }
+        if (result == null) {
+            throw new SearchUnavailableException("Search is unavailable: the search index could not load tenant "
+                    + TenantContext.current() + " while it was being bulk updated; retry later");
+        }
+
+        return TodoListResponse.builder()
+                .items(todoWriteBuffer.overlay(loadInOrder(result.ids()), completedFilter))
+                .total(result.total())
+                .limit(actualLimit)
+                .offset(actualOffset)
+                .build();
+    }
+
+    private List<TodoResponse> loadInOrder(List<Long> ids) {
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        Map<Long, TodoResponse> byId = todoRepository.findResponsesByIdIn(ids).stream()
+                .collect(Collectors.toMap(TodoResponse::getId, Function.identity()));
+        // Rows deleted since the index was read are skipped
+        return ids.stream().map(byId::get).filter(Objects::nonNull).collect(Collectors.toList());
+    }
+
+    private void loadTenant(String tenant) {
+        synchronized (loadLocks[Math.floorMod(tenant.hashCode(), loadLocks.length)]) {
+            if (!todoSearchIndex.beginLoad(tenant)) {
+                return;
+            }
+            long started = System.nanoTime();
+            boolean read = false;
+            try {
+                // From the primary: a lagging replica could lack writes committed before the load began
+                read = ReplicaRouter.onPrimary(() -> loadTransaction.execute(status -> {
+                    try (Stream<Todo> todos = todoRepository.streamAllForExport()) {
+                        Iterator<Todo> iterator = todos.iterator();
+                        while (iterator.hasNext()) {
+                            Todo todo = iterator.next();
+                            if (!todoSearchIndex.addLoaded(tenant, TodoService.convertToResponse(todo))) {
+                                return false;
+                            }
+                            entityManager.detach(todo);
+                        }
+                    }
+                    return true;
+                }));
+            } finally {
+                boolean loaded = todoSearchIndex.finishLoad(tenant, read);
+                log.info("{} tenant {} into the search index in {} ms", loaded ? "Loaded" : "Failed to load",
+                        tenant, (System.nanoTime() - started) / 1_000_000);
+            }
+        }
+    }
+}
@@ -1,17 +1,38 @@
 package com.todolist.backend.service;
 
+import com.todolist.backend.dto.TodoBulkUpdateRequest;
+import com.todolist.backend.dto.TodoBulkUpdateResponse;
+import com.todolist.backend.dto.TodoChangeEvent;
 import com.todolist.backend.dto.TodoListResponse;
+import com.todolist.backend.dto.TodoPatchRequest;
 import com.todolist.backend.dto.TodoRequest;
 import com.todolist.backend.dto.TodoResponse;
 import com.todolist.backend.model.Todo;
+import com.todolist.backend.model.TodoTombstone;
+import com.todolist.backend.repository.OffsetPageRequest;
+import com.todolist.backend.repository.ReplicaRouter;
+import com.todolist.backend.repository.TenantContext;
 import com.todolist.backend.repository.TodoRepository;
+import com.todolist.backend.repository.TodoTombstoneRepository;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
 @Service
@@ -20,70 +41,227 @@ public class TodoService {
     
     private static final Logger log = LoggerFactory.getLogger(TodoService.class);
     
+    // Stable page order; (createdAt, id) is also the keyset used by cursor pagination
+    private static final Sort LIST_ORDER = Sort.by(Sort.Order.asc("createdAt"), Sort.Order.asc("id"));
+    
+    // Upper bound for the IN list of a single bulk UPDATE statement
+    private static final int BULK_UPDATE_CHUNK_SIZE = 1000;
+    
     private final TodoRepository todoRepository;
+    private final TodoTombstoneRepository todoTombstoneRepository;
+    private final TodoDataVersion todoDataVersion;
+    private final TodoChangeVersion todoChangeVersion;
+    private final TodoListCache todoListCache;
+    private final TodoEventPublisher todoEventPublisher;
+    private final TodoSearchIndex todoSearchIndex;
+    private final TodoCounters todoCounters;
+    private final TodoWriteBuffer todoWriteBuffer;
+    private final ObjectProvider<ReplicaRouter> replicaRouter;
     
     @Autowired
-    public TodoService(TodoRepository todoRepository) {
+    public TodoService(TodoRepository todoRepository, TodoTombstoneRepository todoTombstoneRepository,
+                       TodoDataVersion todoDataVersion, TodoChangeVersion todoChangeVersion,
+                       TodoListCache todoListCache, TodoEventPublisher todoEventPublisher,
+                       TodoSearchIndex todoSearchIndex, TodoCounters todoCounters,
+                       TodoWriteBuffer todoWriteBuffer, ObjectProvider<ReplicaRouter> replicaRouter) {
         this.todoRepository = todoRepository;
+        this.todoTombstoneRepository = todoTombstoneRepository;
+        this.todoDataVersion = todoDataVersion;
+        this.todoChangeVersion = todoChangeVersion;
+        this.todoListCache = todoListCache;
+        this.todoEventPublisher = todoEventPublisher;
+        this.todoSearchIndex = todoSearchIndex;
+        this.todoCounters = todoCounters;
+        this.todoWriteBuffer = todoWriteBuffer;
+        this.replicaRouter = replicaRouter;
     }
     
+    @Transactional(readOnly = true)
     public TodoListResponse getAllTodos(String completed, Integer limit, Integer offset) {
         log.info("Getting todos with completed={}, limit={}, offset={}", completed, limit, offset);
         
-        // Parse completed parameter
-        Boolean completedFilter = null;
-        if (completed != null && !completed.equals("all")) {
-            completedFilter = Boolean.parseBoolean(completed);
-        }
-        
-        // Apply limits
-        int actualLimit = Math.min(limit != null ? limit : 50, 100);
+        Boolean completedFilter = parseCompletedFilter(completed);
+        int actualLimit = normalizeLimit(limit);
         int actualOffset = offset != null ? offset : 0;
         
-        List<Todo> todos;
-        if (completedFilter != null) {
-            todos = todoRepository.findByCompleted(completedFilter);
+        return withPendingEdits(loadListPage(TodoListCache.Key.offset(completedFilter, actualLimit, actualOffset),
+                () -> loadOffsetPage(completedFilter, actualLimit, actualOffset)), completedFilter);
+    }
+    
+    private TodoListResponse loadOffsetPage(Boolean completedFilter, int actualLimit, int actualOffset) {
+        // Let the database apply LIMIT/OFFSET; the total comes from the in-process counters, not a COUNT query.
+        // Rows are projected straight into TodoResponse, so nothing enters the persistence context.
+        Pageable pageable = new OffsetPageRequest(actualOffset, actualLimit, LIST_ORDER);
+        long total = todoCounters.count(completedFilter);
+        List<TodoResponse> todos = completedFilter != null
+                ? todoRepository.findResponsesByCompleted(completedFilter, pageable)
+                : todoRepository.findResponses(pageable);
+        
+        return TodoListResponse.builder()
+                .items(todos)
+                .total(total)
+                .limit(actualLimit)
+                .offset(actualOffset)
+                .build();
+    }
+    
+    @Transactional(readOnly = true)
+    public TodoListResponse getTodosByCursor(String completed, Integer limit, String cursor) {
+        log.info("Getting todos with completed={}, limit={}, cursor={}", completed, limit, cursor);
+        
+        Boolean completedFilter = parseCompletedFilter(completed);
+        int actualLimit = normalizeLimit(limit);
+        TodoCursor after = cursor == null || cursor.isBlank() ? null : TodoCursor.decode(cursor);
+        
+        return withPendingEdits(loadListPage(TodoListCache.Key.cursor(completedFilter, actualLimit, cursor),
+                () -> loadCursorPage(completedFilter, actualLimit, after)), completedFilter);
+    }
+    
+    // Applied to cached pages on the way out, so the cache only ever holds what was read
+    private TodoListResponse withPendingEdits(TodoListResponse page, Boolean completedFilter) {
+        if (!todoWriteBuffer.isEnabled()) {
+            return page;
+        }
+        List<TodoResponse> items = todoWriteBuffer.overlay(page.getItems(), completedFilter);
+        Long total = page.getTotal();
+        if (total != null && completedFilter != null) {
+            long delta = todoWriteBuffer.pendingCompletedDelta();
+            total += completedFilter ? delta : -delta;
+        }
+        if (items == page.getItems() && Objects.equals(total, page.getTotal())) {
+            return page;
+        }
+        return TodoListResponse.builder()
+                .items(items)
+                .total(total)
+                .limit(page.getLimit())
+                .offset(page.getOffset())
+                .nextCursor(page.getNextCursor())
+                .build();
+    }
+    
+    private TodoListResponse loadListPage(TodoListCache.Key key, Supplier<TodoListResponse> loader) {
+        if (readsFromReplica()) {
+            // A lagging replica can return a page older than the data version; cached under
+            // that version it would be served until some later write moved the version on
+            return loader.get();
+        }
+        // Pinned, so the tenant's sticky window cannot run out between the check and the read
+        return ReplicaRouter.onPrimary(() -> todoListCache.get(key, todoDataVersion.current(), loader));
+    }
+    
+    private TodoListResponse loadCursorPage(Boolean completedFilter, int actualLimit, TodoCursor after) {
+        // Fetch one extra row to find out whether another page follows
+        Limit fetchLimit = Limit.of(actualLimit + 1);
+        List<TodoResponse> todos;
+        if (after == null) {
+            todos = completedFilter != null
+                    ? todoRepository.findFirstKeysetPageByCompleted(completedFilter, fetchLimit)
+                    : todoRepository.findFirstKeysetPage(fetchLimit);
         } else {
-            todos = todoRepository.findAll();
+            todos = completedFilter != null
+                    ? todoRepository.findKeysetPageAfterByCompleted(completedFilter, after.getCreatedAt(), after.getId(), fetchLimit)
+                    : todoRepository.findKeysetPageAfter(after.getCreatedAt(), after.getId(), fetchLimit);
         }
         
-        // Apply pagination
-        List<Todo> paginatedTodos = todos.stream()
-                .skip(actualOffset)
-                .limit(actualLimit)
-                .collect(Collectors.toList());
+        boolean hasNext = todos.size() > actualLimit;
+        List<TodoResponse> pageTodos = hasNext ? new ArrayList<>(todos.subList(0, actualLimit)) : todos;
         
         return TodoListResponse.builder()
-                .items(paginatedTodos.stream().map(this::convertToResponse).collect(Collectors.toList()))
-                .total((long) todos.size())
+                .items(pageTodos)
                 .limit(actualLimit)
-                .offset(actualOffset)
+                .nextCursor(hasNext ? TodoCursor.of(pageTodos.get(actualLimit - 1)).encode() : null)
                 .build();
     }
     
+    @Transactional(readOnly = true)
     public TodoResponse getTodoById(Long id) {
         log.info("Getting todo with id: {}", id);
-        Todo todo = todoRepository.findById(id)
+        Todo todo = findOwned(id)
+                .orElseThrow(() -> new RuntimeException("Todo not found with id: " + id));
+        TodoResponse response = convertToResponse(todo);
+        return todoWriteBuffer.pending(id).map(write -> write.applyTo(response)).orElse(response);
+    }
+    
+    /**
+     * Validators of a list page, built from the data version alone. Taken before the page
+     * is loaded, so the body a client receives is never older than its validators, as long
+     * as the page is then read from the primary. Empty when list reads of the tenant go to
+     * a read replica, which may not have caught up with that data version yet.
+     */
+    @Transactional(propagation = Propagation.SUPPORTS)
+    public Optional<TodoValidator> getListValidator(String completed, Integer limit, Integer offset, String cursor) {
+        if (readsFromReplica()) {
+            return Optional.empty();
+        }
+        Boolean completedFilter = parseCompletedFilter(completed);
+        int actualLimit = normalizeLimit(limit);
+        // Tenants share the data version, so the tenant keeps their ETags apart; buffered edits
+        // are overlaid on the page but only move the data version once written, so they count too
+        String parameters = TenantContext.current() + "|" + todoWriteBuffer.getAcceptedWrites() + "|" + (cursor != null
+                ? completedFilter + "|" + actualLimit + "|c" + cursor
+                : completedFilter + "|" + actualLimit + "|" + (offset != null ? offset : 0));
+        return Optional.of(TodoValidator.ofList(todoDataVersion, parameters));
+    }
+    
+    @Transactional(readOnly = true)
+    public TodoValidator getTodoValidator(Long id) {
+        // Buffered edits only move the version once they are written
+        if (todoWriteBuffer.pending(id).isPresent()) {
+            todoWriteBuffer.flushPending();
+        }
+        TodoRepository.VersionView current = todoRepository.findVersionById(id)
                 .orElseThrow(() -> new RuntimeException("Todo not found with id: " + id));
-        return convertToResponse(todo);
+        return TodoValidator.ofTodo(id, current.getVersion(), current.getUpdatedAt());
     }
     
     public TodoResponse createTodo(TodoRequest request) {
         log.info("Creating new todo: {}", request);
-        Todo todo = Todo.builder()
-                .title(request.getTitle())
-                .description(request.getDescription())
-                .completed(request.getCompleted() != null ? request.getCompleted() : false)
-                .build();
-        
+        Todo todo = toEntity(request);
+        todo.setChangeVersion(todoChangeVersion.next());
         Todo savedTodo = todoRepository.save(todo);
-        return convertToResponse(savedTodo);
+        // Sequence ids defer the INSERT; flush so the generated timestamps are populated
+        todoRepository.flush();
+        todoCounters.adjustAfterCommit(1, Boolean.TRUE.equals(savedTodo.getCompleted()) ? 1 : 0);
+        todoDataVersion.bumpAfterCommit();
+        TodoResponse response = convertToResponse(savedTodo);
+        todoEventPublisher.publishAfterCommit(TodoChangeEvent.created(response));
+        TransactionHooks.afterCommit(() -> todoSearchIndex.put(response));
+        return response;
+    }
+    
+    public List<TodoResponse> createTodos(List<TodoRequest> requests) {
+        log.info("Creating {} todos in batch", requests.size());
+        // Ids come from the pooled sequence, so the flush sends the INSERTs in JDBC batches
+        long changeVersion = todoChangeVersion.next();
+        List<Todo> todos = requests.stream().map(TodoService::toEntity).toList();
+        todos.forEach(todo -> todo.setChangeVersion(changeVersion));
+        List<Todo> savedTodos = todoRepository.saveAll(todos);
+        todoRepository.flush();
+        todoCounters.adjustAfterCommit(todos.size(),
+                todos.stream().filter(todo -> Boolean.TRUE.equals(todo.getCompleted())).count());
+        todoDataVersion.bumpAfterCommit();
+        List<TodoResponse> responses = savedTodos.stream().map(TodoService::convertToResponse).collect(Collectors.toList());
+        responses.forEach(response -> todoEventPublisher.publishAfterCommit(TodoChangeEvent.created(response)));
+        TransactionHooks.afterCommit(() -> responses.forEach(todoSearchIndex::put));
+        return responses;
     }
     
     public TodoResponse updateTodo(Long id, TodoRequest request) {
         log.info("Updating todo with id: {}", id);
-        Todo todo = todoRepository.findById(id)
+        if (todoWriteBuffer.isEnabled() && request.getDescription() == null) {
+            // Title and completion edits are written behind; only the existence check touches the database
+            TodoResponse current = todoRepository.findResponseById(id)
+                    .orElseThrow(() -> new RuntimeException("Todo not found with id: " + id));
+            return todoWriteBuffer.enqueue(current, request.getTitle(), request.getCompleted()).applyTo(current);
+        }
+        // A buffered edit goes first, so it cannot overwrite this one later
+        if (todoWriteBuffer.pending(id).isPresent()) {
+            todoWriteBuffer.flushPending();
+        }
+        Todo todo = findOwned(id)
                 .orElseThrow(() -> new RuntimeException("Todo not found with id: " + id));
+        boolean wasCompleted = Boolean.TRUE.equals(todo.getCompleted());
         
         if (request.getTitle() != null) {
             todo.setTitle(request.getTitle());
@@ -94,30 +272,224 @@ public class TodoService {
         if (request.getCompleted() != null) {
             todo.setCompleted(request.getCompleted());
         }
+        todo.setChangeVersion(todoChangeVersion.next());
         
         Todo updatedTodo = todoRepository.save(todo);
-        return convertToResponse(updatedTodo);
+        boolean isCompleted = Boolean.TRUE.equals(updatedTodo.getCompleted());
+        todoCounters.adjustAfterCommit(0, isCompleted == wasCompleted ? 0 : (isCompleted ? 1 : -1));
+        todoDataVersion.bumpAfterCommit();
+        TodoResponse response = convertToResponse(updatedTodo);
+        todoEventPublisher.publishAfterCommit(TodoChangeEvent.updated(response));
+        TransactionHooks.afterCommit(() -> todoSearchIndex.put(response));
+        return response;
+    }
+    
+    /**
+     * Applies the non-null fields with a conditional UPDATE, provided the todo is still at
+     * {@code expectedVersion}, and returns the validators of the new version. Throws
+     * {@link OptimisticLockingFailureException} when another write got there first.
+     *
+     * <p>The row is not read first. A patch that leaves {@code completed} out, or flips it,
+     * is one UPDATE. When the flip does not match, because {@code completed} already has
+     * the requested value or the version is stale, a second UPDATE without the flip
+     * condition follows, and only if that matches nothing either is the version read to
+     * tell a missing todo from a stale one.
+     */
+    public TodoValidator patchTodo(Long id, long expectedVersion, TodoPatchRequest request) {
+        log.info("Patching todo with id: {} at version {}", id, expectedVersion);
+        if (request.getTitle() == null && request.getDescription() == null && request.getCompleted() == null) {
+            throw new IllegalArgumentException("At least one of title, description or completed must be set");
+        }
+        if (todoWriteBuffer.pending(id).isPresent()) {
+            todoWriteBuffer.flushPending();
+        }
+        
+        LocalDateTime now = LocalDateTime.now();
+        long changeVersion = todoChangeVersion.next();
+        Boolean completed = request.getCompleted();
+        int updated = 0;
+        long completedDelta = 0;
+        if (completed != null) {
+            // A patch of completed usually flips it; matching on that keeps the counters exact
+            // without a read, at the cost of a second UPDATE when it does not flip
+            updated = todoRepository.patchFlippingCompleted(id, expectedVersion,
+                    request.getTitle(), request.getDescription(), completed, now, changeVersion);
+            completedDelta = updated == 0 ? 0 : (completed ? 1 : -1);
+        }
+        if (updated == 0) {
+            updated = todoRepository.patchAtVersion(id, expectedVersion,
+                    request.getTitle(), request.getDescription(), completed, now, changeVersion);
+        }
+        if (updated == 0) {
+            // Only the failure path reads the row, to tell a missing todo from a stale version
+            long currentVersion = todoRepository.findVersionById(id)
+                    .orElseThrow(() -> new RuntimeException("Todo not found with id: " + id))
+                    .getVersion();
+            throw new OptimisticLockingFailureException("Todo " + id + " is at version " + currentVersion
+                    + ", not " + expectedVersion);
+        }
+        
+        todoCounters.adjustAfterCommit(0, completedDelta);
+        todoDataVersion.bumpAfterCommit();
+        TodoResponse changes = TodoResponse.builder()
+                .id(id)
+                .title(request.getTitle())
+                .description(request.getDescription())
+                .completed(completed)
+                .updatedAt(now)
+                .build();
+        todoEventPublisher.publishAfterCommit(TodoChangeEvent.patched(changes));
+        TransactionHooks.afterCommit(() -> todoSearchIndex.applyBulkUpdate(List.of(id), null,
+                request.getTitle(), request.getDescription(), completed));
+        return TodoValidator.ofTodo(id, expectedVersion + 1, now);
+    }
+    
+    public TodoBulkUpdateResponse bulkUpdateTodos(String completed, TodoBulkUpdateRequest request) {
+        log.info("Bulk updating todos with completed={}, ids={}", completed,
+                request.getIds() != null ? request.getIds().size() : null);
+        
+        boolean hasIds = request.getIds() != null && !request.getIds().isEmpty();
+        if (!hasIds && completed == null) {
+            throw new IllegalArgumentException("Either ids or a completed filter (true, false or all) is required");
+        }
+        if (request.getTitle() == null && request.getDescription() == null && request.getCompleted() == null) {
+            throw new IllegalArgumentException("At least one of title, description or completed must be set");
+        }
+        
+        Boolean completedFilter = parseCompletedFilter(completed);
+        // Buffered edits of the targeted todos go first, so they cannot overwrite this update later
+        if (!hasIds || request.getIds().stream().anyMatch(id -> todoWriteBuffer.pending(id).isPresent())) {
+            todoWriteBuffer.flushPending();
+        }
+        LocalDateTime now = LocalDateTime.now();
+        long changeVersion = todoChangeVersion.next();
+        Boolean target = request.getCompleted();
+        // Without a filter, count the rows about to flip before they are updated
+        boolean countFlips = target != null && completedFilter == null;
+        int affected;
+        long flipped = 0;
+        if (hasIds) {
+            // Keep each IN list bounded; all chunks still share one transaction
+            List<Long> ids = new ArrayList<>(request.getIds());
+            affected = 0;
+            for (int from = 0; from < ids.size(); from += BULK_UPDATE_CHUNK_SIZE) {
+                List<Long> chunk = ids.subList(from, Math.min(from + BULK_UPDATE_CHUNK_SIZE, ids.size()));
+                if (countFlips) {
+                    flipped += todoRepository.countByIdInAndCompleted(chunk, !target);
+                }
+                affected += todoRepository.bulkUpdateByIds(chunk, completedFilter,
+                        request.getTitle(), request.getDescription(), target, now, changeVersion);
+            }
+        } else {
+            if (countFlips) {
+                flipped = todoRepository.countByCompleted(!target);
+            }
+            affected = todoRepository.bulkUpdateByCompleted(completedFilter,
+                    request.getTitle(), request.getDescription(), target, now, changeVersion);
+        }
+        if (target != null && completedFilter != null && !completedFilter.equals(target)) {
+            // Every matched row had the other state
+            flipped = affected;
+        }
+        
+        todoCounters.adjustAfterCommit(0, Boolean.TRUE.equals(target) ? flipped : -flipped);
+        todoDataVersion.bumpAfterCommit();
+        // Rows are not loaded, so subscribers are told to refetch instead
+        todoEventPublisher.publishAfterCommit(TodoChangeEvent.resync());
+        Collection<Long> targetIds = hasIds ? request.getIds() : null;
+        TransactionHooks.afterCommit(() -> todoSearchIndex.applyBulkUpdate(targetIds, completedFilter,
+                request.getTitle(), request.getDescription(), request.getCompleted()));
+        return new TodoBulkUpdateResponse(affected);
     }
     
     public void deleteTodo(Long id) {
         log.info("Deleting todo with id: {}", id);
-        if (!todoRepository.existsById(id)) {
-            throw new RuntimeException("Todo not found with id: " + id);
+        // Written first, so the counters are adjusted from the completed state it leaves
+        if (todoWriteBuffer.pending(id).isPresent()) {
+            todoWriteBuffer.flushPending();
         }
+        boolean completed = todoRepository.findCompletedById(id)
+                .orElseThrow(() -> new RuntimeException("Todo not found with id: " + id));
         todoRepository.deleteById(id);
+        todoTombstoneRepository.save(new TodoTombstone(id, todoChangeVersion.next(), LocalDateTime.now()));
+        todoCounters.adjustAfterCommit(-1, completed ? -1 : 0);
+        todoDataVersion.bumpAfterCommit();
+        todoEventPublisher.publishAfterCommit(TodoChangeEvent.deleted(id));
+        TransactionHooks.afterCommit(() -> todoSearchIndex.remove(id));
+    }
+    
+    /**
+     * Deletes the next chunk of a bulk delete: up to {@code chunkSize} todos with ids in
+     * ({@code afterId}, {@code upToId}], only completed ones if {@code completedOnly}.
+     * {@link TodoDeleteJobService} calls this once per chunk, each in its own transaction.
+     *
+     * @return the last id of the chunk and the rows deleted, or empty once the range is exhausted
+     */
+    public Optional<DeletedChunk> deleteChunk(boolean completedOnly, long afterId, long upToId, int chunkSize) {
+        List<Long> ids = completedOnly
+                ? todoRepository.findCompletedIdsInRange(afterId, upToId, Limit.of(chunkSize))
+                : todoRepository.findIdsInRange(afterId, upToId, Limit.of(chunkSize));
+        if (ids.isEmpty()) {
+            return Optional.empty();
+        }
+        long lastId = ids.get(ids.size() - 1);
+        
+        // Tombstone the rows first, then delete exactly the tombstoned ones
+        long changeVersion = todoChangeVersion.next();
+        LocalDateTime now = LocalDateTime.now();
+        if (completedOnly) {
+            todoTombstoneRepository.insertForCompletedInRange(changeVersion, now, afterId, lastId);
+        } else {
+            todoTombstoneRepository.insertForRange(changeVersion, now, afterId, lastId);
+        }
+        // A job for all tenants deletes rows of many, each with counters of its own
+        List<TodoRepository.TenantCountView> removedByTenant = todoRepository.countTombstonedByTenant(changeVersion);
+        // The range insert may catch rows completed after the ids were selected, so the index
+        // drops what was tombstoned rather than what was selected
+        List<Long> tombstoned = todoTombstoneRepository.findTodoIdsByChangeVersion(changeVersion);
+        int removed = todoRepository.deleteTombstoned(changeVersion);
+        removedByTenant.forEach(counts -> todoCounters.adjustAfterCommit(counts.getTenant(),
+                -counts.getTotal(), -counts.getCompleted()));
+        todoDataVersion.bumpAfterCommit();
+        TransactionHooks.afterCommit(() -> tombstoned.forEach(todoSearchIndex::remove));
+        return Optional.of(new DeletedChunk(lastId, removed));
+    }
+    
+    // Loads by primary key, which may come from the second-level cache; Hibernate does not
+    // apply the tenant to those lookups, so the owner is checked here
+    private Optional<Todo> findOwned(Long id) {
+        return todoRepository.findById(id).filter(todo -> TenantContext.isAllTenants()
+                || TenantContext.current().equals(todo.getTenant()));
     }
     
-    public void deleteCompletedTodos() {
-        log.info("Deleting all completed todos");
-        todoRepository.deleteCompletedTodos();
+    private boolean readsFromReplica() {
+        ReplicaRouter router = replicaRouter.getIfAvailable();
+        return router != null && router.routesReadsToReplica();
     }
     
-    public void deleteAllTodos() {
-        log.info("Deleting all todos");
-        todoRepository.deleteAll();
+    // Package-private for the search
+    static Boolean parseCompletedFilter(String completed) {
+        if (completed == null || completed.equals("all")) {
+            return null;
+        }
+        return Boolean.parseBoolean(completed);
+    }
+    
+    static int normalizeLimit(Integer limit) {
+        return Math.max(Math.min(limit != null ? limit : 50, 100), 1);
     }
     
-    private TodoResponse convertToResponse(Todo todo) {
+    // Package-private for the import
+    static Todo toEntity(TodoRequest request) {
+        return Todo.builder()
+                .title(request.getTitle())
+                .description(request.getDescription())
+                .completed(request.getCompleted() != null ? request.getCompleted() : false)
+                .build();
+    }
+    
+    // Package-private for the export and the mapping benchmark
+    static TodoResponse convertToResponse(Todo todo) {
         return TodoResponse.builder()
                 .id(todo.getId())
                 .title(todo.getTitle())
@@ -127,4 +499,10 @@ public class TodoService {
                 .updatedAt(todo.getUpdatedAt())
                 .build();
     }
-} 
\ No newline at end of file
+    
+    /**
+     * Progress of one {@link #deleteChunk} call.
+     */
+    public record DeletedChunk(long lastId, int deleted) {
+    }
+}
@@ -0,0 +1,95 @@
+package com.todolist.backend.service;
+
+import com.todolist.backend.repository.TenantContext;
+import com.todolist.backend.repository.TenantShardRing;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Scatter-gather for work that spans tenants: counter seeding, the search index build,
+ * tombstone compaction. The work runs on every shard at once, each time in a transaction
+ * of its own that sees all tenants, and the results come back in shard order.
+ *
+ * <p>Shard work always runs on a pool thread, never the caller's, so it cannot pick up a
+ * session already bound to the caller's tenant.
+ */
+@Component
+public class TodoShards {
+
+    private final TenantShardRing ring;
+    private final TransactionTemplate readOnlyTransaction;
+    private final TransactionTemplate transaction;
+    private final ExecutorService executor;
+
+    @Autowired
+    public TodoShards(TenantShardRing ring, PlatformTransactionManager transactionManager) {
+        this.ring = ring;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.transaction = new TransactionTemplate(transactionManager);
+        AtomicInteger counter = new AtomicInteger();
+        this.executor = Executors.newFixedThreadPool(ring.shards().size(), runnable -> {
+            Thread thread = new Thread(runnable, "todo-shards-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    public List<String> names() {
+        return ring.shards();
+    }
+
+    public String shardFor(String tenant) {
+        return ring.shardFor(tenant);
+    }
+
+    /**
+     * Runs the query on every shard in a read-only transaction.
+     *
+     * <p>The caller blocks until the pool threads finish, so this must not run while beans
+     * are still being created, e.g. from {@code @PostConstruct}: a pool thread that needs a
+     * bean would wait for the singleton lock the caller holds. Startup work goes through
+     * {@link TodoStartup} instead.
+     */
+    public <T> List<T> gather(Supplier<T> query) {
+        return scatter(readOnlyTransaction, query);
+    }
+
+    /**
+     * Runs the work on every shard in a read-write transaction; each shard commits on its own.
+     */
+    public <T> List<T> gatherWrites(Supplier<T> work) {
+        return scatter(transaction, work);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    private <T> List<T> scatter(TransactionTemplate template, Supplier<T> work) {
+        List<CompletableFuture<T>> results = ring.shards().stream()
+                .map(shard -> CompletableFuture.supplyAsync(() -> TenantContext.call(TenantContext.ALL_TENANTS, shard,
+                        () -> template.execute(status -> work.get())), executor))
+                .toList();
+        try {
+            return results.stream().map(CompletableFuture::join).toList();
+        } catch (CompletionException ex) {
+            if (ex.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw ex;
+        }
+    }
+}
@@ -0,0 +1,36 @@
+package com.todolist.backend.service;
+
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+/**
+ * Claims the {@link TodoInstanceLease}, checks the {@link TodoIdSequence} and loads the in-process state derived from the
+ * database once every bean exists: counters and the search index. These
+ * scan every shard through {@link TodoShards}, which cannot run during bean creation.
+ */
+@Component
+public class TodoStartup implements SmartInitializingSingleton {
+
+    private final TodoInstanceLease todoInstanceLease;
+    private final TodoIdSequence todoIdSequence;
+    private final TodoStatsService todoStatsService;
+    private final TodoSearchService todoSearchService;
+
+    @Autowired
+    public TodoStartup(TodoInstanceLease todoInstanceLease, TodoIdSequence todoIdSequence,
+                       TodoStatsService todoStatsService, TodoSearchService todoSearchService) {
+        this.todoInstanceLease = todoInstanceLease;
+        this.todoIdSequence = todoIdSequence;
+        this.todoStatsService = todoStatsService;
+        this.todoSearchService = todoSearchService;
+    }
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        todoInstanceLease.acquire();
+        todoIdSequence.verify();
+        todoStatsService.init();
+        todoSearchService.buildIndex();
+    }
+}
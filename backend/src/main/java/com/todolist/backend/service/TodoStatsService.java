@@ -0,0 +1,139 @@
+package com.todolist.backend.service;
+
+import com.todolist.backend.dto.TodoStatsResponse;
+import com.todolist.backend.repository.TenantContext;
+import com.todolist.backend.repository.TodoRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Totals served from {@link TodoCounters}. The counters are seeded with COUNT queries at
+ * startup and reconciled against them periodically, which corrects drift from writes that
+ * bypass {@link TodoService} or from races between a bulk write and a concurrent update.
+ * The queries run on every shard at once and count per tenant.
+ */
+@Service
+public class TodoStatsService {
+
+    private static final Logger log = LoggerFactory.getLogger(TodoStatsService.class);
+
+    private static final int RECONCILE_ATTEMPTS = 3;
+    private static final Duration RECONCILE_BACKOFF = Duration.ofMillis(200);
+    private static final int SKIPPED_RUNS_WARNING = 3;
+
+    private final TodoRepository todoRepository;
+    private final TodoCounters todoCounters;
+    private final TodoWriteBuffer todoWriteBuffer;
+    private final TodoShards todoShards;
+    // Consecutive runs that had to leave a tenant alone
+    private final Map<String, Integer> skippedRuns = new ConcurrentHashMap<>();
+
+    @Autowired
+    public TodoStatsService(TodoRepository todoRepository,
+                            TodoCounters todoCounters,
+                            TodoWriteBuffer todoWriteBuffer,
+                            TodoShards todoShards) {
+        this.todoRepository = todoRepository;
+        this.todoCounters = todoCounters;
+        this.todoWriteBuffer = todoWriteBuffer;
+        this.todoShards = todoShards;
+    }
+
+    public void init() {
+        reconcile();
+        log.info("Todo counters seeded: total={}, completed={}, tenants={}",
+                todoCounters.total(TenantContext.ALL_TENANTS), todoCounters.completed(TenantContext.ALL_TENANTS),
+                todoCounters.tenants().size());
+    }
+
+    public TodoStatsResponse getStats() {
+        long total = todoCounters.total();
+        long completed = todoCounters.completed() + todoWriteBuffer.pendingCompletedDelta();
+        return new TodoStatsResponse(total, completed, total - completed);
+    }
+
+    /**
+     * Corrects each tenant's counts by their drift from COUNT query results, without ever
+     * blocking writers. A tenant whose counters were adjusted while the queries ran is left
+     * alone, since the write may or may not be included in the result, and is retried a few
+     * times with a growing pause; tenants that keep racing with writes are picked up by the
+     * next run.
+     *
+     * @return whether every tenant was reconciled
+     */
+    @Scheduled(initialDelayString = "${todo.stats.reconcile-interval:PT5M}",
+            fixedDelayString = "${todo.stats.reconcile-interval:PT5M}")
+    public boolean reconcile() {
+        Set<String> skipped = reconcile(null);
+        for (int attempt = 1; !skipped.isEmpty() && attempt < RECONCILE_ATTEMPTS; attempt++) {
+            try {
+                Thread.sleep(RECONCILE_BACKOFF.multipliedBy(attempt).toMillis());
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+            skipped = reconcile(skipped);
+        }
+
+        skippedRuns.keySet().retainAll(skipped);
+        for (String tenant : skipped) {
+            int runs = skippedRuns.merge(tenant, 1, Integer::sum);
+            if (runs >= SKIPPED_RUNS_WARNING) {
+                log.warn("Counter reconciliation of tenant {} skipped {} runs in a row; writes keep racing with it",
+                        tenant, runs);
+            } else {
+                log.debug("Counter reconciliation of tenant {} skipped; writes ran concurrently", tenant);
+            }
+        }
+        return skipped.isEmpty();
+    }
+
+    // Reconciles the given tenants, or all of them for null; returns the ones skipped
+    private Set<String> reconcile(Set<String> only) {
+        // Taken before the queries start, so every write they see has either adjusted the
+        // counters already or adjusts them later, which correct() detects
+        Map<String, TodoCounters.Snapshot> snapshots = new HashMap<>();
+        for (String tenant : only != null ? only : todoCounters.tenants()) {
+            snapshots.put(tenant, todoCounters.snapshot(tenant));
+        }
+        List<List<TodoRepository.TenantCountView>> shards = todoShards.gather(todoRepository::countByTenant);
+
+        // A tenant lives on one shard, but merging keeps this correct while tenants are being moved
+        Map<String, long[]> actual = new HashMap<>();
+        shards.forEach(counts -> counts.forEach(count -> {
+            long[] sums = actual.computeIfAbsent(count.getTenant(), tenant -> new long[2]);
+            sums[0] += count.getTotal();
+            sums[1] += count.getCompleted();
+        }));
+        Set<String> tenants = new HashSet<>(snapshots.keySet());
+        if (only == null) {
+            tenants.addAll(actual.keySet());
+        }
+        Set<String> skipped = new HashSet<>();
+        for (String tenant : tenants) {
+            long[] expected = actual.getOrDefault(tenant, new long[2]);
+            TodoCounters.Snapshot snapshot = snapshots.getOrDefault(tenant, TodoCounters.Snapshot.EMPTY);
+            if (snapshot.isSettled() && expected[0] == snapshot.total() && expected[1] == snapshot.completed()) {
+                continue;
+            }
+            if (todoCounters.correct(tenant, snapshot, expected[0], expected[1])) {
+                log.info("Corrected todo counters of tenant {} by total={}, completed={}",
+                        tenant, expected[0] - snapshot.total(), expected[1] - snapshot.completed());
+            } else {
+                skipped.add(tenant);
+            }
+        }
+        return skipped;
+    }
+}
@@ -0,0 +1,103 @@
+package com.todolist.backend.service;
+
+import com.todolist.backend.dto.TodoChangesResponse;
+import com.todolist.backend.dto.TodoResponse;
+import com.todolist.backend.repository.ReplicaRouter;
+import com.todolist.backend.repository.SyncStateRepository;
+import com.todolist.backend.repository.TenantContext;
+import com.todolist.backend.repository.TodoRepository;
+import com.todolist.backend.repository.TodoTombstoneRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Delta sync over change versions: a client passes the version it last saw and receives
+ * the rows written and the ids deleted since then. Tombstones older than the retention
+ * period are compacted; a client that last synced before that gets a full snapshot.
+ */
+@Service
+@Transactional(readOnly = true)
+public class TodoSyncService {
+
+    private static final Logger log = LoggerFactory.getLogger(TodoSyncService.class);
+
+    private final TodoRepository todoRepository;
+    private final TodoTombstoneRepository todoTombstoneRepository;
+    private final SyncStateRepository syncStateRepository;
+    private final TodoChangeVersion todoChangeVersion;
+    private final TodoWriteBuffer todoWriteBuffer;
+    private final TodoShards todoShards;
+    private final Duration tombstoneRetention;
+
+    @Autowired
+    public TodoSyncService(TodoRepository todoRepository,
+                           TodoTombstoneRepository todoTombstoneRepository,
+                           SyncStateRepository syncStateRepository,
+                           TodoChangeVersion todoChangeVersion,
+                           TodoWriteBuffer todoWriteBuffer,
+                           TodoShards todoShards,
+                           @Value("${todo.sync.tombstone-retention:7d}") Duration tombstoneRetention) {
+        this.todoRepository = todoRepository;
+        this.todoTombstoneRepository = todoTombstoneRepository;
+        this.syncStateRepository = syncStateRepository;
+        this.todoChangeVersion = todoChangeVersion;
+        this.todoWriteBuffer = todoWriteBuffer;
+        this.todoShards = todoShards;
+        this.tombstoneRetention = tombstoneRetention;
+    }
+
+    public TodoChangesResponse getChanges(Long since) {
+        // A lagging replica could lack changes below the high-water mark, and the client would never ask for them again
+        return ReplicaRouter.onPrimary(() -> changesSince(since));
+    }
+
+    private TodoChangesResponse changesSince(Long since) {
+        // Taken before reading: every change up to it has finished, so none of them can appear later
+        TodoChangeVersion.Position position = todoChangeVersion.position();
+        long version = position.highWaterMark();
+        if (since == null || since <= 0 || since < position.compactedThrough() || since > version) {
+            log.info("Full sync at version {} (since={})", version, since);
+            return new TodoChangesResponse(version, true,
+                    todoWriteBuffer.overlay(todoRepository.findAllResponses(), null), List.of());
+        }
+
+        // Edits still buffered are written under a later change version, so the next sync delivers them too
+        List<TodoResponse> changed = todoWriteBuffer.overlay(todoRepository.findChangedBetween(since, version), null);
+        List<Long> deleted = todoTombstoneRepository.findTodoIdsDeletedBetween(since, version);
+        log.info("Delta sync from {} to {}: {} changed, {} deleted", since, version, changed.size(), deleted.size());
+        return new TodoChangesResponse(version, false, changed, deleted);
+    }
+
+    @Scheduled(initialDelayString = "${todo.sync.compaction-interval:PT1H}",
+            fixedDelayString = "${todo.sync.compaction-interval:PT1H}")
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public int compactTombstones() {
+        LocalDateTime cutoff = LocalDateTime.now().minus(tombstoneRetention);
+        // Per shard, as each has versions of its own; every instance may run this, the state row serializes them
+        List<Integer> removed = todoShards.gatherWrites(() -> {
+            todoChangeVersion.purgeAbandoned();
+            Optional<Long> through = todoTombstoneRepository.findMaxChangeVersionDeletedBefore(cutoff);
+            if (through.isEmpty()) {
+                return 0;
+            }
+            // Raised in the same transaction as the delete, so no sync is answered incrementally across the removed range
+            syncStateRepository.raiseCompactedThrough(through.get());
+            int deleted = todoTombstoneRepository.deleteUpTo(through.get());
+            log.info("Compacted {} tombstones through change version {} on shard {}", deleted, through.get(),
+                    TenantContext.shard());
+            return deleted;
+        });
+        return removed.stream().mapToInt(Integer::intValue).sum();
+    }
+}
@@ -0,0 +1,101 @@
+package com.todolist.backend.service;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.HexFormat;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * HTTP cache validators for a todo or a list page: a strong entity tag and a
+ * last-modified time in epoch milliseconds, or {@link #NO_LAST_MODIFIED}.
+ *
+ * <p>Strong entity tags must differ between representations, so the tag of a JSON body
+ * is the plain one and other formats and the gzip coding append their name to it, as in
+ * {@code "7-3-cbor-gzip"}.
+ */
+public record TodoValidator(String eTag, long lastModified) {
+
+    // Spring sends no Last-Modified and ignores If-Modified-Since for negative times
+    public static final long NO_LAST_MODIFIED = -1;
+
+    public static final String CBOR = "cbor";
+    public static final String SMILE = "smile";
+    public static final String GZIP = "gzip";
+
+    // The version, then any representation suffixes; the id is matched before
+    private static final Pattern IF_MATCH_VERSION = Pattern.compile("(\\d+)(-" + CBOR + "|-" + SMILE + ")?(-" + GZIP + ")?\"");
+
+    /**
+     * Validators of a single todo. The entity tag carries its id and optimistic-lock
+     * version, so it doubles as the {@code If-Match} value for {@code PATCH}.
+     */
+    public static TodoValidator ofTodo(Long id, long version, LocalDateTime updatedAt) {
+        Instant instant = updatedAt.atZone(ZoneId.systemDefault()).toInstant();
+        return new TodoValidator("\"" + id + "-" + version + "\"", instant.toEpochMilli());
+    }
+
+    /**
+     * Reads the version back out of an {@code If-Match} value built by {@link #ofTodo}.
+     */
+    public static long versionFromIfMatch(Long id, String ifMatch) {
+        if (ifMatch == null || ifMatch.isBlank()) {
+            throw new IllegalArgumentException("If-Match header with the ETag of todo " + id + " is required");
+        }
+        String tag = ifMatch.trim();
+        String prefix = "\"" + id + "-";
+        if (tag.startsWith(prefix)) {
+            Matcher version = IF_MATCH_VERSION.matcher(tag).region(prefix.length(), tag.length());
+            if (version.matches()) {
+                try {
+                    return Long.parseLong(version.group(1));
+                } catch (NumberFormatException ex) {
+                    // Reported below
+                }
+            }
+        }
+        throw new IllegalArgumentException("If-Match must be the ETag of todo " + id + ", got " + ifMatch);
+    }
+
+    /**
+     * Validators of a list page, derived from the data set version and the normalized
+     * query parameters, so no rows are needed to build them. Lists have no last-modified
+     * time: writes within one second would share it, as HTTP dates have no milliseconds,
+     * and {@code If-Modified-Since} would then answer 304 for a changed page.
+     *
+     * <p>The parameters include the tenant and a client-supplied cursor, so they are
+     * hashed with SHA-256: a short checksum could be matched to another tenant's page.
+     */
+    public static TodoValidator ofList(TodoDataVersion dataVersion, String parameters) {
+        String eTag = "\"l-" + dataVersion.epoch() + "-" + dataVersion.current() + "-" + sha256(parameters) + "\"";
+        return new TodoValidator(eTag, NO_LAST_MODIFIED);
+    }
+
+    /**
+     * The same validators for another representation, or these for null (JSON).
+     */
+    public TodoValidator forRepresentation(String representation) {
+        return representation == null ? this : new TodoValidator(withRepresentation(eTag, representation), lastModified);
+    }
+
+    /**
+     * Appends a representation name inside the quotes of an entity tag.
+     */
+    public static String withRepresentation(String eTag, String representation) {
+        return eTag.substring(0, eTag.length() - 1) + "-" + representation + "\"";
+    }
+
+    static String sha256(String value) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(value.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException ex) {
+            // Every Java platform is required to support SHA-256
+            throw new IllegalStateException(ex);
+        }
+    }
+}
@@ -0,0 +1,415 @@
+package com.todolist.backend.service;
+
+import com.todolist.backend.dto.TodoChangeEvent;
+import com.todolist.backend.dto.TodoResponse;
+import com.todolist.backend.repository.TenantContext;
+import com.todolist.backend.repository.TodoRepository;
+import jakarta.annotation.PreDestroy;
+import jakarta.persistence.EntityManager;
+import org.hibernate.Session;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.PreparedStatement;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Opt-in write-behind for title and completion edits. {@link TodoService#updateTodo}
+ * records such an edit here instead of updating the row; repeated edits of the same todo
+ * are merged so only the last value of each field is written. A background thread
+ * flushes the buffer every {@code flush-interval}, or as soon as {@code max-pending}
+ * todos are waiting. A flush reads nothing: completion edits become at most two set-based
+ * UPDATEs that only match the rows they flip, and title edits one JDBC batch of
+ * {@code UPDATE ... WHERE id = ?}.
+ *
+ * <p>Reads never wait for a flush; they {@link #overlay} the pending edits on what they
+ * read, and {@link #pendingCompletedDelta()} on the counters. A todo whose completion edit
+ * moves it into a filtered list only shows up there once written. Writes that could be
+ * overwritten by an older pending edit call {@link #flushPending()} first. An edit taken by
+ * a flush stays visible until the flush commits. Shutdown flushes what is left.
+ *
+ * <p>Edits are buffered per tenant and each tenant's are written in transactions of its own.
+ */
+@Component
+public class TodoWriteBuffer {
+
+    private static final Logger log = LoggerFactory.getLogger(TodoWriteBuffer.class);
+
+    private static final String RENAME_SQL = "UPDATE todos SET title = ?, updated_at = ?, change_version = ?, "
+            + "version = version + 1 WHERE id = ? AND tenant_id = ?";
+
+    private final TodoRepository todoRepository;
+    private final EntityManager entityManager;
+    private final TodoChangeVersion todoChangeVersion;
+    private final TodoDataVersion todoDataVersion;
+    private final TodoCounters todoCounters;
+    private final TodoEventPublisher todoEventPublisher;
+    private final TodoSearchIndex todoSearchIndex;
+    private final TransactionTemplate flushTransaction;
+    private final boolean enabled;
+    private final int maxPending;
+
+    // Tenant, then todo id
+    private final ConcurrentHashMap<String, ConcurrentHashMap<Long, PendingWrite>> pending = new ConcurrentHashMap<>();
+    // Tenant, then todo id: the batch being flushed, until it commits or is put back
+    private final ConcurrentHashMap<String, Map<Long, PendingWrite>> inFlight = new ConcurrentHashMap<>();
+    // Flushes run one at a time, so two writes to the same todo reach the database in order
+    private final ReentrantLock flushLock = new ReentrantLock();
+    private final AtomicBoolean flushRequested = new AtomicBoolean();
+    private final ScheduledExecutorService flusher;
+
+    private final LongAdder acceptedWrites = new LongAdder();
+    private final LongAdder flushedWrites = new LongAdder();
+    private final LongAdder flushedRows = new LongAdder();
+    private final LongAdder flushes = new LongAdder();
+    private final LongAdder flushNanos = new LongAdder();
+
+    @Autowired
+    public TodoWriteBuffer(TodoRepository todoRepository,
+                           EntityManager entityManager,
+                           TodoChangeVersion todoChangeVersion,
+                           TodoDataVersion todoDataVersion,
+                           TodoCounters todoCounters,
+                           TodoEventPublisher todoEventPublisher,
+                           TodoSearchIndex todoSearchIndex,
+                           PlatformTransactionManager transactionManager,
+                           @Value("${todo.write-buffer.enabled:false}") boolean enabled,
+                           @Value("${todo.write-buffer.flush-interval:5ms}") Duration flushInterval,
+                           @Value("${todo.write-buffer.max-pending:500}") int maxPending) {
+        this.todoRepository = todoRepository;
+        this.entityManager = entityManager;
+        this.todoChangeVersion = todoChangeVersion;
+        this.todoDataVersion = todoDataVersion;
+        this.todoCounters = todoCounters;
+        this.todoEventPublisher = todoEventPublisher;
+        this.todoSearchIndex = todoSearchIndex;
+        // Callers may be inside a transaction of their own; the flush commits independently of it
+        this.flushTransaction = new TransactionTemplate(transactionManager);
+        this.flushTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.enabled = enabled;
+        this.maxPending = maxPending;
+        if (enabled) {
+            this.flusher = Executors.newSingleThreadScheduledExecutor(runnable -> {
+                Thread thread = new Thread(runnable, "todo-write-buffer");
+                thread.setDaemon(true);
+                return thread;
+            });
+            long intervalMicros = flushInterval.toNanos() / 1000;
+            flusher.scheduleWithFixedDelay(this::flushInBackground, intervalMicros, intervalMicros, TimeUnit.MICROSECONDS);
+            log.info("Write buffer enabled: flush every {}, or at {} pending todos", flushInterval, maxPending);
+        } else {
+            this.flusher = null;
+        }
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Records an edit of the todo as stored, merged over any edit of the same todo still
+     * waiting, and returns the merged result. Null fields leave the current value unchanged.
+     */
+    public PendingWrite enqueue(TodoResponse stored, String title, Boolean completed) {
+        if (!enabled) {
+            throw new IllegalStateException("Write buffer is disabled");
+        }
+        String tenant = TenantContext.current();
+        Map<Long, PendingWrite> flushing = inFlight.get(tenant);
+        PendingWrite older = flushing != null ? flushing.get(stored.getId()) : null;
+        // The edit being flushed decides what this one changes the completed count from
+        Boolean previousCompleted = older != null && older.completed() != null ? older.completed() : stored.getCompleted();
+        PendingWrite write = new PendingWrite(title, completed, previousCompleted, LocalDateTime.now(), 1);
+        PendingWrite merged = pending.computeIfAbsent(tenant, key -> new ConcurrentHashMap<>())
+                .merge(stored.getId(), write, PendingWrite::then);
+        acceptedWrites.increment();
+        if (getPendingCount() >= maxPending && flushRequested.compareAndSet(false, true)) {
+            flusher.execute(this::flushInBackground);
+        }
+        return older != null ? older.then(merged) : merged;
+    }
+
+    /**
+     * The edit of a todo not yet committed: the one waiting, merged over the one being flushed.
+     */
+    public Optional<PendingWrite> pending(Long id) {
+        String tenant = TenantContext.current();
+        // Waiting first: flushBatch adds an edit to the in-flight batch before removing it from there
+        Map<Long, PendingWrite> writes = pending.get(tenant);
+        PendingWrite newer = writes != null ? writes.get(id) : null;
+        Map<Long, PendingWrite> flushing = inFlight.get(tenant);
+        PendingWrite older = flushing != null ? flushing.get(id) : null;
+        if (older == null || newer == null) {
+            return Optional.ofNullable(newer != null ? newer : older);
+        }
+        return Optional.of(older.then(newer));
+    }
+
+    public TodoResponse overlay(TodoResponse todo) {
+        return pending(todo.getId()).map(write -> write.applyTo(todo)).orElse(todo);
+    }
+
+    /**
+     * The todos with their pending edits applied, leaving out those an edit took out of the
+     * {@code completed} filter.
+     */
+    public List<TodoResponse> overlay(List<TodoResponse> todos, Boolean completed) {
+        if (isEmpty(pending.get(TenantContext.current())) && !inFlight.containsKey(TenantContext.current())) {
+            return todos;
+        }
+        return todos.stream()
+                .map(this::overlay)
+                .filter(todo -> completed == null || completed.equals(todo.getCompleted()))
+                .toList();
+    }
+
+    /**
+     * How far the pending edits of the thread's tenant, or of all tenants, move the
+     * completed count once written.
+     */
+    public long pendingCompletedDelta() {
+        if (TenantContext.isAllTenants()) {
+            return pending.keySet().stream().mapToLong(this::pendingCompletedDelta).sum();
+        }
+        return pendingCompletedDelta(TenantContext.current());
+    }
+
+    private long pendingCompletedDelta(String tenant) {
+        long delta = 0;
+        for (Map<Long, PendingWrite> writes : Arrays.asList(pending.get(tenant), inFlight.get(tenant))) {
+            if (writes != null) {
+                delta += writes.values().stream().mapToLong(PendingWrite::completedDelta).sum();
+            }
+        }
+        return delta;
+    }
+
+    /**
+     * Writes every pending edit of the thread's tenant, or of all tenants, before
+     * returning. Cheap when nothing is pending.
+     */
+    public void flushPending() {
+        if (TenantContext.isAllTenants()) {
+            pending.keySet().forEach(this::flushTenant);
+        } else {
+            flushTenant(TenantContext.current());
+        }
+    }
+
+    public int getPendingCount() {
+        return pending.values().stream().mapToInt(Map::size).sum();
+    }
+
+    public long getAcceptedWrites() {
+        return acceptedWrites.sum();
+    }
+
+    public long getFlushedRows() {
+        return flushedRows.sum();
+    }
+
+    /**
+     * Edits per written row over all flushes so far; 1.0 means nothing was coalesced.
+     */
+    public double getCoalescingRatio() {
+        long rows = flushedRows.sum();
+        return rows == 0 ? 1.0 : (double) flushedWrites.sum() / rows;
+    }
+
+    public long getFlushCount() {
+        return flushes.sum();
+    }
+
+    public double getFlushTimeNanos() {
+        return flushNanos.sum();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (flusher == null) {
+            return;
+        }
+        flusher.shutdown();
+        try {
+            flusher.awaitTermination(10, TimeUnit.SECONDS);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+        int remaining = getPendingCount();
+        pending.keySet().forEach(this::flushTenant);
+        log.info("Write buffer flushed {} pending todos on shutdown", remaining);
+    }
+
+    private void flushInBackground() {
+        flushRequested.set(false);
+        try {
+            pending.keySet().forEach(this::flushTenant);
+        } catch (RuntimeException ex) {
+            // The batch is back in the buffer; the next run retries it
+            log.warn("Write buffer flush failed; {} todos pending", getPendingCount(), ex);
+        }
+    }
+
+    private void flushTenant(String tenant) {
+        // Skipped without the lock only when nothing is waiting or being flushed, so a caller
+        // never returns while another thread's flush of this tenant is still uncommitted
+        if (isEmpty(pending.get(tenant)) && !inFlight.containsKey(tenant)) {
+            return;
+        }
+        flushLock.lock();
+        try {
+            Map<Long, PendingWrite> writes = pending.get(tenant);
+            if (isEmpty(writes)) {
+                return;
+            }
+            // The flush transaction, counters, events and index updates all belong to the tenant
+            TenantContext.run(tenant, null, () -> {
+                while (!writes.isEmpty()) {
+                    flushBatch(tenant, writes);
+                }
+            });
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    private void flushBatch(String tenant, Map<Long, PendingWrite> writes) {
+        Map<Long, PendingWrite> batch = new ConcurrentHashMap<>();
+        // Published before any edit leaves the waiting map, so pending() always finds it in one of them
+        inFlight.put(tenant, batch);
+        Iterator<Long> ids = writes.keySet().iterator();
+        while (ids.hasNext() && batch.size() < maxPending) {
+            writes.computeIfPresent(ids.next(), (id, write) -> {
+                batch.put(id, write);
+                return null;
+            });
+        }
+        if (batch.isEmpty()) {
+            inFlight.remove(tenant, batch);
+            return;
+        }
+
+        long started = System.nanoTime();
+        try {
+            flushTransaction.executeWithoutResult(status -> write(batch));
+        } catch (RuntimeException ex) {
+            // Edits made since the batch was taken stay on top
+            batch.forEach((id, write) -> writes.merge(id, write, (newer, older) -> older.then(newer)));
+            throw ex;
+        } finally {
+            inFlight.remove(tenant, batch);
+        }
+        flushNanos.add(System.nanoTime() - started);
+        flushes.increment();
+        flushedRows.add(batch.size());
+        flushedWrites.add(batch.values().stream().mapToLong(PendingWrite::writes).sum());
+    }
+
+    private static boolean isEmpty(Map<Long, PendingWrite> writes) {
+        return writes == null || writes.isEmpty();
+    }
+
+    private void write(Map<Long, PendingWrite> batch) {
+        String tenant = TenantContext.current();
+        LocalDateTime now = LocalDateTime.now();
+        long changeVersion = todoChangeVersion.next();
+        // Rows not flipped already have the value, and todos deleted in the meantime match nothing
+        long completedDelta = 0;
+        for (boolean completed : new boolean[] {true, false}) {
+            List<Long> ids = batch.entrySet().stream()
+                    .filter(entry -> Boolean.valueOf(completed).equals(entry.getValue().completed()))
+                    .map(Map.Entry::getKey)
+                    .toList();
+            if (!ids.isEmpty()) {
+                int flipped = todoRepository.bulkUpdateByIds(ids, !completed, null, null, completed, now, changeVersion);
+                completedDelta += completed ? flipped : -flipped;
+            }
+        }
+        Map<Long, String> titles = new HashMap<>();
+        batch.forEach((id, write) -> {
+            if (write.title() != null) {
+                titles.put(id, write.title());
+            }
+        });
+        if (!titles.isEmpty()) {
+            entityManager.unwrap(Session.class).doWork(connection -> {
+                try (PreparedStatement statement = connection.prepareStatement(RENAME_SQL)) {
+                    for (Map.Entry<Long, String> title : titles.entrySet()) {
+                        statement.setString(1, title.getValue());
+                        statement.setTimestamp(2, Timestamp.valueOf(now));
+                        statement.setLong(3, changeVersion);
+                        statement.setLong(4, title.getKey());
+                        statement.setString(5, tenant);
+                        statement.addBatch();
+                    }
+                    statement.executeBatch();
+                }
+            });
+        }
+
+        todoCounters.adjustAfterCommit(0, completedDelta);
+        todoDataVersion.bumpAfterCommit();
+        batch.forEach((id, write) -> todoEventPublisher.publishAfterCommit(TodoChangeEvent.patched(TodoResponse.builder()
+                .id(id)
+                .title(write.title())
+                .completed(write.completed())
+                .updatedAt(now)
+                .build())));
+        TransactionHooks.afterCommit(() -> batch.forEach((id, write) ->
+                todoSearchIndex.applyEdit(id, write.title(), write.completed())));
+    }
+
+    /**
+     * The last title and completed value recorded for a todo, the completed value the first
+     * of them was made on, and how many edits were merged into them.
+     */
+    public record PendingWrite(String title, Boolean completed, Boolean previousCompleted,
+                               LocalDateTime updatedAt, int writes) {
+
+        PendingWrite then(PendingWrite newer) {
+            return new PendingWrite(
+                    newer.title != null ? newer.title : title,
+                    newer.completed != null ? newer.completed : completed,
+                    previousCompleted,
+                    newer.updatedAt,
+                    writes + newer.writes);
+        }
+
+        long completedDelta() {
+            if (completed == null || completed.equals(previousCompleted)) {
+                return 0;
+            }
+            return completed ? 1 : -1;
+        }
+
+        public TodoResponse applyTo(TodoResponse todo) {
+            return new TodoResponse(todo.getId(),
+                    title != null ? title : todo.getTitle(),
+                    todo.getDescription(),
+                    completed != null ? completed : todo.getCompleted(),
+                    todo.getCreatedAt(),
+                    updatedAt);
+        }
+    }
+}
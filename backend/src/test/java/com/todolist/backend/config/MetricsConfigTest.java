@@ -0,0 +1,71 @@
+package com.todolist.backend.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class MetricsConfigTest {
+    
+    @Autowired
+    private MockMvc mockMvc;
+    
+    @Autowired
+    private MeterRegistry meterRegistry;
+    
+    @Test
+    void todoRequests_ShouldRecordEndpointRepositoryHibernateAndPoolMeters() throws Exception {
+        // When
+        mockMvc.perform(post("/api/v1/todos")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"title\": \"Measured\"}"))
+                .andExpect(status().isCreated());
+        mockMvc.perform(get("/api/v1/todos").param("limit", "7"))
+                .andExpect(status().isOk());
+        mockMvc.perform(get("/api/v1/todos").param("limit", "7"))
+                .andExpect(status().isOk());
+        
+        // Then
+        Timer listRequests = meterRegistry.find("http.server.requests")
+                .tag("uri", "/api/v1/todos").tag("method", "GET").timer();
+        assertNotNull(listRequests);
+        assertTrue(listRequests.count() >= 2);
+        assertEquals(3, listRequests.takeSnapshot().percentileValues().length);
+        
+        Timer findPage = meterRegistry.find("spring.data.repository.invocations")
+                .tag("repository", "TodoRepository").tag("method", "findResponses").timer();
+        assertNotNull(findPage);
+        assertTrue(findPage.count() >= 1);
+        Timer save = meterRegistry.find("spring.data.repository.invocations")
+                .tag("repository", "TodoRepository").tag("method", "save").timer();
+        assertNotNull(save);
+        assertTrue(save.count() >= 1);
+        
+        assertTrue(meterRegistry.get("hibernate.query.executions").functionCounter().count() >= 1);
+        assertTrue(meterRegistry.get("hibernate.entities.inserts").functionCounter().count() >= 1);
+        assertTrue(meterRegistry.get("hibernate.flushes").functionCounter().count() >= 1);
+        assertTrue(meterRegistry.get("hikaricp.connections.acquire").timer().count() >= 1);
+        
+        assertTrue(meterRegistry.get("todo.list.cache.requests").tag("result", "hit").functionCounter().count() >= 1);
+        assertNotNull(meterRegistry.find("todo.list.cache.evictions").functionCounter());
+    }
+    
+    @Test
+    void metricsEndpoint_ShouldBeExposed() throws Exception {
+        mockMvc.perform(get("/actuator/metrics/http.server.requests"))
+                .andExpect(status().isOk());
+    }
+}
@@ -0,0 +1,209 @@
+package com.todolist.backend.config;
+
+import com.jayway.jsonpath.JsonPath;
+import com.todolist.backend.dto.TodoListResponse;
+import com.todolist.backend.dto.TodoRequest;
+import com.todolist.backend.dto.TodoResponse;
+import com.todolist.backend.repository.ReplicaRouter;
+import com.todolist.backend.repository.TenantContext;
+import com.todolist.backend.service.TodoService;
+import com.todolist.backend.service.TodoSyncService;
+import com.todolist.backend.service.TodoValidator;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// Two in-memory H2 databases stand in for the primary and its replica. Nothing replicates
+// between them, so where a row is found shows which database served the read
+@AutoConfigureMockMvc
+@SpringBootTest(properties = {
+        "spring.datasource.url=" + ReplicaConfigTest.PRIMARY_URL + ";DB_CLOSE_DELAY=-1",
+        "todo.replicas.enabled=true",
+        "todo.replicas.datasources[0].url=" + ReplicaConfigTest.REPLICA_URL + ";DB_CLOSE_DELAY=-1",
+        "todo.replicas.sticky-window=300ms"
+})
+@ActiveProfiles("test")
+class ReplicaConfigTest {
+
+    static final String PRIMARY_URL = "jdbc:h2:mem:replicas-primary";
+    static final String REPLICA_URL = "jdbc:h2:mem:replicas-replica";
+
+    private static final long STICKY_MILLIS = 300;
+
+    @Autowired
+    private TodoService todoService;
+
+    @Autowired
+    private TodoSyncService todoSyncService;
+
+    @Autowired
+    private ReplicaRouter replicaRouter;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        // Give the replica the primary's schema
+        try (Connection primary = DriverManager.getConnection(PRIMARY_URL, "sa", "");
+             Connection replica = DriverManager.getConnection(REPLICA_URL, "sa", "");
+             Statement replicaStatement = replica.createStatement()) {
+            replicaStatement.execute("DROP ALL OBJECTS");
+            List<String> script = new ArrayList<>();
+            try (Statement primaryStatement = primary.createStatement();
+                 ResultSet rows = primaryStatement.executeQuery("SCRIPT NODATA")) {
+                while (rows.next()) {
+                    script.add(rows.getString(1));
+                }
+            }
+            for (String statement : script) {
+                replicaStatement.execute(statement);
+            }
+        }
+    }
+
+    @Test
+    void readOnlyTransactions_ShouldBeServedByTheReplica() throws SQLException {
+        // Given
+        insertOnReplica(900_001L, "reader", "Only on the replica");
+        long replicaConnections = replicaRouter.getReplicaConnections();
+
+        // When
+        TodoResponse todo = TenantContext.call("reader", null, () -> todoService.getTodoById(900_001L));
+
+        // Then
+        assertEquals("Only on the replica", todo.getTitle());
+        assertTrue(replicaRouter.getReplicaConnections() > replicaConnections);
+    }
+
+    @Test
+    void reads_AfterAWrite_ShouldStayOnThePrimaryForTheStickyWindow() throws Exception {
+        // Given
+        insertOnReplica(900_002L, "bystander", "Bystander's");
+        TodoResponse created = TenantContext.call("writer", null, () -> todoService.createTodo(request("Fresh")));
+
+        // When & Then
+        assertTrue(existsOn(PRIMARY_URL, created.getId()));
+        assertFalse(existsOn(REPLICA_URL, created.getId()));
+        // The writer reads its own write from the primary
+        assertEquals("Fresh", TenantContext.call("writer", null, () -> todoService.getTodoById(created.getId())).getTitle());
+        // Other tenants keep reading from the replica
+        assertEquals("Bystander's", TenantContext.call("bystander", null, () -> todoService.getTodoById(900_002L)).getTitle());
+
+        Thread.sleep(STICKY_MILLIS + 100);
+        assertThrows(RuntimeException.class,
+                () -> TenantContext.call("writer", null, () -> todoService.getTodoById(created.getId())));
+    }
+
+    @Test
+    void httpReads_AfterAWrite_ShouldStayOnThePrimaryOnlyForTheClientThatWrote() throws Exception {
+        // Given
+        MvcResult created = mockMvc.perform(post("/api/v1/todos")
+                        .header(ReadYourWritesFilter.LAST_WRITE_HEADER, "0")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"title\":\"Client's own\",\"completed\":false}"))
+                .andExpect(status().isCreated())
+                .andReturn();
+        String token = created.getResponse().getHeader(ReadYourWritesFilter.LAST_WRITE_HEADER);
+        Number id = JsonPath.read(created.getResponse().getContentAsString(), "$.id");
+
+        // When & Then
+        assertTrue(Long.parseLong(token) > 0);
+        // The writer reads its own write from the primary
+        mockMvc.perform(get("/api/v1/todos/" + id).header(ReadYourWritesFilter.LAST_WRITE_HEADER, token))
+                .andExpect(status().isOk())
+                .andExpect(header().string(ReadYourWritesFilter.LAST_WRITE_HEADER, token));
+        // Another client of the same tenant keeps reading from the replica
+        mockMvc.perform(get("/api/v1/todos/" + id).header(ReadYourWritesFilter.LAST_WRITE_HEADER, "0"))
+                .andExpect(status().isNotFound());
+        // A client without a token falls back to the tenant's writes
+        mockMvc.perform(get("/api/v1/todos/" + id))
+                .andExpect(status().isOk())
+                .andExpect(header().string(ReadYourWritesFilter.LAST_WRITE_HEADER, "0"));
+    }
+
+    @Test
+    void listReads_FromALaggingReplica_ShouldNeitherBeCachedNorValidated() throws Exception {
+        // Given
+        TodoResponse created = TenantContext.call("lister", null, () -> todoService.createTodo(request("Not replicated yet")));
+        assertTrue(TenantContext.call("lister", null, () -> todoService.getListValidator(null, 50, 0, null)).isPresent());
+        Thread.sleep(STICKY_MILLIS + 100);
+
+        // When
+        Optional<TodoValidator> validator = TenantContext.call("lister", null,
+                () -> todoService.getListValidator(null, 50, 0, null));
+        TodoListResponse lagging = TenantContext.call("lister", null, () -> todoService.getAllTodos(null, 50, 0));
+        // The replica catches up; no write moves the data version on
+        insertOnReplica(created.getId(), "lister", "Not replicated yet");
+        TodoListResponse caughtUp = TenantContext.call("lister", null, () -> todoService.getAllTodos(null, 50, 0));
+
+        // Then
+        assertTrue(validator.isEmpty());
+        assertTrue(lagging.getItems().isEmpty());
+        assertEquals(List.of(created.getId()), caughtUp.getItems().stream().map(TodoResponse::getId).toList());
+    }
+
+    @Test
+    void syncChanges_ShouldAlwaysBeReadFromThePrimary() throws Exception {
+        // Given
+        TodoResponse created = TenantContext.call("syncer", null, () -> todoService.createTodo(request("Synced")));
+        Thread.sleep(STICKY_MILLIS + 100);
+
+        // When
+        List<TodoResponse> todos = TenantContext.call("syncer", null, () -> todoSyncService.getChanges(null).getChanged());
+
+        // Then
+        assertEquals(List.of(created.getId()), todos.stream().map(TodoResponse::getId).toList());
+    }
+
+    private static void insertOnReplica(long id, String tenant, String title) throws SQLException {
+        try (Connection connection = DriverManager.getConnection(REPLICA_URL, "sa", "");
+             PreparedStatement statement = connection.prepareStatement(
+                     "INSERT INTO todos (id, tenant_id, title, completed, created_at, updated_at, change_version, version) "
+                             + "VALUES (?, ?, ?, FALSE, CURRENT_TIMESTAMP, CURRENT_TIMESTAMP, 0, 0)")) {
+            statement.setLong(1, id);
+            statement.setString(2, tenant);
+            statement.setString(3, title);
+            statement.executeUpdate();
+        }
+    }
+
+    private static boolean existsOn(String url, long id) throws SQLException {
+        try (Connection connection = DriverManager.getConnection(url, "sa", "");
+             PreparedStatement statement = connection.prepareStatement("SELECT 1 FROM todos WHERE id = ?")) {
+            statement.setLong(1, id);
+            try (ResultSet rows = statement.executeQuery()) {
+                return rows.next();
+            }
+        }
+    }
+
+    private static TodoRequest request(String title) {
+        TodoRequest request = new TodoRequest();
+        request.setTitle(title);
+        request.setCompleted(false);
+        return request;
+    }
+}
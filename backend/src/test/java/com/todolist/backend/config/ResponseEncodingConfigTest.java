@@ -0,0 +1,161 @@
+package com.todolist.backend.config;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
+import com.fasterxml.jackson.dataformat.smile.databind.SmileMapper;
+import com.todolist.backend.dto.TodoRequest;
+import com.todolist.backend.dto.TodoResponse;
+import com.todolist.backend.service.TodoService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.autoconfigure.http.HttpMessageConverters;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class ResponseEncodingConfigTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private TodoService todoService;
+
+    @Autowired
+    private GzipResponseFilter gzipResponseFilter;
+
+    @Autowired
+    private HttpMessageConverters converters;
+
+    @Test
+    void listEndpoint_ShouldNegotiateCborAndSmile() throws Exception {
+        // Given
+        createTodos(5, 200);
+        JsonNode json = objectMapper.readTree(list("application/json", null).getResponse().getContentAsByteArray());
+
+        // When
+        MvcResult cbor = list("application/cbor", null);
+        MvcResult smile = list("application/x-jackson-smile", null);
+
+        // Then
+        assertEquals("application/cbor", cbor.getResponse().getContentType());
+        assertEquals(json, new CBORMapper().readTree(cbor.getResponse().getContentAsByteArray()));
+        assertEquals("application/x-jackson-smile", smile.getResponse().getContentType());
+        assertEquals(json, new SmileMapper().readTree(smile.getResponse().getContentAsByteArray()));
+        assertTrue(cbor.getResponse().getContentAsByteArray().length
+                < list("application/json", null).getResponse().getContentAsByteArray().length);
+        // Dates keep the JSON mapper's ISO-8601 strings
+        assertTrue(new CBORMapper().readTree(cbor.getResponse().getContentAsByteArray())
+                .at("/items/0/createdAt").isTextual());
+    }
+
+    @Test
+    void jsonResponses_ShouldBeWrittenByTheDirectWriterWithJacksonBytes() throws Exception {
+        // Given
+        TodoResponse created = todoService.createTodo(request("Direct \"writer\" 中文", "line\nbreak"));
+
+        // When
+        MvcResult single = mockMvc.perform(get("/api/v1/todos/" + created.getId()))
+                .andExpect(status().isOk())
+                .andReturn();
+
+        // Then
+        assertEquals("application/json", single.getResponse().getContentType());
+        assertEquals(objectMapper.writeValueAsString(todoService.getTodoById(created.getId())),
+                single.getResponse().getContentAsString(StandardCharsets.UTF_8));
+        assertTrue(converters.getConverters().get(0) instanceof TodoJsonHttpMessageConverter);
+    }
+
+    @Test
+    void gzip_ShouldCompressLargeResponsesAndReuseTheBytes() throws Exception {
+        // Given
+        TodoResponse small = todoService.createTodo(request("Tiny", "x"));
+        createTodos(20, 1000);
+        byte[] plain = list("application/json", null).getResponse().getContentAsByteArray();
+        long hits = gzipResponseFilter.getHits();
+
+        // When
+        MvcResult first = list("application/json", "gzip, deflate");
+        MvcResult second = list("application/json", "gzip, deflate");
+
+        // Then
+        assertEquals("gzip", first.getResponse().getHeader(HttpHeaders.CONTENT_ENCODING));
+        byte[] compressed = first.getResponse().getContentAsByteArray();
+        assertTrue(compressed.length < plain.length / 4);
+        assertArrayEquals(plain, new GZIPInputStream(new ByteArrayInputStream(compressed)).readAllBytes());
+        assertArrayEquals(compressed, second.getResponse().getContentAsByteArray());
+        assertEquals(hits + 1, gzipResponseFilter.getHits());
+        assertTrue(first.getResponse().getHeaders(HttpHeaders.VARY).contains(HttpHeaders.ACCEPT_ENCODING));
+
+        mockMvc.perform(get("/api/v1/todos/" + small.getId()).header(HttpHeaders.ACCEPT_ENCODING, "gzip"))
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist(HttpHeaders.CONTENT_ENCODING));
+        assertNull(list("application/json", "gzip;q=0").getResponse().getHeader(HttpHeaders.CONTENT_ENCODING));
+    }
+
+    @Test
+    void eTags_ShouldDifferPerRepresentationAndRevalidate() throws Exception {
+        // Given
+        createTodos(20, 1000);
+        String json = list("application/json", null).getResponse().getHeader(HttpHeaders.ETAG);
+        String cbor = list("application/cbor", null).getResponse().getHeader(HttpHeaders.ETAG);
+        String gzip = list("application/json", "gzip").getResponse().getHeader(HttpHeaders.ETAG);
+
+        // When
+        MvcResult revalidated = mockMvc.perform(get("/api/v1/todos").param("limit", "100")
+                        .header(HttpHeaders.ACCEPT, "application/json")
+                        .header(HttpHeaders.ACCEPT_ENCODING, "gzip")
+                        .header(HttpHeaders.IF_NONE_MATCH, gzip))
+                .andExpect(status().isNotModified())
+                .andReturn();
+
+        // Then
+        assertEquals(json.substring(0, json.length() - 1) + "-cbor\"", cbor);
+        assertEquals(json.substring(0, json.length() - 1) + "-gzip\"", gzip);
+        assertEquals(gzip, revalidated.getResponse().getHeader(HttpHeaders.ETAG));
+        mockMvc.perform(get("/api/v1/todos").param("limit", "100")
+                        .header(HttpHeaders.ACCEPT, "application/cbor")
+                        .header(HttpHeaders.IF_NONE_MATCH, json))
+                .andExpect(status().isOk());
+    }
+
+    private MvcResult list(String accept, String acceptEncoding) throws Exception {
+        var request = get("/api/v1/todos").param("limit", "100").header(HttpHeaders.ACCEPT, accept);
+        if (acceptEncoding != null) {
+            request.header(HttpHeaders.ACCEPT_ENCODING, acceptEncoding);
+        }
+        return mockMvc.perform(request).andExpect(status().isOk()).andReturn();
+    }
+
+    private void createTodos(int count, int descriptionLength) {
+        for (int i = 0; i < count; i++) {
+            todoService.createTodo(request("Encoded " + i, "d".repeat(descriptionLength)));
+        }
+    }
+
+    private static TodoRequest request(String title, String description) {
+        TodoRequest request = new TodoRequest();
+        request.setTitle(title);
+        request.setDescription(description);
+        return request;
+    }
+}
@@ -0,0 +1,183 @@
+package com.todolist.backend.config;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.todolist.backend.repository.TenantShardRing;
+import com.todolist.backend.service.TodoDeleteJob;
+import com.todolist.backend.service.TodoDeleteJobService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// Three in-memory H2 databases stand in for the shards
+@SpringBootTest(properties = {
+        "todo.sharding.enabled=true",
+        "todo.sharding.shards[0].name=s0",
+        "todo.sharding.shards[0].url=jdbc:h2:mem:sharding-s0;DB_CLOSE_DELAY=-1",
+        "todo.sharding.shards[1].name=s1",
+        "todo.sharding.shards[1].url=jdbc:h2:mem:sharding-s1;DB_CLOSE_DELAY=-1",
+        "todo.sharding.shards[2].name=s2",
+        "todo.sharding.shards[2].url=jdbc:h2:mem:sharding-s2;DB_CLOSE_DELAY=-1",
+        "todo.delete-jobs.chunk-size=2",
+        "todo.delete-jobs.chunk-pause=0ms"
+})
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class ShardingConfigTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private TenantShardRing ring;
+
+    @Autowired
+    private TodoDeleteJobService todoDeleteJobService;
+
+    // One tenant placed on each shard, in shard order
+    private List<String> tenants;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        tenants = new ArrayList<>();
+        for (String shard : ring.shards()) {
+            int candidate = 0;
+            while (!ring.shardFor("tenant-" + candidate).equals(shard)) {
+                candidate++;
+            }
+            tenants.add("tenant-" + candidate);
+        }
+        mockMvc.perform(delete("/api/v1/todos/all").header(TenantFilter.TENANT_HEADER, "*"))
+                .andExpect(status().isAccepted());
+        awaitDeleteJobs();
+    }
+
+    @Test
+    void requests_ShouldOnlySeeTheTodosOfTheirTenant() throws Exception {
+        // Given
+        long first = create(tenants.get(0), "First tenant's", false);
+        long second = create(tenants.get(1), "Second tenant's", false);
+
+        // When
+        JsonNode firstList = list(tenants.get(0));
+        JsonNode secondList = list(tenants.get(1));
+
+        // Then
+        assertEquals(1, firstList.get("total").asLong());
+        assertEquals(first, firstList.at("/items/0/id").asLong());
+        assertEquals(second, secondList.at("/items/0/id").asLong());
+        mockMvc.perform(get("/api/v1/todos/" + second).header(TenantFilter.TENANT_HEADER, tenants.get(0)))
+                .andExpect(status().isNotFound());
+        mockMvc.perform(get("/api/v1/todos/" + second).header(TenantFilter.TENANT_HEADER, tenants.get(1)))
+                .andExpect(status().isOk());
+        assertEquals(0, list("nobody").get("total").asLong());
+    }
+
+    @Test
+    void todos_ShouldBeStoredOnTheShardOfTheirTenant() throws Exception {
+        // Given
+        List<Long> ids = new ArrayList<>();
+        for (String tenant : tenants) {
+            ids.add(create(tenant, "Placed", false));
+        }
+
+        // When & Then
+        for (int shard = 0; shard < tenants.size(); shard++) {
+            try (Connection connection = DriverManager.getConnection("jdbc:h2:mem:sharding-s" + shard, "sa", "");
+                 PreparedStatement statement = connection.prepareStatement("SELECT id, tenant_id FROM todos");
+                 ResultSet rows = statement.executeQuery()) {
+                assertTrue(rows.next());
+                assertEquals(ids.get(shard), rows.getLong("id"));
+                assertEquals(tenants.get(shard), rows.getString("tenant_id"));
+                assertFalse(rows.next());
+            }
+            // Every shard allocates ids from a block of its own
+            assertTrue(ids.get(shard) >= shard * ShardSchemaIntegrator.ID_BLOCK_SIZE
+                    && ids.get(shard) < (shard + 1) * ShardSchemaIntegrator.ID_BLOCK_SIZE);
+        }
+    }
+
+    @Test
+    void adminOperations_ForAllTenants_ShouldGatherEveryShard() throws Exception {
+        // Given
+        for (String tenant : tenants) {
+            create(tenant, "Open", false);
+            create(tenant, "Done", true);
+        }
+
+        // When
+        JsonNode stats = stats("*");
+
+        // Then
+        assertEquals(6, stats.get("total").asLong());
+        assertEquals(3, stats.get("completed").asLong());
+        assertEquals(2, stats(tenants.get(2)).get("total").asLong());
+
+        mockMvc.perform(delete("/api/v1/todos/completed").header(TenantFilter.TENANT_HEADER, "*"))
+                .andExpect(status().isAccepted());
+        awaitDeleteJobs();
+        assertEquals(3, stats("*").get("total").asLong());
+        assertEquals(0, stats("*").get("completed").asLong());
+        for (String tenant : tenants) {
+            assertEquals(1, list(tenant).get("total").asLong());
+        }
+    }
+
+    @Test
+    void allTenants_ShouldBeRejectedOutsideAdminOperations() throws Exception {
+        // When & Then
+        mockMvc.perform(get("/api/v1/todos").header(TenantFilter.TENANT_HEADER, "*"))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(get("/api/v1/todos").header(TenantFilter.TENANT_HEADER, "no spaces"))
+                .andExpect(status().isBadRequest());
+    }
+
+    private long create(String tenant, String title, boolean completed) throws Exception {
+        String body = mockMvc.perform(post("/api/v1/todos")
+                        .header(TenantFilter.TENANT_HEADER, tenant)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"title\": \"" + title + "\", \"completed\": " + completed + "}"))
+                .andExpect(status().isCreated())
+                .andReturn().getResponse().getContentAsString();
+        return objectMapper.readTree(body).get("id").asLong();
+    }
+
+    private JsonNode list(String tenant) throws Exception {
+        return objectMapper.readTree(mockMvc.perform(get("/api/v1/todos").header(TenantFilter.TENANT_HEADER, tenant))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString());
+    }
+
+    private JsonNode stats(String tenant) throws Exception {
+        return objectMapper.readTree(mockMvc.perform(get("/api/v1/todos/stats").header(TenantFilter.TENANT_HEADER, tenant))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString());
+    }
+
+    private void awaitDeleteJobs() throws Exception {
+        // Jobs run one at a time, so a job submitted now finishes after every earlier one
+        todoDeleteJobService.submit(TodoDeleteJob.Scope.COMPLETED).completion().get(10, TimeUnit.SECONDS);
+    }
+}
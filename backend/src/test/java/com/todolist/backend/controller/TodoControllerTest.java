@@ -1,23 +1,56 @@
 package com.todolist.backend.controller;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.todolist.backend.dto.TodoBatchRequest;
+import com.todolist.backend.dto.TodoBulkUpdateRequest;
+import com.todolist.backend.dto.TodoBulkUpdateResponse;
+import com.todolist.backend.dto.TodoChangesResponse;
+import com.todolist.backend.dto.TodoDeleteJobResponse;
+import com.todolist.backend.dto.TodoImportError;
+import com.todolist.backend.dto.TodoImportResponse;
 import com.todolist.backend.dto.TodoListResponse;
+import com.todolist.backend.dto.TodoPatchRequest;
 import com.todolist.backend.dto.TodoRequest;
 import com.todolist.backend.dto.TodoResponse;
+import com.todolist.backend.dto.TodoStatsResponse;
+import com.todolist.backend.service.TodoDeleteJob;
+import com.todolist.backend.service.TodoDeleteJobService;
+import com.todolist.backend.service.TodoEventStream;
+import com.todolist.backend.service.TodoExportFormat;
+import com.todolist.backend.service.TodoExportService;
+import com.todolist.backend.service.TodoImportService;
+import com.todolist.backend.service.TodoSearchService;
 import com.todolist.backend.service.TodoService;
+import com.todolist.backend.service.TodoStatsService;
+import com.todolist.backend.service.TodoSyncService;
+import com.todolist.backend.service.TodoValidator;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDateTime;
 import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
 
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
@@ -31,12 +64,35 @@ class TodoControllerTest {
     @MockBean
     private TodoService todoService;
     
+    @MockBean
+    private TodoExportService todoExportService;
+    
+    @MockBean
+    private TodoImportService todoImportService;
+    
+    @MockBean
+    private TodoEventStream todoEventStream;
+    
+    @MockBean
+    private TodoSyncService todoSyncService;
+    
+    @MockBean
+    private TodoSearchService todoSearchService;
+    
+    @MockBean
+    private TodoStatsService todoStatsService;
+    
+    @MockBean
+    private TodoDeleteJobService todoDeleteJobService;
+    
     @Autowired
     private ObjectMapper objectMapper;
     
     private TodoResponse testTodoResponse;
     private TodoRequest testTodoRequest;
     private TodoListResponse testTodoListResponse;
+    private TodoValidator testTodoValidator;
+    private TodoValidator testListValidator;
     
     @BeforeEach
     void setUp() {
@@ -60,6 +116,11 @@ class TodoControllerTest {
                 .limit(50)
                 .offset(0)
                 .build();
+        
+        testTodoValidator = TodoValidator.ofTodo(1L, 2L, testTodoResponse.getUpdatedAt());
+        testListValidator = new TodoValidator("\"l-test-1-0\"", TodoValidator.NO_LAST_MODIFIED);
+        when(todoService.getTodoValidator(1L)).thenReturn(testTodoValidator);
+        when(todoService.getListValidator(any(), any(), any(), any())).thenReturn(Optional.of(testListValidator));
     }
     
     @Test
@@ -98,7 +159,56 @@ class TodoControllerTest {
         mockMvc.perform(get("/api/v1/todos/1"))
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$.id").value(1))
-                .andExpect(jsonPath("$.title").value("Test Todo"));
+                .andExpect(jsonPath("$.title").value("Test Todo"))
+                .andExpect(header().string("ETag", testTodoValidator.eTag()))
+                .andExpect(header().exists("Last-Modified"));
+    }
+    
+    @Test
+    void getTodoById_WithMatchingETag_ShouldReturnNotModifiedWithoutLoading() throws Exception {
+        // When & Then
+        mockMvc.perform(get("/api/v1/todos/1").header("If-None-Match", testTodoValidator.eTag()))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string("ETag", testTodoValidator.eTag()))
+                .andExpect(content().string(""));
+        verify(todoService, never()).getTodoById(any());
+    }
+    
+    @Test
+    void getTodoById_WithStaleETag_ShouldReturnTodo() throws Exception {
+        // Given
+        when(todoService.getTodoById(1L)).thenReturn(testTodoResponse);
+        
+        // When & Then
+        mockMvc.perform(get("/api/v1/todos/1").header("If-None-Match", "\"1-0\""))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.id").value(1));
+    }
+    
+    @Test
+    void getAllTodos_WithMatchingETag_ShouldReturnNotModifiedWithoutLoading() throws Exception {
+        // When & Then
+        mockMvc.perform(get("/api/v1/todos").param("completed", "true")
+                        .header("If-None-Match", testListValidator.eTag()))
+                .andExpect(status().isNotModified())
+                .andExpect(content().string(""));
+        verify(todoService).getListValidator("true", 50, 0, null);
+        verify(todoService, never()).getAllTodos(any(), any(), any());
+    }
+    
+    @Test
+    void getAllTodos_WithIfModifiedSince_ShouldIgnoreItAndSendNoLastModified() throws Exception {
+        // Given
+        when(todoService.getAllTodos(any(), any(), any())).thenReturn(testTodoListResponse);
+        HttpHeaders headers = new HttpHeaders();
+        headers.setIfModifiedSince(System.currentTimeMillis() + 60_000);
+        
+        // When & Then
+        mockMvc.perform(get("/api/v1/todos").headers(headers))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", testListValidator.eTag()))
+                .andExpect(header().doesNotExist("Last-Modified"));
+        verify(todoService).getAllTodos(any(), any(), any());
     }
     
     @Test
@@ -128,6 +238,36 @@ class TodoControllerTest {
                 .andExpect(status().isBadRequest());
     }
     
+    @Test
+    void createTodos_ShouldReturnCreatedTodos() throws Exception {
+        // Given
+        TodoBatchRequest batchRequest = new TodoBatchRequest();
+        batchRequest.setItems(Arrays.asList(testTodoRequest, testTodoRequest));
+        when(todoService.createTodos(anyList())).thenReturn(Arrays.asList(testTodoResponse, testTodoResponse));
+        
+        // When & Then
+        mockMvc.perform(post("/api/v1/todos/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(batchRequest)))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.length()").value(2))
+                .andExpect(jsonPath("$[0].id").value(1));
+    }
+    
+    @Test
+    void createTodos_WithInvalidItem_ShouldReturnUnprocessableEntity() throws Exception {
+        // Given
+        TodoBatchRequest batchRequest = new TodoBatchRequest();
+        batchRequest.setItems(Arrays.asList(testTodoRequest, new TodoRequest()));
+        
+        // When & Then
+        mockMvc.perform(post("/api/v1/todos/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(batchRequest)))
+                .andExpect(status().isUnprocessableEntity())
+                .andExpect(jsonPath("$.detail['items[1].title']").exists());
+    }
+    
     @Test
     void updateTodo_ShouldReturnUpdatedTodo() throws Exception {
         // Given
@@ -141,6 +281,170 @@ class TodoControllerTest {
                 .andExpect(jsonPath("$.id").value(1));
     }
     
+    @Test
+    void patchTodo_ShouldReturnNewETag() throws Exception {
+        // Given
+        TodoPatchRequest patchRequest = new TodoPatchRequest();
+        patchRequest.setCompleted(true);
+        when(todoService.patchTodo(eq(1L), eq(3L), any(TodoPatchRequest.class)))
+                .thenReturn(TodoValidator.ofTodo(1L, 4L, testTodoResponse.getUpdatedAt()));
+        
+        // When & Then
+        mockMvc.perform(patch("/api/v1/todos/1")
+                        .header(HttpHeaders.IF_MATCH, "\"1-3\"")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(patchRequest)))
+                .andExpect(status().isNoContent())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"1-4\""))
+                .andExpect(content().string(""));
+    }
+    
+    @Test
+    void patchTodo_WithoutIfMatch_ShouldReturnBadRequest() throws Exception {
+        // Given
+        TodoPatchRequest patchRequest = new TodoPatchRequest();
+        patchRequest.setTitle("Renamed");
+        
+        // When & Then
+        mockMvc.perform(patch("/api/v1/todos/1")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(patchRequest)))
+                .andExpect(status().isBadRequest());
+        verify(todoService, never()).patchTodo(any(), any(Long.class), any());
+    }
+    
+    @Test
+    void patchTodo_WithStaleETag_ShouldReturnPreconditionFailed() throws Exception {
+        // Given
+        TodoPatchRequest patchRequest = new TodoPatchRequest();
+        patchRequest.setTitle("Renamed");
+        when(todoService.patchTodo(eq(1L), eq(3L), any(TodoPatchRequest.class)))
+                .thenThrow(new OptimisticLockingFailureException("Todo 1 is at version 4, not 3"));
+        
+        // When & Then
+        mockMvc.perform(patch("/api/v1/todos/1")
+                        .header(HttpHeaders.IF_MATCH, "\"1-3\"")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(patchRequest)))
+                .andExpect(status().isPreconditionFailed());
+    }
+    
+    @Test
+    void bulkUpdateTodos_ShouldReturnAffectedCount() throws Exception {
+        // Given
+        TodoBulkUpdateRequest bulkRequest = new TodoBulkUpdateRequest();
+        bulkRequest.setCompleted(true);
+        when(todoService.bulkUpdateTodos(eq("false"), any(TodoBulkUpdateRequest.class)))
+                .thenReturn(new TodoBulkUpdateResponse(3));
+        
+        // When & Then
+        mockMvc.perform(patch("/api/v1/todos")
+                        .param("completed", "false")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(bulkRequest)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.affected").value(3));
+    }
+    
+    @Test
+    void exportTodos_AsCsv_ShouldStreamAttachment() throws Exception {
+        // Given
+        when(todoExportService.export(eq(TodoExportFormat.CSV), any())).thenAnswer(invocation -> {
+            OutputStream out = invocation.getArgument(1);
+            out.write("id,title\n1,Test Todo\n".getBytes(StandardCharsets.UTF_8));
+            return 1L;
+        });
+        
+        // When & Then
+        mockMvc.perform(get("/api/v1/todos/export").param("format", "csv"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType("text/csv;charset=UTF-8"))
+                .andExpect(header().string("Content-Disposition", "attachment; filename=\"todos.csv\""))
+                .andExpect(content().string("id,title\n1,Test Todo\n"));
+    }
+    
+    @Test
+    void exportTodos_WithUnknownFormat_ShouldReturnBadRequest() throws Exception {
+        // When & Then
+        mockMvc.perform(get("/api/v1/todos/export").param("format", "xml"))
+                .andExpect(status().isBadRequest());
+        verify(todoExportService, never()).export(any(), any());
+    }
+    
+    @Test
+    void importTodos_ShouldReturnReport() throws Exception {
+        // Given
+        TodoImportResponse report = new TodoImportResponse(1L, 1L,
+                List.of(new TodoImportError(2L, "title: Title is required")), 5L, 200.0);
+        when(todoImportService.importTodos(any())).thenReturn(report);
+        
+        // When & Then
+        mockMvc.perform(post("/api/v1/todos/import")
+                        .contentType("application/x-ndjson")
+                        .content("{\"title\": \"One\"}\n{\"title\": \"\"}\n"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.imported").value(1))
+                .andExpect(jsonPath("$.failed").value(1))
+                .andExpect(jsonPath("$.errors[0].line").value(2))
+                .andExpect(jsonPath("$.rowsPerSecond").value(200.0));
+    }
+    
+    @Test
+    void searchTodos_ShouldPassQueryAndPaging() throws Exception {
+        // Given
+        when(todoSearchService.search("test", "false", 10, 20)).thenReturn(testTodoListResponse);
+        
+        // When & Then
+        mockMvc.perform(get("/api/v1/todos/search")
+                        .param("q", "test")
+                        .param("completed", "false")
+                        .param("limit", "10")
+                        .param("offset", "20"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items[0].title").value("Test Todo"));
+    }
+    
+    @Test
+    void getStats_ShouldReturnCounts() throws Exception {
+        // Given
+        when(todoStatsService.getStats()).thenReturn(new TodoStatsResponse(5L, 2L, 3L));
+        
+        // When & Then
+        mockMvc.perform(get("/api/v1/todos/stats"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.total").value(5))
+                .andExpect(jsonPath("$.completed").value(2))
+                .andExpect(jsonPath("$.active").value(3));
+    }
+    
+    @Test
+    void getChanges_ShouldReturnDelta() throws Exception {
+        // Given
+        when(todoSyncService.getChanges(5L)).thenReturn(
+                new TodoChangesResponse(9L, false, List.of(testTodoResponse), List.of(4L)));
+        
+        // When & Then
+        mockMvc.perform(get("/api/v1/todos/changes").param("since", "5"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.version").value(9))
+                .andExpect(jsonPath("$.full").value(false))
+                .andExpect(jsonPath("$.changed[0].id").value(1))
+                .andExpect(jsonPath("$.deleted[0]").value(4));
+    }
+    
+    @Test
+    void streamEvents_ShouldSubscribeWithLastEventId() throws Exception {
+        // Given
+        when(todoEventStream.subscribe("abc-3")).thenReturn(new SseEmitter());
+        
+        // When & Then
+        mockMvc.perform(get("/api/v1/todos/events")
+                        .accept(MediaType.TEXT_EVENT_STREAM)
+                        .header("Last-Event-ID", "abc-3"))
+                .andExpect(request().asyncStarted());
+        verify(todoEventStream).subscribe("abc-3");
+    }
+    
     @Test
     void deleteTodo_ShouldReturnNoContent() throws Exception {
         // When & Then
@@ -149,16 +453,62 @@ class TodoControllerTest {
     }
     
     @Test
-    void deleteCompletedTodos_ShouldReturnNoContent() throws Exception {
+    void deleteCompletedTodos_ShouldReturnAcceptedJob() throws Exception {
+        // Given
+        TodoDeleteJob job = mock(TodoDeleteJob.class);
+        when(job.getId()).thenReturn("job-1");
+        when(job.toResponse()).thenReturn(jobResponse("job-1", "completed", "queued"));
+        when(todoDeleteJobService.submit(TodoDeleteJob.Scope.COMPLETED)).thenReturn(job);
+        
         // When & Then
         mockMvc.perform(delete("/api/v1/todos/completed"))
-                .andExpect(status().isNoContent());
+                .andExpect(status().isAccepted())
+                .andExpect(header().string(HttpHeaders.LOCATION, "/api/v1/todos/delete-jobs/job-1"))
+                .andExpect(jsonPath("$.scope").value("completed"))
+                .andExpect(jsonPath("$.status").value("queued"));
+        verify(todoService, never()).deleteChunk(anyBoolean(), anyLong(), anyLong(), anyInt());
     }
     
     @Test
-    void deleteAllTodos_ShouldReturnNoContent() throws Exception {
+    void deleteAllTodos_ShouldReturnAcceptedJob() throws Exception {
+        // Given
+        TodoDeleteJob job = mock(TodoDeleteJob.class);
+        when(job.getId()).thenReturn("job-2");
+        when(job.toResponse()).thenReturn(jobResponse("job-2", "all", "queued"));
+        when(todoDeleteJobService.submit(TodoDeleteJob.Scope.ALL)).thenReturn(job);
+        
         // When & Then
         mockMvc.perform(delete("/api/v1/todos/all"))
-                .andExpect(status().isNoContent());
+                .andExpect(status().isAccepted())
+                .andExpect(header().string(HttpHeaders.LOCATION, "/api/v1/todos/delete-jobs/job-2"))
+                .andExpect(jsonPath("$.id").value("job-2"));
+    }
+    
+    @Test
+    void getDeleteJob_ShouldReturnProgress() throws Exception {
+        // Given
+        TodoDeleteJob job = mock(TodoDeleteJob.class);
+        TodoDeleteJobResponse response = jobResponse("job-1", "all", "running");
+        response.setDeleted(3000L);
+        when(job.toResponse()).thenReturn(response);
+        when(todoDeleteJobService.find("job-1")).thenReturn(Optional.of(job));
+        when(todoDeleteJobService.find("missing")).thenReturn(Optional.empty());
+        
+        // When & Then
+        mockMvc.perform(get("/api/v1/todos/delete-jobs/job-1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.status").value("running"))
+                .andExpect(jsonPath("$.deleted").value(3000));
+        mockMvc.perform(get("/api/v1/todos/delete-jobs/missing"))
+                .andExpect(status().isNotFound());
+    }
+    
+    private static TodoDeleteJobResponse jobResponse(String id, String scope, String status) {
+        TodoDeleteJobResponse response = new TodoDeleteJobResponse();
+        response.setId(id);
+        response.setScope(scope);
+        response.setStatus(status);
+        response.setDeleted(0L);
+        return response;
     }
 } 
\ No newline at end of file
@@ -0,0 +1,80 @@
+package com.todolist.backend.dto;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.json.JsonTest;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Compares against the ObjectMapper Spring Boot builds from application.yml
+@JsonTest
+class TodoJsonWriterTest {
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Test
+    void write_ShouldMatchJacksonForTimestampsAndNulls() throws Exception {
+        // Given
+        LocalDateTime base = LocalDateTime.of(2025, 1, 27, 9, 30, 15);
+        List<TodoResponse> todos = List.of(
+                new TodoResponse(1L, "Whole seconds", "d", false, base, base.withSecond(0)),
+                new TodoResponse(2L, "Micros", null, true, base.withNano(123_456_000), base.withNano(100_000_000)),
+                new TodoResponse(3L, "Nanos", "", null, base.withNano(1), base.withNano(999_999_999)),
+                new TodoResponse(-4L, null, null, null, LocalDateTime.of(12025, 1, 1, 0, 0), null),
+                new TodoResponse(Long.MAX_VALUE, "Midnight", "x", false, LocalDateTime.of(1999, 12, 31, 0, 0), base),
+                new TodoResponse());
+
+        // When & Then
+        for (TodoResponse todo : todos) {
+            assertSameBytes(todo);
+        }
+    }
+
+    @Test
+    void write_ShouldEscapeStringsLikeJackson() throws Exception {
+        // Given
+        String text = "quote \" backslash \\ slash / tab \t newline \n cr \r bell \u0007 nul \u0000 del \u007f "
+                + "é 中文   emoji 🚀 end";
+
+        // When & Then
+        assertSameBytes(new TodoResponse(7L, text, text, true, LocalDateTime.now(), LocalDateTime.now()));
+    }
+
+    @Test
+    void write_ShouldMatchJacksonForListPages() throws Exception {
+        // Given
+        LocalDateTime createdAt = LocalDateTime.of(2025, 1, 27, 9, 30, 15, 123_456_000);
+        List<TodoResponse> items = new ArrayList<>();
+        for (int i = 0; i < 2000; i++) {
+            items.add(new TodoResponse((long) i, "Todo " + i, "d".repeat(i % 50), i % 3 == 0,
+                    createdAt.plusHours(i), createdAt.plusMinutes(i)));
+        }
+
+        // When & Then
+        assertSameBytes(new TodoListResponse(items, 10_000L, 2000, 40, null));
+        assertSameBytes(new TodoListResponse(List.of(), 0L, 50, 0, null));
+        assertSameBytes(new TodoListResponse(Arrays.asList(items.get(1), null), 2L, 50, null, "Y3Vyc29y"));
+        assertSameBytes(new TodoListResponse(null, null, null, null, null));
+    }
+
+    private void assertSameBytes(Object value) throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        TodoJsonWriter writer = new TodoJsonWriter(out);
+        if (value instanceof TodoListResponse list) {
+            writer.write(list);
+        } else {
+            writer.write((TodoResponse) value);
+        }
+        writer.flush();
+        assertEquals(objectMapper.writeValueAsString(value), out.toString(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,122 @@
+package com.todolist.backend.repository;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionSynchronizationUtils;
+
+import java.sql.Connection;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ReplicaRouterTest {
+
+    private final List<HikariDataSource> replicas = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        for (int i = 0; i < 2; i++) {
+            HikariDataSource replica = new HikariDataSource();
+            replica.setJdbcUrl("jdbc:h2:mem:router-replica-" + i);
+            replica.setUsername("sa");
+            replica.setPoolName("replica-" + i);
+            replicas.add(replica);
+        }
+    }
+
+    @AfterEach
+    void tearDown() {
+        replicas.forEach(HikariDataSource::close);
+        ReplicaRouter.clearClient();
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clear();
+        }
+    }
+
+    @Test
+    void route_RoundRobin_ShouldAlternateReplicasForReadOnlyTransactions() {
+        // Given
+        ReplicaRouter router = new ReplicaRouter(replicas, ReplicaRouter.Balance.ROUND_ROBIN, Duration.ofSeconds(2));
+        begin(true);
+
+        // When
+        List<String> routed = List.of(router.route(), router.route(), router.route(), router.route());
+
+        // Then
+        assertEquals(List.of("replica-0", "replica-1", "replica-0", "replica-1"), routed);
+        assertEquals(4, router.getReplicaConnections());
+        assertEquals(ReplicaRouter.PRIMARY, ReplicaRouter.onPrimary(router::route));
+    }
+
+    @Test
+    void route_LeastLoaded_ShouldAvoidTheBusyReplica() throws Exception {
+        // Given
+        ReplicaRouter router = new ReplicaRouter(replicas, ReplicaRouter.Balance.LEAST_LOADED, Duration.ofSeconds(2));
+        begin(true);
+
+        // When & Then
+        try (Connection held = replicas.get(0).getConnection()) {
+            for (int i = 0; i < 4; i++) {
+                assertEquals("replica-1", router.route());
+            }
+        }
+    }
+
+    @Test
+    void route_AfterACommittedWrite_ShouldKeepTheTenantOnThePrimary() {
+        // Given
+        ReplicaRouter router = new ReplicaRouter(replicas, ReplicaRouter.Balance.ROUND_ROBIN, Duration.ofSeconds(2));
+        begin(false);
+
+        // When
+        String written = TenantContext.call("acme", null, router::route);
+        TransactionSynchronizationUtils.invokeAfterCommit(TransactionSynchronizationManager.getSynchronizations());
+        TransactionSynchronizationManager.clear();
+        begin(true);
+
+        // Then
+        assertEquals(ReplicaRouter.PRIMARY, written);
+        assertEquals(ReplicaRouter.PRIMARY, TenantContext.call("acme", null, router::route));
+        assertEquals("replica-0", TenantContext.call("other", null, router::route));
+        assertEquals(ReplicaRouter.PRIMARY, TenantContext.call(TenantContext.ALL_TENANTS, null, router::route));
+        assertEquals(1, router.stickyTenants());
+    }
+
+    @Test
+    void route_WithAClientToken_ShouldKeepOnlyThatClientOnThePrimary() {
+        // Given
+        ReplicaRouter router = new ReplicaRouter(replicas, ReplicaRouter.Balance.ROUND_ROBIN, Duration.ofSeconds(2));
+        List<Long> tokens = new ArrayList<>();
+        ReplicaRouter.setClient(0L, tokens::add);
+        begin(false);
+
+        // When
+        router.route();
+        TransactionSynchronizationUtils.invokeAfterCommit(TransactionSynchronizationManager.getSynchronizations());
+        TransactionSynchronizationManager.clear();
+        ReplicaRouter.clearClient();
+        begin(true);
+
+        // Then
+        assertEquals(1, tokens.size());
+        ReplicaRouter.setClient(tokens.get(0), token -> { });
+        assertEquals(ReplicaRouter.PRIMARY, router.route());
+        // Another client of the same tenant is not held back by that write
+        ReplicaRouter.setClient(0L, token -> { });
+        assertEquals("replica-0", router.route());
+        // Without a token, the tenant's write still counts
+        ReplicaRouter.clearClient();
+        assertEquals(ReplicaRouter.PRIMARY, router.route());
+    }
+
+    private static void begin(boolean readOnly) {
+        TransactionSynchronizationManager.initSynchronization();
+        TransactionSynchronizationManager.setActualTransactionActive(true);
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(readOnly);
+    }
+}
@@ -0,0 +1,64 @@
+package com.todolist.backend.repository;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TenantShardRingTest {
+
+    private static final int TENANTS = 10_000;
+
+    @Test
+    void shardFor_ShouldSpreadTenantsEvenly() {
+        // Given
+        TenantShardRing ring = new TenantShardRing(List.of("a", "b", "c", "d"), 160);
+
+        // When
+        Map<String, Integer> placed = new HashMap<>();
+        for (int tenant = 0; tenant < TENANTS; tenant++) {
+            placed.merge(ring.shardFor("tenant-" + tenant), 1, Integer::sum);
+        }
+
+        // Then
+        assertEquals(4, placed.size());
+        placed.values().forEach(count -> assertTrue(count > TENANTS / 4 * 0.8 && count < TENANTS / 4 * 1.2,
+                "Unbalanced placement: " + placed));
+    }
+
+    @Test
+    void shardFor_WhenShardIsAdded_ShouldOnlyMoveTenantsOntoIt() {
+        // Given
+        TenantShardRing before = new TenantShardRing(List.of("a", "b", "c"), 160);
+        TenantShardRing after = new TenantShardRing(List.of("a", "b", "c", "d"), 160);
+
+        // When
+        int moved = 0;
+        for (int tenant = 0; tenant < TENANTS; tenant++) {
+            String was = before.shardFor("tenant-" + tenant);
+            String is = after.shardFor("tenant-" + tenant);
+            if (!was.equals(is)) {
+                assertEquals("d", is);
+                moved++;
+            }
+        }
+
+        // Then
+        assertTrue(moved > TENANTS / 4 * 0.8 && moved < TENANTS / 4 * 1.2, "Moved " + moved);
+    }
+
+    @Test
+    void shardFor_ShouldBeStableAndKeepDeclarationOrder() {
+        // Given
+        TenantShardRing ring = new TenantShardRing(List.of("a", "b"), 160);
+
+        // When & Then
+        assertEquals(ring.shardFor("acme"), new TenantShardRing(List.of("b", "a"), 160).shardFor("acme"));
+        assertEquals(0, ring.indexOf("a"));
+        assertEquals(1, ring.indexOf("b"));
+        assertThrows(IllegalArgumentException.class, () -> new TenantShardRing(List.of(), 160));
+    }
+}
@@ -0,0 +1,141 @@
+package com.todolist.backend.repository;
+
+import com.todolist.backend.dto.TodoResponse;
+import com.todolist.backend.model.Todo;
+import org.hibernate.Session;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.Limit;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+        + "com.todolist.backend.repository.SqlStatementRecorder")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ActiveProfiles("test")
+class TodoRepositoryTest {
+
+    @Autowired
+    private TodoRepository todoRepository;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @BeforeEach
+    void setUp() {
+        todoRepository.deleteAll();
+        todoRepository.saveAll(IntStream.range(0, 30)
+                .mapToObj(i -> Todo.builder().title("Todo " + i).completed(i % 3 == 0).build())
+                .toList());
+        todoRepository.flush();
+        SqlStatementRecorder.clear();
+    }
+
+    @Test
+    void secondLevelCache_WithoutL2cacheProfile_ShouldBeOff() {
+        // When
+        SessionFactoryImplementor sessionFactory = entityManager.getEntityManager().getEntityManagerFactory()
+                .unwrap(SessionFactoryImplementor.class);
+
+        // Then
+        assertFalse(sessionFactory.getSessionFactoryOptions().isSecondLevelCacheEnabled());
+        assertFalse(sessionFactory.getSessionFactoryOptions().isQueryCacheEnabled());
+    }
+
+    @Test
+    void findResponses_WithOffsetPage_ShouldLimitAndOffsetInSql() {
+        // When
+        List<TodoResponse> page = todoRepository.findResponses(new OffsetPageRequest(7, 5));
+
+        // Then
+        assertEquals(5, page.size());
+
+        assertPaginated(singleStatementStartingWith("select t1_0.id"));
+        assertTrue(SqlStatementRecorder.statements().stream().noneMatch(sql -> sql.toLowerCase(Locale.ROOT).contains("count(")));
+    }
+
+    @Test
+    void findResponses_ShouldNotManageEntities() {
+        // Given
+        entityManager.clear();
+
+        // When
+        List<TodoResponse> page = todoRepository.findResponses(new OffsetPageRequest(0, 20));
+
+        // Then
+        assertEquals(20, page.size());
+        assertEquals(0, entityManager.getEntityManager().unwrap(Session.class).getStatistics().getEntityCount());
+        assertFalse(singleStatementStartingWith("select t1_0.id").contains("version"));
+    }
+
+    @Test
+    void findResponsesByCompleted_WithOffsetPage_ShouldFilterAndPaginateInSql() {
+        // When
+        List<TodoResponse> page = todoRepository.findResponsesByCompleted(true, new OffsetPageRequest(2, 3));
+
+        // Then
+        assertEquals(3, page.size());
+        assertTrue(page.stream().allMatch(TodoResponse::getCompleted));
+
+        String select = singleStatementStartingWith("select t1_0.id");
+        assertTrue(select.contains("where"));
+        assertPaginated(select);
+    }
+
+    @Test
+    void findKeysetPageAfter_ShouldWalkAllRowsInStableOrder() {
+        // Given
+        todoRepository.deleteAll();
+        LocalDateTime sameInstant = LocalDateTime.of(2025, 1, 27, 9, 0);
+        List<Todo> saved = todoRepository.saveAllAndFlush(IntStream.range(0, 7)
+                .mapToObj(i -> Todo.builder().title("Tied " + i).completed(false).build())
+                .toList());
+        // Collapse createdAt so the id tiebreaker decides the order
+        entityManager.getEntityManager()
+                .createNativeQuery("UPDATE todos SET created_at = ?1")
+                .setParameter(1, sameInstant)
+                .executeUpdate();
+        entityManager.clear();
+
+        // When
+        List<Long> walked = new ArrayList<>();
+        List<TodoResponse> page = todoRepository.findFirstKeysetPage(Limit.of(3));
+        while (!page.isEmpty()) {
+            page.forEach(todo -> walked.add(todo.getId()));
+            TodoResponse last = page.get(page.size() - 1);
+            page = todoRepository.findKeysetPageAfter(last.getCreatedAt(), last.getId(), Limit.of(3));
+        }
+
+        // Then
+        assertEquals(saved.stream().map(Todo::getId).sorted().toList(), walked);
+    }
+
+    private static void assertPaginated(String sql) {
+        // H2 renders LIMIT as "fetch first ? rows only"; MariaDB renders it as "limit ?"
+        assertTrue(sql.contains("offset") || sql.matches("(?s).*limit \\?\\s*,.*"),
+                () -> "Expected OFFSET in: " + sql);
+        assertTrue(sql.contains("limit") || sql.contains("fetch first"),
+                () -> "Expected LIMIT in: " + sql);
+    }
+
+    private static String singleStatementStartingWith(String prefix) {
+        List<String> matching = SqlStatementRecorder.statements().stream()
+                .map(sql -> sql.replaceAll("\\s+", " ").trim().toLowerCase(Locale.ROOT))
+                .filter(sql -> sql.startsWith(prefix))
+                .toList();
+        assertEquals(1, matching.size(), () -> "Statements: " + SqlStatementRecorder.statements());
+        return matching.get(0);
+    }
+}
@@ -0,0 +1,89 @@
+package com.todolist.backend.repository;
+
+import com.todolist.backend.model.Todo;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.Locale;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(properties = {
+        "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+                + "com.todolist.backend.repository.SqlStatementRecorder",
+        "spring.jpa.properties.hibernate.generate_statistics=true"
+})
+@ActiveProfiles({"test", "l2cache"})
+class TodoSecondLevelCacheTest {
+
+    @Autowired
+    private TodoRepository todoRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        todoRepository.deleteAll();
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        SqlStatementRecorder.clear();
+    }
+
+    @Test
+    void findById_RepeatedInNewTransactions_ShouldNotHitDatabase() {
+        // Given
+        Long id = todoRepository.save(Todo.builder().title("Hot todo").completed(false).build()).getId();
+        transactionTemplate.execute(status -> todoRepository.findById(id));
+        SqlStatementRecorder.clear();
+
+        // When
+        for (int i = 0; i < 3; i++) {
+            Optional<Todo> todo = transactionTemplate.execute(status -> todoRepository.findById(id));
+            assertEquals("Hot todo", todo.orElseThrow().getTitle());
+        }
+
+        // Then
+        assertEquals(List.of(), selects());
+        assertTrue(statistics.getSecondLevelCacheHitCount() >= 3);
+    }
+
+    @Test
+    void deleteCompletedTodos_ShouldInvalidateCachedEntities() {
+        // Given
+        Long completedId = todoRepository.save(Todo.builder().title("Done").completed(true).build()).getId();
+        Long activeId = todoRepository.save(Todo.builder().title("Open").completed(false).build()).getId();
+        transactionTemplate.execute(status -> todoRepository.findById(completedId));
+        // Populate the query cache for both filters
+        assertEquals(1, transactionTemplate.execute(status -> todoRepository.findByCompleted(true)).size());
+        assertEquals(1, transactionTemplate.execute(status -> todoRepository.findByCompleted(false)).size());
+
+        // When
+        transactionTemplate.executeWithoutResult(status -> todoRepository.deleteCompletedTodos());
+
+        // Then
+        assertTrue(transactionTemplate.execute(status -> todoRepository.findById(completedId)).isEmpty());
+        assertTrue(transactionTemplate.execute(status -> todoRepository.findById(activeId)).isPresent());
+        assertEquals(List.of(), transactionTemplate.execute(status -> todoRepository.findByCompleted(true)));
+    }
+
+    private static List<String> selects() {
+        return SqlStatementRecorder.statements().stream()
+                .filter(sql -> sql.trim().toLowerCase(Locale.ROOT).startsWith("select"))
+                .toList();
+    }
+}
@@ -0,0 +1,113 @@
+package com.todolist.backend.service;
+
+import com.todolist.backend.repository.SyncInFlightRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class TodoChangeVersionTest {
+    
+    @Autowired
+    private TodoChangeVersion todoChangeVersion;
+    
+    @Autowired
+    private SyncInFlightRepository syncInFlightRepository;
+    
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+    
+    @Test
+    void next_ShouldHandOutOneVersionPerTransaction() {
+        // Given
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        
+        // When
+        long[] first = transaction.execute(status -> new long[] {todoChangeVersion.next(), todoChangeVersion.next()});
+        long second = transaction.execute(status -> todoChangeVersion.next());
+        
+        // Then
+        assertEquals(first[0], first[1]);
+        assertTrue(second > first[0]);
+        assertTrue(todoChangeVersion.position().highWaterMark() >= second);
+    }
+    
+    @Test
+    void highWaterMark_ShouldStayBelowOpenTransactions() throws Exception {
+        // Given
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        CountDownLatch allocated = new CountDownLatch(1);
+        CountDownLatch finish = new CountDownLatch(1);
+        CompletableFuture<Long> open = CompletableFuture.supplyAsync(() -> transaction.execute(status -> {
+            long version = todoChangeVersion.next();
+            allocated.countDown();
+            await(finish);
+            return version;
+        }));
+        assertTrue(allocated.await(10, TimeUnit.SECONDS));
+        
+        // When
+        long committed = transaction.execute(status -> todoChangeVersion.next());
+        long whileOpen = todoChangeVersion.position().highWaterMark();
+        finish.countDown();
+        long version = open.get(10, TimeUnit.SECONDS);
+        
+        // Then
+        assertTrue(committed > version);
+        // The later version has finished, but the open one may still commit and must not be skipped
+        assertEquals(version - 1, whileOpen);
+        assertTrue(todoChangeVersion.position().highWaterMark() >= committed);
+    }
+    
+    @Test
+    void highWaterMark_ShouldAdvanceOnceTransactionRollsBack() {
+        // Given
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        
+        // When
+        long version = transaction.execute(status -> {
+            status.setRollbackOnly();
+            return todoChangeVersion.next();
+        });
+        
+        // Then
+        assertTrue(todoChangeVersion.position().highWaterMark() >= version);
+        assertFalse(syncInFlightRepository.existsById(version));
+    }
+    
+    @Test
+    void highWaterMark_ShouldIgnoreVersionsAbandonedLongAgo() {
+        // Given
+        long before = todoChangeVersion.position().highWaterMark();
+        new TransactionTemplate(transactionManager).executeWithoutResult(status ->
+                syncInFlightRepository.insert(before, LocalDateTime.now().minusDays(1)));
+        
+        // When
+        long highWaterMark = todoChangeVersion.position().highWaterMark();
+        int purged = new TransactionTemplate(transactionManager).execute(status -> todoChangeVersion.purgeAbandoned());
+        
+        // Then
+        assertEquals(before, highWaterMark);
+        assertEquals(1, purged);
+    }
+    
+    private static void await(CountDownLatch latch) {
+        try {
+            assertTrue(latch.await(10, TimeUnit.SECONDS));
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(ex);
+        }
+    }
+}
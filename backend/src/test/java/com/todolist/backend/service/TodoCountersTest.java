@@ -0,0 +1,89 @@
+package com.todolist.backend.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TodoCountersTest {
+
+    private final TodoCounters todoCounters = new TodoCounters();
+
+    @Test
+    void correct_WithoutAdjustmentsSinceTheSnapshot_ShouldSetTheCounts() {
+        // Given
+        todoCounters.adjust("acme", 3, 1);
+        TodoCounters.Snapshot snapshot = todoCounters.snapshot("acme");
+
+        // When
+        boolean corrected = todoCounters.correct("acme", snapshot, 5, 2);
+
+        // Then
+        assertTrue(corrected);
+        assertEquals(5, todoCounters.total("acme"));
+        assertEquals(2, todoCounters.completed("acme"));
+    }
+
+    @Test
+    void correct_AfterAnAdjustmentSinceTheSnapshot_ShouldLeaveOnlyThatTenantAlone() {
+        // Given
+        todoCounters.adjust("busy", 3, 1);
+        todoCounters.adjust("quiet", 1, 0);
+        TodoCounters.Snapshot busy = todoCounters.snapshot("busy");
+        TodoCounters.Snapshot quiet = todoCounters.snapshot("quiet");
+        // A write counted by the queries adjusts after the snapshot
+        todoCounters.adjust("busy", 1, 0);
+
+        // When
+        boolean busyCorrected = todoCounters.correct("busy", busy, 4, 1);
+        boolean quietCorrected = todoCounters.correct("quiet", quiet, 2, 1);
+
+        // Then
+        assertFalse(busyCorrected);
+        assertEquals(4, todoCounters.total("busy"));
+        assertTrue(quietCorrected);
+        assertEquals(2, todoCounters.total("quiet"));
+        assertEquals(1, todoCounters.completed("quiet"));
+    }
+
+    @Test
+    void correct_ForATenantFirstSeenByTheQueries_ShouldCreateItsCounts() {
+        // When
+        boolean corrected = todoCounters.correct("new", todoCounters.snapshot("new"), 7, 3);
+
+        // Then
+        assertTrue(corrected);
+        assertEquals(7, todoCounters.total("new"));
+        assertEquals(3, todoCounters.completed("new"));
+    }
+
+    @Test
+    void correct_WhileWritersAdjustConcurrently_ShouldNeitherLoseNorRepeatAnAdjustment() throws Exception {
+        // Given
+        int writers = 4;
+        int adjustmentsPerWriter = 20_000;
+        ExecutorService executor = Executors.newFixedThreadPool(writers);
+        for (int writer = 0; writer < writers; writer++) {
+            executor.submit(() -> {
+                for (int i = 0; i < adjustmentsPerWriter; i++) {
+                    todoCounters.adjust("acme", 1, 0);
+                }
+            });
+        }
+
+        // When: the counts drifted 10 below the database until one correction gets through
+        boolean corrected = false;
+        while (!corrected) {
+            TodoCounters.Snapshot snapshot = todoCounters.snapshot("acme");
+            corrected = todoCounters.correct("acme", snapshot, snapshot.total() + 10, snapshot.completed());
+        }
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(30, TimeUnit.SECONDS));
+
+        // Then
+        assertEquals(10 + (long) writers * adjustmentsPerWriter, todoCounters.total("acme"));
+    }
+}
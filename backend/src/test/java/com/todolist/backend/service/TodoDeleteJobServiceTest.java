@@ -0,0 +1,98 @@
+package com.todolist.backend.service;
+
+import com.todolist.backend.dto.TodoDeleteJobResponse;
+import com.todolist.backend.dto.TodoRequest;
+import com.todolist.backend.dto.TodoResponse;
+import com.todolist.backend.repository.TodoRepository;
+import com.todolist.backend.repository.TodoTombstoneRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Two rows per chunk, so a handful of todos already spans several transactions
+@SpringBootTest(properties = {
+        "todo.delete-jobs.chunk-size=2",
+        "todo.delete-jobs.chunk-pause=0ms"
+})
+@ActiveProfiles("test")
+class TodoDeleteJobServiceTest {
+
+    @Autowired
+    private TodoDeleteJobService todoDeleteJobService;
+
+    @Autowired
+    private TodoService todoService;
+
+    @Autowired
+    private TodoStatsService todoStatsService;
+
+    @Autowired
+    private TodoRepository todoRepository;
+
+    @Autowired
+    private TodoTombstoneRepository todoTombstoneRepository;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        todoDeleteJobService.submit(TodoDeleteJob.Scope.ALL).completion().get(10, TimeUnit.SECONDS);
+        todoStatsService.reconcile();
+    }
+
+    @Test
+    void submit_Completed_ShouldDeleteCompletedTodosInChunks() throws Exception {
+        // Given
+        List<TodoResponse> created = todoService.createTodos(List.of(request("Open", false), request("Done 1", true),
+                request("Done 2", true), request("Done 3", true), request("Open too", false)));
+        long tombstonesBefore = todoTombstoneRepository.count();
+
+        // When
+        TodoDeleteJob job = todoDeleteJobService.submit(TodoDeleteJob.Scope.COMPLETED);
+        job.completion().get(10, TimeUnit.SECONDS);
+
+        // Then
+        TodoDeleteJobResponse status = todoDeleteJobService.find(job.getId()).orElseThrow().toResponse();
+        assertEquals("succeeded", status.getStatus());
+        assertEquals(3L, status.getDeleted());
+        assertEquals(2L, status.getChunks());
+        assertEquals(3L, status.getEstimatedTotal());
+        assertNotNull(status.getFinishedAt());
+        assertEquals(List.of(created.get(0).getId(), created.get(4).getId()),
+                todoRepository.findAll().stream().map(todo -> todo.getId()).sorted().toList());
+        assertEquals(tombstonesBefore + 3, todoTombstoneRepository.count());
+        assertEquals(2L, todoStatsService.getStats().getTotal());
+        assertEquals(0L, todoStatsService.getStats().getCompleted());
+    }
+
+    @Test
+    void submit_All_ShouldKeepCountersExact() throws Exception {
+        // Given
+        todoService.createTodos(List.of(request("One", true), request("Two", false), request("Three", false)));
+
+        // When
+        TodoDeleteJob job = todoDeleteJobService.submit(TodoDeleteJob.Scope.ALL);
+        job.completion().get(10, TimeUnit.SECONDS);
+
+        // Then
+        assertEquals(TodoDeleteJob.Status.SUCCEEDED, job.getStatus());
+        assertEquals(3L, job.getDeleted());
+        assertEquals(0L, todoRepository.count());
+        assertEquals(0L, todoStatsService.getStats().getTotal());
+        assertTrue(todoStatsService.reconcile());
+        assertEquals(0L, todoStatsService.getStats().getCompleted());
+        assertTrue(todoDeleteJobService.find("unknown").isEmpty());
+    }
+
+    private static TodoRequest request(String title, Boolean completed) {
+        TodoRequest request = new TodoRequest();
+        request.setTitle(title);
+        request.setCompleted(completed);
+        return request;
+    }
+}
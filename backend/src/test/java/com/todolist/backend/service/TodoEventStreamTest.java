@@ -0,0 +1,124 @@
+package com.todolist.backend.service;
+
+import com.todolist.backend.dto.TodoChangeEvent;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TodoEventStreamTest {
+
+    private final TodoDataVersion todoDataVersion = new TodoDataVersion();
+    private final BlockingQueue<TodoChangeEvent> sent = new LinkedBlockingQueue<>();
+    private CountDownLatch blockSends = new CountDownLatch(0);
+    private TodoEventStream stream;
+
+    @AfterEach
+    void tearDown() {
+        blockSends.countDown();
+        stream.shutdown();
+    }
+
+    @Test
+    void subscribe_WithLastEventId_ShouldReplayMissedEvents() throws Exception {
+        // Given
+        stream = newStream(16);
+        stream.onChange(TodoChangeEvent.deleted(1L));
+        stream.onChange(TodoChangeEvent.deleted(2L));
+        stream.onChange(TodoChangeEvent.deleted(3L));
+
+        // When
+        stream.subscribe(todoDataVersion.epoch() + "-1");
+        stream.onChange(TodoChangeEvent.deleted(4L));
+
+        // Then
+        assertEquals(2L, nextSent().getId());
+        assertEquals(3L, nextSent().getId());
+        assertEquals(4L, nextSent().getId());
+    }
+
+    @Test
+    void subscribe_WithoutLastEventId_ShouldOnlyReceiveNewEvents() throws Exception {
+        // Given
+        stream = newStream(16);
+        stream.onChange(TodoChangeEvent.deleted(1L));
+
+        // When
+        stream.subscribe(null);
+        stream.onChange(TodoChangeEvent.resync());
+
+        // Then
+        assertEquals(TodoChangeEvent.RESYNC, nextSent().getType());
+        assertTrue(sent.isEmpty());
+    }
+
+    @Test
+    void subscribe_WithIdFromAnotherProcess_ShouldSendResync() throws Exception {
+        // Given
+        stream = newStream(16);
+        stream.onChange(TodoChangeEvent.deleted(1L));
+
+        // When
+        stream.subscribe("otherepoch-1");
+
+        // Then
+        assertEquals(TodoChangeEvent.RESYNC, nextSent().getType());
+    }
+
+    @Test
+    void onChange_WhenSubscriberFallsBehind_ShouldDropOnlyThatSubscriber() throws Exception {
+        // Given
+        stream = newStream(2);
+        blockSends = new CountDownLatch(1);
+        stream.subscribe(null);
+
+        // When
+        for (long id = 1; id <= 10; id++) {
+            stream.onChange(TodoChangeEvent.deleted(id));
+        }
+
+        // Then
+        assertEquals(1L, stream.getDroppedSubscribers());
+        assertEquals(0, stream.getSubscriberCount());
+        assertEquals(10L, stream.getPublishedEvents());
+    }
+
+    private TodoEventStream newStream(int bufferSize) {
+        return new TodoEventStream(todoDataVersion, bufferSize, 4, Duration.ofMinutes(1), Duration.ofMinutes(1)) {
+            @Override
+            SseEmitter createEmitter(long timeout) {
+                return new RecordingEmitter();
+            }
+        };
+    }
+
+    private TodoChangeEvent nextSent() throws InterruptedException {
+        TodoChangeEvent event = sent.poll(5, TimeUnit.SECONDS);
+        assertNotNull(event, "No event was sent");
+        return event;
+    }
+
+    private class RecordingEmitter extends SseEmitter {
+
+        @Override
+        public void send(SseEventBuilder builder) throws IOException {
+            try {
+                blockSends.await();
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                throw new IOException(ex);
+            }
+            builder.build().stream()
+                    .filter(data -> data.getData() instanceof TodoChangeEvent)
+                    .forEach(data -> sent.add((TodoChangeEvent) data.getData()));
+        }
+    }
+}
@@ -0,0 +1,108 @@
+package com.todolist.backend.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.todolist.backend.model.Todo;
+import com.todolist.backend.repository.TodoRepository;
+import jakarta.persistence.EntityManager;
+import org.hibernate.Session;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class TodoExportServiceTest {
+    
+    @Autowired
+    private TodoExportService todoExportService;
+    
+    @Autowired
+    private TodoRepository todoRepository;
+    
+    @Autowired
+    private EntityManager entityManager;
+    
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+    
+    @Autowired
+    private ObjectMapper objectMapper;
+    
+    @BeforeEach
+    void setUp() {
+        todoRepository.deleteAll();
+    }
+    
+    @Test
+    void export_AsNdjson_ShouldWriteOneObjectPerLineInIdOrder() throws Exception {
+        // Given
+        List<Todo> saved = todoRepository.saveAll(IntStream.range(0, 2500)
+                .mapToObj(i -> Todo.builder().title("Export " + i).completed(i % 2 == 0).build())
+                .toList());
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        
+        // When
+        long rows = todoExportService.export(TodoExportFormat.NDJSON, out);
+        
+        // Then
+        String[] lines = out.toString(StandardCharsets.UTF_8).split("\n");
+        assertEquals(2500L, rows);
+        assertEquals(2500, lines.length);
+        JsonNode first = objectMapper.readTree(lines[0]);
+        assertEquals(saved.get(0).getId(), first.get("id").asLong());
+        assertEquals("Export 0", first.get("title").asText());
+        assertTrue(first.get("createdAt").isTextual());
+        assertEquals(saved.get(2499).getId(), objectMapper.readTree(lines[2499]).get("id").asLong());
+    }
+    
+    @Test
+    void export_AsCsv_ShouldQuoteSpecialCharacters() throws Exception {
+        // Given
+        Todo todo = todoRepository.save(Todo.builder()
+                .title("Buy milk, eggs")
+                .description("Say \"hi\"\nto the cashier")
+                .completed(true)
+                .build());
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        
+        // When
+        todoExportService.export(TodoExportFormat.CSV, out);
+        
+        // Then
+        String csv = out.toString(StandardCharsets.UTF_8);
+        assertTrue(csv.startsWith("id,title,description,completed,createdAt,updatedAt\n"));
+        assertTrue(csv.contains(todo.getId() + ",\"Buy milk, eggs\",\"Say \"\"hi\"\"\nto the cashier\",true,"), csv);
+    }
+    
+    @Test
+    void export_ShouldLeaveNoManagedEntitiesBehind() {
+        // Given
+        todoRepository.saveAll(IntStream.range(0, 300)
+                .mapToObj(i -> Todo.builder().title("Export " + i).completed(false).build())
+                .toList());
+        
+        // When
+        int managed = transactionTemplate.execute(status -> {
+            try {
+                todoExportService.export(TodoExportFormat.NDJSON, new ByteArrayOutputStream());
+            } catch (Exception ex) {
+                throw new IllegalStateException(ex);
+            }
+            return entityManager.unwrap(Session.class).getStatistics().getEntityCount();
+        });
+        
+        // Then
+        assertEquals(0, managed);
+    }
+}
@@ -0,0 +1,73 @@
+package com.todolist.backend.service;
+
+import com.todolist.backend.repository.TodoRepository;
+import com.todolist.backend.repository.TodoTombstoneRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class TodoIdSequenceTest {
+
+    @Mock
+    private TodoRepository todoRepository;
+
+    @Mock
+    private TodoTombstoneRepository todoTombstoneRepository;
+
+    @Mock
+    private TodoShards todoShards;
+
+    @InjectMocks
+    private TodoIdSequence todoIdSequence;
+
+    @BeforeEach
+    void setUp() {
+        when(todoShards.names()).thenReturn(List.of("primary"));
+    }
+
+    @Test
+    void verify_WhenTheSequenceWasCreatedOverExistingRows_ShouldFail() {
+        // Given
+        // ddl-auto created the sequence on a table filled by AUTO_INCREMENT
+        when(todoRepository.nextIdSequenceValue()).thenReturn(1L);
+        when(todoRepository.findMaxId()).thenReturn(Optional.of(120L));
+        when(todoTombstoneRepository.findMaxTodoId()).thenReturn(Optional.empty());
+
+        // When & Then
+        IllegalStateException failure = assertThrows(IllegalStateException.class, () -> todoIdSequence.verify());
+        assertTrue(failure.getMessage().contains("RESTART WITH 170"));
+    }
+
+    @Test
+    void verify_WhenTheAllocationBelowTheValueHitsADeletedId_ShouldFail() {
+        // Given
+        // The pooled optimizer would hand out 101..150, and 130 was deleted
+        when(todoRepository.nextIdSequenceValue()).thenReturn(150L);
+        when(todoRepository.findMaxId()).thenReturn(Optional.of(90L));
+        when(todoTombstoneRepository.findMaxTodoId()).thenReturn(Optional.of(130L));
+
+        // When & Then
+        assertThrows(IllegalStateException.class, () -> todoIdSequence.verify());
+    }
+
+    @Test
+    void verify_WhenTheSequenceIsAnAllocationAboveEveryId_ShouldPass() {
+        // Given
+        when(todoRepository.nextIdSequenceValue()).thenReturn(151L);
+        when(todoRepository.findMaxId()).thenReturn(Optional.of(101L));
+        when(todoTombstoneRepository.findMaxTodoId()).thenReturn(Optional.of(100L));
+
+        // When & Then
+        assertDoesNotThrow(() -> todoIdSequence.verify());
+    }
+}
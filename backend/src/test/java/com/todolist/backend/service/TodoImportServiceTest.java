@@ -0,0 +1,90 @@
+package com.todolist.backend.service;
+
+import com.todolist.backend.dto.TodoImportResponse;
+import com.todolist.backend.model.Todo;
+import com.todolist.backend.repository.TodoRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(properties = "todo.import.chunk-size=100")
+@ActiveProfiles("test")
+class TodoImportServiceTest {
+    
+    @Autowired
+    private TodoImportService todoImportService;
+    
+    @Autowired
+    private TodoRepository todoRepository;
+    
+    @Autowired
+    private TodoDataVersion todoDataVersion;
+    
+    @BeforeEach
+    void setUp() {
+        todoRepository.deleteAll();
+    }
+    
+    @Test
+    void importTodos_ShouldInsertAllLinesInChunks() throws Exception {
+        // Given
+        String body = IntStream.range(0, 250)
+                .mapToObj(i -> "{\"title\": \"Imported " + i + "\", \"completed\": " + (i % 2 == 0) + "}")
+                .collect(Collectors.joining("\n"));
+        long versionBefore = todoDataVersion.current();
+        
+        // When
+        TodoImportResponse response = todoImportService.importTodos(stream(body));
+        
+        // Then
+        assertEquals(250L, response.getImported());
+        assertEquals(0L, response.getFailed());
+        assertTrue(response.getErrors().isEmpty());
+        assertNotNull(response.getRowsPerSecond());
+        assertEquals(250L, todoRepository.count());
+        // One committed transaction per chunk of 100
+        assertEquals(versionBefore + 3, todoDataVersion.current());
+    }
+    
+    @Test
+    void importTodos_ShouldReportInvalidLinesAndKeepValidOnes() throws Exception {
+        // Given
+        String body = String.join("\n",
+                "{\"title\": \"First\"}",
+                "{\"title\": \"\"}",
+                "",
+                "not json",
+                "{\"title\": \"" + "x".repeat(256) + "\"}",
+                "null",
+                "{\"title\": \"Last\", \"description\": \"kept\"}");
+        
+        // When
+        TodoImportResponse response = todoImportService.importTodos(stream(body));
+        
+        // Then
+        assertEquals(2L, response.getImported());
+        assertEquals(4L, response.getFailed());
+        assertEquals(List.of(2L, 4L, 5L, 6L), response.getErrors().stream().map(error -> error.getLine()).toList());
+        assertTrue(response.getErrors().get(0).getMessage().startsWith("title: "));
+        assertTrue(response.getErrors().get(1).getMessage().startsWith("Malformed JSON"));
+        List<Todo> saved = todoRepository.findAll();
+        saved.sort(Comparator.comparing(Todo::getId));
+        assertEquals(List.of("First", "Last"), saved.stream().map(Todo::getTitle).toList());
+        assertEquals("kept", saved.get(1).getDescription());
+    }
+    
+    private static ByteArrayInputStream stream(String body) {
+        return new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8));
+    }
+}
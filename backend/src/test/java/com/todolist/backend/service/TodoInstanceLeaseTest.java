@@ -0,0 +1,93 @@
+package com.todolist.backend.service;
+
+import com.todolist.backend.model.InstanceLease;
+import com.todolist.backend.repository.InstanceLeaseRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Own database, so the lease taken at startup does not meet the other test contexts
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:lease;DB_CLOSE_DELAY=-1",
+        "todo.instance-lease.enabled=true",
+        "todo.instance-lease.ttl=30s"
+})
+@ActiveProfiles("test")
+class TodoInstanceLeaseTest {
+
+    @Autowired
+    private TodoInstanceLease todoInstanceLease;
+
+    @Autowired
+    private InstanceLeaseRepository instanceLeaseRepository;
+
+    @AfterEach
+    void tearDown() {
+        // Leave the lease with this context again
+        instanceLeaseRepository.deleteAll();
+        todoInstanceLease.acquire();
+    }
+
+    @Test
+    void startup_ShouldHoldTheLease() {
+        // When
+        InstanceLease lease = instanceLeaseRepository.findById(TodoInstanceLease.LEASE).orElseThrow();
+
+        // Then
+        assertEquals(todoInstanceLease.owner(), lease.getOwner());
+    }
+
+    @Test
+    void acquire_WhileAnotherInstanceHoldsAFreshLease_ShouldFail() {
+        // Given
+        instanceLeaseRepository.save(new InstanceLease(TodoInstanceLease.LEASE, "other-host:1/1", LocalDateTime.now()));
+
+        // When
+        IllegalStateException thrown = assertThrows(IllegalStateException.class, todoInstanceLease::acquire);
+
+        // Then
+        assertTrue(thrown.getMessage().contains("other-host:1/1"));
+        assertEquals("other-host:1/1", instanceLeaseRepository.findById(TodoInstanceLease.LEASE).orElseThrow().getOwner());
+    }
+
+    @Test
+    void acquire_AfterAnotherInstanceLeaseExpired_ShouldTakeItOver() {
+        // Given
+        instanceLeaseRepository.save(new InstanceLease(TodoInstanceLease.LEASE, "other-host:1/1",
+                LocalDateTime.now().minusMinutes(5)));
+
+        // When
+        todoInstanceLease.acquire();
+
+        // Then
+        assertEquals(todoInstanceLease.owner(),
+                instanceLeaseRepository.findById(TodoInstanceLease.LEASE).orElseThrow().getOwner());
+    }
+
+    @Test
+    void renew_AfterAnotherInstanceTookOver_ShouldLeaveItsLease() {
+        // Given
+        instanceLeaseRepository.save(new InstanceLease(TodoInstanceLease.LEASE, "other-host:1/1", LocalDateTime.now()));
+
+        // When
+        todoInstanceLease.renew();
+
+        // Then
+        assertEquals("other-host:1/1", instanceLeaseRepository.findById(TodoInstanceLease.LEASE).orElseThrow().getOwner());
+    }
+
+    @Test
+    void release_ShouldDeleteTheLease() {
+        // When
+        todoInstanceLease.release();
+
+        // Then
+        assertTrue(instanceLeaseRepository.findById(TodoInstanceLease.LEASE).isEmpty());
+    }
+}
@@ -0,0 +1,98 @@
+package com.todolist.backend.service;
+
+import com.todolist.backend.dto.TodoListResponse;
+import com.todolist.backend.dto.TodoResponse;
+import org.junit.jupiter.api.Test;
+import org.springframework.util.unit.DataSize;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TodoListCacheTest {
+    
+    @Test
+    void get_BeyondMaxEntries_ShouldEvictLeastRecentlyUsedPage() {
+        // Given
+        TodoListCache cache = new TodoListCache(true, 2, DataSize.ofMegabytes(1));
+        TodoListCache.Key first = TodoListCache.Key.offset(null, 50, 0);
+        TodoListCache.Key second = TodoListCache.Key.offset(null, 50, 50);
+        TodoListCache.Key third = TodoListCache.Key.offset(true, 50, 0);
+        cache.get(first, 0, this::page);
+        cache.get(second, 0, this::page);
+        cache.get(first, 0, this::page);
+        
+        // When
+        cache.get(third, 0, this::page);
+        
+        // Then
+        assertEquals(2, cache.size());
+        assertEquals(1L, cache.getEvictions());
+        assertEquals(1L, cache.getHits());
+        cache.get(first, 0, this::page);
+        assertEquals(2L, cache.getHits());
+        cache.get(second, 0, this::page);
+        assertEquals(4L, cache.getMisses());
+    }
+    
+    @Test
+    void get_WithNewerVersion_ShouldReload() {
+        // Given
+        TodoListCache cache = new TodoListCache(true, 8, DataSize.ofMegabytes(1));
+        TodoListCache.Key key = TodoListCache.Key.cursor(false, 10, "");
+        TodoListResponse stale = cache.get(key, 1, this::page);
+        
+        // When
+        TodoListResponse fresh = cache.get(key, 2, this::page);
+        
+        // Then
+        assertNotSame(stale, fresh);
+        assertSame(fresh, cache.get(key, 2, this::page));
+        assertEquals(2L, cache.getMisses());
+    }
+    
+    @Test
+    void get_WhenDisabled_ShouldAlwaysLoad() {
+        // Given
+        TodoListCache cache = new TodoListCache(false, 8, DataSize.ofMegabytes(1));
+        TodoListCache.Key key = TodoListCache.Key.offset(null, 50, 0);
+        
+        // When & Then
+        assertNotSame(cache.get(key, 0, this::page), cache.get(key, 0, this::page));
+        assertEquals(0, cache.size());
+    }
+    
+    @Test
+    void get_BeyondMaxSize_ShouldEvictByBytesAndSkipOversizedPages() {
+        // Given
+        TodoListResponse large = page("x".repeat(2_000));
+        long pageBytes = TodoListCache.estimateBytes(large);
+        TodoListCache cache = new TodoListCache(true, 100, DataSize.ofBytes(2 * pageBytes + pageBytes / 2));
+        TodoListCache.Key first = TodoListCache.Key.offset(null, 50, 0);
+        TodoListCache.Key second = TodoListCache.Key.offset(null, 50, 50);
+        TodoListCache.Key third = TodoListCache.Key.offset(null, 50, 100);
+        cache.get(first, 0, () -> large);
+        cache.get(second, 0, () -> large);
+        
+        // When
+        cache.get(third, 0, () -> large);
+        TodoListResponse oversized = page("x".repeat(10_000));
+        cache.get(TodoListCache.Key.offset(false, 50, 0), 0, () -> oversized);
+        
+        // Then
+        assertEquals(2, cache.size());
+        assertEquals(2 * pageBytes, cache.bytes());
+        assertEquals(1L, cache.getEvictions());
+        assertSame(large, cache.get(third, 0, this::page));
+        assertNotSame(large, cache.get(first, 0, this::page));
+    }
+    
+    private TodoListResponse page(String description) {
+        TodoResponse item = TodoResponse.builder().id(1L).title("Large").description(description).completed(false).build();
+        return TodoListResponse.builder().items(List.of(item)).total(1L).limit(50).offset(0).build();
+    }
+    
+    private TodoListResponse page() {
+        return TodoListResponse.builder().items(List.of()).total(0L).limit(50).offset(0).build();
+    }
+}
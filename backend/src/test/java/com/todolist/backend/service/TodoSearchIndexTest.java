@@ -0,0 +1,204 @@
+package com.todolist.backend.service;
+
+import com.todolist.backend.dto.TodoResponse;
+import com.todolist.backend.exception.SearchUnavailableException;
+import com.todolist.backend.repository.TenantContext;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TodoSearchIndexTest {
+    
+    private static final LocalDateTime CREATED = LocalDateTime.of(2025, 1, 27, 9, 0);
+    
+    @Test
+    void tokenize_ShouldSplitWordsAndIdeographs() {
+        assertEquals(List.of("learn", "spring", "boot", "3", "0"), TodoSearchIndex.tokenize("Learn Spring-Boot 3.0!"));
+        assertEquals(List.of("学", "习", "spring", "boot"), TodoSearchIndex.tokenize("学习Spring Boot"));
+    }
+    
+    @Test
+    void search_ShouldRankTitleMatchesFirstAndRequireEveryToken() {
+        // Given
+        TodoSearchIndex index = loadedIndex(100);
+        index.put(todo(1L, "Write docs", "Mention the spring release", false, 0));
+        index.put(todo(2L, "Spring cleaning", "Garage and attic", false, 1));
+        index.put(todo(3L, "Spring boot upgrade", null, false, 2));
+        
+        // When
+        TodoSearchIndex.Result spring = index.search("spring", null, 0, 10);
+        TodoSearchIndex.Result springBoot = index.search("Spring BOOT", null, 0, 10);
+        
+        // Then
+        assertEquals(3, spring.total());
+        assertEquals(1L, spring.ids().get(2));
+        assertEquals(List.of(3L), springBoot.ids());
+    }
+    
+    @Test
+    void search_ShouldMatchPrefixesAndIdeographs() {
+        // Given
+        TodoSearchIndex index = loadedIndex(100);
+        index.put(todo(1L, "Deploy application", null, false, 0));
+        index.put(todo(2L, "部署应用", "将应用部署到生产环境", false, 1));
+        
+        // Then
+        assertEquals(List.of(1L), index.search("depl", null, 0, 10).ids());
+        assertEquals(List.of(), index.search("d", null, 0, 10).ids());
+        assertEquals(List.of(2L), index.search("部署", null, 0, 10).ids());
+    }
+    
+    @Test
+    void search_ShouldApplyCompletedFilterAndPaging() {
+        // Given
+        TodoSearchIndex index = loadedIndex(100);
+        for (long id = 1; id <= 5; id++) {
+            index.put(todo(id, "Review item " + id, null, id % 2 == 0, (int) id));
+        }
+        
+        // When
+        TodoSearchIndex.Result open = index.search("review", false, 1, 2);
+        
+        // Then
+        assertEquals(3, open.total());
+        // Equal scores keep creation order
+        assertEquals(List.of(3L, 5L), open.ids());
+    }
+    
+    @Test
+    void updatesAndRemovals_ShouldBeReflected() {
+        // Given
+        TodoSearchIndex index = loadedIndex(100);
+        index.put(todo(1L, "Old title", null, false, 0));
+        index.put(todo(2L, "Done task", null, true, 1));
+        index.put(todo(3L, "Other task", null, false, 2));
+        
+        // When
+        index.put(todo(1L, "New title", null, false, 0));
+        index.applyBulkUpdate(Set.of(3L), null, null, "now tagged", true);
+        index.removeCompleted();
+        
+        // Then
+        assertEquals(0, index.search("old", null, 0, 10).total());
+        assertEquals(List.of(1L), index.search("new", null, 0, 10).ids());
+        assertEquals(0, index.search("task", null, 0, 10).total());
+        assertEquals(1, index.size());
+        
+        index.remove(1L);
+        assertEquals(0, index.size());
+        assertEquals(0, index.termCount());
+    }
+    
+    @Test
+    void put_WhenFull_ShouldEvictTheTenantSearchedLeastRecently() {
+        // Given
+        TodoSearchIndex index = new TodoSearchIndex(3);
+        load(index, "a", todo(1L, "Alpha one", null, false, 0), todo(2L, "Alpha two", null, false, 1));
+        load(index, "b", todo(3L, "Beta one", null, false, 2));
+        TenantContext.call("b", null, () -> index.search("beta", null, 0, 10));
+        
+        // When
+        TenantContext.run("b", null, () -> index.put(todo(4L, "Beta two", null, false, 3)));
+        
+        // Then
+        assertEquals(2, index.size());
+        assertEquals(1, index.tenantCount());
+        assertEquals(1L, index.evictions());
+        assertEquals(2, TenantContext.call("b", null, () -> index.search("beta", null, 0, 10)).total());
+        // Evicted whole, and loaded again on its next search
+        assertNull(TenantContext.call("a", null, () -> index.search("alpha", null, 0, 10)));
+        assertFalse(index.isLoaded("a"));
+    }
+    
+    @Test
+    void search_ForATenantLargerThanTheIndex_ShouldFailUntilItDeletesTodos() {
+        // Given
+        TodoSearchIndex index = new TodoSearchIndex(2);
+        load(index, "big", todo(1L, "One", null, false, 0), todo(2L, "Two", null, false, 1),
+                todo(3L, "Three", null, false, 2));
+        
+        // When & Then
+        assertFalse(index.isLoaded("big"));
+        assertEquals(0, index.size());
+        assertThrows(SearchUnavailableException.class,
+                () -> TenantContext.call("big", null, () -> index.search("one", null, 0, 10)));
+        TenantContext.run("big", null, () -> index.remove(3L));
+        assertNull(TenantContext.call("big", null, () -> index.search("one", null, 0, 10)));
+    }
+    
+    @Test
+    void load_ShouldKeepWritesCommittedMeanwhile() {
+        // Given
+        TodoSearchIndex index = new TodoSearchIndex(100);
+        assertTrue(index.beginLoad(TenantContext.DEFAULT_TENANT));
+        index.put(todo(1L, "Renamed", null, false, 0));
+        index.remove(2L);
+        
+        // When: the read returns the rows as they were before those writes
+        index.addLoaded(TenantContext.DEFAULT_TENANT, todo(1L, "Original", null, false, 0));
+        index.addLoaded(TenantContext.DEFAULT_TENANT, todo(2L, "Deleted", null, false, 1));
+        boolean loaded = index.finishLoad(TenantContext.DEFAULT_TENANT, true);
+        
+        // Then
+        assertTrue(loaded);
+        assertEquals(List.of(1L), index.search("renamed", null, 0, 10).ids());
+        assertEquals(0, index.search("original", null, 0, 10).total());
+        assertEquals(0, index.search("deleted", null, 0, 10).total());
+    }
+    
+    @Test
+    void load_ShouldApplyEditsOfRowsNotReadYet() {
+        // Given
+        TodoSearchIndex index = new TodoSearchIndex(100);
+        index.beginLoad(TenantContext.DEFAULT_TENANT);
+        index.applyEdit(1L, "Renamed", null);
+        index.applyEdit(1L, null, true);
+        
+        // When: the read returns the row as it was before the edits
+        index.addLoaded(TenantContext.DEFAULT_TENANT, todo(1L, "Original", null, false, 0));
+        boolean loaded = index.finishLoad(TenantContext.DEFAULT_TENANT, true);
+        
+        // Then
+        assertTrue(loaded);
+        assertEquals(List.of(1L), index.search("renamed", true, 0, 10).ids());
+        assertEquals(0, index.search("original", null, 0, 10).total());
+    }
+    
+    @Test
+    void load_WhenBulkUpdatedMeanwhile_ShouldFail() {
+        // Given
+        TodoSearchIndex index = new TodoSearchIndex(100);
+        index.beginLoad(TenantContext.DEFAULT_TENANT);
+        
+        // When
+        index.applyBulkUpdate(null, null, null, null, true);
+        
+        // Then
+        assertFalse(index.addLoaded(TenantContext.DEFAULT_TENANT, todo(1L, "Stale", null, false, 0)));
+        assertFalse(index.finishLoad(TenantContext.DEFAULT_TENANT, true));
+        assertNull(index.search("stale", null, 0, 10));
+    }
+    
+    // An index holding the default tenant, which has no todos yet
+    static TodoSearchIndex loadedIndex(int maxDocuments) {
+        TodoSearchIndex index = new TodoSearchIndex(maxDocuments);
+        load(index, TenantContext.DEFAULT_TENANT);
+        return index;
+    }
+    
+    private static void load(TodoSearchIndex index, String tenant, TodoResponse... todos) {
+        index.beginLoad(tenant);
+        for (TodoResponse todo : todos) {
+            index.addLoaded(tenant, todo);
+        }
+        index.finishLoad(tenant, true);
+    }
+    
+    private static TodoResponse todo(Long id, String title, String description, boolean completed, int minutes) {
+        return new TodoResponse(id, title, description, completed, CREATED.plusMinutes(minutes), CREATED.plusMinutes(minutes));
+    }
+}
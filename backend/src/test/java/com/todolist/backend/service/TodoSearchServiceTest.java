@@ -0,0 +1,127 @@
+package com.todolist.backend.service;
+
+import com.todolist.backend.dto.TodoBulkUpdateRequest;
+import com.todolist.backend.dto.TodoListResponse;
+import com.todolist.backend.dto.TodoRequest;
+import com.todolist.backend.dto.TodoResponse;
+import com.todolist.backend.model.Todo;
+import com.todolist.backend.repository.TenantContext;
+import com.todolist.backend.repository.TodoRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class TodoSearchServiceTest {
+    
+    @Autowired
+    private TodoSearchService todoSearchService;
+    
+    @Autowired
+    private TodoService todoService;
+    
+    @Autowired
+    private TodoDeleteJobService todoDeleteJobService;
+    
+    @Autowired
+    private TodoRepository todoRepository;
+    
+    @Autowired
+    private TodoSearchIndex todoSearchIndex;
+    
+    @BeforeEach
+    void setUp() {
+        todoDeleteJobService.submit(TodoDeleteJob.Scope.ALL).completion().join();
+    }
+    
+    @Test
+    void search_ShouldFollowCreateUpdateAndDelete() {
+        // Given
+        TodoResponse first = todoService.createTodo(request("Prepare release notes", "Summarize the changelog"));
+        TodoResponse second = todoService.createTodo(request("Plan the release party", null));
+        todoService.createTodo(request("Water the plants", null));
+        
+        // When
+        todoService.updateTodo(second.getId(), request("Plan the offsite", null));
+        TodoListResponse afterUpdate = todoSearchService.search("releas", null, 10, 0);
+        todoService.deleteTodo(first.getId());
+        TodoListResponse afterDelete = todoSearchService.search("release", null, 10, 0);
+        
+        // Then
+        assertEquals(1L, afterUpdate.getTotal());
+        assertEquals("Prepare release notes", afterUpdate.getItems().get(0).getTitle());
+        assertEquals(0L, afterDelete.getTotal());
+        assertTrue(afterDelete.getItems().isEmpty());
+    }
+    
+    @Test
+    void search_ShouldApplyCompletedFilterAfterBulkUpdate() {
+        // Given
+        List<TodoResponse> created = todoService.createTodos(List.of(
+                request("Review pull request", null), request("Review design doc", null), request("Lunch", null)));
+        TodoBulkUpdateRequest bulk = new TodoBulkUpdateRequest();
+        bulk.setIds(Set.of(created.get(0).getId()));
+        bulk.setCompleted(true);
+        todoService.bulkUpdateTodos(null, bulk);
+        
+        // When
+        TodoListResponse completed = todoSearchService.search("review", "true", 10, 0);
+        TodoListResponse open = todoSearchService.search("review", "false", 10, 0);
+        
+        // Then
+        assertEquals(List.of(created.get(0).getId()), completed.getItems().stream().map(TodoResponse::getId).toList());
+        assertEquals(List.of(created.get(1).getId()), open.getItems().stream().map(TodoResponse::getId).toList());
+        assertEquals(10, open.getLimit());
+    }
+    
+    @Test
+    void buildIndex_ShouldIndexRowsAlreadyInTheTable() {
+        // Given
+        todoSearchService.search("imported", null, 10, 0);
+        todoRepository.saveAndFlush(Todo.builder().title("Imported elsewhere").build());
+        assertEquals(0L, todoSearchService.search("imported", null, 10, 0).getTotal());
+        
+        // When
+        todoSearchService.buildIndex();
+        
+        // Then
+        assertEquals(1L, todoSearchService.search("imported", null, 10, 0).getTotal());
+    }
+    
+    @Test
+    void search_AfterTheTenantWasEvicted_ShouldLoadItAgainFromTheDatabase() {
+        // Given
+        TodoResponse kept = todoService.createTodo(request("Renew passport", null));
+        TodoResponse gone = todoService.createTodo(request("Renew library card", null));
+        todoService.deleteTodo(gone.getId());
+        todoSearchIndex.clear();
+        
+        // When
+        TodoListResponse result = todoSearchService.search("renew", null, 10, 0);
+        
+        // Then
+        assertTrue(todoSearchIndex.isLoaded(TenantContext.DEFAULT_TENANT));
+        assertEquals(1L, result.getTotal());
+        assertEquals(kept.getId(), result.getItems().get(0).getId());
+    }
+    
+    @Test
+    void search_WithBlankQuery_ShouldThrowException() {
+        assertThrows(IllegalArgumentException.class, () -> todoSearchService.search(" ", null, 10, 0));
+    }
+    
+    private static TodoRequest request(String title, String description) {
+        TodoRequest request = new TodoRequest();
+        request.setTitle(title);
+        request.setDescription(description);
+        return request;
+    }
+}
@@ -0,0 +1,178 @@
+package com.todolist.backend.service;
+
+import com.todolist.backend.dto.TodoBulkUpdateRequest;
+import com.todolist.backend.dto.TodoBulkUpdateResponse;
+import com.todolist.backend.dto.TodoPatchRequest;
+import com.todolist.backend.dto.TodoRequest;
+import com.todolist.backend.dto.TodoResponse;
+import com.todolist.backend.model.Todo;
+import com.todolist.backend.repository.SqlStatementRecorder;
+import com.todolist.backend.repository.TodoRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.Locale;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+        + "com.todolist.backend.repository.SqlStatementRecorder")
+@ActiveProfiles("test")
+class TodoServiceIntegrationTest {
+    
+    @Autowired
+    private TodoService todoService;
+    
+    @Autowired
+    private TodoRepository todoRepository;
+    
+    @Autowired
+    private TodoEventStream todoEventStream;
+    
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+    
+    @BeforeEach
+    void setUp() {
+        todoRepository.deleteAll();
+        SqlStatementRecorder.clear();
+    }
+    
+    @Test
+    void createTodos_ShouldInsertInJdbcBatches() {
+        // Given
+        List<TodoRequest> requests = IntStream.range(0, 120).mapToObj(i -> {
+            TodoRequest request = new TodoRequest();
+            request.setTitle("Imported " + i);
+            return request;
+        }).toList();
+        
+        // When
+        List<TodoResponse> created = todoService.createTodos(requests);
+        
+        // Then
+        assertEquals(120, created.size());
+        assertTrue(created.stream().allMatch(todo -> todo.getId() != null && todo.getCreatedAt() != null));
+        assertEquals(120L, todoRepository.count());
+        // Without batching every row would prepare its own INSERT
+        long inserts = statementsStartingWith("insert");
+        assertTrue(inserts >= 1 && inserts <= 3, () -> "INSERT statements prepared: " + inserts);
+        assertTrue(statementsStartingWith("select next value for") + statementsStartingWith("call next value for") <= 4);
+    }
+    
+    @Test
+    void bulkUpdateTodos_ShouldUpdateMatchingRowsAndTouchUpdatedAt() {
+        // Given
+        List<TodoResponse> created = todoService.createTodos(IntStream.range(0, 4).mapToObj(i -> {
+            TodoRequest request = new TodoRequest();
+            request.setTitle("Bulk " + i);
+            request.setCompleted(i == 0);
+            return request;
+        }).toList());
+        TodoBulkUpdateRequest request = new TodoBulkUpdateRequest();
+        request.setCompleted(true);
+        SqlStatementRecorder.clear();
+        
+        // When
+        TodoBulkUpdateResponse response = todoService.bulkUpdateTodos("false", request);
+        
+        // Then
+        assertEquals(3, response.getAffected());
+        assertEquals(1L, statementsStartingWith("update"));
+        assertEquals(0L, statementsStartingWith("select"));
+        List<Todo> todos = todoRepository.findAll();
+        assertTrue(todos.stream().allMatch(Todo::getCompleted));
+        TodoResponse untouched = created.get(0);
+        todos.forEach(todo -> {
+            if (todo.getId().equals(untouched.getId())) {
+                assertEquals(untouched.getUpdatedAt(), todo.getUpdatedAt());
+            } else {
+                assertTrue(todo.getUpdatedAt().isAfter(todo.getCreatedAt()) || todo.getUpdatedAt().equals(todo.getCreatedAt()));
+                assertNotEquals(created.stream().filter(c -> c.getId().equals(todo.getId())).findFirst()
+                        .orElseThrow().getUpdatedAt(), todo.getUpdatedAt());
+            }
+        });
+    }
+    
+    @Test
+    void patchTodo_ShouldIssueOneConditionalUpdate() {
+        // Given
+        TodoRequest create = new TodoRequest();
+        create.setTitle("Patch me");
+        TodoResponse created = todoService.createTodo(create);
+        TodoPatchRequest patch = new TodoPatchRequest();
+        patch.setCompleted(true);
+        SqlStatementRecorder.clear();
+        
+        // When
+        TodoValidator validator = todoService.patchTodo(created.getId(), 0L, patch);
+        
+        // Then
+        assertEquals(1L, statementsStartingWith("update"));
+        assertEquals(0L, statementsStartingWith("select"));
+        assertEquals("\"" + created.getId() + "-1\"", validator.eTag());
+        Todo stored = todoRepository.findById(created.getId()).orElseThrow();
+        assertTrue(stored.getCompleted());
+        assertEquals(1L, stored.getVersion());
+    }
+    
+    @Test
+    void patchTodo_WithStaleVersion_ShouldFailAndLeaveTheRowAlone() {
+        // Given
+        TodoRequest create = new TodoRequest();
+        create.setTitle("Contended");
+        TodoResponse created = todoService.createTodo(create);
+        TodoPatchRequest first = new TodoPatchRequest();
+        first.setTitle("First writer");
+        todoService.patchTodo(created.getId(), 0L, first);
+        
+        // When
+        TodoPatchRequest second = new TodoPatchRequest();
+        second.setTitle("Second writer");
+        second.setCompleted(true);
+        
+        // Then
+        assertThrows(OptimisticLockingFailureException.class, () -> todoService.patchTodo(created.getId(), 0L, second));
+        Todo stored = todoRepository.findById(created.getId()).orElseThrow();
+        assertEquals("First writer", stored.getTitle());
+        assertFalse(stored.getCompleted());
+        assertThrows(RuntimeException.class, () -> todoService.patchTodo(-1L, 0L, second));
+    }
+    
+    @Test
+    void changeEvents_ShouldOnlyBePublishedForCommittedWrites() {
+        // Given
+        TodoRequest request = new TodoRequest();
+        request.setTitle("Evented");
+        long published = todoEventStream.getPublishedEvents();
+        
+        // When
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            todoService.createTodo(request);
+            status.setRollbackOnly();
+        });
+        long afterRollback = todoEventStream.getPublishedEvents();
+        todoService.createTodo(request);
+        
+        // Then
+        assertEquals(published, afterRollback);
+        assertEquals(published + 1, todoEventStream.getPublishedEvents());
+    }
+    
+    // Leaves out the change version allocation every write transaction makes
+    private static long statementsStartingWith(String prefix) {
+        return SqlStatementRecorder.statements().stream()
+                .map(sql -> sql.replaceAll("\\s+", " ").trim().toLowerCase(Locale.ROOT))
+                .filter(sql -> !sql.contains("todo_sync_"))
+                .filter(sql -> sql.startsWith(prefix))
+                .count();
+    }
+}
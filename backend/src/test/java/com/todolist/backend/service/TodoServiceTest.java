@@ -1,24 +1,47 @@
 package com.todolist.backend.service;
 
+import com.todolist.backend.dto.TodoBulkUpdateRequest;
+import com.todolist.backend.dto.TodoBulkUpdateResponse;
+import com.todolist.backend.dto.TodoChangeEvent;
 import com.todolist.backend.dto.TodoListResponse;
+import com.todolist.backend.dto.TodoPatchRequest;
 import com.todolist.backend.dto.TodoRequest;
 import com.todolist.backend.dto.TodoResponse;
 import com.todolist.backend.model.Todo;
+import com.todolist.backend.repository.ReplicaRouter;
+import com.todolist.backend.repository.TenantContext;
 import com.todolist.backend.repository.TodoRepository;
+import com.todolist.backend.repository.TodoTombstoneRepository;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Pageable;
+import org.springframework.util.unit.DataSize;
 
 import java.time.LocalDateTime;
 import java.util.Arrays;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -27,10 +50,39 @@ class TodoServiceTest {
     @Mock
     private TodoRepository todoRepository;
     
+    @Mock
+    private TodoTombstoneRepository todoTombstoneRepository;
+    
+    @Spy
+    private TodoDataVersion todoDataVersion = new TodoDataVersion();
+    
+    @Mock
+    private TodoChangeVersion todoChangeVersion;
+    
+    @Spy
+    private TodoListCache todoListCache = new TodoListCache(true, 16, DataSize.ofMegabytes(1));
+    
+    @Mock
+    private TodoEventPublisher todoEventPublisher;
+    
+    @Spy
+    private TodoSearchIndex todoSearchIndex = TodoSearchIndexTest.loadedIndex(100);
+    
+    @Spy
+    private TodoCounters todoCounters = new TodoCounters();
+    
+    @Mock
+    private TodoWriteBuffer todoWriteBuffer;
+    
+    // Replicas are off: no router is available
+    @Mock
+    private ObjectProvider<ReplicaRouter> replicaRouter;
+    
     @InjectMocks
     private TodoService todoService;
     
     private Todo testTodo;
+    private TodoResponse testResponse;
     private TodoRequest testTodoRequest;
     
     @BeforeEach
@@ -43,6 +95,9 @@ class TodoServiceTest {
                 .createdAt(LocalDateTime.now())
                 .updatedAt(LocalDateTime.now())
                 .build();
+        testTodo.setTenant(TenantContext.DEFAULT_TENANT);
+        testResponse = new TodoResponse(testTodo.getId(), testTodo.getTitle(), testTodo.getDescription(),
+                testTodo.getCompleted(), testTodo.getCreatedAt(), testTodo.getUpdatedAt());
         
         testTodoRequest = new TodoRequest();
         testTodoRequest.setTitle("Test Todo");
@@ -53,8 +108,9 @@ class TodoServiceTest {
     @Test
     void getAllTodos_ShouldReturnAllTodos() {
         // Given
-        List<Todo> todos = Arrays.asList(testTodo);
-        when(todoRepository.findAll()).thenReturn(todos);
+        List<TodoResponse> todos = Arrays.asList(testResponse);
+        when(todoRepository.findResponses(any(Pageable.class))).thenReturn(todos);
+        todoCounters.adjust(1, 0);
         
         // When
         TodoListResponse response = todoService.getAllTodos(null, 50, 0);
@@ -63,14 +119,16 @@ class TodoServiceTest {
         assertNotNull(response);
         assertEquals(1, response.getItems().size());
         assertEquals(1L, response.getTotal());
-        verify(todoRepository).findAll();
+        verify(todoRepository).findResponses(any(Pageable.class));
+        verify(todoRepository, never()).findAll(any(Pageable.class));
     }
     
     @Test
     void getAllTodos_WithCompletedFilter_ShouldReturnFilteredTodos() {
         // Given
-        List<Todo> todos = Arrays.asList(testTodo);
-        when(todoRepository.findByCompleted(false)).thenReturn(todos);
+        List<TodoResponse> todos = Arrays.asList(testResponse);
+        when(todoRepository.findResponsesByCompleted(eq(false), any(Pageable.class))).thenReturn(todos);
+        todoCounters.adjust(3, 2);
         
         // When
         TodoListResponse response = todoService.getAllTodos("false", 50, 0);
@@ -78,7 +136,99 @@ class TodoServiceTest {
         // Then
         assertNotNull(response);
         assertEquals(1, response.getItems().size());
-        verify(todoRepository).findByCompleted(false);
+        assertEquals(1L, response.getTotal());
+        verify(todoRepository).findResponsesByCompleted(eq(false), any(Pageable.class));
+    }
+    
+    @Test
+    void getAllTodos_ShouldPushLimitAndOffsetToRepository() {
+        // Given
+        when(todoRepository.findResponses(any(Pageable.class))).thenReturn(List.of(testResponse));
+        todoCounters.adjust(500, 0);
+        
+        // When
+        TodoListResponse response = todoService.getAllTodos(null, 500, 30);
+        
+        // Then
+        ArgumentCaptor<Pageable> pageable = ArgumentCaptor.forClass(Pageable.class);
+        verify(todoRepository).findResponses(pageable.capture());
+        assertEquals(100, pageable.getValue().getPageSize());
+        assertEquals(30L, pageable.getValue().getOffset());
+        assertEquals(500L, response.getTotal());
+        assertEquals(100, response.getLimit());
+        assertEquals(30, response.getOffset());
+        verify(todoRepository, never()).findAll();
+    }
+    
+    @Test
+    void getAllTodos_RepeatedCall_ShouldBeServedFromCache() {
+        // Given
+        when(todoRepository.findResponses(any(Pageable.class))).thenReturn(List.of(testResponse));
+        
+        // When
+        TodoListResponse first = todoService.getAllTodos(null, 50, 0);
+        TodoListResponse second = todoService.getAllTodos("all", 50, 0);
+        
+        // Then
+        assertSame(first, second);
+        verify(todoRepository, times(1)).findResponses(any(Pageable.class));
+        assertEquals(1L, todoListCache.getHits());
+        assertEquals(1L, todoListCache.getMisses());
+    }
+    
+    @Test
+    void getAllTodos_AfterMutation_ShouldNotServeStalePage() {
+        // Given
+        when(todoRepository.findResponses(any(Pageable.class))).thenReturn(List.of(testResponse));
+        when(todoRepository.save(any(Todo.class))).thenReturn(testTodo);
+        todoService.getAllTodos(null, 50, 0);
+        
+        // When
+        todoService.createTodo(testTodoRequest);
+        todoService.getAllTodos(null, 50, 0);
+        
+        // Then
+        verify(todoRepository, times(2)).findResponses(any(Pageable.class));
+        assertEquals(0L, todoListCache.getHits());
+    }
+    
+    @Test
+    void getTodosByCursor_ShouldReturnNextCursorWhenMoreRowsExist() {
+        // Given
+        TodoResponse second = new TodoResponse(2L, "Second", null, false,
+                testTodo.getCreatedAt(), testTodo.getUpdatedAt());
+        when(todoRepository.findFirstKeysetPage(Limit.of(2))).thenReturn(Arrays.asList(testResponse, second));
+        
+        // When
+        TodoListResponse response = todoService.getTodosByCursor(null, 1, "");
+        
+        // Then
+        assertEquals(1, response.getItems().size());
+        assertNotNull(response.getNextCursor());
+        TodoCursor next = TodoCursor.decode(response.getNextCursor());
+        assertEquals(testTodo.getCreatedAt(), next.getCreatedAt());
+        assertEquals(1L, next.getId());
+    }
+    
+    @Test
+    void getTodosByCursor_ShouldSeekAfterCursor() {
+        // Given
+        String cursor = new TodoCursor(testTodo.getCreatedAt(), 1L).encode();
+        when(todoRepository.findKeysetPageAfterByCompleted(false, testTodo.getCreatedAt(), 1L, Limit.of(51)))
+                .thenReturn(List.of());
+        
+        // When
+        TodoListResponse response = todoService.getTodosByCursor("false", 50, cursor);
+        
+        // Then
+        assertTrue(response.getItems().isEmpty());
+        assertNull(response.getNextCursor());
+        verify(todoRepository).findKeysetPageAfterByCompleted(false, testTodo.getCreatedAt(), 1L, Limit.of(51));
+    }
+    
+    @Test
+    void getTodosByCursor_WithMalformedCursor_ShouldThrowException() {
+        assertThrows(IllegalArgumentException.class, () -> todoService.getTodosByCursor(null, 50, "not-a-cursor"));
     }
     
     @Test
@@ -106,6 +256,96 @@ class TodoServiceTest {
         verify(todoRepository).findById(999L);
     }
     
+    @Test
+    void getTodoValidator_ShouldChangeWithVersion() {
+        // Given
+        LocalDateTime updatedAt = testTodo.getUpdatedAt();
+        when(todoRepository.findVersionById(1L))
+                .thenReturn(Optional.of(versionView(3L, updatedAt)), Optional.of(versionView(3L, updatedAt)),
+                        Optional.of(versionView(4L, updatedAt)));
+        
+        // When
+        TodoValidator first = todoService.getTodoValidator(1L);
+        TodoValidator same = todoService.getTodoValidator(1L);
+        TodoValidator changed = todoService.getTodoValidator(1L);
+        
+        // Then
+        assertEquals(first, same);
+        assertEquals("\"1-3\"", first.eTag());
+        assertNotEquals(first.eTag(), changed.eTag());
+        assertEquals(4L, TodoValidator.versionFromIfMatch(1L, changed.eTag()));
+        verify(todoRepository, never()).findById(any());
+    }
+    
+    @Test
+    void versionFromIfMatch_ShouldAcceptTheTagOfEveryRepresentation() {
+        // Given
+        TodoValidator json = TodoValidator.ofTodo(1L, 4L, testTodo.getUpdatedAt());
+        TodoValidator cbor = json.forRepresentation(TodoValidator.CBOR);
+        String cborGzip = TodoValidator.withRepresentation(cbor.eTag(), TodoValidator.GZIP);
+        
+        // When & Then
+        assertEquals("\"1-4-cbor-gzip\"", cborGzip);
+        assertNotEquals(json.eTag(), cbor.eTag());
+        assertEquals(4L, TodoValidator.versionFromIfMatch(1L, cbor.eTag()));
+        assertEquals(4L, TodoValidator.versionFromIfMatch(1L, cborGzip));
+        assertThrows(IllegalArgumentException.class, () -> TodoValidator.versionFromIfMatch(1L, "\"1-4-xml\""));
+        assertThrows(IllegalArgumentException.class, () -> TodoValidator.versionFromIfMatch(1L, "\"11-4\""));
+    }
+    
+    @Test
+    void patchTodo_WhenCompletedFlips_ShouldNeedOneStatement() {
+        // Given
+        TodoPatchRequest patch = new TodoPatchRequest();
+        patch.setCompleted(true);
+        when(todoRepository.patchFlippingCompleted(eq(1L), eq(3L), isNull(), isNull(), eq(true), any(), anyLong()))
+                .thenReturn(1);
+        
+        // When
+        TodoValidator validator = todoService.patchTodo(1L, 3L, patch);
+        
+        // Then
+        assertEquals("\"1-4\"", validator.eTag());
+        verify(todoRepository, never()).patchAtVersion(any(), anyLong(), any(), any(), any(), any(), anyLong());
+        verify(todoRepository, never()).findById(any());
+        assertEquals(1L, todoCounters.completed());
+        verify(todoEventPublisher).publishAfterCommit(argThat(event ->
+                TodoChangeEvent.PATCHED.equals(event.getType()) && event.getTodo().getTitle() == null));
+    }
+    
+    @Test
+    void patchTodo_WithStaleVersion_ShouldThrowConflict() {
+        // Given
+        TodoPatchRequest patch = new TodoPatchRequest();
+        patch.setTitle("Renamed");
+        when(todoRepository.findVersionById(1L)).thenReturn(Optional.of(versionView(5L, testTodo.getUpdatedAt())));
+        
+        // When & Then
+        assertThrows(OptimisticLockingFailureException.class, () -> todoService.patchTodo(1L, 3L, patch));
+        verifyNoInteractions(todoEventPublisher);
+        assertThrows(IllegalArgumentException.class, () -> todoService.patchTodo(1L, 3L, new TodoPatchRequest()));
+    }
+    
+    @Test
+    void getListValidator_ShouldDependOnParametersAndDataVersion() {
+        // Given
+        when(todoRepository.save(any(Todo.class))).thenReturn(testTodo);
+        TodoValidator first = todoService.getListValidator(null, 50, 0, null).orElseThrow();
+        
+        // When
+        TodoValidator normalized = todoService.getListValidator("all", null, null, null).orElseThrow();
+        TodoValidator otherPage = todoService.getListValidator(null, 50, 50, null).orElseThrow();
+        todoService.createTodo(testTodoRequest);
+        TodoValidator afterMutation = todoService.getListValidator(null, 50, 0, null).orElseThrow();
+        
+        // Then
+        assertEquals(first.eTag(), normalized.eTag());
+        assertNotEquals(first.eTag(), otherPage.eTag());
+        assertNotEquals(first.eTag(), afterMutation.eTag());
+        // A SHA-256 of the tenant and parameters, not a checksum a chosen cursor could collide with
+        assertTrue(first.eTag().matches("\"l-[0-9a-z]+-\\d+-[0-9a-f]{64}\""));
+    }
+    
     @Test
     void createTodo_ShouldReturnCreatedTodo() {
         // Given
@@ -119,6 +359,34 @@ class TodoServiceTest {
         assertEquals(1L, response.getId());
         assertEquals("Test Todo", response.getTitle());
         verify(todoRepository).save(any(Todo.class));
+        ArgumentCaptor<TodoChangeEvent> event = ArgumentCaptor.forClass(TodoChangeEvent.class);
+        verify(todoEventPublisher).publishAfterCommit(event.capture());
+        assertEquals(TodoChangeEvent.CREATED, event.getValue().getType());
+        assertEquals(1L, event.getValue().getTodo().getId());
+        assertEquals(List.of(1L), todoSearchIndex.search("test", null, 0, 10).ids());
+    }
+    
+    @Test
+    void createTodos_ShouldSaveAllInOneCall() {
+        // Given
+        when(todoRepository.saveAll(anyList())).thenAnswer(invocation -> invocation.getArgument(0));
+        when(todoChangeVersion.next()).thenReturn(7L);
+        TodoRequest second = new TodoRequest();
+        second.setTitle("Second");
+        
+        // When
+        List<TodoResponse> responses = todoService.createTodos(List.of(testTodoRequest, second));
+        
+        // Then
+        assertEquals(2, responses.size());
+        assertEquals("Second", responses.get(1).getTitle());
+        assertFalse(responses.get(1).getCompleted());
+        verify(todoRepository, never()).save(any(Todo.class));
+        ArgumentCaptor<List<Todo>> saved = ArgumentCaptor.forClass(List.class);
+        verify(todoRepository).saveAll(saved.capture());
+        // One change version for the whole batch
+        assertEquals(1L, saved.getValue().stream().map(Todo::getChangeVersion).filter(v -> v > 0).distinct().count());
+        assertEquals(2L, saved.getValue().stream().filter(todo -> todo.getChangeVersion() > 0).count());
     }
     
     @Test
@@ -138,6 +406,29 @@ class TodoServiceTest {
         assertNotNull(response);
         verify(todoRepository).findById(1L);
         verify(todoRepository).save(any(Todo.class));
+        verify(todoEventPublisher).publishAfterCommit(argThat(event -> TodoChangeEvent.UPDATED.equals(event.getType())));
+        assertEquals(1L, todoCounters.completed());
+    }
+    
+    @Test
+    void updateTodo_WithWriteBuffer_ShouldBufferTitleAndCompletionEdits() {
+        // Given
+        when(todoWriteBuffer.isEnabled()).thenReturn(true);
+        when(todoRepository.findResponseById(1L)).thenReturn(Optional.of(testResponse));
+        when(todoWriteBuffer.enqueue(testResponse, null, true))
+                .thenReturn(new TodoWriteBuffer.PendingWrite(null, true, false, LocalDateTime.now(), 1));
+        TodoRequest toggle = new TodoRequest();
+        toggle.setCompleted(true);
+        
+        // When
+        TodoResponse response = todoService.updateTodo(1L, toggle);
+        
+        // Then
+        assertTrue(response.getCompleted());
+        assertEquals("Test Todo", response.getTitle());
+        verify(todoRepository, never()).findById(any());
+        verify(todoRepository, never()).save(any(Todo.class));
+        verifyNoInteractions(todoEventPublisher);
     }
     
     @Test
@@ -149,54 +440,168 @@ class TodoServiceTest {
         assertThrows(RuntimeException.class, () -> todoService.updateTodo(999L, testTodoRequest));
         verify(todoRepository).findById(999L);
         verify(todoRepository, never()).save(any(Todo.class));
+        verifyNoInteractions(todoEventPublisher);
+    }
+    
+    @Test
+    void bulkUpdateTodos_WithManyIds_ShouldUpdateInChunks() {
+        // Given
+        TodoBulkUpdateRequest request = new TodoBulkUpdateRequest();
+        request.setIds(LongStream.rangeClosed(1, 2500).boxed().collect(Collectors.toSet()));
+        request.setCompleted(true);
+        when(todoRepository.bulkUpdateByIds(anyCollection(), isNull(), isNull(), isNull(), eq(true), any(), anyLong()))
+                .thenAnswer(invocation -> ((Collection<?>) invocation.getArgument(0)).size());
+        
+        // When
+        TodoBulkUpdateResponse response = todoService.bulkUpdateTodos(null, request);
+        
+        // Then
+        assertEquals(2500, response.getAffected());
+        verify(todoRepository, times(3)).bulkUpdateByIds(anyCollection(), isNull(), isNull(), isNull(), eq(true), any(), anyLong());
+    }
+    
+    @Test
+    void bulkUpdateTodos_WithFilter_ShouldIssueSingleUpdate() {
+        // Given
+        TodoBulkUpdateRequest request = new TodoBulkUpdateRequest();
+        request.setCompleted(true);
+        when(todoRepository.bulkUpdateByCompleted(eq(false), isNull(), isNull(), eq(true), any(), anyLong())).thenReturn(7);
+        
+        // When
+        TodoBulkUpdateResponse response = todoService.bulkUpdateTodos("false", request);
+        
+        // Then
+        assertEquals(7, response.getAffected());
+        verify(todoRepository, never()).findById(any());
+        // Every matched row was open, so all of them moved to completed
+        verify(todoRepository, never()).countByCompleted(any());
+        assertEquals(7L, todoCounters.completed());
+    }
+    
+    @Test
+    void bulkUpdateTodos_WithoutTargetOrFields_ShouldThrowException() {
+        TodoBulkUpdateRequest noTarget = new TodoBulkUpdateRequest();
+        noTarget.setCompleted(true);
+        assertThrows(IllegalArgumentException.class, () -> todoService.bulkUpdateTodos(null, noTarget));
+        
+        TodoBulkUpdateRequest noFields = new TodoBulkUpdateRequest();
+        noFields.setIds(Set.of(1L));
+        assertThrows(IllegalArgumentException.class, () -> todoService.bulkUpdateTodos(null, noFields));
     }
     
     @Test
     void deleteTodo_ShouldDeleteTodo() {
         // Given
-        when(todoRepository.existsById(1L)).thenReturn(true);
+        when(todoRepository.findCompletedById(1L)).thenReturn(Optional.of(true));
         doNothing().when(todoRepository).deleteById(1L);
+        todoCounters.adjust(2, 1);
         
         // When
         todoService.deleteTodo(1L);
         
         // Then
-        verify(todoRepository).existsById(1L);
+        verify(todoRepository).findCompletedById(1L);
+        assertEquals(1L, todoCounters.total());
+        assertEquals(0L, todoCounters.completed());
         verify(todoRepository).deleteById(1L);
+        verify(todoTombstoneRepository).save(argThat(tombstone -> tombstone.getTodoId() == 1L));
+        verify(todoEventPublisher).publishAfterCommit(argThat(event ->
+                TodoChangeEvent.DELETED.equals(event.getType()) && event.getId() == 1L));
     }
     
     @Test
     void deleteTodo_WhenTodoNotFound_ShouldThrowException() {
         // Given
-        when(todoRepository.existsById(999L)).thenReturn(false);
+        when(todoRepository.findCompletedById(999L)).thenReturn(Optional.empty());
         
         // When & Then
         assertThrows(RuntimeException.class, () -> todoService.deleteTodo(999L));
-        verify(todoRepository).existsById(999L);
+        verify(todoRepository).findCompletedById(999L);
         verify(todoRepository, never()).deleteById(any());
     }
     
     @Test
-    void deleteCompletedTodos_ShouldDeleteCompletedTodos() {
+    void deleteChunk_ShouldTombstoneAndDeleteOneIdRange() {
+        // Given
+        when(todoRepository.findIdsInRange(0L, 100L, Limit.of(2))).thenReturn(List.of(3L, 5L));
+        when(todoRepository.countTombstonedByTenant(anyLong())).thenReturn(List.of(tenantCounts("default", 2, 1)));
+        when(todoRepository.deleteTombstoned(anyLong())).thenReturn(2);
+        
+        // When
+        Optional<TodoService.DeletedChunk> chunk = todoService.deleteChunk(false, 0L, 100L, 2);
+        
+        // Then
+        assertEquals(new TodoService.DeletedChunk(5L, 2), chunk.orElseThrow());
+        ArgumentCaptor<Long> changeVersion = ArgumentCaptor.forClass(Long.class);
+        verify(todoTombstoneRepository).insertForRange(changeVersion.capture(), any(), eq(0L), eq(5L));
+        verify(todoRepository).deleteTombstoned(changeVersion.getValue());
+        verify(todoRepository, never()).deleteAll();
+        assertEquals(-2L, todoCounters.total());
+        assertEquals(-1L, todoCounters.completed());
+    }
+    
+    @Test
+    void deleteChunk_ShouldDropTheTombstonedRowsFromTheSearchIndex() {
         // Given
-        doNothing().when(todoRepository).deleteCompletedTodos();
+        todoSearchIndex.put(TodoResponse.builder().id(3L).title("Selected chore").completed(true).build());
+        todoSearchIndex.put(TodoResponse.builder().id(4L).title("Completed chore").completed(true).build());
+        // Todo 4 was completed after the ids were selected but before the range was tombstoned
+        when(todoRepository.findCompletedIdsInRange(0L, 100L, Limit.of(2))).thenReturn(List.of(3L, 5L));
+        when(todoTombstoneRepository.findTodoIdsByChangeVersion(anyLong())).thenReturn(List.of(3L, 4L));
+        when(todoRepository.countTombstonedByTenant(anyLong())).thenReturn(List.of(tenantCounts("default", 2, 2)));
+        when(todoRepository.deleteTombstoned(anyLong())).thenReturn(2);
         
         // When
-        todoService.deleteCompletedTodos();
+        todoService.deleteChunk(true, 0L, 100L, 2);
         
         // Then
-        verify(todoRepository).deleteCompletedTodos();
+        assertEquals(List.of(), todoSearchIndex.search("chore", null, 0, 10).ids());
     }
     
     @Test
-    void deleteAllTodos_ShouldDeleteAllTodos() {
+    void deleteChunk_WhenRangeIsExhausted_ShouldDeleteNothing() {
         // Given
-        doNothing().when(todoRepository).deleteAll();
+        when(todoRepository.findCompletedIdsInRange(5L, 100L, Limit.of(2))).thenReturn(List.of());
         
         // When
-        todoService.deleteAllTodos();
+        Optional<TodoService.DeletedChunk> chunk = todoService.deleteChunk(true, 5L, 100L, 2);
         
         // Then
-        verify(todoRepository).deleteAll();
+        assertTrue(chunk.isEmpty());
+        verify(todoRepository, never()).deleteTombstoned(anyLong());
+        verifyNoInteractions(todoTombstoneRepository);
+    }
+    
+    private static TodoRepository.TenantCountView tenantCounts(String tenant, long total, long completed) {
+        return new TodoRepository.TenantCountView() {
+            @Override
+            public String getTenant() {
+                return tenant;
+            }
+            
+            @Override
+            public Long getTotal() {
+                return total;
+            }
+            
+            @Override
+            public Long getCompleted() {
+                return completed;
+            }
+        };
+    }
+    
+    private static TodoRepository.VersionView versionView(long version, LocalDateTime updatedAt) {
+        return new TodoRepository.VersionView() {
+            @Override
+            public Long getVersion() {
+                return version;
+            }
+            
+            @Override
+            public LocalDateTime getUpdatedAt() {
+                return updatedAt;
+            }
+        };
     }
-} 
\ No newline at end of file
+}
@@ -0,0 +1,90 @@
+package com.todolist.backend.service;
+
+import com.todolist.backend.dto.TodoBulkUpdateRequest;
+import com.todolist.backend.dto.TodoRequest;
+import com.todolist.backend.dto.TodoResponse;
+import com.todolist.backend.dto.TodoStatsResponse;
+import com.todolist.backend.model.Todo;
+import com.todolist.backend.repository.TodoRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class TodoStatsServiceTest {
+    
+    @Autowired
+    private TodoStatsService todoStatsService;
+    
+    @Autowired
+    private TodoService todoService;
+    
+    @Autowired
+    private TodoDeleteJobService todoDeleteJobService;
+    
+    @Autowired
+    private TodoRepository todoRepository;
+    
+    @BeforeEach
+    void setUp() {
+        todoDeleteJobService.submit(TodoDeleteJob.Scope.ALL).completion().join();
+        // Other test classes share the database, so start from exact counts
+        todoStatsService.reconcile();
+    }
+    
+    @Test
+    void getStats_ShouldFollowEveryMutation() {
+        // Given
+        List<TodoResponse> created = todoService.createTodos(List.of(
+                request("First", false), request("Second", true), request("Third", false), request("Fourth", false)));
+        todoService.updateTodo(created.get(0).getId(), request(null, true));
+        TodoBulkUpdateRequest bulk = new TodoBulkUpdateRequest();
+        bulk.setIds(Set.of(created.get(1).getId(), created.get(2).getId()));
+        bulk.setCompleted(true);
+        todoService.bulkUpdateTodos(null, bulk);
+        todoService.deleteTodo(created.get(3).getId());
+        
+        // When
+        TodoStatsResponse stats = todoStatsService.getStats();
+        
+        // Then
+        assertEquals(3L, stats.getTotal());
+        assertEquals(3L, stats.getCompleted());
+        assertEquals(0L, stats.getActive());
+        assertEquals(3L, todoService.getAllTodos(null, 1, 0).getTotal());
+        
+        todoDeleteJobService.submit(TodoDeleteJob.Scope.COMPLETED).completion().join();
+        assertEquals(0L, todoStatsService.getStats().getTotal());
+    }
+    
+    @Test
+    void reconcile_ShouldCorrectDriftFromWritesOutsideTheService() {
+        // Given
+        todoService.createTodo(request("Through the service", false));
+        todoRepository.saveAndFlush(Todo.builder().title("Behind its back").completed(true).build());
+        assertEquals(1L, todoStatsService.getStats().getTotal());
+        
+        // When
+        boolean corrected = todoStatsService.reconcile();
+        
+        // Then
+        assertTrue(corrected);
+        assertEquals(2L, todoStatsService.getStats().getTotal());
+        assertEquals(1L, todoStatsService.getStats().getCompleted());
+    }
+    
+    private static TodoRequest request(String title, Boolean completed) {
+        TodoRequest request = new TodoRequest();
+        request.setTitle(title);
+        request.setCompleted(completed);
+        return request;
+    }
+}
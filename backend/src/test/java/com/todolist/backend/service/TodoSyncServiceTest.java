@@ -0,0 +1,120 @@
+package com.todolist.backend.service;
+
+import com.todolist.backend.dto.TodoChangesResponse;
+import com.todolist.backend.dto.TodoRequest;
+import com.todolist.backend.dto.TodoResponse;
+import com.todolist.backend.repository.TodoRepository;
+import com.todolist.backend.repository.TodoTombstoneRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(properties = "todo.sync.tombstone-retention=0s")
+@ActiveProfiles("test")
+class TodoSyncServiceTest {
+    
+    @Autowired
+    private TodoSyncService todoSyncService;
+    
+    @Autowired
+    private TodoService todoService;
+    
+    @Autowired
+    private TodoDeleteJobService todoDeleteJobService;
+    
+    @Autowired
+    private TodoRepository todoRepository;
+    
+    @Autowired
+    private TodoTombstoneRepository todoTombstoneRepository;
+    
+    @BeforeEach
+    void setUp() {
+        todoRepository.deleteAll();
+        todoTombstoneRepository.deleteAll();
+    }
+    
+    @Test
+    void getChanges_AfterSmallEdit_ShouldOnlyReturnTheEdit() {
+        // Given
+        List<TodoResponse> created = todoService.createTodos(IntStream.range(0, 50)
+                .mapToObj(i -> request("Synced " + i, false))
+                .toList());
+        TodoChangesResponse initial = todoSyncService.getChanges(null);
+        
+        // When
+        todoService.updateTodo(created.get(3).getId(), request("Edited", null));
+        todoService.deleteTodo(created.get(7).getId());
+        TodoChangesResponse delta = todoSyncService.getChanges(initial.getVersion());
+        
+        // Then
+        assertTrue(initial.getFull());
+        assertEquals(50, initial.getChanged().size());
+        assertFalse(delta.getFull());
+        assertEquals(1, delta.getChanged().size());
+        assertEquals("Edited", delta.getChanged().get(0).getTitle());
+        assertEquals(List.of(created.get(7).getId()), delta.getDeleted());
+        assertTrue(delta.getVersion() > initial.getVersion());
+        
+        TodoChangesResponse unchanged = todoSyncService.getChanges(delta.getVersion());
+        assertTrue(unchanged.getChanged().isEmpty());
+        assertTrue(unchanged.getDeleted().isEmpty());
+        assertEquals(delta.getVersion(), unchanged.getVersion());
+    }
+    
+    @Test
+    void getChanges_AfterBulkDeletes_ShouldReturnTombstones() {
+        // Given
+        List<TodoResponse> created = todoService.createTodos(List.of(
+                request("Open", false), request("Done 1", true), request("Done 2", true)));
+        long since = todoSyncService.getChanges(null).getVersion();
+        
+        // When
+        todoDeleteJobService.submit(TodoDeleteJob.Scope.COMPLETED).completion().join();
+        TodoChangesResponse afterCompleted = todoSyncService.getChanges(since);
+        todoDeleteJobService.submit(TodoDeleteJob.Scope.ALL).completion().join();
+        TodoChangesResponse afterAll = todoSyncService.getChanges(afterCompleted.getVersion());
+        
+        // Then
+        assertEquals(List.of(created.get(1).getId(), created.get(2).getId()), afterCompleted.getDeleted());
+        assertTrue(afterCompleted.getChanged().isEmpty());
+        assertEquals(List.of(created.get(0).getId()), afterAll.getDeleted());
+        assertEquals(0L, todoRepository.count());
+        assertEquals(3L, todoTombstoneRepository.count());
+    }
+    
+    @Test
+    void compactTombstones_ShouldSendOlderClientsAFullSnapshot() throws Exception {
+        // Given
+        List<TodoResponse> created = todoService.createTodos(List.of(request("Kept", false), request("Removed", false)));
+        long before = todoSyncService.getChanges(null).getVersion();
+        todoService.deleteTodo(created.get(1).getId());
+        long after = todoSyncService.getChanges(before).getVersion();
+        Thread.sleep(5);
+        
+        // When
+        int removed = todoSyncService.compactTombstones();
+        
+        // Then
+        assertEquals(1, removed);
+        assertEquals(0L, todoTombstoneRepository.count());
+        TodoChangesResponse stale = todoSyncService.getChanges(before);
+        assertTrue(stale.getFull());
+        assertEquals(List.of(created.get(0).getId()), stale.getChanged().stream().map(TodoResponse::getId).toList());
+        assertFalse(todoSyncService.getChanges(after).getFull());
+    }
+    
+    private static TodoRequest request(String title, Boolean completed) {
+        TodoRequest request = new TodoRequest();
+        request.setTitle(title);
+        request.setCompleted(completed);
+        return request;
+    }
+}
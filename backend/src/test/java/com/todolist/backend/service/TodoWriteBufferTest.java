@@ -0,0 +1,227 @@
+package com.todolist.backend.service;
+
+import com.todolist.backend.dto.TodoListResponse;
+import com.todolist.backend.dto.TodoRequest;
+import com.todolist.backend.dto.TodoResponse;
+import com.todolist.backend.repository.TodoRepository;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.TransactionStatus;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Background flushes only happen once 3 todos are pending, so the tests decide when data is written
+@SpringBootTest(properties = {
+        "todo.write-buffer.enabled=true",
+        "todo.write-buffer.flush-interval=1h",
+        "todo.write-buffer.max-pending=3"
+})
+@ActiveProfiles("test")
+class TodoWriteBufferTest {
+    
+    @Autowired
+    private TodoWriteBuffer todoWriteBuffer;
+    
+    @Autowired
+    private TodoService todoService;
+    
+    @Autowired
+    private TodoDeleteJobService todoDeleteJobService;
+    
+    @Autowired
+    private TodoStatsService todoStatsService;
+    
+    @Autowired
+    private TodoRepository todoRepository;
+    
+    @Autowired
+    private EntityManager entityManager;
+    
+    @Autowired
+    private TodoChangeVersion todoChangeVersion;
+    
+    @Autowired
+    private TodoSearchService todoSearchService;
+    
+    @Autowired
+    private TodoDataVersion todoDataVersion;
+    
+    @Autowired
+    private TodoCounters todoCounters;
+    
+    @Autowired
+    private TodoEventPublisher todoEventPublisher;
+    
+    @Autowired
+    private TodoSearchIndex todoSearchIndex;
+    
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+    
+    @BeforeEach
+    void setUp() {
+        todoDeleteJobService.submit(TodoDeleteJob.Scope.ALL).completion().join();
+        todoStatsService.reconcile();
+    }
+    
+    @Test
+    void updateTodo_ShouldCoalesceEditsIntoOneRowWrite() {
+        // Given
+        TodoResponse todo = todoService.createTodo(request("Water the plants", null));
+        long writes = todoWriteBuffer.getAcceptedWrites();
+        long rows = todoWriteBuffer.getFlushedRows();
+        
+        // When
+        for (int click = 0; click < 5; click++) {
+            todoService.updateTodo(todo.getId(), request(null, click % 2 == 0));
+        }
+        TodoResponse renamed = todoService.updateTodo(todo.getId(), request("Water the garden", null));
+        
+        // Then
+        assertTrue(renamed.getCompleted());
+        assertEquals("Water the garden", todoService.getTodoById(todo.getId()).getTitle());
+        assertFalse(todoRepository.findById(todo.getId()).orElseThrow().getCompleted());
+        
+        todoWriteBuffer.flushPending();
+        assertTrue(todoRepository.findById(todo.getId()).orElseThrow().getCompleted());
+        assertEquals(1L, todoCounters.completed());
+        assertEquals("Water the garden", todoRepository.findById(todo.getId()).orElseThrow().getTitle());
+        assertEquals(6L, todoWriteBuffer.getAcceptedWrites() - writes);
+        assertEquals(1L, todoWriteBuffer.getFlushedRows() - rows);
+    }
+    
+    @Test
+    void reads_ShouldSeePendingEdits() {
+        // Given
+        List<TodoResponse> todos = todoService.createTodos(List.of(request("First", null), request("Second", null)));
+        
+        // When
+        todoService.updateTodo(todos.get(0).getId(), request(null, true));
+        
+        // Then
+        assertEquals(1L, todoStatsService.getStats().getCompleted());
+        TodoListResponse open = todoService.getAllTodos("false", 10, 0);
+        assertEquals(List.of(todos.get(1).getId()), open.getItems().stream().map(TodoResponse::getId).toList());
+        assertEquals(1L, open.getTotal());
+        assertTrue(todoService.getTodosByCursor(null, 10, null).getItems().get(0).getCompleted());
+        assertTrue(todoSearchService.search("first", null, 10, 0).getItems().get(0).getCompleted());
+        assertEquals(1, todoWriteBuffer.getPendingCount());
+        assertFalse(todoRepository.findById(todos.get(0).getId()).orElseThrow().getCompleted());
+    }
+    
+    @Test
+    void enqueue_AtMaxPending_ShouldFlushInBackground() throws InterruptedException {
+        // Given
+        List<TodoResponse> todos = todoService.createTodos(List.of(request("A", null), request("B", null), request("C", null)));
+        long rows = todoWriteBuffer.getFlushedRows();
+        
+        // When
+        todos.forEach(todo -> todoService.updateTodo(todo.getId(), request(null, true)));
+        
+        // Then
+        long deadline = System.nanoTime() + Duration.ofSeconds(5).toNanos();
+        while (todoWriteBuffer.getFlushedRows() - rows < 3 && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        assertEquals(0, todoWriteBuffer.getPendingCount());
+        assertEquals(3L, todoRepository.findAll().stream().filter(todo -> todo.getCompleted()).count());
+    }
+    
+    @Test
+    void shutdown_ShouldFlushPendingEdits() {
+        // Given
+        TodoResponse todo = todoService.createTodo(request("Pack", null));
+        TodoWriteBuffer buffer = new TodoWriteBuffer(todoRepository, entityManager, todoChangeVersion, todoDataVersion, todoCounters,
+                todoEventPublisher, todoSearchIndex, transactionManager, true, Duration.ofHours(1), 100);
+        buffer.enqueue(todo, "Pack the bags", null);
+        
+        // When
+        buffer.shutdown();
+        
+        // Then
+        assertEquals("Pack the bags", todoRepository.findById(todo.getId()).orElseThrow().getTitle());
+        assertEquals(List.of(todo.getId()), todoSearchService.search("bags", null, 10, 0).getItems().stream()
+                .map(TodoResponse::getId).toList());
+    }
+    
+    @Test
+    void flushInProgress_ShouldKeepItsEditsVisibleAndHoldBackOtherFlushes() throws Exception {
+        // Given
+        TodoResponse todo = todoService.createTodo(request("Draft", null));
+        CountDownLatch committing = new CountDownLatch(1);
+        CountDownLatch commit = new CountDownLatch(1);
+        TodoWriteBuffer buffer = new TodoWriteBuffer(todoRepository, entityManager, todoChangeVersion, todoDataVersion, todoCounters,
+                todoEventPublisher, todoSearchIndex, heldAtCommit(committing, commit), true, Duration.ofHours(1), 100);
+        buffer.enqueue(todo, "Final", null);
+        ExecutorService threads = Executors.newFixedThreadPool(2);
+        try {
+            Future<?> first = threads.submit(buffer::flushPending);
+            assertTrue(committing.await(5, TimeUnit.SECONDS));
+            
+            // When
+            Optional<TodoWriteBuffer.PendingWrite> duringFlush = buffer.pending(todo.getId());
+            Future<?> second = threads.submit(buffer::flushPending);
+            
+            // Then
+            assertEquals("Final", duringFlush.orElseThrow().title());
+            assertThrows(TimeoutException.class, () -> second.get(200, TimeUnit.MILLISECONDS));
+            commit.countDown();
+            first.get(5, TimeUnit.SECONDS);
+            second.get(5, TimeUnit.SECONDS);
+            assertEquals("Final", todoRepository.findById(todo.getId()).orElseThrow().getTitle());
+            assertTrue(buffer.pending(todo.getId()).isEmpty());
+        } finally {
+            commit.countDown();
+            threads.shutdownNow();
+        }
+    }
+    
+    // Signals once a flush is about to commit and holds it there until released
+    private PlatformTransactionManager heldAtCommit(CountDownLatch committing, CountDownLatch commit) {
+        return new PlatformTransactionManager() {
+            @Override
+            public TransactionStatus getTransaction(TransactionDefinition definition) {
+                return transactionManager.getTransaction(definition);
+            }
+            
+            @Override
+            public void commit(TransactionStatus status) {
+                committing.countDown();
+                try {
+                    commit.await(5, TimeUnit.SECONDS);
+                } catch (InterruptedException ex) {
+                    Thread.currentThread().interrupt();
+                }
+                transactionManager.commit(status);
+            }
+            
+            @Override
+            public void rollback(TransactionStatus status) {
+                transactionManager.rollback(status);
+            }
+        };
+    }
+    
+    private static TodoRequest request(String title, Boolean completed) {
+        TodoRequest request = new TodoRequest();
+        request.setTitle(title);
+        request.setCompleted(completed);
+        return request;
+    }
+}
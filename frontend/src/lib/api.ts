@@ -12,10 +12,17 @@ const api = axios.create({
   },
 });
 
+// 读己之写令牌：本客户端最近一次写入的提交时间，随每个请求带回，使其后续读取在粘滞窗口内走主库
+const LAST_WRITE_HEADER = 'X-Last-Write';
+let lastWrite: string | undefined;
+
 // 请求拦截器
 api.interceptors.request.use(
   (config) => {
     console.log('API Request:', config.method?.toUpperCase(), config.url);
+    if (lastWrite !== undefined) {
+      config.headers.set(LAST_WRITE_HEADER, lastWrite);
+    }
     return config;
   },
   (error) => {
@@ -27,6 +34,11 @@ api.interceptors.request.use(
 api.interceptors.response.use(
   (response) => {
     console.log('API Response:', response.status, response.config.url);
+    // 并发请求的响应可能乱序到达，只保留最新的令牌
+    const token = response.headers[LAST_WRITE_HEADER.toLowerCase()];
+    if (token !== undefined && (lastWrite === undefined || Number(token) > Number(lastWrite))) {
+      lastWrite = String(token);
+    }
     return response;
   },
   (error) => {